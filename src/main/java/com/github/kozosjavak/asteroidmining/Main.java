@@ -4,6 +4,12 @@ import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import com.github.kozosjavak.asteroidmining.core.Game;
 import com.github.kozosjavak.asteroidmining.gfx.view.AsteroidMiningGame;
+import com.github.kozosjavak.asteroidmining.replay.ReplayRecorder;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Főprogram
@@ -13,9 +19,17 @@ public class Main {
     /**
      * Belépési pont
      *
-     * @param args az argumentumok
+     * @param args az argumentumok, key=value pairs: journal, keyframes, interval records the game (see startRecordedGame)
      */
     public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] keyValue = arg.split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Arguments must be key=value pairs: " + arg);
+            }
+            options.put(keyValue[0], keyValue[1]);
+        }
         Game game = new Game(800, 800);
 
         AsteroidMiningGame gameGfx = new AsteroidMiningGame(game);
@@ -28,10 +42,38 @@ public class Main {
         config.useHDPI = true;
         LwjglApplication application = new LwjglApplication(gameGfx, config);
         try {
-            game.startGame(120, 6, 120, 5, 3);
+            if (options.containsKey("journal")) {
+                startRecordedGame(game, options);
+            } else {
+                game.startGame(120, 6, 120, 5, 3);
+            }
         } catch (Exception exception) {
             exception.printStackTrace();
         }
     }
 
+    /**
+     * Starts the game and records it for the replay (see ReplayInspector), the files are closed at the exit
+     *
+     * @param game    Game
+     * @param options the arguments: journal, keyframes (the files of the replay), interval (rounds between the keyframes)
+     * @throws Exception if the world can't be generated or the files can't be created
+     */
+    private static void startRecordedGame(Game game, Map<String, String> options) throws Exception {
+        game.generateWorld(120, 6, 5, 3, 120);
+        game.registerWorld();
+        ReplayRecorder recorder = new ReplayRecorder(game, Paths.get(options.get("journal")),
+                Paths.get(options.getOrDefault("keyframes", options.get("journal") + ".keyframes")),
+                Integer.parseInt(options.getOrDefault("interval", "50")));
+        game.getCommandBus().setRecorder(recorder);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }));
+        game.startLoop(120);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.github.kozosjavak.asteroidmining.console;
+
+import com.github.kozosjavak.asteroidmining.console.adapter.CommandLine;
+import com.github.kozosjavak.asteroidmining.console.adapter.StringCommandAdapter;
+import com.github.kozosjavak.asteroidmining.core.commands.Command;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Finds the adapter of a console line by its first word.
+ * The line is tokenized once, the adapter of the keyword is looked up in a hash map and gets the tokens. The adapters
+ * which recognize their keyword in any case (e.g. "HELP") are looked up by the lower-cased keyword too, a line with an
+ * unknown keyword gives no command.
+ */
+public class CommandDispatcher {
+    /**
+     * The adapters by their keyword, an adapter given more times is kept once
+     */
+    private final Map<String, StringCommandAdapter> byKeyword = new HashMap<>();
+    /**
+     * The adapters which aren't case sensitive by their lower-cased keyword
+     */
+    private final Map<String, StringCommandAdapter> byLowerCaseKeyword = new HashMap<>();
+
+    /**
+     * Basic constructor
+     *
+     * @param adapters the adapters, only the first one of the same keyword is used
+     */
+    public CommandDispatcher(Collection<? extends StringCommandAdapter> adapters) {
+        for (StringCommandAdapter adapter : adapters) {
+            if (byKeyword.putIfAbsent(adapter.getKeyword(), adapter) == null && !adapter.isCaseSensitive()) {
+                byLowerCaseKeyword.putIfAbsent(adapter.getKeyword().toLowerCase(Locale.ROOT), adapter);
+            }
+        }
+    }
+
+    /**
+     * Gives back the command of the line
+     *
+     * @param line String
+     * @return Command, null if no adapter recognizes the line
+     */
+    public Command parse(String line) {
+        CommandLine commandLine = new CommandLine(line);
+        StringCommandAdapter adapter = byKeyword.get(commandLine.getKeyword());
+        if (adapter == null) {
+            adapter = byLowerCaseKeyword.get(commandLine.getKeyword().toLowerCase(Locale.ROOT));
+        }
+        return adapter == null ? null : adapter.parse(commandLine);
+    }
+}
@@ -5,11 +5,12 @@ import com.github.kozosjavak.asteroidmining.core.Game;
 import com.github.kozosjavak.asteroidmining.core.commands.Command;
 import com.github.kozosjavak.asteroidmining.core.commands.CommandExecutor;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Scanner;
-import java.util.Set;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 /**
  * Console communicator
@@ -18,38 +19,28 @@ public class ConsoleCommandExecutor extends CommandExecutor {
     /**
      * List of the adapters of the commands which can be performed
      */
-    private static final Set<StringCommandAdapter> adapterCommandList = Set.of(
+    private static final List<StringCommandAdapter> adapterCommandList = List.of(
             new StartCommandAdapter(),
             new CreateAsteroidAdapter(),
             new CreateMaterialAdapter(),
             new SpaceshipMoveAdapter(),
             new CreateSettlerAdapter(),
             new AddNeighborAdapter(),
-            new CreateSettlerAdapter(),
             new SettlerDrillAdapter(),
-            new CreateSettlerAdapter(),
             new InsertMaterialAdapter(),
-            new CreateSettlerAdapter(),
             new LinkTeleportsAdapter(),
-            new CreateSettlerAdapter(),
             new CreateSunAdapter(),
             new SettlerAddMaterialAdapter(),
             new SettlerBuildBaseAdapter(),
-            new SettlerAddMaterialAdapter(),
             new StartSolarStormAdapter(),
             new SettlerRemoveMaterialAdapter(),
             new ShowGameStateAdapter(),
-            new CreateSunAdapter(),
-            new SettlerAddMaterialAdapter(),
             new UfoStealAdapter(),
             new SettlerBuildRobotAdapter(),
             new SettlerBuildTeleportAdapter(),
-            new SettlerBuildRobotAdapter(),
-            new UfoStealAdapter(),
             new CreateRobotAdapter(),
             new CreateTeleportAdapter(),
             new AsteroidExplodeAdapter(),
-            new CreateTeleportAdapter(),
             new AddTeleportAdapter(),
             new SettlerUseTeleportAdapter(),
             new SettlerInsertMaterialAdapter(),
@@ -57,6 +48,19 @@ public class ConsoleCommandExecutor extends CommandExecutor {
             new SettlerMineAdapter(),
             new HelpAdapter()
     );
+    /**
+     * Finds the adapter of a line by its first word
+     */
+    private static final CommandDispatcher dispatcher = new CommandDispatcher(adapterCommandList);
+
+    /**
+     * Gives back the adapters of the commands which can be performed
+     *
+     * @return List<StringCommandAdapter>
+     */
+    public static List<StringCommandAdapter> getAdapters() {
+        return adapterCommandList;
+    }
 
     public ConsoleCommandExecutor(Game game) {
         super(game);
@@ -68,19 +72,18 @@ public class ConsoleCommandExecutor extends CommandExecutor {
      * @param in
      */
     public void attachToConsole(InputStream in) {
-        try (Scanner scanner = new Scanner(in)) {
-            while (scanner.hasNextLine()) {
-                final String line = scanner.nextLine();
-                Optional<Command> optionalCommand = adapterCommandList.stream()
-                        .map(stringCommandAdapter -> stringCommandAdapter.parse(line))
-                        .filter(Objects::nonNull)
-                        .findFirst();
-                if (optionalCommand.isPresent()) {
-                    execute(optionalCommand.get());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Command command = dispatcher.parse(line);
+                if (command != null) {
+                    execute(command);
                 } else {
                     System.err.println("Wrong command: " + line);
                 }
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
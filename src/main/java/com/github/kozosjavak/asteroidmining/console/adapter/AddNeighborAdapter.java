@@ -9,13 +9,12 @@ import com.github.kozosjavak.asteroidmining.core.commands.Command;
 public class AddNeighborAdapter implements StringCommandAdapter {
 
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-
-        if (splitted[0].equals("AddNeighbor")) {
-            return new AddNeighborCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2]));
-        }
+    public String getKeyword() {
+        return "AddNeighbor";
+    }
 
-        return null;
+    @Override
+    public Command parse(CommandLine line) {
+        return new AddNeighborCommand(line.getInt(1), line.getInt(2));
     }
 }
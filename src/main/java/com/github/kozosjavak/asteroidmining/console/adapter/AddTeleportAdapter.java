@@ -5,14 +5,16 @@ import com.github.kozosjavak.asteroidmining.core.commands.Command;
 
 public class AddTeleportAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-        if (splitted[0].equals("AddTeleport")) {
-            if (splitted.length == 3) {
-                return new AddTeleportCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2]));
-            } else {
-                System.out.println("Not enough IDs for the command");
-            }
+    public String getKeyword() {
+        return "AddTeleport";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 3) {
+            return new AddTeleportCommand(line.getInt(1), line.getInt(2));
+        } else {
+            System.out.println("Not enough IDs for the command");
         }
         return null;
     }
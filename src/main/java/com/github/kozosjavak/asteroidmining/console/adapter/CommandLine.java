@@ -0,0 +1,112 @@
+package com.github.kozosjavak.asteroidmining.console.adapter;
+
+import java.util.Arrays;
+
+/**
+ * A console line split into its tokens once, the adapters read the tokens from it.
+ * The tokens are the same as the ones of String.split(" ") (the trailing empty tokens are dropped), but only their
+ * bounds are stored, a token is copied out only if it is asked for as a String, the numbers are parsed in place.
+ */
+public final class CommandLine {
+    private final String text;
+    /**
+     * Start and end (exclusive) of the tokens in the text, the i-th token is at 2i and 2i + 1
+     */
+    private int[] bounds = new int[8];
+    private int size = 0;
+
+    /**
+     * Tokenizes the line
+     *
+     * @param text String
+     */
+    public CommandLine(String text) {
+        this.text = text;
+        int start = 0;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || text.charAt(i) == ' ') {
+                if (2 * size + 2 > bounds.length) {
+                    bounds = Arrays.copyOf(bounds, 2 * bounds.length);
+                }
+                bounds[2 * size] = start;
+                bounds[2 * size + 1] = i;
+                size++;
+                start = i + 1;
+            }
+        }
+        //as split, the trailing empty tokens are dropped, but a line without any separator stays one token
+        while (size > 0 && bounds[2 * size - 2] == bounds[2 * size - 1] && (size > 1 || length > 0)) {
+            size--;
+        }
+    }
+
+    /**
+     * Gives back the whole line
+     *
+     * @return String
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Gives back the number of the tokens
+     *
+     * @return int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gives back the first token, "" if there is none
+     *
+     * @return String
+     */
+    public String getKeyword() {
+        return size == 0 ? "" : get(0);
+    }
+
+    /**
+     * Gives back the i-th token
+     *
+     * @param i int
+     * @return String
+     */
+    public String get(int i) {
+        checkIndex(i);
+        return text.substring(bounds[2 * i], bounds[2 * i + 1]);
+    }
+
+    /**
+     * Parses the i-th token as a decimal int, without copying it
+     *
+     * @param i int
+     * @return int
+     * @throws NumberFormatException if the token is not a number
+     */
+    public int getInt(int i) {
+        checkIndex(i);
+        return Integer.parseInt(text, bounds[2 * i], bounds[2 * i + 1], 10);
+    }
+
+    /**
+     * Gives back the tokens in an array, as String.split(" ") would
+     *
+     * @return String[]
+     */
+    public String[] toArray() {
+        String[] tokens = new String[size];
+        for (int i = 0; i < size; i++) {
+            tokens[i] = get(i);
+        }
+        return tokens;
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new ArrayIndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+        }
+    }
+}
@@ -6,23 +6,23 @@ import com.github.kozosjavak.asteroidmining.core.commands.CreateAsteroidCommand;
 
 //leterhozunk egy create asteroid commandot felismero command adaptert, azaz ez a class dolgozza fel a bejovo Stringet ami tartalmazza az adatokat a System.inbol
 public class CreateAsteroidAdapter implements StringCommandAdapter {
+    @Override
+    public String getKeyword() {
+        return "CreateAsteroid";
+    }
+
     //Parse fgvt kell felulirni mindenhol
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-        //Nagyon fontos, hogy itt kell egy ellenorzes hogy magara ismere-e a command, azaz itt a peldanak okaert: "create asteroid", meg kell nezzuk hogy a string eleje tartalmazzae a commandot
-        if (splitted[0].equals("CreateAsteroid")) {
-            //ha tartalmazza akkor itt adunk vissza egy uj commandot, amely construktoranak mar atadtuk a megfelelo adatokat a megfelelo formaban.
+    public Command parse(CommandLine line) {
+        //A sor elso szavat (getKeyword) mar a CommandDispatcher ellenorizte, ide csak a "CreateAsteroid" sorok jutnak el.
+        //Itt adunk vissza egy uj commandot, amely construktoranak mar atadtuk a megfelelo adatokat a megfelelo formaban.
 
-            if(splitted.length == 3) { // kapott materialt is
-                //leterhozunk egy uj commandot az adatokkal megadva, es visszaadjuk a ConsoleCommandExecutornak, aminek a CommandExecutor foosztalya eltarolja az uj commandot
-                return new CreateAsteroidCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2]));
-            }
-            else { // nem kapott materialt
-                return new CreateAsteroidCommand(Integer.parseInt(splitted[1]), -1);
-            }
+        if(line.size() == 3) { // kapott materialt is
+            //leterhozunk egy uj commandot az adatokkal megadva, es visszaadjuk a ConsoleCommandExecutornak, aminek a CommandExecutor foosztalya eltarolja az uj commandot
+            return new CreateAsteroidCommand(line.getInt(1), line.getInt(2));
+        }
+        else { // nem kapott materialt
+            return new CreateAsteroidCommand(line.getInt(1), -1);
         }
-        //Ha nem a "create asteroid" a string akkor szimplan nullt visszaadva a ConsoleCommandExecutor tudja hogy nem talalt a latogatas (visitor pattern).
-        return null;
     }
 }
@@ -6,15 +6,19 @@ import com.github.kozosjavak.asteroidmining.core.commands.CreateMaterialCommand;
 public class CreateMaterialAdapter implements StringCommandAdapter {
 
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-        if (splitted[0].equals("CreateMaterial") && splitted.length > 1) {
-            boolean validMaterial = splitted[1].equals("iron") ||
-                    splitted[1].equals("waterice") ||
-                    splitted[1].equals("uran") ||
-                    splitted[1].equals("coal");
+    public String getKeyword() {
+        return "CreateMaterial";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() > 1) {
+            boolean validMaterial = line.get(1).equals("iron") ||
+                    line.get(1).equals("waterice") ||
+                    line.get(1).equals("uran") ||
+                    line.get(1).equals("coal");
             if (validMaterial) {
-                return new CreateMaterialCommand(splitted);
+                return new CreateMaterialCommand(line.toArray());
             } else System.out.printf("Wrong name of Material, command invalid.\n");
         }
         return null;
@@ -5,12 +5,14 @@ import com.github.kozosjavak.asteroidmining.core.commands.CreateRobotCommand;
 
 public class CreateRobotAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-        if (splitted[0].equals("CreateRobot")) {
-            if (splitted.length == 2) {
-                return new CreateRobotCommand(Integer.parseInt(splitted[1]));
-            }
+    public String getKeyword() {
+        return "CreateRobot";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 2) {
+            return new CreateRobotCommand(line.getInt(1));
         }
         return null;
     }
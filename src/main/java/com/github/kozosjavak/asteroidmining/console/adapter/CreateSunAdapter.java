@@ -5,8 +5,13 @@ import com.github.kozosjavak.asteroidmining.core.commands.CreateSunCommand;
 
 public class CreateSunAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        if (str.equals("CreateSun")) {
+    public String getKeyword() {
+        return "CreateSun";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.getText().equals("CreateSun")) {
             return new CreateSunCommand();
         }
         return null;
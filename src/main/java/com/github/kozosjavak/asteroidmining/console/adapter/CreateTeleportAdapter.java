@@ -5,8 +5,13 @@ import com.github.kozosjavak.asteroidmining.core.commands.CreateTeleportCommand;
 
 public class CreateTeleportAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        if (str.equals("CreateTeleport")) {
+    public String getKeyword() {
+        return "CreateTeleport";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.getText().equals("CreateTeleport")) {
             return new CreateTeleportCommand();
         }
         return null;
@@ -6,14 +6,16 @@ import com.github.kozosjavak.asteroidmining.core.commands.CreateUfoCommand;
 
 public class CreateUfoAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-        if (splitted[0].equals("CreateUfo")) {
-            if (splitted.length == 2) {
-                return new CreateUfoCommand(Integer.parseInt(splitted[1]));
-            }
-            System.out.println("No id has given!\n");
+    public String getKeyword() {
+        return "CreateUfo";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 2) {
+            return new CreateUfoCommand(line.getInt(1));
         }
+        System.out.println("No id has given!\n");
         return null;
     }
 }
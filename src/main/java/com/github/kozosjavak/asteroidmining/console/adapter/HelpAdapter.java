@@ -5,10 +5,25 @@ import com.github.kozosjavak.asteroidmining.core.commands.HelpCommand;
 
 public class HelpAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        if (str.equalsIgnoreCase("help")) {
+    public String getKeyword() {
+        return "help";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.getText().equalsIgnoreCase("help")) {
             return new HelpCommand();
         }
         return null;
     }
+
+    /**
+     * The help is recognized in any case, e.g. "HELP"
+     *
+     * @return boolean false
+     */
+    @Override
+    public boolean isCaseSensitive() {
+        return false;
+    }
 }
@@ -5,14 +5,16 @@ import com.github.kozosjavak.asteroidmining.core.commands.LinkTeleportsCommand;
 
 public class LinkTeleportsAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-        if (splitted[0].equals("LinkTeleports")) {
-            if (splitted.length == 3) {
-                return new LinkTeleportsCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2]));
-            }
-            System.out.println("Not enough IDs for the command");
+    public String getKeyword() {
+        return "LinkTeleports";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 3) {
+            return new LinkTeleportsCommand(line.getInt(1), line.getInt(2));
         }
+        System.out.println("Not enough IDs for the command");
         return null;
     }
 }
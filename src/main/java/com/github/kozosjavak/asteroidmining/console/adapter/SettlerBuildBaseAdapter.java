@@ -6,13 +6,14 @@ import com.github.kozosjavak.asteroidmining.core.commands.SettlerBuildBaseComman
 public class SettlerBuildBaseAdapter implements StringCommandAdapter {
 
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
+    public String getKeyword() {
+        return "SettlerBuildBase";
+    }
 
-        if (splitted[0].equals("SettlerBuildBase")) {
-            if (splitted.length == 2) return new SettlerBuildBaseCommand(Integer.parseInt(splitted[1]));
-            else System.out.println("Not enough IDs for the command");
-        }
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 2) return new SettlerBuildBaseCommand(line.getInt(1));
+        else System.out.println("Not enough IDs for the command");
 
         return null;
     }
@@ -5,13 +5,15 @@ import com.github.kozosjavak.asteroidmining.core.commands.SettlerBuildRobotComma
 
 public class SettlerBuildRobotAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-        if (splitted[0].equals("SettlerBuildRobot")) {
-            if (splitted.length == 2) {
-                return new SettlerBuildRobotCommand(Integer.parseInt(splitted[1]));
-            } else System.out.println("Command needs a Settler ID");
-        }
+    public String getKeyword() {
+        return "SettlerBuildRobot";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 2) {
+            return new SettlerBuildRobotCommand(line.getInt(1));
+        } else System.out.println("Command needs a Settler ID");
         return null;
     }
 }
\ No newline at end of file
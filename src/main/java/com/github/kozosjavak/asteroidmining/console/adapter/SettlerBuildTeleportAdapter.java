@@ -5,15 +5,16 @@ import com.github.kozosjavak.asteroidmining.core.commands.SettlerBuildTeleportCo
 
 public class SettlerBuildTeleportAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
+    public String getKeyword() {
+        return "SettlerBuildTeleport";
+    }
 
-        if (splitted[0].equals("SettlerBuildTeleport")) {
-            if (splitted.length == 2) {
-                return new SettlerBuildTeleportCommand(Integer.parseInt(splitted[1]));
-            }
-            System.out.println("No id has given!\n");
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 2) {
+            return new SettlerBuildTeleportCommand(line.getInt(1));
         }
+        System.out.println("No id has given!\n");
 
         return null;
     }
@@ -5,14 +5,16 @@ import com.github.kozosjavak.asteroidmining.core.commands.SettlerDrillCommand;
 
 public class SettlerDrillAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-        if (splitted[0].equals("SettlerDrill")) {
-            if (splitted.length == 2) {
-                return new SettlerDrillCommand(Integer.parseInt(splitted[1]));
-            } else {
-                System.out.println("Not enough IDs for the command");
-            }
+    public String getKeyword() {
+        return "SettlerDrill";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 2) {
+            return new SettlerDrillCommand(line.getInt(1));
+        } else {
+            System.out.println("Not enough IDs for the command");
         }
         return null;
     }
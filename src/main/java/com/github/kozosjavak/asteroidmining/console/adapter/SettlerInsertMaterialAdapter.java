@@ -5,16 +5,18 @@ import com.github.kozosjavak.asteroidmining.core.commands.SettlerInsertMaterialC
 
 public class SettlerInsertMaterialAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-        if (splitted[0].equals("SettlerInsertMaterial")) {
-            if (splitted.length == 2) {
-                return new SettlerInsertMaterialCommand(Integer.parseInt(splitted[1]));
-            } else {
-                System.out.println("Invalid command");
-            }
+    public String getKeyword() {
+        return "SettlerInsertMaterial";
+    }
 
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 2) {
+            return new SettlerInsertMaterialCommand(line.getInt(1));
+        } else {
+            System.out.println("Invalid command");
         }
+
         return null;
     }
 
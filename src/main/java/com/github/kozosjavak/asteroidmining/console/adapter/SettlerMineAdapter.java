@@ -5,14 +5,16 @@ import com.github.kozosjavak.asteroidmining.core.commands.SettlerMineCommand;
 
 public class SettlerMineAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-        if (splitted[0].equals("SettlerMine")) {
-            if (splitted.length == 2) {
-                return new SettlerMineCommand(Integer.parseInt(splitted[1]));
-            } else {
-                System.out.println("Not enough IDs for the command");
-            }
+    public String getKeyword() {
+        return "SettlerMine";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 2) {
+            return new SettlerMineCommand(line.getInt(1));
+        } else {
+            System.out.println("Not enough IDs for the command");
         }
         return null;
     }
@@ -6,14 +6,16 @@ import com.github.kozosjavak.asteroidmining.core.commands.SettlerRemoveMaterialC
 
 public class SettlerRemoveMaterialAdapter  implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-        if (splitted[0].equals("SettlerRemoveMaterial")) {
-            if (splitted.length == 2) {
-                return new SettlerRemoveMaterialCommand(Integer.parseInt(splitted[1]));
-            } else {
-                System.out.println("Not enough IDs for the command");
-            }
+    public String getKeyword() {
+        return "SettlerRemoveMaterial";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 2) {
+            return new SettlerRemoveMaterialCommand(line.getInt(1));
+        } else {
+            System.out.println("Not enough IDs for the command");
         }
         return null;
     }
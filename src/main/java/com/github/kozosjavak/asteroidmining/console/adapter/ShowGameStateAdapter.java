@@ -9,13 +9,12 @@ import com.github.kozosjavak.asteroidmining.core.commands.ShowGameStateCommand;
 public class ShowGameStateAdapter implements StringCommandAdapter {
 
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
-
-        if (splitted[0].equals("ShowGameState")) {
-            return new ShowGameStateCommand();
-        }
+    public String getKeyword() {
+        return "ShowGameState";
+    }
 
-        return null;
+    @Override
+    public Command parse(CommandLine line) {
+        return new ShowGameStateCommand();
     }
 }
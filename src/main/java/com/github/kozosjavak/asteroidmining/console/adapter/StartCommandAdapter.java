@@ -6,8 +6,13 @@ import com.github.kozosjavak.asteroidmining.core.commands.StartCommand;
 public class StartCommandAdapter implements StringCommandAdapter {
 
     @Override
-    public Command parse(String str) {
-        if (str.equals("start")) {
+    public String getKeyword() {
+        return "start";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.getText().equals("start")) {
             return new StartCommand();
         }
         return null;
@@ -4,8 +4,13 @@ import com.github.kozosjavak.asteroidmining.core.commands.Command;
 import com.github.kozosjavak.asteroidmining.core.commands.StartSolarStormCommand;
 public class StartSolarStormAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        if (str.equals("StartSolarStorm")) {
+    public String getKeyword() {
+        return "StartSolarStorm";
+    }
+
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.getText().equals("StartSolarStorm")) {
             return new StartSolarStormCommand();
         }
         return null;
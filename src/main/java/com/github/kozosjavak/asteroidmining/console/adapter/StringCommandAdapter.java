@@ -7,11 +7,39 @@ import com.github.kozosjavak.asteroidmining.core.commands.Command;
  */
 
 public interface StringCommandAdapter {
+    /**
+     * Gives back the first word of the lines which the adapter recognizes, the console dispatches the lines by it
+     *
+     * @return String
+     */
+    String getKeyword();
+
+    /**
+     * Parses the tokenized line, its first token is the keyword of the adapter
+     *
+     * @param line CommandLine
+     * @return Command, null if the line is not a valid command
+     */
+    Command parse(CommandLine line);
+
+    /**
+     * Tells if the keyword has to be given in the same case, e.g. the help is recognized as "HELP" too
+     *
+     * @return boolean, true by default
+     */
+    default boolean isCaseSensitive() {
+        return true;
+    }
+
     /**
      * Get a string and if the str contains the command returns the specific command
      *
      * @param str String
      * @return Command
      */
-    Command parse(String str);
+    default Command parse(String str) {
+        CommandLine line = new CommandLine(str);
+        boolean matches = isCaseSensitive() ? line.getKeyword().equals(getKeyword()) : line.getKeyword().equalsIgnoreCase(getKeyword());
+        return matches ? parse(line) : null;
+    }
 }
@@ -5,15 +5,16 @@ import com.github.kozosjavak.asteroidmining.core.commands.UfoStealCommand;
 
 public class UfoStealAdapter implements StringCommandAdapter {
     @Override
-    public Command parse(String str) {
-        String[] splitted = str.split(" ");
+    public String getKeyword() {
+        return "UfoSteal";
+    }
 
-        if (splitted[0].equals("UfoSteal")) {
-            if (splitted.length == 2) {
-                return new UfoStealCommand(Integer.parseInt(splitted[1]));
-            }
-            System.out.println("No id has given!\n");
+    @Override
+    public Command parse(CommandLine line) {
+        if (line.size() == 2) {
+            return new UfoStealCommand(line.getInt(1));
         }
+        System.out.println("No id has given!\n");
 
         return null;
     }
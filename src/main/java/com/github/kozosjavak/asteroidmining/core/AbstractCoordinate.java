@@ -0,0 +1,52 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+/**
+ * Position in the world of space, it can be a standalone value (Coordinate) or the coordinate of a location which is
+ * kept in the coordinate store of the game (CoordinateView). The distances are counted the same way for both.
+ */
+public abstract class AbstractCoordinate {
+    /**
+     * Gives back the x coordinate
+     *
+     * @return double X
+     */
+    public abstract double getX();
+
+    /**
+     * Gives back the y coordinate
+     *
+     * @return double Y
+     */
+    public abstract double getY();
+
+    /**
+     * Give new coordinate datas, like if you want to give new position for something which implements coordinates
+     *
+     * @param x double X coordinate
+     * @param y double Y coordinate
+     */
+    public abstract void updateCoordinates(double x, double y);
+
+    /**
+     * Gives back the distance between this coordinate and the given coordinate
+     *
+     * @param coor AbstractCoordinate: the other coordinate which you want to know the distance from this coordinate
+     * @return double distance
+     */
+    public double getDistance(AbstractCoordinate coor) {
+        return Math.sqrt(getDistanceSquared(coor));
+    }
+
+    /**
+     * Gives back the squared distance between this coordinate and the given coordinate, it is enough to compare with a
+     * squared radius
+     *
+     * @param coor AbstractCoordinate: the other coordinate
+     * @return double squared distance
+     */
+    public double getDistanceSquared(AbstractCoordinate coor) {
+        double dx = getX() - coor.getX();
+        double dy = getY() - coor.getY();
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set of the locations which have something to do in a round: the sun, the locations with a teleport (a solarized
+ * teleport redeploys itself) and the asteroids with robots or ufos on them. The other locations are skipped by the
+ * rounds, so a round costs the number of the active locations instead of the size of the world.
+ * The set is a bitmap over the indexes of the locations, the bits are set with CAS because the tiles of a round
+ * can change locations with bits in the same word at the same time. The locations tell the set when their content
+ * changes, see Location.updateActivity.
+ */
+public class ActiveSet {
+    private final Game game;
+    /**
+     * One bit for every location index
+     */
+    private AtomicLongArray words = new AtomicLongArray(1);
+    /**
+     * The locations of the game by their index, null if the location isn't in the game
+     */
+    private Location[] locations = new Location[64];
+
+    /**
+     * Basic constructor
+     *
+     * @param game Game
+     */
+    public ActiveSet(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Adds the location of the game to the set, it is active if it has something to do
+     *
+     * @param location Location
+     */
+    synchronized void add(Location location) {
+        int index = location.getIndex();
+        ensureIndex(index, Math.max(2 * locations.length, index + 1));
+        locations[index] = location;
+        update(location);
+    }
+
+    /**
+     * Adds more locations of the game to the set, the arrays are grown once for the largest index
+     *
+     * @param added List<Location>
+     */
+    synchronized void addAll(List<Location> added) {
+        int maxIndex = -1;
+        for (Location location : added) {
+            maxIndex = Math.max(maxIndex, location.getIndex());
+        }
+        if (maxIndex < 0) {
+            return;
+        }
+        ensureIndex(maxIndex, maxIndex + 1);
+        for (Location location : added) {
+            locations[location.getIndex()] = location;
+            update(location);
+        }
+    }
+
+    /**
+     * Grows the arrays if the index doesn't fit in them
+     *
+     * @param index    int, the index which has to fit
+     * @param capacity int, the new number of the locations if the arrays have to grow
+     */
+    private void ensureIndex(int index, int capacity) {
+        if (index >= locations.length) {
+            locations = Arrays.copyOf(locations, Math.max(capacity, index + 1));
+        }
+        if ((index >> 6) >= words.length()) {
+            AtomicLongArray grown = new AtomicLongArray(Math.max((capacity + 63) >> 6, (index >> 6) + 1));
+            for (int i = 0; i < words.length(); i++) {
+                grown.set(i, words.get(i));
+            }
+            words = grown;
+        }
+    }
+
+    /**
+     * Sets the bit of the location by its content, it tells the round executor if the location has become active
+     *
+     * @param location Location
+     */
+    void update(Location location) {
+        int index = location.getIndex();
+        if (index >= locations.length || locations[index] != location) {
+            return;
+        }
+        long bit = 1L << index;
+        int word = index >> 6;
+        if (location.hasWork()) {
+            long old;
+            do {
+                old = words.get(word);
+                if ((old & bit) != 0) {
+                    return;
+                }
+            } while (!words.compareAndSet(word, old, old | bit));
+            game.getRoundExecutor().locationActivated(location);
+        } else {
+            long old;
+            do {
+                old = words.get(word);
+                if ((old & bit) == 0) {
+                    return;
+                }
+            } while (!words.compareAndSet(word, old, old & ~bit));
+        }
+    }
+
+    /**
+     * Tells if the location has something to do
+     *
+     * @param location Location
+     * @return boolean
+     */
+    public boolean isActive(Location location) {
+        int index = location.getIndex();
+        return index < locations.length && locations[index] == location && (words.get(index >> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Gives back the index of the first active location from the given index
+     *
+     * @param fromIndex int, inclusive
+     * @return int, -1 if there is no more active location
+     */
+    public int nextActive(int fromIndex) {
+        int word = fromIndex >> 6;
+        if (word >= words.length()) {
+            return -1;
+        }
+        long bits = words.get(word) & (-1L << fromIndex);
+        while (bits == 0) {
+            if (++word == words.length()) {
+                return -1;
+            }
+            bits = words.get(word);
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Gives back the location of the index
+     *
+     * @param index int
+     * @return Location/null
+     */
+    public Location getLocation(int index) {
+        return index < locations.length ? locations[index] : null;
+    }
+
+    /**
+     * Gives back the number of the active locations
+     *
+     * @return int
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < words.length(); i++) {
+            size += Long.bitCount(words.get(i));
+        }
+        return size;
+    }
+}
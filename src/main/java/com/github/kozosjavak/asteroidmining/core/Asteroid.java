@@ -7,7 +7,6 @@ import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialExce
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -23,16 +22,23 @@ public class Asteroid extends Orb implements Explodeable {
      * List of SpaceShips on the asteroid
      */
     private final List<Spaceship> residence = new CopyOnWriteArrayList<>();
+    /**
+     * Number of the spaceships in the residence which are stepped by the asteroid (not settlers)
+     */
+    private int steppedResidents = 0;
     private final int texture_index;
     /**
      * Material in the core of the asteroid which can be mined
      */
     private Material substance;
-    private final Random rand;
     /**
      * Thickness of the surface of the asteroid
      */
     private int surfaceThickness;
+    /**
+     * True after the explosion, an asteroid explodes only once
+     */
+    private boolean destroyed = false;
 
     /**
      * Aszteroida konstruktor
@@ -41,11 +47,24 @@ public class Asteroid extends Orb implements Explodeable {
      * @param substance        aszteroida magjába inicializálandó nyersanyag
      */
     public Asteroid(Location location, int surfaceThickness, Material substance) {
+        this(location, surfaceThickness, substance, 1 + location.random.nextInt(3), false);
+    }
+
+    /**
+     * Constructor of a loaded asteroid, it doesn't draw from the stream of the location
+     *
+     * @param location         Location
+     * @param surfaceThickness int
+     * @param substance        Material, can be null
+     * @param textureIndex     int
+     * @param destroyed        boolean
+     */
+    Asteroid(Location location, int surfaceThickness, Material substance, int textureIndex, boolean destroyed) {
         super(location);
         this.surfaceThickness = surfaceThickness;
         this.substance = substance;
-        rand = new Random();
-        texture_index = 1 + rand.nextInt(3);
+        texture_index = textureIndex;
+        this.destroyed = destroyed;
     }
 
     public int getTexture_index() {
@@ -75,6 +94,9 @@ public class Asteroid extends Orb implements Explodeable {
      */
     public void addSpaceShip(Spaceship spaceShip) {
         residence.add(spaceShip);
+        if (spaceShip.getClass() != Settler.class && steppedResidents++ == 0) {
+            getLocation().updateActivity();
+        }
     }
 
     /**
@@ -83,7 +105,9 @@ public class Asteroid extends Orb implements Explodeable {
      * @param spaceShip az eltávolítandó űrhajó
      */
     public void removeSpaceship(Spaceship spaceShip) {
-        residence.remove(spaceShip);
+        if (residence.remove(spaceShip) && spaceShip.getClass() != Settler.class && --steppedResidents == 0) {
+            getLocation().updateActivity();
+        }
     }
 
     /**
@@ -109,13 +133,8 @@ public class Asteroid extends Orb implements Explodeable {
      * @throws SurfaceThicknessIsZeroException if its already removed to zero
      */
     public void drill() throws Exception {
-        if (surfaceThickness == 1) {
-            List<Location> locations = getLocation().getNeighbors();
-            for (Location location : locations) {
-                if (location.getOrb().getClass() == Sun.class) {
-                    substance.experienceExtremeHeat(this);
-                }
-            }
+        if (surfaceThickness == 1 && getLocation().game.getSunProximity().isNextToSun(getLocation())) {
+            substance.experienceExtremeHeat(this);
         }
 
         if (surfaceThickness > 0) {
@@ -127,14 +146,53 @@ public class Asteroid extends Orb implements Explodeable {
     }
 
     /**
-     * Aszteroida explode and all thing on location explode with it
+     * Aszteroida explode and all thing on location explode with it, the explosion engine of the game does it, see
+     * ExplosionEngine
      */
     public void explode() throws NoNeighborException {
+        getLocation().game.getExplosionEngine().explode(this);
+    }
+
+    /**
+     * Tells if the asteroid has already exploded
+     *
+     * @return boolean
+     */
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Does the explosion: the spaceships are hit, the location is cleared. A robot which can't be thrown to a neighbor
+     * is destroyed with the asteroid
+     *
+     * @throws NoNeighborException the first robot which couldn't be thrown to a neighbor
+     */
+    void detonate() throws NoNeighborException {
+        destroyed = true;
+        NoNeighborException failure = null;
         for (Spaceship spaceship : residence) {
-            spaceship.getHitByExplosion();
+            try {
+                spaceship.getHitByExplosion();
+            } catch (NoNeighborException exception) {
+                if (failure == null) {
+                    failure = exception;
+                }
+                spaceship.die();
+            }
         }
         residence.clear();
+        steppedResidents = 0;
+        Game game = getLocation().game;
         getLocation().fullClearByExplosion();
+        game.removeFromIdList(this);
+        game.removeFromIdList(substance);
+        for (Material material : asteroidInventory.getList()) {
+            game.removeFromIdList(material);
+        }
+        if (failure != null) {
+            throw failure;
+        }
     }
 
     /**
@@ -168,7 +226,7 @@ public class Asteroid extends Orb implements Explodeable {
      * @throws NotEnoughMaterialException ha nincs elég nyersanyag, amiből el lehetne távolítani
      */
     public void removeMaterial(Material materialToRemove) throws NotEnoughMaterialException {
-        asteroidInventory.remove(materialToRemove.getClass(), 1);
+        asteroidInventory.remove(materialToRemove);
     }
 
     public Material removeMaterial() throws NotEnoughMaterialException {
@@ -179,6 +237,9 @@ public class Asteroid extends Orb implements Explodeable {
 
     @Override
     public void removeSubstance() {
+        if (substance != null) {
+            getLocation().game.removeFromIdList(substance);
+        }
         substance = null;
     }
 
@@ -207,14 +268,27 @@ public class Asteroid extends Orb implements Explodeable {
      */
     @Override
     public void experienceExtremeHeat() throws Exception {
-        if (surfaceThickness == 0 && substance != null) {
-            substance.experienceExtremeHeat(this);
-        } else {
-            asteroidInventory.experienceExtremeHeat(this);
-        }
-        for (Spaceship spaceship : residence) {
-            spaceship.experienceExtremeHeat();
-        }
+        //the explosions caused by the heat are done after every resident has got the heat
+        getLocation().game.getExplosionEngine().heat(() -> {
+            if (surfaceThickness == 0 && substance != null) {
+                substance.experienceExtremeHeat(this);
+            } else {
+                asteroidInventory.experienceExtremeHeat(this);
+            }
+            for (Spaceship spaceship : residence) {
+                spaceship.experienceExtremeHeat();
+            }
+        });
+    }
+
+    /**
+     * The asteroid has something to do if there are robots or ufos on it
+     *
+     * @return boolean
+     */
+    @Override
+    boolean hasWork() {
+        return steppedResidents > 0;
     }
 
     @Override
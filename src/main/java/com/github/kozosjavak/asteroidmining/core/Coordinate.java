@@ -1,9 +1,10 @@
 package com.github.kozosjavak.asteroidmining.core;
 
 /**
- * Basic role of the position determine of the world of space, given two double param
+ * Basic role of the position determine of the world of space, given two double param.
+ * It keeps its own x and y, e.g. the center of a query, the coordinate of a location is a CoordinateView.
  */
-public class Coordinate {
+public class Coordinate extends AbstractCoordinate {
     private double x;
     private double y;
 
@@ -23,6 +24,7 @@ public class Coordinate {
      *
      * @return double X
      */
+    @Override
     public double getX() {
         return x;
     }
@@ -32,26 +34,18 @@ public class Coordinate {
      *
      * @return double Y
      */
+    @Override
     public double getY() {
         return y;
     }
 
-    /**
-     * Gives back the distance between this coordinate and the given coordinate
-     *
-     * @param coor Coordinate: the other coordinate which you want to know the distance from this coordinate
-     * @return double distance
-     */
-    public double getDistance(Coordinate coor) {
-        return Math.sqrt((this.x - coor.x) * (this.x - coor.x) + (this.y - coor.y) * (this.y - coor.y));
-    }
-
     /**
      * Give new coordinate datas, like if you want to give new position for something which implements coordinates
      *
      * @param x double X coordinate
      * @param y double Y coordinate
      */
+    @Override
     public void updateCoordinates(double x, double y) {
         this.x = x;
         this.y = y;
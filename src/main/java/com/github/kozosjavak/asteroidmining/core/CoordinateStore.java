@@ -0,0 +1,133 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.Arrays;
+
+/**
+ * The coordinates of the locations of a game in struct of arrays form: x and y are kept in two double arrays by the
+ * index of the location, the CoordinateView of a location is a view of its slot.
+ * The distance checks compare squared distances with the squared radius, no square root is taken. The bulk filter
+ * is a plain counted loop over an index array without branches, the spatial grid runs it on its cells.
+ */
+public final class CoordinateStore {
+    private Location[] locations = new Location[16];
+    private double[] xs = new double[16];
+    private double[] ys = new double[16];
+
+    /**
+     * Registers the location with its starting coordinate
+     *
+     * @param location Location
+     * @param x        double
+     * @param y        double
+     */
+    void register(Location location, double x, double y) {
+        int index = location.index;
+        if (index >= locations.length) {
+            int length = Math.max(index + 1, 2 * locations.length);
+            locations = Arrays.copyOf(locations, length);
+            xs = Arrays.copyOf(xs, length);
+            ys = Arrays.copyOf(ys, length);
+        }
+        locations[index] = location;
+        xs[index] = x;
+        ys[index] = y;
+    }
+
+    /**
+     * Gives back the location of the index
+     *
+     * @param index int
+     * @return Location
+     */
+    public Location getLocation(int index) {
+        return locations[index];
+    }
+
+    /**
+     * Gives back the x coordinate of the location
+     *
+     * @param index int, index of the location
+     * @return double
+     */
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Gives back the y coordinate of the location
+     *
+     * @param index int, index of the location
+     * @return double
+     */
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    void set(int index, double x, double y) {
+        xs[index] = x;
+        ys[index] = y;
+    }
+
+    /**
+     * Gives back the squared distance of the location from the point
+     *
+     * @param index int, index of the location
+     * @param x     double
+     * @param y     double
+     * @return double
+     */
+    public double distanceSquared(int index, double x, double y) {
+        double dx = xs[index] - x;
+        double dy = ys[index] - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Copies the indexes which are not farther than the radius from the point to the end of the output
+     *
+     * @param indexes       int[], indexes of the locations
+     * @param count         int, number of the used indexes
+     * @param x             double
+     * @param y             double
+     * @param radiusSquared double
+     * @param except        int, this index is left out, -1 if none
+     * @param out           int[], at least outCount + count long
+     * @param outCount      int, number of the used slots of the output
+     * @return int, the new number of the used slots of the output
+     */
+    public int filterWithin(int[] indexes, int count, double x, double y, double radiusSquared, int except,
+                            int[] out, int outCount) {
+        int n = outCount;
+        for (int i = 0; i < count; i++) {
+            int index = indexes[i];
+            double dx = xs[index] - x;
+            double dy = ys[index] - y;
+            out[n] = index;
+            n += (dx * dx + dy * dy <= radiusSquared) & (index != except) ? 1 : 0;
+        }
+        return n;
+    }
+
+    /**
+     * Tells if any of the indexes is closer than the radius to the point
+     *
+     * @param indexes       int[], indexes of the locations
+     * @param count         int, number of the used indexes
+     * @param x             double
+     * @param y             double
+     * @param radiusSquared double
+     * @param except        int, this index is left out, -1 if none
+     * @return boolean
+     */
+    public boolean anyCloserThan(int[] indexes, int count, double x, double y, double radiusSquared, int except) {
+        for (int i = 0; i < count; i++) {
+            int index = indexes[i];
+            double dx = xs[index] - x;
+            double dy = ys[index] - y;
+            if (dx * dx + dy * dy < radiusSquared && index != except) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
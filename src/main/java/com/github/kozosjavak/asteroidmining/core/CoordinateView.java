@@ -0,0 +1,49 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+/**
+ * Coordinate of a location, it is a view of the slot of the location in the coordinate store of the game, so it keeps
+ * no x and y of its own. The location gets notified when the coordinate changes.
+ */
+final class CoordinateView extends AbstractCoordinate {
+    private final CoordinateStore store;
+    /**
+     * Index of the slot in the store
+     */
+    private final int index;
+    private final Location location;
+
+    /**
+     * Creates the view of the slot of the store
+     *
+     * @param store    CoordinateStore
+     * @param index    int, index of the location
+     * @param location Location, owns the coordinate
+     */
+    CoordinateView(CoordinateStore store, int index, Location location) {
+        this.store = store;
+        this.index = index;
+        this.location = location;
+    }
+
+    @Override
+    public double getX() {
+        return store.getX(index);
+    }
+
+    @Override
+    public double getY() {
+        return store.getY(index);
+    }
+
+    /**
+     * Writes the new coordinate in the store, and notifies the location
+     *
+     * @param x double X coordinate
+     * @param y double Y coordinate
+     */
+    @Override
+    public void updateCoordinates(double x, double y) {
+        store.set(index, x, y);
+        location.coordinateChanged();
+    }
+}
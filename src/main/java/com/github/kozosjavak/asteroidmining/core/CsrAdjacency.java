@@ -0,0 +1,280 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compressed sparse row storage of the neighbor lists of the locations of a game.
+ * The neighbors of every location are stored as location indexes in one packed int array, the row of a location is
+ * given by its offset and length. The rows are written in place while they fit in their capacity, a row which outgrows
+ * it is moved to the end of the array, its old place becomes garbage. When the garbage is more than the used part, the
+ * rows are packed again (compact), without gaps, in the order of the location indexes.
+ * <p>
+ * Removing from a row never moves it, so the tiles of a parallel round can remove concurrently (their rows are
+ * disjoint), adding is only done between the parallel phases.
+ */
+public final class CsrAdjacency {
+    private static final int MIN_CAPACITY = 4;
+
+    /**
+     * Locations by their index
+     */
+    private Location[] locations = new Location[16];
+    private int[] offsets = new int[16];
+    private int[] lengths = new int[16];
+    private int[] capacities = new int[16];
+    /**
+     * Neighbor indexes of the rows, packed
+     */
+    private int[] targets = new int[64];
+    /**
+     * The end of the used part of the targets
+     */
+    private int end = 0;
+    /**
+     * Number of the slots left behind by the moved rows
+     */
+    private int garbage = 0;
+
+    /**
+     * Registers the location, it gets an empty row
+     *
+     * @param location Location
+     */
+    void register(Location location) {
+        int index = location.index;
+        if (index >= locations.length) {
+            int length = Math.max(index + 1, 2 * locations.length);
+            locations = Arrays.copyOf(locations, length);
+            offsets = Arrays.copyOf(offsets, length);
+            lengths = Arrays.copyOf(lengths, length);
+            capacities = Arrays.copyOf(capacities, length);
+        }
+        locations[index] = location;
+    }
+
+    /**
+     * Gives back the number of the neighbors of the location
+     *
+     * @param row int, index of the location
+     * @return int
+     */
+    public int size(int row) {
+        return lengths[row];
+    }
+
+    /**
+     * Gives back the index of the k-th neighbor of the location
+     *
+     * @param row int, index of the location
+     * @param k   int
+     * @return int
+     */
+    public int neighborIndex(int row, int k) {
+        return targets[offsets[row] + k];
+    }
+
+    /**
+     * Gives back the k-th neighbor of the location
+     *
+     * @param row int, index of the location
+     * @param k   int
+     * @return Location
+     */
+    public Location neighbor(int row, int k) {
+        return locations[targets[offsets[row] + k]];
+    }
+
+    /**
+     * Gives back the number of the stored neighbor indexes
+     *
+     * @return int
+     */
+    public int getEdgeCount() {
+        int edges = 0;
+        for (int row = 0; row < locations.length; row++) {
+            edges += lengths[row];
+        }
+        return edges;
+    }
+
+    /**
+     * Gives back the length of the packed array, the used part and the free slots of the rows together
+     *
+     * @return int
+     */
+    public int getCapacity() {
+        return targets.length;
+    }
+
+    void insert(int row, int position, int target) {
+        if (lengths[row] == capacities[row]) {
+            moveToEnd(row, Math.max(MIN_CAPACITY, 2 * capacities[row]));
+        }
+        int offset = offsets[row];
+        System.arraycopy(targets, offset + position, targets, offset + position + 1, lengths[row] - position);
+        targets[offset + position] = target;
+        lengths[row]++;
+    }
+
+    void removeAt(int row, int position) {
+        int offset = offsets[row];
+        System.arraycopy(targets, offset + position + 1, targets, offset + position, lengths[row] - position - 1);
+        lengths[row]--;
+    }
+
+    void clear(int row) {
+        lengths[row] = 0;
+    }
+
+    /**
+     * Packs the rows without gaps, every row gets a capacity of its length
+     */
+    void compact() {
+        int[] packed = new int[Math.max(64, getEdgeCount())];
+        int position = 0;
+        for (int row = 0; row < locations.length; row++) {
+            System.arraycopy(targets, offsets[row], packed, position, lengths[row]);
+            offsets[row] = position;
+            capacities[row] = lengths[row];
+            position += lengths[row];
+        }
+        targets = packed;
+        end = position;
+        garbage = 0;
+    }
+
+    /**
+     * Sets every row at once, packed, used when a game is loaded. The locations of the rows have to be registered
+     *
+     * @param rowOffsets int[], the row of the location of index i is from rowOffsets[i] to rowOffsets[i + 1] in the targets
+     * @param targets    int[], the neighbor indexes of the rows, it is kept
+     * @param rowCount   int, number of the rows, the locations of larger index get empty rows
+     */
+    void load(int[] rowOffsets, int[] targets, int rowCount) {
+        Arrays.fill(lengths, 0);
+        Arrays.fill(capacities, 0);
+        Arrays.fill(offsets, 0);
+        for (int row = 0; row < rowCount; row++) {
+            offsets[row] = rowOffsets[row];
+            lengths[row] = rowOffsets[row + 1] - rowOffsets[row];
+            capacities[row] = lengths[row];
+        }
+        this.targets = targets;
+        end = rowOffsets[rowCount];
+        garbage = 0;
+    }
+
+    /**
+     * Moves the row to the end of the used part with the given capacity, packs the rows first if it is worth it
+     */
+    private void moveToEnd(int row, int capacity) {
+        if (garbage > end - garbage) {
+            compact();
+        }
+        if (end + capacity > targets.length) {
+            targets = Arrays.copyOf(targets, Math.max(end + capacity, 2 * targets.length));
+        }
+        System.arraycopy(targets, offsets[row], targets, end, lengths[row]);
+        garbage += capacities[row];
+        offsets[row] = end;
+        capacities[row] = capacity;
+        end += capacity;
+    }
+
+    /**
+     * Gives back the list view of the row of the location
+     *
+     * @param location Location
+     * @return List<Location>
+     */
+    List<Location> rowOf(Location location) {
+        return new Row(location.index);
+    }
+
+    /**
+     * The neighbor list of one location, a view of its row. Adding and removing change the row
+     */
+    private final class Row extends AbstractList<Location> implements RandomAccess {
+        private final int row;
+
+        Row(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Location get(int index) {
+            if (index < 0 || index >= lengths[row]) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + lengths[row]);
+            }
+            return neighbor(row, index);
+        }
+
+        @Override
+        public int size() {
+            return lengths[row];
+        }
+
+        @Override
+        public void add(int index, Location location) {
+            if (index < 0 || index > lengths[row]) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + lengths[row]);
+            }
+            insert(row, index, location.index);
+            modCount++;
+        }
+
+        @Override
+        public Location remove(int index) {
+            Location removed = get(index);
+            removeAt(row, index);
+            modCount++;
+            return removed;
+        }
+
+        @Override
+        public boolean remove(Object object) {
+            if (!(object instanceof Location)) {
+                return false;
+            }
+            int target = ((Location) object).index;
+            int offset = offsets[row];
+            for (int k = 0; k < lengths[row]; k++) {
+                if (targets[offset + k] == target && locations[target] == object) {
+                    removeAt(row, k);
+                    modCount++;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            return object instanceof Location && indexOf(object) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object object) {
+            if (!(object instanceof Location)) {
+                return -1;
+            }
+            int target = ((Location) object).index;
+            int offset = offsets[row];
+            for (int k = 0; k < lengths[row]; k++) {
+                if (targets[offset + k] == target && locations[target] == object) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public void clear() {
+            CsrAdjacency.this.clear(row);
+            modCount++;
+        }
+    }
+}
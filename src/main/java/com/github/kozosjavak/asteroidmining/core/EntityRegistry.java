@@ -0,0 +1,468 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Generational registry of the game objects, it gives the IDs used on the console.
+ * The live objects are stored in slots, the slot of a released object is reused by a later one with the next generation.
+ * A handle is the slot in its lower bits and the generation of the slot in the upper bits, so an old handle of a dead object
+ * resolves to null instead of the new object in the slot. The generation wraps after GENERATIONS reuses of the same slot,
+ * the free slots are reused in FIFO order to make that rare.
+ * The console IDs are still given in the order of the registration and they are never reused (scripts refer to them
+ * after deaths too), only the live ones are kept in a table, so the memory use depends only on the number of the live objects.
+ */
+public class EntityRegistry {
+    /**
+     * Number of the bits of the slot in a handle
+     */
+    public static final int SLOT_BITS = 22;
+    /**
+     * Maximum number of the live objects
+     */
+    public static final int MAX_SLOTS = 1 << SLOT_BITS;
+    /**
+     * Number of the different generations of a slot, the handle stays a non negative int
+     */
+    public static final int GENERATIONS = 1 << (31 - SLOT_BITS);
+    private static final int SLOT_MASK = MAX_SLOTS - 1;
+
+    /**
+     * Object stored in the slot, null if the slot is free
+     */
+    private Object[] objects = new Object[16];
+    /**
+     * Current generation of the slots
+     */
+    private int[] generations = new int[16];
+    /**
+     * Console ID of the object in the slot
+     */
+    private int[] ids = new int[16];
+    /**
+     * Number of the slots which have been used at least once
+     */
+    private int slotCount = 0;
+    /**
+     * Ring buffer of the free slots
+     */
+    private int[] freeSlots = new int[16];
+    private int freeHead = 0;
+    private int freeCount = 0;
+    /**
+     * The next console ID
+     */
+    private int nextId = 0;
+    /**
+     * Slots with the console IDs given to them, in the order of the IDs. The IDs only grow, so a new object is appended,
+     * a released one stays until the next compaction, it is skipped because its slot is free or has a newer ID.
+     */
+    private int[] orderedSlots = new int[16];
+    private int[] orderedIds = new int[16];
+    private int orderedCount = 0;
+    /**
+     * Slot of the live objects by their console ID
+     */
+    private final IdTable slotsById = new IdTable();
+    /**
+     * Slot of the live objects by their identity
+     */
+    private final Map<Object, Integer> slotsByObject = new IdentityHashMap<>();
+    /**
+     * Number of the live objects by their class
+     */
+    private final Map<Class<?>, int[]> liveCounts = new HashMap<>();
+
+    /**
+     * Registers the object and gives back its console ID. An already registered object keeps its ID, but the next ID
+     * is used up like at a new object, so the later objects get the same IDs as with the old ID list (which added the
+     * object again); unlike there, the used up ID doesn't give back the object. The game and the commands don't
+     * register an object twice.
+     *
+     * @param object Object
+     * @return int ID
+     */
+    public int register(Object object) {
+        if (object == null) {
+            throw new IllegalArgumentException("Null can't be registered");
+        }
+        Integer existing = slotsByObject.get(object);
+        if (existing != null) {
+            nextId++;
+            return ids[existing];
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[freeHead];
+            freeHead = (freeHead + 1) % freeSlots.length;
+            freeCount--;
+        } else {
+            if (slotCount == MAX_SLOTS) {
+                throw new IllegalStateException("Too many live objects: " + MAX_SLOTS);
+            }
+            if (slotCount == objects.length) {
+                objects = Arrays.copyOf(objects, objects.length * 2);
+                generations = Arrays.copyOf(generations, generations.length * 2);
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            slot = slotCount++;
+        }
+        int id = nextId++;
+        objects[slot] = object;
+        ids[slot] = id;
+        slotsById.put(id, slot);
+        slotsByObject.put(object, slot);
+        liveCounts.computeIfAbsent(object.getClass(), type -> new int[1])[0]++;
+        appendOrdered(slot, id);
+        return id;
+    }
+
+    /**
+     * Releases the object, its slot will be reused, its ID and handle become stale
+     *
+     * @param object Object
+     * @return boolean, false if the object was not registered
+     */
+    public boolean release(Object object) {
+        Integer slot = object == null ? null : slotsByObject.remove(object);
+        if (slot == null) {
+            return false;
+        }
+        slotsById.remove(ids[slot]);
+        objects[slot] = null;
+        generations[slot] = (generations[slot] + 1) % GENERATIONS;
+        if (freeCount == freeSlots.length) {
+            int[] grown = new int[freeSlots.length * 2];
+            for (int i = 0; i < freeCount; i++) {
+                grown[i] = freeSlots[(freeHead + i) % freeSlots.length];
+            }
+            freeSlots = grown;
+            freeHead = 0;
+        }
+        freeSlots[(freeHead + freeCount) % freeSlots.length] = slot;
+        freeCount++;
+        int[] count = liveCounts.get(object.getClass());
+        if (--count[0] == 0) {
+            liveCounts.remove(object.getClass());
+        }
+        return true;
+    }
+
+    /**
+     * Gives back the object of the console ID
+     *
+     * @param id int
+     * @return Object, null if there is no live object with the ID
+     */
+    public Object get(int id) {
+        int slot = slotsById.get(id);
+        return slot < 0 ? null : objects[slot];
+    }
+
+    /**
+     * Gives back the console ID of the object
+     *
+     * @param object Object
+     * @return int, -1 if the object is not registered
+     */
+    public int getId(Object object) {
+        Integer slot = slotsByObject.get(object);
+        return slot == null ? -1 : ids[slot];
+    }
+
+    /**
+     * Gives back the handle of the object, it can be kept instead of a reference to the object
+     *
+     * @param object Object
+     * @return int, -1 if the object is not registered
+     */
+    public int getHandle(Object object) {
+        Integer slot = slotsByObject.get(object);
+        return slot == null ? -1 : (generations[slot] << SLOT_BITS) | slot;
+    }
+
+    /**
+     * Gives back the object of the handle
+     *
+     * @param handle int
+     * @return Object, null if the handle is unknown or stale
+     */
+    public Object resolve(int handle) {
+        if (handle < 0) {
+            return null;
+        }
+        int slot = handle & SLOT_MASK;
+        if (slot >= slotCount || generations[slot] != handle >>> SLOT_BITS) {
+            return null;
+        }
+        return objects[slot];
+    }
+
+    /**
+     * Gives back the number of the live objects
+     *
+     * @return int
+     */
+    public int size() {
+        return slotsByObject.size();
+    }
+
+    /**
+     * Gives back the number of the slots, live and free
+     *
+     * @return int
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Gives back the console ID the next registered object will get
+     *
+     * @return int
+     */
+    public int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Gives back the object of the slot
+     *
+     * @param slot int
+     * @return Object, null if the slot is free
+     */
+    Object getSlotObject(int slot) {
+        return objects[slot];
+    }
+
+    /**
+     * Gives back the current generation of the slot
+     *
+     * @param slot int
+     * @return int
+     */
+    int getSlotGeneration(int slot) {
+        return generations[slot];
+    }
+
+    /**
+     * Gives back the console ID of the object in the slot, the last one if the slot is free
+     *
+     * @param slot int
+     * @return int
+     */
+    int getSlotId(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * Gives back the free slots in the order they will be reused
+     *
+     * @return int[]
+     */
+    int[] getFreeSlots() {
+        int[] free = new int[freeCount];
+        for (int i = 0; i < freeCount; i++) {
+            free[i] = freeSlots[(freeHead + i) % freeSlots.length];
+        }
+        return free;
+    }
+
+    /**
+     * Sets the state of an empty registry, used by the loading of a snapshot
+     *
+     * @param objects     Object[], the objects of the slots, null in the free slots
+     * @param generations int[], the generations of the slots
+     * @param ids         int[], the console IDs of the slots
+     * @param free        int[], the free slots in the order they will be reused
+     * @param nextId      int, the next console ID
+     */
+    void restore(Object[] objects, int[] generations, int[] ids, int[] free, int nextId) {
+        if (slotCount != 0 || nextId < 0) {
+            throw new IllegalStateException("Only an empty registry can be restored");
+        }
+        int capacity = Math.max(16, objects.length);
+        this.objects = Arrays.copyOf(objects, capacity);
+        this.generations = Arrays.copyOf(generations, capacity);
+        this.ids = Arrays.copyOf(ids, capacity);
+        slotCount = objects.length;
+        freeSlots = Arrays.copyOf(free, Math.max(16, free.length));
+        freeHead = 0;
+        freeCount = free.length;
+        this.nextId = nextId;
+        long[] byId = new long[slotCount];
+        int live = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            Object object = objects[slot];
+            if (object != null) {
+                slotsById.put(ids[slot], slot);
+                slotsByObject.put(object, slot);
+                liveCounts.computeIfAbsent(object.getClass(), type -> new int[1])[0]++;
+                byId[live++] = ((long) ids[slot] << 32) | slot;
+            }
+        }
+        Arrays.sort(byId, 0, live);
+        for (int i = 0; i < live; i++) {
+            appendOrdered((int) byId[i], (int) (byId[i] >>> 32));
+        }
+    }
+
+    /**
+     * Gives back the number of the live objects of the given class
+     *
+     * @param type Class
+     * @return int
+     */
+    public int getLiveCount(Class<?> type) {
+        int[] count = liveCounts.get(type);
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * Gives back the number of the live objects by their class
+     *
+     * @return Map<Class < ?>, Integer>
+     */
+    public Map<Class<?>, Integer> getLiveCounts() {
+        Map<Class<?>, Integer> result = new HashMap<>();
+        for (Map.Entry<Class<?>, int[]> entry : liveCounts.entrySet()) {
+            result.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Calls the action on every live object in the order of their console IDs
+     *
+     * @param action Consumer
+     */
+    public void forEachLive(Consumer<Object> action) {
+        int count = orderedCount;
+        for (int i = 0; i < count; i++) {
+            int slot = orderedSlots[i];
+            if (objects[slot] != null && ids[slot] == orderedIds[i]) {
+                action.accept(objects[slot]);
+            }
+        }
+    }
+
+    /**
+     * Appends the slot with its new ID to the ID order. When the arrays are full and at most half of the entries are
+     * live, the released ones are dropped instead of growing the arrays.
+     */
+    private void appendOrdered(int slot, int id) {
+        if (orderedCount == orderedSlots.length) {
+            int live = 0;
+            for (int i = 0; i < orderedCount; i++) {
+                int current = orderedSlots[i];
+                if (objects[current] != null && ids[current] == orderedIds[i]) {
+                    orderedSlots[live] = current;
+                    orderedIds[live] = orderedIds[i];
+                    live++;
+                }
+            }
+            orderedCount = live;
+            if (2 * live > orderedSlots.length) {
+                orderedSlots = Arrays.copyOf(orderedSlots, orderedSlots.length * 2);
+                orderedIds = Arrays.copyOf(orderedIds, orderedIds.length * 2);
+            }
+        }
+        orderedSlots[orderedCount] = slot;
+        orderedIds[orderedCount] = id;
+        orderedCount++;
+    }
+
+    /**
+     * Open addressing int to int table with linear probing, it shrinks back when the objects die
+     */
+    private static final class IdTable {
+        private static final int EMPTY = -1;
+        private static final int MIN_CAPACITY = 16;
+
+        private int[] keys = new int[MIN_CAPACITY];
+        private int[] values = new int[MIN_CAPACITY];
+        private int size = 0;
+
+        IdTable() {
+            Arrays.fill(keys, EMPTY);
+        }
+
+        int get(int key) {
+            if (key < 0) {
+                return -1;
+            }
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(int key, int value) {
+            if (2 * (size + 1) > keys.length) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        void remove(int key) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            //backward shift, the entries after the hole move back if their home allows it
+            int hole = i;
+            for (int j = (hole + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = mix(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            keys[hole] = EMPTY;
+            size--;
+            if (keys.length > MIN_CAPACITY && 8 * size < keys.length) {
+                resize(keys.length / 2);
+            }
+        }
+
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves the explosions of the asteroids with a worklist instead of recursion.
+ * An explosion requested while an other one (or a heat wave, see heat) is being resolved is only put on the worklist,
+ * so a chain reaction never goes deeper on the stack and nothing is exploded while a residence or an inventory is
+ * being iterated. The worklist is resolved in waves: the asteroids of a wave explode, the explosions requested by them
+ * make the next wave. An asteroid explodes at most once.
+ * <p>
+ * Every thread has its own cascade, because the tiles of a round are stepped in parallel. The engine counts the
+ * cascades, the explosions and the time spent on them, endRound gives them back as a report.
+ */
+public class ExplosionEngine {
+    /**
+     * The cascade which is being resolved on the current thread, null if there is none
+     */
+    private final ThreadLocal<Cascade> current = new ThreadLocal<>();
+    private final LongAdder cascades = new LongAdder();
+    private final LongAdder explosions = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final AtomicInteger largest = new AtomicInteger();
+    private final AtomicInteger deepest = new AtomicInteger();
+    private volatile ExplosionReport lastReport = ExplosionReport.NONE;
+
+    /**
+     * An effect which can request explosions, e.g. the extreme heat of an asteroid
+     */
+    @FunctionalInterface
+    public interface Blast {
+        void run() throws Exception;
+    }
+
+    /**
+     * Explodes the asteroid, at once if no cascade is being resolved on the thread, otherwise at the end of the cascade
+     *
+     * @param asteroid Asteroid
+     * @throws NoNeighborException if a robot couldn't be thrown to a neighbor, the other explosions are still done
+     */
+    public void explode(Asteroid asteroid) throws NoNeighborException {
+        Cascade cascade = current.get();
+        if (cascade != null) {
+            cascade.add(asteroid);
+            return;
+        }
+        cascade = new Cascade();
+        cascade.add(asteroid);
+        Exception failure = run(cascade, null);
+        if (failure != null) {
+            //only the explosions could fail
+            throw (NoNeighborException) failure;
+        }
+    }
+
+    /**
+     * Runs the heat effect as a cascade: the explosions requested by it are done after it in waves
+     *
+     * @param heat Blast
+     * @throws Exception the exception of the heat or of an explosion
+     */
+    public void heat(Blast heat) throws Exception {
+        if (current.get() != null) {
+            heat.run();
+            return;
+        }
+        Exception failure = run(new Cascade(), heat);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Runs the heat and resolves the cascade on the current thread, gives back the first exception
+     */
+    private Exception run(Cascade cascade, Blast heat) {
+        long start = System.nanoTime();
+        current.set(cascade);
+        Exception failure = null;
+        try {
+            if (heat != null) {
+                try {
+                    heat.run();
+                } catch (Exception exception) {
+                    failure = exception;
+                }
+            }
+            NoNeighborException explosionFailure = cascade.resolve();
+            if (failure == null) {
+                failure = explosionFailure;
+            }
+        } finally {
+            current.remove();
+            if (cascade.exploded > 0) {
+                record(cascade, System.nanoTime() - start);
+            }
+        }
+        return failure;
+    }
+
+    private void record(Cascade cascade, long duration) {
+        cascades.increment();
+        explosions.add(cascade.exploded);
+        nanos.add(duration);
+        largest.accumulateAndGet(cascade.exploded, Math::max);
+        deepest.accumulateAndGet(cascade.waves, Math::max);
+    }
+
+    /**
+     * Closes the round: the counters of the round are given back and cleared
+     *
+     * @return ExplosionReport
+     */
+    public ExplosionReport endRound() {
+        ExplosionReport report = new ExplosionReport((int) cascades.sumThenReset(), (int) explosions.sumThenReset(),
+                largest.getAndSet(0), deepest.getAndSet(0), nanos.sumThenReset());
+        lastReport = report;
+        return report;
+    }
+
+    /**
+     * Gives back the report of the last closed round
+     *
+     * @return ExplosionReport
+     */
+    public ExplosionReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * The explosions of one cascade
+     */
+    private static final class Cascade {
+        private ArrayDeque<Asteroid> wave = new ArrayDeque<>();
+        private final Set<Asteroid> requested = Collections.newSetFromMap(new IdentityHashMap<>());
+        private int exploded = 0;
+        private int waves = 0;
+
+        void add(Asteroid asteroid) {
+            if (requested.add(asteroid)) {
+                wave.add(asteroid);
+            }
+        }
+
+        /**
+         * Explodes the waves till there is no more, the first exception is given back
+         */
+        NoNeighborException resolve() {
+            NoNeighborException failure = null;
+            while (!wave.isEmpty()) {
+                ArrayDeque<Asteroid> exploding = wave;
+                wave = new ArrayDeque<>();
+                waves++;
+                for (Asteroid asteroid : exploding) {
+                    if (asteroid.isDestroyed()) {
+                        continue;
+                    }
+                    exploded++;
+                    try {
+                        asteroid.detonate();
+                    } catch (NoNeighborException exception) {
+                        if (failure == null) {
+                            failure = exception;
+                        }
+                    }
+                }
+            }
+            return failure;
+        }
+    }
+}
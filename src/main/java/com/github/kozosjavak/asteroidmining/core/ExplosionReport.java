@@ -0,0 +1,57 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+/**
+ * The explosions of a round: the number of the cascades, their size and the time spent on them
+ */
+public final class ExplosionReport {
+    public static final ExplosionReport NONE = new ExplosionReport(0, 0, 0, 0, 0);
+
+    private final int cascades;
+    private final int explosions;
+    private final int largestCascade;
+    private final int deepestCascade;
+    private final long nanos;
+
+    /**
+     * Basic constructor
+     *
+     * @param cascades       int, number of the cascades with at least one explosion
+     * @param explosions     int, number of the exploded asteroids
+     * @param largestCascade int, explosions of the largest cascade
+     * @param deepestCascade int, waves of the deepest cascade
+     * @param nanos          long, time spent on the cascades
+     */
+    public ExplosionReport(int cascades, int explosions, int largestCascade, int deepestCascade, long nanos) {
+        this.cascades = cascades;
+        this.explosions = explosions;
+        this.largestCascade = largestCascade;
+        this.deepestCascade = deepestCascade;
+        this.nanos = nanos;
+    }
+
+    public int getCascades() {
+        return cascades;
+    }
+
+    public int getExplosions() {
+        return explosions;
+    }
+
+    public int getLargestCascade() {
+        return largestCascade;
+    }
+
+    public int getDeepestCascade() {
+        return deepestCascade;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("cascades = %d, explosions = %d, largest = %d, deepest = %d waves, time = %.3f ms",
+                cascades, explosions, largestCascade, deepestCascade, nanos / 1e6);
+    }
+}
@@ -1,31 +1,86 @@
 package com.github.kozosjavak.asteroidmining.core;
 
+import com.github.kozosjavak.asteroidmining.core.commands.CommandBus;
+import com.github.kozosjavak.asteroidmining.core.commands.CommandRecorder;
 import com.github.kozosjavak.asteroidmining.core.materials.Material;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Iron;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Uranium;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Waterice;
+import com.github.kozosjavak.asteroidmining.core.materials.MaterialType;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 
 /**
  * The game class everything starts here and can be manipulated from here
  */
 public class Game {
+    /**
+     * Neighbor distance used until the game is started with its own
+     */
+    public static final double DEFAULT_NEIGHBOR_DISTANCE = 120;
+    /**
+     * Two locations closer than this collide
+     */
+    public static final double COLLISION_DISTANCE = 40;
     private final double maxX;
     private final double maxY;
     private final double minX = 0;
     private final double minY = 0;
-    private final Random random = new Random();
+    /**
+     * Random number streams of the game
+     */
+    private final RandomService randomService;
+    /**
+     * Stream of the world generation
+     */
+    private final RandomStream random;
     private final List<Location> locationList = new ArrayList<>();
+    /**
+     * Coordinates of every location of the game by the index of the location
+     */
+    private final CoordinateStore coordinateStore = new CoordinateStore();
+    /**
+     * Spatial hash of the locations in the location list, used by the neighbor and collision queries
+     */
+    private final SpatialHashGrid spatialGrid = new SpatialHashGrid(DEFAULT_NEIGHBOR_DISTANCE, coordinateStore);
+    /**
+     * Incrementally maintained neighbor lists of the locations
+     */
+    private final NeighborGraph neighborGraph = new NeighborGraph(this);
+    /**
+     * Locations which have something to do in a round
+     */
+    private final ActiveSet activeSet = new ActiveSet(this);
+    /**
+     * Queue of the commands of the console and the GUI, the loop thread applies them
+     */
+    private final CommandBus commandBus = new CommandBus(this);
+    /**
+     * Hands the turn to the settlers
+     */
+    private final TurnCoordinator turnCoordinator = new TurnCoordinator(this);
+    /**
+     * Steps the locations of the rounds
+     */
+    private final RoundExecutor roundExecutor = new RoundExecutor(this);
+    /**
+     * Resolves the chain reactions of the explosions
+     */
+    private final ExplosionEngine explosionEngine = new ExplosionEngine();
+    /**
+     * Locations near the suns
+     */
+    private final SunProximityIndex sunProximity = new SunProximityIndex(this);
+    /**
+     * Number of the created locations, gives the index of the next location
+     */
+    private int locationCounter = 0;
 
     /**
-     * List of the objects, the id is given by the object position on the list
+     * Registry of the objects, gives the IDs
      */
-    private final List<Object> idList = new ArrayList<>();
+    private final EntityRegistry idList = new EntityRegistry();
     /**
      * Settlers stored who is alive and in the game currently
      */
@@ -34,7 +89,7 @@ public class Game {
      * Initializing the sun in the game
      */
     private Sun sun;
-    private boolean running = true;
+    private volatile boolean running = true;
     private boolean isWon = false;
 
     /**
@@ -44,8 +99,30 @@ public class Game {
      * @param maxY
      */
     public Game(double maxX, double maxY) {
+        this(maxX, maxY, System.nanoTime());
+    }
+
+    /**
+     * Constructor with a seed, the same seed gives the same world and the same simulation
+     *
+     * @param maxX
+     * @param maxY
+     * @param seed long, seed of the random numbers
+     */
+    public Game(double maxX, double maxY, long seed) {
         this.maxX = maxX;
         this.maxY = maxY;
+        randomService = new RandomService(seed);
+        random = randomService.world();
+    }
+
+    /**
+     * Gives back the random number service of the game
+     *
+     * @return RandomService
+     */
+    public RandomService getRandomService() {
+        return randomService;
     }
 
     public boolean isRunning() {
@@ -66,20 +143,35 @@ public class Game {
      * @param object object
      */
     public void putInIdList(Object object) {
-        idList.add(object);
-        System.out.println("ID: " + getId(object));
+        System.out.println("ID: " + idList.register(object));
+    }
+
+    /**
+     * Removes the dead object from the ID list, its ID won't give back anything anymore
+     *
+     * @param object object
+     */
+    public void removeFromIdList(Object object) {
+        roundExecutor.runOrDefer(() -> idList.release(object));
+    }
+
+    /**
+     * Gives back the registry of the IDs, it can tell the number of the live objects by type
+     *
+     * @return EntityRegistry
+     */
+    public EntityRegistry getIdRegistry() {
+        return idList;
     }
 
     /**
      * Gives back the object ,which can be casted to the correct one, from the given id
      *
      * @param id Int id
-     * @return Object/null
+     * @return Object/null, null if the object of the id is dead
      */
     public Object getObjectFromID(int id) {
-        if (id <= idList.size() - 1 && id >= 0)
-            return idList.get(id);
-        return null;
+        return idList.get(id);
     }
 
     /**
@@ -89,19 +181,14 @@ public class Game {
      * @return Int id
      */
     public int getId(Object object) {
-        if (idList.contains(object)) {
-            return idList.indexOf(object);
-        }
-        return -1;
+        return idList.getId(object);
     }
 
     /**
      * Print out all the object stored in the ID list
      */
     public void writeOutALlID() {
-        for (Object object : idList) {
-            System.out.println(getId(object));
-        }
+        idList.forEachLive(object -> System.out.println(getId(object)));
     }
 
     /**
@@ -151,15 +238,142 @@ public class Game {
      */
     public void addLocation(Location newLocation) {
         locationList.add(newLocation);
+        spatialGrid.insert(newLocation);
+        neighborGraph.locationAdded(newLocation);
+        activeSet.add(newLocation);
+    }
+
+    /**
+     * Gives back the index of the next created location
+     *
+     * @return int
+     */
+    int nextLocationIndex() {
+        return locationCounter++;
+    }
+
+    /**
+     * Gives back the number of the created locations
+     *
+     * @return int
+     */
+    int getLocationCount() {
+        return locationCounter;
+    }
+
+    /**
+     * Puts the loaded locations in the location list, the spatial grid and the active set, the neighbor graph isn't
+     * touched (see GameSnapshot)
+     *
+     * @param listed  List<Location>, the locations in the order of the location list
+     * @param gridded List<Location>, the ones which have to be in the spatial grid
+     */
+    void restoreLocations(List<Location> listed, List<Location> gridded) {
+        locationList.addAll(listed);
+        spatialGrid.insertAll(gridded);
+        activeSet.addAll(listed);
+    }
+
+    /**
+     * Sets the end state of a loaded game
+     *
+     * @param running boolean
+     * @param won     boolean
+     */
+    void restoreState(boolean running, boolean won) {
+        this.running = running;
+        isWon = won;
+    }
+
+    /**
+     * Gives back the store of the coordinates of the locations
+     *
+     * @return CoordinateStore
+     */
+    public CoordinateStore getCoordinateStore() {
+        return coordinateStore;
+    }
+
+    /**
+     * Gives back the spatial hash of the locations
+     *
+     * @return SpatialHashGrid
+     */
+    public SpatialHashGrid getSpatialGrid() {
+        return spatialGrid;
     }
 
+    /**
+     * Gives back the neighbor graph of the locations
+     *
+     * @return NeighborGraph
+     */
+    public NeighborGraph getNeighborGraph() {
+        return neighborGraph;
+    }
+
+    /**
+     * Gives back the set of the locations which have something to do in a round
+     *
+     * @return ActiveSet
+     */
+    public ActiveSet getActiveSet() {
+        return activeSet;
+    }
+
+    /**
+     * Gives back the command bus, the input sources submit their commands to it
+     *
+     * @return CommandBus
+     */
+    public CommandBus getCommandBus() {
+        return commandBus;
+    }
+
+    /**
+     * Gives back the coordinator of the settlers' turns, it has the turn timeout and the turn latency metrics
+     *
+     * @return TurnCoordinator
+     */
+    public TurnCoordinator getTurnCoordinator() {
+        return turnCoordinator;
+    }
+
+    /**
+     * Gives back the executor of the rounds, the parallelism of the location stepping can be set on it
+     *
+     * @return RoundExecutor
+     */
+    public RoundExecutor getRoundExecutor() {
+        return roundExecutor;
+    }
+
+    /**
+     * Gives back the explosion engine, its last report tells the explosions of the last round
+     *
+     * @return ExplosionEngine
+     */
+    public ExplosionEngine getExplosionEngine() {
+        return explosionEngine;
+    }
+
+    /**
+     * Gives back the index of the locations near the suns
+     *
+     * @return SunProximityIndex
+     */
+    public SunProximityIndex getSunProximity() {
+        return sunProximity;
+    }
+
+    /**
+     * Checks if there is an other location closer than the collision distance to the given location
+     *
+     * @param location Location
+     * @return boolean
+     */
     public boolean checkIfLocationCollide(Location location) {
-        for (Location nextLocation : getLocationList()) {
-            if (nextLocation != location && location.coordinate.getDistance(nextLocation.getCoordinate()) < 40) {
-                return true;
-            }
-        }
-        return false;
+        return spatialGrid.anyCloserThan(location.coordinate, COLLISION_DISTANCE, location);
     }
 
     /**
@@ -201,10 +415,12 @@ public class Game {
      * @param settler
      */
     public void removeSettlerFromGame(Settler settler) {
-        settlers.remove(settler);
-        if (settlers.size() == 0) {
-            endGame();
-        }
+        roundExecutor.runOrDefer(() -> {
+            settlers.remove(settler);
+            if (settlers.size() == 0) {
+                endGame();
+            }
+        });
     }
 
 
@@ -215,35 +431,93 @@ public class Game {
     public void startGame(int numberOfAsteroids, int maxCrustThickness, double distanceOfNeighbors, int numberOfSettlers, int numberOfUfos) throws Exception {
 
         generateWorld(numberOfAsteroids, maxCrustThickness, numberOfSettlers, numberOfUfos, distanceOfNeighbors);
+        registerWorld();
         //teszt
         // Robot robot = new Robot((Asteroid) getLocationList().get(3).getCelestialBody());
+        startLoop(distanceOfNeighbors);
+    }
+
+    /**
+     * Starts the loop thread of the game on the generated world: the settlers get their turns one by one, then the
+     * round is ended (see endRound)
+     *
+     * @param distanceOfNeighbors double
+     */
+    public void startLoop(double distanceOfNeighbors) {
         new Thread(() -> {
+            //from now the commands of the console and the GUI are applied on this thread
+            commandBus.setConsumer(Thread.currentThread());
             while (running) {
                 Settler selectedSettler;
                 List<Steppable> settlerListOfTheNewThread = new ArrayList<>(getSettlers());
 
-                for (int i = 0; i < settlerListOfTheNewThread.size(); i++) {
+                for (int i = 0; i < settlerListOfTheNewThread.size() && running; i++) {
                     selectedSettler = (Settler) settlerListOfTheNewThread.get(i);
-                    selectedSettler.step();
-                    while (selectedSettler.isSelected()) {
-                        try {
-                            Thread.sleep(10);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
+                    try {
+                        turnCoordinator.playTurn(selectedSettler);
+                    } catch (InterruptedException e) {
+                        e.printStackTrace();
+                        return;
                     }
                     System.out.println("Settler Done");
                 }
                 System.out.println("Round was done!");
-                for (Location nextStep : locationList) {
-                    try {
-                        nextStep.step(distanceOfNeighbors);
-                    } catch (Exception exception) {
-                        exception.printStackTrace();
+                endRound(distanceOfNeighbors);
+                commandBus.drain();
+            }
+            commandBus.setConsumer(null);
+        }).start();
+    }
+
+    /**
+     * Ends the round: the locations are stepped. If the commands are recorded, the recorder of the command bus steps
+     * them, so the end of the round is written between the commands
+     *
+     * @param distanceOfNeighbors double
+     * @throws UncheckedIOException if the recorder can't write the end of the round
+     */
+    public void endRound(double distanceOfNeighbors) {
+        CommandRecorder recorder = commandBus.getRecorder();
+        if (recorder == null) {
+            stepLocations(distanceOfNeighbors);
+            return;
+        }
+        try {
+            recorder.endRound(distanceOfNeighbors);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gives an ID to every orb and spaceship of the generated world which hasn't got one, the commands (e.g. the
+     * actions of the GUI) refer to them with it
+     */
+    public void registerWorld() {
+        for (Location location : locationList) {
+            Orb orb = location.getCelestialBody();
+            if (orb != null && idList.getId(orb) < 0) {
+                idList.register(orb);
+            }
+            if (orb instanceof Asteroid) {
+                for (Spaceship spaceship : ((Asteroid) orb).getResidence()) {
+                    if (idList.getId(spaceship) < 0) {
+                        idList.register(spaceship);
                     }
                 }
             }
-        }).start();
+        }
+    }
+
+    /**
+     * Steps all of the locations, it is the part of the round after the settlers.
+     * The independent parts of the world are stepped in parallel, see RoundExecutor
+     *
+     * @param distanceOfNeighbors double
+     */
+    public void stepLocations(double distanceOfNeighbors) {
+        roundExecutor.step(distanceOfNeighbors);
+        explosionEngine.endRound();
     }
 
     /**
@@ -252,7 +526,6 @@ public class Game {
     public void Win() {
         sun = null;
         isWon = true;
-        System.gc();
     }
 
     /**
@@ -262,44 +535,48 @@ public class Game {
      * @return boolean
      */
     Boolean randomGenerator(int percentage) {
-        return random.nextInt(1000) % 100 < percentage;
-    }
-
-    private Material randomMaterial() {
-        Material material;
-        int rand = random.nextInt(4);
-        if (rand == 0) {
-            material = new Uranium();
-        } else if (rand == 1) {
-            material = new Coal();
-        } else if (rand == 2) {
-            material = new Iron();
-        } else {
-            material = new Waterice();
-        }
-        return material;
+        return randomService.events().nextInt(1000) % 100 < percentage;
     }
 
-    private void generateWorld(int numberOfAsteroid, int maximumCrustThickness, int numberOfSettlers, int numberOfUfos, double neighborDistance) throws Exception {
+    /**
+     * Gives back a random material for the core of an asteroid, the stateless ones are shared
+     *
+     * @param types List of the material types which can be created
+     */
+    private Material randomMaterial(List<MaterialType> types) {
+        return types.get(random.nextInt(types.size())).getInstance();
+    }
+
+    /**
+     * Generates the sun in the middle of the world and the asteroids around it, no two locations are closer than the collision distance
+     *
+     * @param numberOfAsteroid      int, number of the asteroids
+     * @param maximumCrustThickness int, maximum crust thickness of the asteroids
+     * @param numberOfSettlers      int, number of the settlers
+     * @param numberOfUfos          int, number of the ufos
+     * @param neighborDistance      double, distance of the neighbors
+     * @throws WorldIsFullException if the asteroids can't fit in the world
+     */
+    public void generateWorld(int numberOfAsteroid, int maximumCrustThickness, int numberOfSettlers, int numberOfUfos, double neighborDistance) throws Exception {
         if (numberOfAsteroid > 0) {
+            double[] points = new PoissonDiskSampler(maxX, maxY, COLLISION_DISTANCE, random).sample(numberOfAsteroid, maxX / 2, maxY / 2);
+            spatialGrid.rebuild(neighborDistance, locationList);
+            neighborGraph.rebuild(neighborDistance);
             Location sunLocation = new Location(this, maxX / 2, maxY / 2);
-            double randX, randY;
+            List<MaterialType> substances = new ArrayList<>();
+            for (MaterialType type : MaterialType.values()) {
+                if (type.isCreatable()) {
+                    substances.add(type);
+                }
+            }
 
             sun = new Sun(sunLocation);
-            locationList.add(sunLocation);
+            addLocation(sunLocation);
 
             for (int i = 0; i < numberOfAsteroid; i++) {
-                randX = Math.sqrt(random.nextDouble());
-                randY = Math.sqrt(random.nextDouble());
-
-                Location newLocation = new Location(this, randX * maxX, randY * maxY);
-                while (checkIfLocationCollide(newLocation)) {
-                    randX = Math.sqrt(random.nextDouble());
-                    randY = Math.sqrt(random.nextDouble());
-                    newLocation.getCoordinate().updateCoordinates(randX * maxX, randY * maxY);
-                }
-                Asteroid newAsteroid = new Asteroid(newLocation, 1 + random.nextInt(1 + random.nextInt(maximumCrustThickness - 1)), randomMaterial());
-                locationList.add(newLocation);
+                Location newLocation = new Location(this, points[2 * i], points[2 * i + 1]);
+                Asteroid newAsteroid = new Asteroid(newLocation, 1 + random.nextInt(1 + random.nextInt(maximumCrustThickness - 1)), randomMaterial(substances));
+                addLocation(newLocation);
             }
             for (int i = 0; i < numberOfSettlers; i++) {
                 Location location = locationList.get(random.nextInt(locationList.size() - 1));
@@ -317,9 +594,6 @@ public class Game {
                 Asteroid asteroid = (Asteroid) location.getCelestialBody();
                 Ufo settler = new Ufo(asteroid);
             }
-            for (Location location : getLocationList()) {
-                location.refreshNeighborsList(neighborDistance);
-            }
         }
     }
 
@@ -328,6 +602,7 @@ public class Game {
      */
     public void endGame() {
         running = false;
+        turnCoordinator.gameEnded();
     }
 
     /**
@@ -337,13 +612,13 @@ public class Game {
      * @return String
      */
     public String toString(int depth) {
-        String out = "";
-        for (Object obj : idList) {
-            if (obj != null && obj.getClass().getSuperclass() == Orb.class) {
+        StringBuilder out = new StringBuilder();
+        idList.forEachLive(obj -> {
+            if (obj.getClass().getSuperclass() == Orb.class) {
                 Orb orb = (Orb) obj;
-                out += orb.getLocation().toString(depth + 1);
+                out.append(orb.getLocation().toString(depth + 1));
             }
-        }
-        return out;
+        });
+        return out.toString();
     }
 }
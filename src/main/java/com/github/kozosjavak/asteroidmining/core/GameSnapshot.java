@@ -0,0 +1,698 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import com.github.kozosjavak.asteroidmining.core.materials.Inventory;
+import com.github.kozosjavak.asteroidmining.core.materials.InventoryIsFullException;
+import com.github.kozosjavak.asteroidmining.core.materials.Material;
+import com.github.kozosjavak.asteroidmining.core.materials.MaterialType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The full state of a game in binary form: the locations (coordinates, random streams, neighbor lists), the orbs, the
+ * spaceships, the teleports, the materials, the ID registry and the random streams of the game. A loaded game goes on
+ * exactly as the saved one would: the same random numbers, the same IDs, the same neighbor order.
+ * <p>
+ * The objects are written in tables (materials, teleports, locations, orbs with their residents) and they refer to
+ * each other by their position in the tables, so the shared objects (e.g. the stateless materials, a teleport pair)
+ * stay shared. The derived structures (spatial grid, active set, sun index, adjacency of the distance classes) are
+ * built again when the game is loaded. A snapshot has to be taken between the rounds, the turn of a settler isn't saved.
+ * <p>
+ * The format: magic number and version, the tables (the ints as zigzag varints), then the CRC32C checksum of all the
+ * bytes before it. It is written and read through a buffer over a channel (see SnapshotOutput, SnapshotInput), a file
+ * or anything else, so a snapshot is never held in the memory as a whole.
+ */
+public final class GameSnapshot {
+    /**
+     * "AMSS"
+     */
+    static final int MAGIC = 0x414d5353;
+    static final int VERSION = 1;
+
+    private static final int NONE = -1;
+
+    private static final byte SUN = 0;
+    private static final byte ASTEROID = 1;
+
+    private static final byte SPACESHIP = 0;
+    private static final byte SETTLER = 1;
+    private static final byte ROBOT = 2;
+    private static final byte UFO = 3;
+
+    private static final byte NULL_REFERENCE = 0;
+    private static final byte MATERIAL_REFERENCE = 1;
+    private static final byte TELEPORT_REFERENCE = 2;
+    private static final byte ORB_REFERENCE = 3;
+    private static final byte SPACESHIP_REFERENCE = 4;
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * Gives back the snapshot of the game
+     *
+     * @param game Game
+     * @return byte[]
+     */
+    public static byte[] toBytes(Game game) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            save(game, Channels.newChannel(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Loads a game from a snapshot given by toBytes
+     *
+     * @param bytes byte[]
+     * @return Game
+     * @throws IOException if the snapshot is broken
+     */
+    public static Game fromBytes(byte[] bytes) throws IOException {
+        return load(Channels.newChannel(new ByteArrayInputStream(bytes)), bytes.length);
+    }
+
+    /**
+     * Saves the game to the file, an existing file is overwritten
+     *
+     * @param game Game
+     * @param path Path
+     * @return long, the size of the snapshot
+     * @throws IOException if the write fails
+     */
+    public static long save(Game game, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return save(game, channel);
+        }
+    }
+
+    /**
+     * Loads a game from the file
+     *
+     * @param path Path
+     * @return Game
+     * @throws IOException if the file can't be read or the snapshot is broken
+     */
+    public static Game load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return load(channel);
+        }
+    }
+
+    /**
+     * Writes the snapshot of the game to the channel: the header, the state of the game and the checksum
+     *
+     * @param game    Game
+     * @param channel WritableByteChannel, it isn't closed
+     * @return long, the size of the snapshot
+     * @throws IOException           if the write fails
+     * @throws IllegalStateException if the game has an object which can't be saved
+     */
+    public static long save(Game game, WritableByteChannel channel) throws IOException {
+        SnapshotOutput out = new SnapshotOutput(channel);
+        out.writeFixedInt(MAGIC);
+        out.writeFixedInt(VERSION);
+        new Writer(game, out).write();
+        out.finish();
+        return out.getWritten();
+    }
+
+    /**
+     * Reads a game from the channel, the counts of the tables are checked against the rest of the channel if it is a
+     * file (or an other seekable channel)
+     *
+     * @param channel ReadableByteChannel, it isn't closed, it can be read beyond the end of the snapshot
+     * @return Game
+     * @throws IOException if the snapshot is broken, its checksum is wrong or its version isn't supported
+     */
+    public static Game load(ReadableByteChannel channel) throws IOException {
+        long length = Long.MAX_VALUE;
+        if (channel instanceof SeekableByteChannel) {
+            SeekableByteChannel seekable = (SeekableByteChannel) channel;
+            length = seekable.size() - seekable.position();
+        }
+        return load(channel, length);
+    }
+
+    /**
+     * Reads a game from the channel, the counts of the tables are checked against the given length before anything is
+     * allocated for them
+     *
+     * @param channel ReadableByteChannel, it isn't closed, it can be read beyond the end of the snapshot
+     * @param length  long, the most bytes the snapshot can have
+     * @return Game
+     * @throws IOException if the snapshot is broken, its checksum is wrong or its version isn't supported
+     */
+    public static Game load(ReadableByteChannel channel, long length) throws IOException {
+        SnapshotInput in = new SnapshotInput(channel, length);
+        if (in.readFixedInt() != MAGIC) {
+            throw new IOException("Not a game snapshot: wrong magic number");
+        }
+        int version = in.readFixedInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        Game game = new Reader(in).read();
+        in.finish();
+        return game;
+    }
+
+    private static void writeStream(SnapshotOutput out, RandomStream stream) throws IOException {
+        out.writeLong(stream.getSeed());
+        out.writeLong(stream.getGamma());
+    }
+
+    private static void readStream(SnapshotInput in, RandomStream stream) throws IOException {
+        long seed = in.readLong();
+        long gamma = in.readLong();
+        if ((gamma & 1) == 0) {
+            throw new IOException("Broken snapshot: even gamma");
+        }
+        stream.setState(seed, gamma);
+    }
+
+    /**
+     * Collects the objects of the game in tables and writes them
+     */
+    private static final class Writer {
+        private final Game game;
+        private final SnapshotOutput out;
+        private final List<Material> materials = new ArrayList<>();
+        private final Map<Material, Integer> materialNumbers = new IdentityHashMap<>();
+        private final List<Teleport> teleports = new ArrayList<>();
+        private final Map<Teleport, Integer> teleportNumbers = new IdentityHashMap<>();
+        private final List<Orb> orbs = new ArrayList<>();
+        private final Map<Orb, Integer> orbNumbers = new IdentityHashMap<>();
+        private final Map<Spaceship, Integer> spaceshipNumbers = new IdentityHashMap<>();
+
+        Writer(Game game, SnapshotOutput out) {
+            this.game = game;
+            this.out = out;
+        }
+
+        void write() throws IOException {
+            collect();
+            RandomService randomService = game.getRandomService();
+            out.writeDouble(game.getMaxX());
+            out.writeDouble(game.getMaxY());
+            out.writeLong(randomService.getSeed());
+            writeStream(out, randomService.world());
+            writeStream(out, randomService.events());
+            writeStream(out, randomService.locations());
+            out.writeBoolean(game.isRunning());
+            out.writeBoolean(game.isWon());
+            out.writeDouble(game.getSpatialGrid().getCellSize());
+            out.writeDouble(game.getNeighborGraph().getDistance());
+
+            List<MaterialType> types = MaterialType.values();
+            out.writeInt(types.size());
+            for (MaterialType type : types) {
+                out.writeString(type.getName());
+            }
+            out.writeInt(materials.size());
+            for (Material material : materials) {
+                MaterialType type = material.getType();
+                out.writeInt(type.ordinal());
+                out.writeBoolean(type.isStateless() && material == type.getInstance());
+                out.writeInt(material.getState());
+            }
+
+            out.writeInt(teleports.size());
+            for (Teleport teleport : teleports) {
+                out.writeBoolean(teleport.isSolarized());
+                out.writeInt(teleport.getLocation() == null ? NONE : teleport.getLocation().index);
+                out.writeInt(teleportNumber(teleport.getPair()));
+            }
+
+            int locationCount = game.getLocationCount();
+            CsrAdjacency csr = game.getNeighborGraph().getCsr();
+            out.writeInt(locationCount);
+            out.writeInt(csr.getEdgeCount());
+            for (int index = 0; index < locationCount; index++) {
+                Location location = game.getCoordinateStore().getLocation(index);
+                out.writeDouble(location.coordinate.getX());
+                out.writeDouble(location.coordinate.getY());
+                writeStream(out, location.random);
+                out.writeBoolean(location.inGrid);
+                out.writeInt(location.celestialBody == null ? NONE : orbNumbers.get(location.celestialBody));
+                out.writeInt(teleportNumber(location.teleport));
+                //the neighbors are mostly in the order of their indexes and close to the location, the differences are small
+                int size = csr.size(index);
+                int previous = index;
+                out.writeInt(size);
+                for (int k = 0; k < size; k++) {
+                    int neighbor = csr.neighborIndex(index, k);
+                    out.writeInt(neighbor - previous);
+                    previous = neighbor;
+                }
+            }
+
+            out.writeInt(orbs.size());
+            for (Orb orb : orbs) {
+                writeOrb(orb);
+            }
+
+            out.writeInt(game.getSun() == null ? NONE : orbNumbers.get(game.getSun()));
+            out.writeInt(game.getSettlers().size());
+            for (Steppable settler : game.getSettlers()) {
+                out.writeInt(spaceshipNumber((Spaceship) settler));
+            }
+            List<Location> locationList = game.getLocationList();
+            out.writeInt(locationList.size());
+            for (Location location : locationList) {
+                out.writeInt(location.index);
+            }
+            List<Location> dirty = game.getNeighborGraph().getDirty();
+            out.writeInt(dirty.size());
+            for (Location location : dirty) {
+                out.writeInt(location.index);
+            }
+
+            EntityRegistry registry = game.getIdRegistry();
+            out.writeInt(registry.getSlotCount());
+            out.writeInt(registry.getNextId());
+            for (int slot = 0; slot < registry.getSlotCount(); slot++) {
+                out.writeInt(registry.getSlotGeneration(slot));
+                out.writeInt(registry.getSlotId(slot));
+                writeReference(registry.getSlotObject(slot));
+            }
+            int[] free = registry.getFreeSlots();
+            out.writeInt(free.length);
+            for (int slot : free) {
+                out.writeInt(slot);
+            }
+        }
+
+        /**
+         * Gives numbers to the objects in a fixed order: the content of the locations by their index, then the objects
+         * which are only in the registry
+         */
+        private void collect() {
+            for (int index = 0; index < game.getLocationCount(); index++) {
+                Location location = game.getCoordinateStore().getLocation(index);
+                if (location.celestialBody != null) {
+                    addOrb(location.celestialBody);
+                }
+                addTeleport(location.teleport);
+            }
+            if (game.getSun() != null) {
+                addOrb(game.getSun());
+            }
+            EntityRegistry registry = game.getIdRegistry();
+            for (int slot = 0; slot < registry.getSlotCount(); slot++) {
+                Object object = registry.getSlotObject(slot);
+                if (object instanceof Material) {
+                    addMaterial((Material) object);
+                } else if (object instanceof Teleport) {
+                    addTeleport((Teleport) object);
+                } else if (object instanceof Orb) {
+                    addOrb((Orb) object);
+                }
+            }
+            for (int i = 0; i < teleports.size(); i++) {
+                addTeleport(teleports.get(i).getPair());
+            }
+        }
+
+        private void addOrb(Orb orb) {
+            if (orbNumbers.containsKey(orb)) {
+                return;
+            }
+            if (orb.getClass() != Sun.class && orb.getClass() != Asteroid.class) {
+                throw new IllegalStateException("Can't save orb: " + orb.getClass().getName());
+            }
+            orbNumbers.put(orb, orbs.size());
+            orbs.add(orb);
+            if (orb instanceof Asteroid) {
+                Asteroid asteroid = (Asteroid) orb;
+                addMaterial(asteroid.getSubstance());
+                addInventory(asteroid.getAsteroidInventory());
+                for (Spaceship spaceship : asteroid.getResidence()) {
+                    spaceshipNumbers.put(spaceship, spaceshipNumbers.size());
+                    if (spaceship instanceof Settler) {
+                        addInventory(((Settler) spaceship).getInventory());
+                        for (Teleport teleport : ((Settler) spaceship).getTeleportInventory()) {
+                            addTeleport(teleport);
+                        }
+                    } else if (spaceship instanceof Ufo) {
+                        addInventory(((Ufo) spaceship).getInventory());
+                    }
+                }
+            }
+        }
+
+        private void addInventory(Inventory inventory) {
+            for (Material material : inventory.getList()) {
+                addMaterial(material);
+            }
+        }
+
+        private void addMaterial(Material material) {
+            if (material != null && !materialNumbers.containsKey(material)) {
+                materialNumbers.put(material, materials.size());
+                materials.add(material);
+            }
+        }
+
+        private void addTeleport(Teleport teleport) {
+            if (teleport != null && !teleportNumbers.containsKey(teleport)) {
+                teleportNumbers.put(teleport, teleports.size());
+                teleports.add(teleport);
+            }
+        }
+
+        private int teleportNumber(Teleport teleport) {
+            return teleport == null ? NONE : teleportNumbers.get(teleport);
+        }
+
+        private int spaceshipNumber(Spaceship spaceship) {
+            Integer number = spaceshipNumbers.get(spaceship);
+            if (number == null) {
+                throw new IllegalStateException("Can't save a spaceship which isn't on an asteroid");
+            }
+            return number;
+        }
+
+        private void writeOrb(Orb orb) throws IOException {
+            out.writeByte(orb instanceof Sun ? SUN : ASTEROID);
+            out.writeInt(orb.getLocation().index);
+            if (orb instanceof Sun) {
+                out.writeBoolean(((Sun) orb).isSolarStorm);
+                return;
+            }
+            Asteroid asteroid = (Asteroid) orb;
+            out.writeInt(asteroid.getSurfaceThickness());
+            out.writeInt(asteroid.getTexture_index());
+            out.writeBoolean(asteroid.isDestroyed());
+            out.writeInt(asteroid.getSubstance() == null ? NONE : materialNumbers.get(asteroid.getSubstance()));
+            writeInventory(asteroid.getAsteroidInventory());
+            out.writeInt(asteroid.getResidence().size());
+            for (Spaceship spaceship : asteroid.getResidence()) {
+                if (spaceship.getClass() == Settler.class) {
+                    Settler settler = (Settler) spaceship;
+                    out.writeByte(SETTLER);
+                    writeInventory(settler.getInventory());
+                    for (Teleport teleport : settler.getTeleportInventory()) {
+                        out.writeInt(teleportNumber(teleport));
+                    }
+                } else if (spaceship.getClass() == Robot.class) {
+                    out.writeByte(ROBOT);
+                } else if (spaceship.getClass() == Ufo.class) {
+                    out.writeByte(UFO);
+                    writeInventory(((Ufo) spaceship).getInventory());
+                } else if (spaceship.getClass() == Spaceship.class) {
+                    out.writeByte(SPACESHIP);
+                } else {
+                    throw new IllegalStateException("Can't save spaceship: " + spaceship.getClass().getName());
+                }
+            }
+        }
+
+        private void writeInventory(Inventory inventory) throws IOException {
+            List<Material> list = inventory.getList();
+            out.writeInt(list.size());
+            for (int i = 0; i < list.size(); i++) {
+                out.writeInt(materialNumbers.get(list.get(i)));
+                out.writeInt(inventory.getUnitState(i));
+            }
+        }
+
+        private void writeReference(Object object) throws IOException {
+            if (object == null) {
+                out.writeByte(NULL_REFERENCE);
+                return;
+            }
+            if (object instanceof Material) {
+                out.writeByte(MATERIAL_REFERENCE);
+                out.writeInt(materialNumbers.get(object));
+            } else if (object instanceof Teleport) {
+                out.writeByte(TELEPORT_REFERENCE);
+                out.writeInt(teleportNumbers.get(object));
+            } else if (object instanceof Orb) {
+                out.writeByte(ORB_REFERENCE);
+                out.writeInt(orbNumbers.get(object));
+            } else if (object instanceof Spaceship) {
+                out.writeByte(SPACESHIP_REFERENCE);
+                out.writeInt(spaceshipNumber((Spaceship) object));
+            } else {
+                throw new IllegalStateException("Can't save registered object: " + object.getClass().getName());
+            }
+        }
+    }
+
+    /**
+     * Builds the game from the tables
+     */
+    private static final class Reader {
+        private final SnapshotInput in;
+        private Game game;
+        private Material[] materials;
+        private Teleport[] teleports;
+        private Location[] locations;
+        private Orb[] orbs;
+        private final List<Spaceship> spaceships = new ArrayList<>();
+
+        Reader(SnapshotInput in) {
+            this.in = in;
+        }
+
+        Game read() throws IOException {
+            double maxX = in.readDouble();
+            double maxY = in.readDouble();
+            game = new Game(maxX, maxY, in.readLong());
+            RandomService randomService = game.getRandomService();
+            readStream(in, randomService.world());
+            readStream(in, randomService.events());
+            //the locations are split from this stream while they are created, it is set after them
+            long locationsSeed = in.readLong();
+            long locationsGamma = in.readLong();
+            boolean running = in.readBoolean();
+            boolean won = in.readBoolean();
+            game.getSpatialGrid().rebuild(in.readDouble(), List.of());
+            double distance = in.readDouble();
+
+            MaterialType[] types = new MaterialType[in.readCount(1)];
+            for (int i = 0; i < types.length; i++) {
+                String name = in.readString();
+                types[i] = MaterialType.byName(name);
+                if (types[i] == null) {
+                    throw new IOException("Broken snapshot: unknown material type " + name);
+                }
+            }
+            materials = new Material[in.readCount(3)];
+            for (int i = 0; i < materials.length; i++) {
+                MaterialType type = types[index(types.length)];
+                boolean shared = in.readBoolean();
+                if (shared ? !type.isStateless() : !type.isCreatable()) {
+                    throw new IOException("Broken snapshot: material can't be created " + type.getName());
+                }
+                materials[i] = shared ? type.getInstance() : type.newUnit();
+                materials[i].setState(in.readInt());
+            }
+
+            teleports = new Teleport[in.readCount(3)];
+            int[] teleportLocations = new int[teleports.length];
+            int[] pairs = new int[teleports.length];
+            for (int i = 0; i < teleports.length; i++) {
+                teleports[i] = new Teleport();
+                teleports[i].setSolarized(in.readBoolean());
+                teleportLocations[i] = in.readInt();
+                pairs[i] = in.readInt();
+            }
+
+            locations = new Location[in.readCount(36)];
+            boolean[] inGrid = new boolean[locations.length];
+            int[] bodies = new int[locations.length];
+            int[] locationTeleports = new int[locations.length];
+            int[] rowOffsets = new int[locations.length + 1];
+            int[] targets = new int[in.readCount(1)];
+            for (int i = 0; i < locations.length; i++) {
+                locations[i] = new Location(game, in.readDouble(), in.readDouble());
+                readStream(in, locations[i].random);
+                inGrid[i] = in.readBoolean();
+                bodies[i] = in.readInt();
+                locationTeleports[i] = in.readInt();
+                int size = in.readInt();
+                if (size < 0 || size > targets.length - rowOffsets[i]) {
+                    throw new IOException("Broken snapshot: more neighbors than " + targets.length);
+                }
+                int previous = i;
+                for (int k = 0; k < size; k++) {
+                    previous = checked(previous + in.readInt(), locations.length);
+                    targets[rowOffsets[i] + k] = previous;
+                }
+                rowOffsets[i + 1] = rowOffsets[i] + size;
+            }
+
+            orbs = new Orb[in.readCount(3)];
+            for (int i = 0; i < orbs.length; i++) {
+                orbs[i] = readOrb();
+            }
+            //the constructors of the orbs have put them on their locations, the saved state is set over it
+            for (int i = 0; i < locations.length; i++) {
+                locations[i].celestialBody = bodies[i] == NONE ? null : orbs[checked(bodies[i], orbs.length)];
+                locations[i].teleport = teleport(locationTeleports[i]);
+            }
+            for (int i = 0; i < teleports.length; i++) {
+                teleports[i].setLocation(teleportLocations[i] == NONE ? null : locations[checked(teleportLocations[i], locations.length)]);
+                teleports[i].setPair(teleport(pairs[i]));
+            }
+
+            int sun = in.readInt();
+            game.setSun(sun == NONE ? null : (Sun) orbs[checked(sun, orbs.length)]);
+            game.getSettlers().clear();
+            int settlers = in.readCount(1);
+            for (int i = 0; i < settlers; i++) {
+                game.getSettlers().add(spaceships.get(index(spaceships.size())));
+            }
+            int listedCount = in.readCount(1);
+            List<Location> listed = new ArrayList<>(listedCount);
+            List<Location> gridded = new ArrayList<>(listedCount);
+            for (int i = 0; i < listedCount; i++) {
+                int index = index(locations.length);
+                listed.add(locations[index]);
+                if (inGrid[index]) {
+                    gridded.add(locations[index]);
+                }
+            }
+            game.restoreLocations(listed, gridded);
+            game.getNeighborGraph().getCsr().load(rowOffsets, targets, locations.length);
+            List<Location> dirty = new ArrayList<>();
+            int dirtyCount = in.readCount(1);
+            for (int i = 0; i < dirtyCount; i++) {
+                dirty.add(locations[index(locations.length)]);
+            }
+            game.getNeighborGraph().restore(distance, dirty);
+
+            int slotCount = in.readCount(3);
+            int nextId = in.readInt();
+            Object[] objects = new Object[slotCount];
+            int[] generations = new int[slotCount];
+            int[] ids = new int[slotCount];
+            for (int slot = 0; slot < slotCount; slot++) {
+                generations[slot] = in.readInt();
+                ids[slot] = in.readInt();
+                objects[slot] = readReference();
+            }
+            int[] free = new int[in.readCount(1)];
+            for (int i = 0; i < free.length; i++) {
+                free[i] = index(slotCount);
+            }
+            game.getIdRegistry().restore(objects, generations, ids, free, nextId);
+
+            randomService.locations().setState(locationsSeed, locationsGamma);
+            game.restoreState(running, won);
+            return game;
+        }
+
+        private Orb readOrb() throws IOException {
+            byte kind = in.readByte();
+            Location location = locations[index(locations.length)];
+            if (kind == SUN) {
+                Sun sun = new Sun(location);
+                sun.isSolarStorm = in.readBoolean();
+                return sun;
+            }
+            if (kind != ASTEROID) {
+                throw new IOException("Broken snapshot: unknown orb " + kind);
+            }
+            int surfaceThickness = in.readInt();
+            int textureIndex = in.readInt();
+            boolean destroyed = in.readBoolean();
+            Asteroid asteroid = new Asteroid(location, surfaceThickness, material(in.readInt()), textureIndex, destroyed);
+            readInventory(asteroid.getAsteroidInventory());
+            int residents = in.readCount(1);
+            for (int i = 0; i < residents; i++) {
+                byte type = in.readByte();
+                Spaceship spaceship;
+                if (type == SETTLER) {
+                    Settler settler = new Settler(asteroid);
+                    readInventory(settler.getInventory());
+                    Teleport[] teleportInventory = settler.getTeleportInventory();
+                    for (int k = 0; k < teleportInventory.length; k++) {
+                        teleportInventory[k] = teleport(in.readInt());
+                    }
+                    spaceship = settler;
+                } else if (type == ROBOT) {
+                    spaceship = new Robot(asteroid);
+                } else if (type == UFO) {
+                    Ufo ufo = new Ufo(asteroid);
+                    readInventory(ufo.getInventory());
+                    spaceship = ufo;
+                } else if (type == SPACESHIP) {
+                    spaceship = new Spaceship(asteroid);
+                } else {
+                    throw new IOException("Broken snapshot: unknown spaceship " + type);
+                }
+                spaceships.add(spaceship);
+            }
+            return asteroid;
+        }
+
+        private void readInventory(Inventory inventory) throws IOException {
+            int size = in.readCount(2);
+            try {
+                for (int i = 0; i < size; i++) {
+                    Material material = materials[index(materials.length)];
+                    inventory.add(material, in.readInt());
+                }
+            } catch (InventoryIsFullException e) {
+                throw new IOException("Broken snapshot: inventory is over its capacity", e);
+            }
+        }
+
+        private Object readReference() throws IOException {
+            byte kind = in.readByte();
+            switch (kind) {
+                case NULL_REFERENCE:
+                    return null;
+                case MATERIAL_REFERENCE:
+                    return materials[index(materials.length)];
+                case TELEPORT_REFERENCE:
+                    return teleports[index(teleports.length)];
+                case ORB_REFERENCE:
+                    return orbs[index(orbs.length)];
+                case SPACESHIP_REFERENCE:
+                    return spaceships.get(index(spaceships.size()));
+                default:
+                    throw new IOException("Broken snapshot: unknown reference " + kind);
+            }
+        }
+
+        private Material material(int number) throws IOException {
+            return number == NONE ? null : materials[checked(number, materials.length)];
+        }
+
+        private Teleport teleport(int number) throws IOException {
+            return number == NONE ? null : teleports[checked(number, teleports.length)];
+        }
+
+        private int index(int size) throws IOException {
+            return checked(in.readInt(), size);
+        }
+
+        private static int checked(int index, int size) throws IOException {
+            if (index < 0 || index >= size) {
+                throw new IOException("Broken snapshot: index " + index + " out of " + size);
+            }
+            return index;
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package com.github.kozosjavak.asteroidmining.core;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Location class, location is used to store celestial body, like asteroid, and teleports on a same location and it gives the coordinates for this location
@@ -12,15 +10,22 @@ public class Location {
      * Game
      */
     final Game game;
+    /**
+     * Index of the location, given by the game in the order of creation
+     */
+    final int index;
     /**
      * Coordinate
      */
-    final Coordinate coordinate;
+    final CoordinateView coordinate;
     /**
-     * List of the neighbor locations
+     * List of the neighbor locations, a view of the row of the location in the CSR adjacency of the game
      */
     final List<Location> neighbors;
-    Random random;
+    /**
+     * Random number stream of the location, the objects on the location use it too
+     */
+    final RandomStream random;
     /**
      * Can be Asteroid, Sun
      */
@@ -29,6 +34,14 @@ public class Location {
      * Teleport
      */
     Teleport teleport;
+    /**
+     * Key of the spatial grid cell where the location is stored
+     */
+    long gridCell;
+    /**
+     * True if the location is stored in the spatial grid of the game
+     */
+    boolean inGrid;
 
     /**
      * Basic constructor
@@ -39,17 +52,56 @@ public class Location {
      */
     public Location(Game game, Double X, Double Y) {
         this.game = game;
-        neighbors = new ArrayList<>();
-        random = new Random();
-        coordinate = new Coordinate(X, Y);
+        index = game.nextLocationIndex();
+        game.getNeighborGraph().getCsr().register(this);
+        neighbors = game.getNeighborGraph().getCsr().rowOf(this);
+        random = game.getRandomService().nextLocationStream();
+        game.getCoordinateStore().register(this, X, Y);
+        coordinate = new CoordinateView(game.getCoordinateStore(), index, this);
+    }
+
+    /**
+     * Gives back the index of the location
+     *
+     * @return int
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Called by the coordinate when it has changed, keeps the spatial grid up to date
+     */
+    void coordinateChanged() {
+        game.getSpatialGrid().update(this);
+        game.getNeighborGraph().markDirty(this);
+    }
+
+    /**
+     * Gives back the random number stream of the location
+     *
+     * @return RandomStream
+     */
+    public RandomStream getRandom() {
+        return random;
+    }
+
+    /**
+     * Gives back true with the given percentage, drawn from the stream of the location
+     *
+     * @param percentage int
+     * @return boolean
+     */
+    boolean randomGenerator(int percentage) {
+        return random.nextInt(1000) % 100 < percentage;
     }
 
     /**
      * Gives back the coordinates
      *
-     * @return Coordinate
+     * @return AbstractCoordinate
      */
-    public Coordinate getCoordinate() {
+    public AbstractCoordinate getCoordinate() {
         return coordinate;
     }
 
@@ -69,6 +121,7 @@ public class Location {
      */
     public void setCelestialBody(Orb celestialBody) {
         this.celestialBody = celestialBody;
+        updateActivity();
     }
 
     /**
@@ -87,6 +140,7 @@ public class Location {
      */
     public void setTeleport(Teleport teleport) {
         this.teleport = teleport;
+        updateActivity();
         System.out.println("Location setteleport");
     }
 
@@ -98,10 +152,27 @@ public class Location {
         celestialBody = null;
         if (teleport != null) {
             teleport.getHitByExplosion();
+            game.removeFromIdList(teleport);
         }
         teleport = null;
+        updateActivity();
+        game.getNeighborGraph().locationCleared(this);
+    }
 
-        System.gc();
+    /**
+     * Tells if the step of the location has something to do, the sun, a teleport or a busy asteroid
+     *
+     * @return boolean
+     */
+    boolean hasWork() {
+        return celestialBody != null && (teleport != null || celestialBody.hasWork());
+    }
+
+    /**
+     * Called when the content of the location has changed, keeps the active set of the game up to date
+     */
+    void updateActivity() {
+        game.getActiveSet().update(this);
     }
 
     /**
@@ -112,11 +183,7 @@ public class Location {
     public void refreshNeighborsList(double distance) {
         if (distance > 1) {
             neighbors.clear();
-            for (Location newNeighbor : game.getLocationList()) {
-                if (newNeighbor.getCoordinate().getDistance(getCoordinate()) <= distance && newNeighbor != this) {
-                    addNeighbor(newNeighbor);
-                }
-            }
+            neighbors.addAll(game.getSpatialGrid().query(getCoordinate(), distance, this));
         }
     }
 
@@ -184,7 +251,9 @@ public class Location {
      * @throws Exception
      */
     public void experienceExtremeHeat() throws Exception {
-        getCelestialBody().experienceExtremeHeat();
+        if (getCelestialBody() != null) {
+            getCelestialBody().experienceExtremeHeat();
+        }
     }
 
     /**
@@ -219,13 +288,25 @@ public class Location {
     }
 
     /**
-     * Calls the refreshNeighborsList() to repath the neighbors and calls the step() on the celestialbody and teleport
+     * Brings the neighbor graph up to date (only the moved locations are repathed) and calls the step() on the celestialbody and teleport
      *
      * @param distanceOfNeighbors double
      * @throws Exception
      */
     public void step(double distanceOfNeighbors) throws Exception {
-        refreshNeighborsList(distanceOfNeighbors);
+        game.getNeighborGraph().update(distanceOfNeighbors);
+        stepContent();
+    }
+
+    /**
+     * Calls the step() on the celestialbody and teleport, the neighbor graph has to be up to date
+     *
+     * @throws Exception
+     */
+    void stepContent() throws Exception {
+        if (getCelestialBody() == null) {
+            return;
+        }
         getCelestialBody().step();
         if (getTeleport() != null) {
             getTeleport().step();
@@ -0,0 +1,397 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the neighbor lists of the locations up to date incrementally, they are stored in a CSR adjacency (see CsrAdjacency).
+ * The graph is managed after it was built with a neighbor distance, from then only the locations which have moved,
+ * were added or exploded get their adjacency patched, so a round over a static asteroid field costs nothing here.
+ * Before that (console and test setups) the neighbor lists are left to the manual addNeighbor/refreshNeighborsList calls.
+ * <p>
+ * Besides the neighbors the graph keeps the adjacency of the registered distance classes (e.g. the heat zone of the
+ * sun) for the locations tracked with them, only these few locations pay for a class. The adjacency of a class is an
+ * immutable list, a patch replaces the list instead of changing it, so a reader never sees a half done list and can
+ * tell by the identity of the list whether it has been patched.
+ */
+public class NeighborGraph {
+    /**
+     * Game
+     */
+    private final Game game;
+    /**
+     * The neighbor lists of the locations
+     */
+    private final CsrAdjacency csr = new CsrAdjacency();
+    /**
+     * Locations which have moved since the last update, in the order of the moves
+     */
+    private final Set<Location> dirty = new LinkedHashSet<>();
+    /**
+     * The neighbor distance of the graph, 0 if the graph is not managed yet
+     */
+    private double distance = 0;
+    /**
+     * Number of the patched locations since the game was created
+     */
+    private long patchCount = 0;
+    /**
+     * The registered distance classes
+     */
+    private final List<DistanceClass> classes = new ArrayList<>();
+
+    /**
+     * A radius of which the graph keeps the adjacency of the tracked locations, see register and track
+     */
+    public static final class DistanceClass {
+        private final double radius;
+        /**
+         * The adjacency of the tracked locations in the order of their tracking, null till it is computed
+         */
+        private final Map<Location, List<Location>> tracked = new LinkedHashMap<>();
+
+        private DistanceClass(double radius) {
+            this.radius = radius;
+        }
+
+        /**
+         * Gives back the radius of the class
+         *
+         * @return double
+         */
+        public double getRadius() {
+            return radius;
+        }
+    }
+
+    /**
+     * Basic constructor
+     *
+     * @param game Game
+     */
+    public NeighborGraph(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Tells if the graph maintains the neighbor lists
+     *
+     * @return boolean
+     */
+    public boolean isManaged() {
+        return distance > 0;
+    }
+
+    /**
+     * Gives back the neighbor distance of the graph
+     *
+     * @return double, 0 if not managed
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * Gives back the storage of the neighbor lists
+     *
+     * @return CsrAdjacency
+     */
+    public CsrAdjacency getCsr() {
+        return csr;
+    }
+
+    /**
+     * Gives back the number of the patched locations
+     *
+     * @return long
+     */
+    public long getPatchCount() {
+        return patchCount;
+    }
+
+    /**
+     * Registers a distance class, the graph keeps the adjacency of the locations tracked with it (see track).
+     * A class is registered only once for a radius, the same class is given back for it later
+     *
+     * @param radius double
+     * @return DistanceClass
+     */
+    public DistanceClass register(double radius) {
+        if (radius <= 0) {
+            throw new IllegalArgumentException("Radius must be positive: " + radius);
+        }
+        for (DistanceClass distanceClass : classes) {
+            if (distanceClass.radius == radius) {
+                return distanceClass;
+            }
+        }
+        DistanceClass distanceClass = new DistanceClass(radius);
+        classes.add(distanceClass);
+        return distanceClass;
+    }
+
+    /**
+     * Tracks the location with the class, the graph keeps its adjacency in the radius of the class from then
+     *
+     * @param distanceClass DistanceClass
+     * @param location      Location
+     */
+    public void track(DistanceClass distanceClass, Location location) {
+        if (!distanceClass.tracked.containsKey(location)) {
+            distanceClass.tracked.put(location, isManaged() && location.inGrid ? classQuery(location, distanceClass) : null);
+        }
+    }
+
+    /**
+     * Gives back the locations in the radius of the class from the location, in the order of the location indexes.
+     * If the graph is not managed (or the location is not in the grid or not tracked) the spatial grid is queried instead.
+     * The list is immutable, it isn't changed by the later patches
+     *
+     * @param location      Location
+     * @param distanceClass DistanceClass
+     * @return List<Location>
+     */
+    public List<Location> getAdjacency(Location location, DistanceClass distanceClass) {
+        if (!isManaged() || !location.inGrid || !distanceClass.tracked.containsKey(location)) {
+            return Collections.unmodifiableList(game.getSpatialGrid().query(location.getCoordinate(), distanceClass.radius, location));
+        }
+        //a location asks for its adjacency right after its move (e.g. the sun's storm), it is patched first
+        if (dirty.remove(location)) {
+            patch(location);
+        }
+        List<Location> adjacency = distanceClass.tracked.get(location);
+        return adjacency == null ? Collections.emptyList() : adjacency;
+    }
+
+    /**
+     * Rebuilds the neighbor list of every location in the game with the given distance and the adjacency of the tracked
+     * locations, the graph becomes managed. Every location costs one query of the spatial grid, the CSR adjacency is
+     * packed after it
+     *
+     * @param distance double
+     */
+    public void rebuild(double distance) {
+        this.distance = distance;
+        dirty.clear();
+        for (Location location : game.getLocationList()) {
+            if (location.inGrid) {
+                location.neighbors.clear();
+                location.neighbors.addAll(query(location));
+            }
+        }
+        csr.compact();
+        computeTracked();
+    }
+
+    /**
+     * Brings the graph up to date, only the moved locations are patched if the distance is the same as before
+     *
+     * @param distance double
+     */
+    public void update(double distance) {
+        if (distance != this.distance) {
+            rebuild(distance);
+            return;
+        }
+        while (!dirty.isEmpty()) {
+            List<Location> moved = new ArrayList<>(dirty);
+            dirty.clear();
+            for (Location location : moved) {
+                patch(location);
+            }
+        }
+    }
+
+    /**
+     * Gives back the moved locations which haven't been patched yet, in the order of their moves
+     *
+     * @return List<Location>
+     */
+    List<Location> getDirty() {
+        return new ArrayList<>(dirty);
+    }
+
+    /**
+     * Sets the state of a loaded graph, the neighbor lists are already loaded. The adjacency of the tracked locations
+     * is computed from the coordinates, the moved locations will be patched at the next update
+     *
+     * @param distance double, 0 if the graph isn't managed
+     * @param moved    List<Location>, the moved locations which haven't been patched
+     */
+    void restore(double distance, List<Location> moved) {
+        this.distance = distance;
+        dirty.clear();
+        if (isManaged()) {
+            computeTracked();
+            dirty.addAll(moved);
+        }
+    }
+
+    /**
+     * Computes the adjacency of every tracked location again
+     */
+    private void computeTracked() {
+        for (DistanceClass distanceClass : classes) {
+            for (Map.Entry<Location, List<Location>> entry : distanceClass.tracked.entrySet()) {
+                Location center = entry.getKey();
+                entry.setValue(center.inGrid ? classQuery(center, distanceClass) : null);
+            }
+        }
+    }
+
+    /**
+     * Marks the location as moved, its adjacency will be patched at the next update
+     *
+     * @param location Location
+     */
+    void markDirty(Location location) {
+        if (isManaged() && location.inGrid) {
+            dirty.add(location);
+        }
+    }
+
+    /**
+     * Connects the freshly added location with its neighbors
+     *
+     * @param location Location
+     */
+    void locationAdded(Location location) {
+        if (isManaged()) {
+            patch(location);
+        }
+    }
+
+    /**
+     * Disconnects the location which has been cleared by an explosion, nothing can land on it anymore
+     *
+     * @param location Location
+     */
+    void locationCleared(Location location) {
+        if (isManaged()) {
+            List<Location> oldNeighbors = new ArrayList<>(location.neighbors);
+            for (Location neighbor : oldNeighbors) {
+                neighbor.neighbors.remove(location);
+            }
+            location.neighbors.clear();
+            //the classes can reach farther than the tiles of the parallel stepping, they are patched after it
+            game.getRoundExecutor().runOrDefer(() -> {
+                dirty.remove(location);
+                game.getSpatialGrid().remove(location);
+                patchTracked(location, oldNeighbors);
+            });
+        }
+    }
+
+    /**
+     * Recomputes the neighbors of the location and fixes the lists of the old and new neighbors
+     *
+     * @param location Location
+     */
+    private void patch(Location location) {
+        //the tracked locations have to know if they were neighbors
+        List<Location> oldNeighbors = isTracking() ? new ArrayList<>(location.neighbors) : null;
+        for (Location oldNeighbor : location.neighbors) {
+            oldNeighbor.neighbors.remove(location);
+        }
+        location.neighbors.clear();
+        location.neighbors.addAll(query(location));
+        for (Location newNeighbor : location.neighbors) {
+            insertInOrder(newNeighbor.neighbors, location);
+        }
+        if (oldNeighbors != null) {
+            patchTracked(location, oldNeighbors);
+        }
+        patchCount++;
+    }
+
+    /**
+     * Tells if any location is tracked with a class
+     */
+    private boolean isTracking() {
+        for (DistanceClass distanceClass : classes) {
+            if (!distanceClass.tracked.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Patches the adjacency of the tracked locations after the location has been patched or cleared. A tracked
+     * location gets a new list if the location was or is in its radius, or it was or is its neighbor, so the readers
+     * of the neighbors of a tracked location can tell the change by the identity of the list too
+     */
+    private void patchTracked(Location location, List<Location> oldNeighbors) {
+        for (DistanceClass distanceClass : classes) {
+            double radiusSquared = distanceClass.radius * distanceClass.radius;
+            for (Map.Entry<Location, List<Location>> entry : distanceClass.tracked.entrySet()) {
+                Location center = entry.getKey();
+                List<Location> list = entry.getValue();
+                if (center == location || list == null) {
+                    entry.setValue(center.inGrid ? classQuery(center, distanceClass) : null);
+                    continue;
+                }
+                boolean inside = location.inGrid
+                        && location.getCoordinate().getDistanceSquared(center.getCoordinate()) <= radiusSquared;
+                int position = positionOf(list, location);
+                boolean wasInside = position < list.size() && list.get(position) == location;
+                if (inside || wasInside || oldNeighbors.contains(center) || location.neighbors.contains(center)) {
+                    List<Location> patched = new ArrayList<>(list);
+                    if (wasInside) {
+                        patched.remove(position);
+                    }
+                    if (inside) {
+                        patched.add(position, location);
+                    }
+                    entry.setValue(List.copyOf(patched));
+                }
+            }
+        }
+    }
+
+    /**
+     * Queries the locations in the neighbor distance
+     */
+    private List<Location> query(Location location) {
+        return game.getSpatialGrid().query(location.getCoordinate(), distance, location);
+    }
+
+    /**
+     * Queries the locations in the radius of the class, the list is immutable
+     */
+    private List<Location> classQuery(Location location, DistanceClass distanceClass) {
+        return List.copyOf(game.getSpatialGrid().query(location.getCoordinate(), distanceClass.radius, location));
+    }
+
+    /**
+     * Inserts the location in the list keeping the order of the location indexes
+     */
+    private static void insertInOrder(List<Location> list, Location location) {
+        int position = positionOf(list, location);
+        if (position == list.size() || list.get(position) != location) {
+            list.add(position, location);
+        }
+    }
+
+    /**
+     * Gives back the position of the location in the list ordered by the location indexes, or where it would be
+     */
+    private static int positionOf(List<Location> list, Location location) {
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (list.get(middle).getIndex() < location.getIndex()) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
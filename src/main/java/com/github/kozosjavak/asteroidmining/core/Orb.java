@@ -34,6 +34,15 @@ public class Orb implements Steppable {
         this.location = location;
     }
 
+    /**
+     * Tells if the step of the orb has something to do
+     *
+     * @return boolean
+     */
+    boolean hasWork() {
+        return false;
+    }
+
     /**
      * Experience solar storm
      */
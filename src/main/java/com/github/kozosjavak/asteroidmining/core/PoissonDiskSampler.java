@@ -0,0 +1,374 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Poisson-disk (Bridson) sampler, places points in a rectangle so that no two of them are closer than the minimum distance.
+ * The points are stored in a background grid with cells of minDistance / sqrt(2), so one cell holds at most one point
+ * and a candidate has to be checked only against the surrounding 5x5 cells.
+ * A sample costs O(number of points): if the area has at most DENSE_CELLS_PER_POINT cells per needed point, the whole
+ * area is filled (in an array grid) and the points are chosen from it randomly, otherwise the points are thrown at random
+ * positions of the whole area till there are enough of them, and the grid is a hash table of the used cells.
+ * The candidates of an active point of the fill are spread evenly on the circle of the minimum distance around it (with a random rotation),
+ * this packs the points tighter and needs far fewer attempts than random candidates from the whole annulus.
+ */
+public class PoissonDiskSampler {
+    /**
+     * Number of the candidates tried around an active point before it is retired
+     */
+    private static final int CANDIDATES = 12;
+    /**
+     * Candidates are placed a bit farther than the minimum distance so rounding can't break it
+     */
+    private static final double EPSILON = 1e-7;
+    /**
+     * The array grid (and the fill of the whole area) is used if it has at most this many cells per needed point, a full
+     * area has about 3
+     */
+    private static final int DENSE_CELLS_PER_POINT = 8;
+    /**
+     * Number of the random positions tried per needed point before the area is filled instead (it happens only if the
+     * points can't be thrown at random positions in a large area)
+     */
+    private static final int ATTEMPTS_PER_POINT = 20;
+
+    /**
+     * Offsets of the cells which can hold a too close point, the nearest ones first so a bad candidate is dropped early.
+     * The corners of the 5x5 block are at least the minimum distance away, they are left out.
+     */
+    private static final int[] NEARBY_COLUMNS = {0, -1, 1, 0, 0, -1, 1, -1, 1, -2, 2, 0, 0, -2, -2, 2, 2, -1, 1, -1, 1};
+    private static final int[] NEARBY_ROWS = {0, 0, 0, -1, 1, -1, -1, 1, 1, 0, 0, -2, 2, -1, 1, -1, 1, -2, -2, 2, 2};
+
+    private final double width;
+    private final double height;
+    private final double minDistance;
+    private final Random random;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+
+    /**
+     * Basic constructor
+     *
+     * @param width       double, the points are in [0, width)
+     * @param height      double, the points are in [0, height)
+     * @param minDistance double, minimum distance between two points
+     * @param random      Random
+     * @throws IllegalArgumentException if a size isn't positive or a side has more cells than an int can count
+     */
+    public PoissonDiskSampler(double width, double height, double minDistance, Random random) {
+        if (width <= 0 || height <= 0 || minDistance <= 0) {
+            throw new IllegalArgumentException("Width, height and minimum distance must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.minDistance = minDistance;
+        this.random = random;
+        cellSize = minDistance / Math.sqrt(2);
+        double columnCount = Math.ceil(width / cellSize);
+        double rowCount = Math.ceil(height / cellSize);
+        if (columnCount > Integer.MAX_VALUE || rowCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The area is too large for the minimum distance: " + width + " x " + height);
+        }
+        columns = (int) columnCount;
+        rows = (int) rowCount;
+    }
+
+    /**
+     * Gives back exactly count points spread randomly on the area, a small area is filled and they are chosen from it,
+     * a large one gets them at random positions.
+     * The fixed point (like the sun) is respected by the minimum distance but it is not returned.
+     *
+     * @param count  int, number of the needed points
+     * @param fixedX double, X coordinate of the fixed point
+     * @param fixedY double, Y coordinate of the fixed point
+     * @return double[] the coordinates of the points in x0, y0, x1, y1... order
+     * @throws WorldIsFullException if the area can't hold count points
+     */
+    public double[] sample(int count, double fixedX, double fixedY) throws WorldIsFullException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+        if ((long) columns * rows > DENSE_CELLS_PER_POINT * (count + 1L)) {
+            double[] thrown = sampleRandomly(count, fixedX, fixedY);
+            if (thrown != null) {
+                return thrown;
+            }
+        }
+        double[] points = fill(fixedX, fixedY);
+        int available = points.length / 2 - 1;
+        if (available < count) {
+            throw new WorldIsFullException(count, available, width, height);
+        }
+        //partial Fisher-Yates shuffle over the points after the fixed one
+        for (int i = 0; i < count; i++) {
+            int chosen = 1 + i + random.nextInt(available - i);
+            swap(points, 1 + i, chosen);
+        }
+        return Arrays.copyOfRange(points, 2, 2 + 2 * count);
+    }
+
+    /**
+     * Tries random positions of the area till count of them are far enough from each other and the fixed point
+     *
+     * @return double[] the points, null if they couldn't be placed in ATTEMPTS_PER_POINT * count attempts
+     */
+    private double[] sampleRandomly(int count, double fixedX, double fixedY) {
+        Grid grid = gridFor(count + 1L);
+        double firstX = Math.min(Math.max(fixedX, 0), Math.nextDown(width));
+        double firstY = Math.min(Math.max(fixedY, 0), Math.nextDown(height));
+        grid.put((int) (firstX / cellSize), (int) (firstY / cellSize), firstX, firstY);
+
+        double minDistanceSquared = minDistance * minDistance;
+        double[] points = new double[2 * count];
+        int pointCount = 0;
+        long attempts = (long) ATTEMPTS_PER_POINT * count;
+        for (long attempt = 0; attempt < attempts && pointCount < count; attempt++) {
+            double x = random.nextDouble() * width;
+            double y = random.nextDouble() * height;
+            if (x >= width || y >= height) {
+                continue;
+            }
+            int column = (int) (x / cellSize);
+            int row = (int) (y / cellSize);
+            if (grid.isFarEnough(column, row, x, y, minDistanceSquared)) {
+                points[2 * pointCount] = x;
+                points[2 * pointCount + 1] = y;
+                grid.put(column, row, x, y);
+                pointCount++;
+            }
+        }
+        return pointCount == count ? points : null;
+    }
+
+    /**
+     * Fills the whole area with points, starting from the fixed point
+     *
+     * @param fixedX double, X coordinate of the first point
+     * @param fixedY double, Y coordinate of the first point
+     * @return double[] the coordinates of the points in x0, y0, x1, y1... order, the first one is the fixed point
+     */
+    public double[] fill(double fixedX, double fixedY) {
+        Grid grid = gridFor(Long.MAX_VALUE / DENSE_CELLS_PER_POINT);
+
+        double[] points = new double[64];
+        int[] active = new int[32];
+        int pointCount = 0;
+        int activeCount = 0;
+
+        points[0] = Math.min(Math.max(fixedX, 0), Math.nextDown(width));
+        points[1] = Math.min(Math.max(fixedY, 0), Math.nextDown(height));
+        grid.put((int) (points[0] / cellSize), (int) (points[1] / cellSize), points[0], points[1]);
+        active[activeCount++] = pointCount++;
+
+        double minDistanceSquared = minDistance * minDistance;
+        double radius = minDistance * (1 + EPSILON);
+        double[] cos = new double[CANDIDATES];
+        double[] sin = new double[CANDIDATES];
+        for (int i = 0; i < CANDIDATES; i++) {
+            cos[i] = Math.cos(2 * Math.PI * i / CANDIDATES);
+            sin[i] = Math.sin(2 * Math.PI * i / CANDIDATES);
+        }
+        while (activeCount > 0) {
+            int activeIndex = activeCount - 1;
+            int parent = active[activeIndex];
+            double parentX = points[2 * parent];
+            double parentY = points[2 * parent + 1];
+            double rotation = random.nextDouble() * 2 * Math.PI;
+            double rotationCos = radius * Math.cos(rotation);
+            double rotationSin = radius * Math.sin(rotation);
+            boolean found = false;
+            for (int attempt = 0; attempt < CANDIDATES; attempt++) {
+                double x = parentX + rotationCos * cos[attempt] - rotationSin * sin[attempt];
+                double y = parentY + rotationSin * cos[attempt] + rotationCos * sin[attempt];
+                if (x < 0 || y < 0 || x >= width || y >= height) {
+                    continue;
+                }
+                int column = (int) (x / cellSize);
+                int row = (int) (y / cellSize);
+                if (grid.isFarEnough(column, row, x, y, minDistanceSquared)) {
+                    if (2 * pointCount + 2 > points.length) {
+                        points = Arrays.copyOf(points, points.length * 2);
+                    }
+                    points[2 * pointCount] = x;
+                    points[2 * pointCount + 1] = y;
+                    grid.put(column, row, x, y);
+                    if (activeCount == active.length) {
+                        active = Arrays.copyOf(active, active.length * 2);
+                    }
+                    active[activeCount++] = pointCount++;
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                active[activeIndex] = active[--activeCount];
+            }
+        }
+        return Arrays.copyOf(points, 2 * pointCount);
+    }
+
+    /**
+     * Gives back the array grid if the cells of the area are counted in the order of the needed points and fit in an
+     * array, otherwise the hash table. The number of the cells is counted in long, so it can't overflow
+     *
+     * @param expected long, number of the points which will be stored
+     */
+    private Grid gridFor(long expected) {
+        long cells = (long) columns * rows;
+        if (cells <= DENSE_CELLS_PER_POINT * expected && cells <= Integer.MAX_VALUE / 2) {
+            return new DenseGrid(columns, rows);
+        }
+        return new SparseGrid(columns, rows, (int) Math.min(expected, Integer.MAX_VALUE));
+    }
+
+    private static void swap(double[] points, int i, int j) {
+        double x = points[2 * i];
+        double y = points[2 * i + 1];
+        points[2 * i] = points[2 * j];
+        points[2 * i + 1] = points[2 * j + 1];
+        points[2 * j] = x;
+        points[2 * j + 1] = y;
+    }
+
+    /**
+     * The background grid, a cell holds at most one point
+     */
+    private abstract static class Grid {
+        final int columns;
+        final int rows;
+
+        Grid(int columns, int rows) {
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+        /**
+         * Stores the point in its cell
+         */
+        abstract void put(int column, int row, double x, double y);
+
+        /**
+         * Tells if the point is at least the minimum distance from the points of the nearby cells
+         */
+        abstract boolean isFarEnough(int column, int row, double x, double y, double minDistanceSquared);
+    }
+
+    /**
+     * Array of every cell, the point is stored in place (x, y), NaN if the cell is empty, so a check doesn't jump around
+     * in the memory
+     */
+    private static final class DenseGrid extends Grid {
+        private final double[] cells;
+
+        DenseGrid(int columns, int rows) {
+            super(columns, rows);
+            cells = new double[2 * columns * rows];
+            Arrays.fill(cells, Double.NaN);
+        }
+
+        @Override
+        void put(int column, int row, double x, double y) {
+            cells[2 * (row * columns + column)] = x;
+            cells[2 * (row * columns + column) + 1] = y;
+        }
+
+        @Override
+        boolean isFarEnough(int column, int row, double x, double y, double minDistanceSquared) {
+            for (int i = 0; i < NEARBY_COLUMNS.length; i++) {
+                int c = column + NEARBY_COLUMNS[i];
+                int r = row + NEARBY_ROWS[i];
+                if (c < 0 || r < 0 || c >= columns || r >= rows) {
+                    continue;
+                }
+                int cell = 2 * (r * columns + c);
+                double dx = cells[cell] - x;
+                double dy = cells[cell + 1] - y;
+                //an empty cell gives NaN, the comparison is false for it
+                if (dx * dx + dy * dy < minDistanceSquared) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Open addressing hash table of the used cells, keyed by row * columns + column, its size follows the points
+     */
+    private static final class SparseGrid extends Grid {
+        private long[] keys;
+        private double[] points;
+        private int size = 0;
+
+        SparseGrid(int columns, int rows, int expected) {
+            super(columns, rows);
+            int capacity = Integer.highestOneBit(Math.max(16, Math.min(expected, 1 << 20)) * 2 - 1) * 2;
+            keys = new long[capacity];
+            Arrays.fill(keys, -1);
+            points = new double[2 * capacity];
+        }
+
+        @Override
+        void put(int column, int row, double x, double y) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            int slot = slotOf((long) row * columns + column);
+            keys[slot] = (long) row * columns + column;
+            points[2 * slot] = x;
+            points[2 * slot + 1] = y;
+            size++;
+        }
+
+        @Override
+        boolean isFarEnough(int column, int row, double x, double y, double minDistanceSquared) {
+            for (int i = 0; i < NEARBY_COLUMNS.length; i++) {
+                int c = column + NEARBY_COLUMNS[i];
+                int r = row + NEARBY_ROWS[i];
+                if (c < 0 || r < 0 || c >= columns || r >= rows) {
+                    continue;
+                }
+                int slot = slotOf((long) r * columns + c);
+                if (keys[slot] < 0) {
+                    continue;
+                }
+                double dx = points[2 * slot] - x;
+                double dy = points[2 * slot + 1] - y;
+                if (dx * dx + dy * dy < minDistanceSquared) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gives back the slot of the key, or the empty slot where it would be stored
+         */
+        private int slotOf(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (keys[slot] >= 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            double[] oldPoints = points;
+            keys = new long[oldKeys.length * 2];
+            Arrays.fill(keys, -1);
+            points = new double[2 * keys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] >= 0) {
+                    int slot = slotOf(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    points[2 * slot] = oldPoints[2 * i];
+                    points[2 * slot + 1] = oldPoints[2 * i + 1];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+/**
+ * Random number service of a game, every subsystem gets its own stream split from the seed of the game.
+ * The world generation and the game events have their own stream, every location gets a stream in the order
+ * of its creation, the objects on the location (asteroid, sun, ufo) use the stream of the location.
+ * So with the same seed the world and the simulation are the same bit for bit, and the locations don't share
+ * a stream, they can be stepped independently.
+ */
+public class RandomService {
+    private final long seed;
+    /**
+     * Stream of the world generation
+     */
+    private final RandomStream world;
+    /**
+     * Stream of the game level events
+     */
+    private final RandomStream events;
+    /**
+     * Parent of the location streams
+     */
+    private final RandomStream locations;
+
+    /**
+     * Basic constructor
+     *
+     * @param seed long, seed of the game
+     */
+    public RandomService(long seed) {
+        this.seed = seed;
+        RandomStream root = new RandomStream(seed);
+        world = root.split();
+        events = root.split();
+        locations = root.split();
+    }
+
+    /**
+     * Gives back the seed of the game
+     *
+     * @return long
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gives back the stream of the world generation
+     *
+     * @return RandomStream
+     */
+    public RandomStream world() {
+        return world;
+    }
+
+    /**
+     * Gives back the stream of the game level events
+     *
+     * @return RandomStream
+     */
+    public RandomStream events() {
+        return events;
+    }
+
+    /**
+     * Gives back the stream of the next location
+     *
+     * @return RandomStream
+     */
+    public RandomStream nextLocationStream() {
+        return locations.split();
+    }
+
+    /**
+     * Gives back the stream which the streams of the locations are split from, for the snapshots
+     *
+     * @return RandomStream
+     */
+    RandomStream locations() {
+        return locations;
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.Random;
+
+/**
+ * Seeded, splittable random number generator (SplitMix64, the algorithm of java.util.SplittableRandom).
+ * It extends Random so it can be used everywhere a Random is expected, but every value comes from the SplitMix64 state,
+ * so the same seed gives the same values bit for bit. split() gives a new, statistically independent stream.
+ * The whole state is two longs, it can be read and restored. It is not thread safe, every thread needs its own stream.
+ */
+public class RandomStream extends Random {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long seed;
+    private long gamma;
+
+    /**
+     * Creates a stream from a seed
+     *
+     * @param seed long
+     */
+    public RandomStream(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    /**
+     * Creates a stream with the given state, see getSeed() and getGamma()
+     *
+     * @param seed  long
+     * @param gamma long, must be odd
+     */
+    public RandomStream(long seed, long gamma) {
+        super(0);
+        if ((gamma & 1) == 0) {
+            throw new IllegalArgumentException("Gamma must be odd: " + gamma);
+        }
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Gives back a new stream, it is independent of this one, but it depends only on the state of this one
+     *
+     * @return RandomStream
+     */
+    public RandomStream split() {
+        return new RandomStream(mix64(nextSeed()), mixGamma(nextSeed()));
+    }
+
+    /**
+     * Gives back the seed part of the state
+     *
+     * @return long
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gives back the gamma part of the state
+     *
+     * @return long
+     */
+    public long getGamma() {
+        return gamma;
+    }
+
+    /**
+     * Sets the whole state of the stream, see getSeed() and getGamma()
+     *
+     * @param seed  long
+     * @param gamma long, must be odd
+     */
+    public void setState(long seed, long gamma) {
+        if ((gamma & 1) == 0) {
+            throw new IllegalArgumentException("Gamma must be odd: " + gamma);
+        }
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Restarts the stream from the given seed, the gamma is kept. The constructor of Random calls it before the stream
+     * is initialized, that call is ignored.
+     *
+     * @param seed long
+     */
+    @Override
+    public void setSeed(long seed) {
+        if (gamma != 0) {
+            this.seed = seed;
+        }
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (mix64(nextSeed()) >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (mix64(nextSeed()) >>> 32);
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    @Override
+    public double nextDouble() {
+        return (mix64(nextSeed()) >>> 11) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return mix64(nextSeed()) < 0;
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return transitions < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
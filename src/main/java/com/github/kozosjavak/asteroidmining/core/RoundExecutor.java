@@ -0,0 +1,291 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Steps the locations of a round, the independent parts of the world in parallel on a ForkJoinPool.
+ * Only the locations of the active set are stepped, the others have nothing to do, so a round costs the number of
+ * the active locations. A location which becomes active during the round is stepped if its turn hasn't passed yet.
+ * <p>
+ * A location step reaches at most one neighbor distance: spaceships move to a neighbor, an explosion throws the robots
+ * to a neighbor and disconnects the location from its neighbors. So the world is cut into square tiles a bit bigger than
+ * two neighbor distances and the tiles are colored like a 2x2 chessboard, two tiles of the same color can't reach
+ * the same location. The order of a round is:
+ * <ol>
+ * <li>the sun and the locations with a teleport, one by one in the order of their indexes (the sun's storm reaches
+ * farther than a neighbor and a teleport hit by an explosion changes its far away pair)</li>
+ * <li>the four colors one after the other, the tiles of a color in parallel, the locations of a tile in the order of
+ * their indexes</li>
+ * <li>the locations which got a teleport during the first part, one by one</li>
+ * </ol>
+ * The effects which change the whole game (ID registry, settler list, spatial grid) are collected by the tiles and
+ * done after the color in the order of the tiles. So the result of a round doesn't depend on the parallelism, with
+ * parallelism 1 the same order is run on the calling thread. Without a managed neighbor graph the neighbors aren't bound
+ * by the distance, then the active locations are stepped one by one in the order of their indexes.
+ */
+public class RoundExecutor {
+    /**
+     * Number of locations below which a color is stepped on the calling thread
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final Game game;
+    /**
+     * The tile which is stepped on the current thread, null outside the parallel part
+     */
+    private final ThreadLocal<Tile> currentTile = new ThreadLocal<>();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private ForkJoinPool pool;
+
+    /**
+     * Basic constructor
+     *
+     * @param game Game
+     */
+    public RoundExecutor(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Gives back the number of the threads stepping the tiles
+     *
+     * @return int
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the number of the threads stepping the tiles, 1 means stepping on the calling thread
+     *
+     * @param parallelism int
+     */
+    public synchronized void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        if (pool != null && parallelism != this.parallelism) {
+            pool.shutdown();
+            pool = null;
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs the effect at once, or after the current color if it is called while a tile is stepped
+     *
+     * @param effect Runnable, an effect on the whole game
+     */
+    void runOrDefer(Runnable effect) {
+        Tile tile = currentTile.get();
+        if (tile == null) {
+            effect.run();
+        } else {
+            tile.deferred.add(effect);
+        }
+    }
+
+    /**
+     * Called by the active set when the location has become active. If it happens in a tile, to a later location of
+     * the same tile, the location is stepped by the tile too
+     *
+     * @param location Location
+     */
+    void locationActivated(Location location) {
+        Tile tile = currentTile.get();
+        if (tile != null && location.index > tile.cursor && tile.contains(location)) {
+            tile.queue.add(location);
+        }
+    }
+
+    /**
+     * Steps the active locations in the order of their indexes
+     *
+     * @param distanceOfNeighbors double
+     */
+    public void step(double distanceOfNeighbors) {
+        NeighborGraph graph = game.getNeighborGraph();
+        ActiveSet active = game.getActiveSet();
+        graph.update(distanceOfNeighbors);
+        if (!graph.isManaged()) {
+            for (int i = active.nextActive(0); i >= 0; i = active.nextActive(i + 1)) {
+                stepLocation(active.getLocation(i));
+            }
+            return;
+        }
+
+        //1. the sun and the teleports
+        Set<Location> steppedFirst = new HashSet<>();
+        for (int i = active.nextActive(0); i >= 0; i = active.nextActive(i + 1)) {
+            Location location = active.getLocation(i);
+            if (location.teleport != null || location.celestialBody instanceof Sun) {
+                steppedFirst.add(location);
+                stepLocation(location);
+                graph.update(distanceOfNeighbors);
+            }
+        }
+
+        //2. the tiles color by color
+        double tileSize = 2 * distanceOfNeighbors + 1;
+        List<Tile> withTeleport = new ArrayList<>();
+        for (int color = 0; color < 4; color++) {
+            List<Tile> tiles = partition(active, steppedFirst, tileSize, color);
+            //the tiles only read the sun zones, they are brought up to date here on the calling thread
+            game.getSunProximity().freeze();
+            try {
+                stepTiles(tiles);
+            } finally {
+                game.getSunProximity().thaw();
+            }
+            for (Tile tile : tiles) {
+                for (Runnable effect : tile.deferred) {
+                    effect.run();
+                }
+            }
+            withTeleport.addAll(tiles);
+        }
+
+        //3. the locations where a teleport has been moved in the first part
+        for (Tile tile : withTeleport) {
+            for (Location location : tile.withTeleport) {
+                stepLocation(location);
+            }
+        }
+    }
+
+    /**
+     * Sorts the active locations of the color, which haven't been stepped yet, in tiles
+     */
+    private List<Tile> partition(ActiveSet active, Set<Location> steppedFirst, double tileSize, int color) {
+        Map<Long, Tile> tiles = new TreeMap<>();
+        for (int i = active.nextActive(0); i >= 0; i = active.nextActive(i + 1)) {
+            Location location = active.getLocation(i);
+            long column = (long) Math.floor(location.coordinate.getX() / tileSize);
+            long row = (long) Math.floor(location.coordinate.getY() / tileSize);
+            if (((column & 1) | ((row & 1) << 1)) != color || steppedFirst.contains(location)) {
+                continue;
+            }
+            long key = (column << 32) + row;
+            tiles.computeIfAbsent(key, k -> new Tile(column, row, tileSize, steppedFirst)).queue.add(location);
+        }
+        return new ArrayList<>(tiles.values());
+    }
+
+    /**
+     * Steps the tiles of one color, they are independent
+     */
+    private void stepTiles(List<Tile> tiles) {
+        int size = 0;
+        for (Tile tile : tiles) {
+            size += tile.queue.size();
+        }
+        if (parallelism == 1 || tiles.size() < 2 || size < PARALLEL_THRESHOLD) {
+            for (Tile tile : tiles) {
+                stepTile(tile);
+            }
+        } else {
+            getPool().invoke(new TileTask(tiles, 0, tiles.size()));
+        }
+    }
+
+    private void stepTile(Tile tile) {
+        currentTile.set(tile);
+        try {
+            Location location;
+            while ((location = tile.queue.poll()) != null) {
+                if (location.index <= tile.cursor) {
+                    //activated again after it was queued
+                    continue;
+                }
+                tile.cursor = location.index;
+                if (location.teleport != null) {
+                    //a teleport has been moved here in the first part, its explosion could reach the pair
+                    tile.withTeleport.add(location);
+                } else {
+                    stepLocation(location);
+                }
+            }
+        } finally {
+            currentTile.remove();
+        }
+    }
+
+    private void stepLocation(Location location) {
+        try {
+            location.stepContent();
+        } catch (Exception exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
+    /**
+     * Active locations of a tile in the order of their indexes, and the effects of them on the whole game
+     */
+    private static final class Tile {
+        final long column;
+        final long row;
+        final double size;
+        final Set<Location> steppedFirst;
+        final PriorityQueue<Location> queue = new PriorityQueue<>(Comparator.comparingInt(Location::getIndex));
+        final List<Location> withTeleport = new ArrayList<>();
+        final List<Runnable> deferred = new ArrayList<>();
+        /**
+         * Index of the last stepped location
+         */
+        int cursor = -1;
+
+        Tile(long column, long row, double size, Set<Location> steppedFirst) {
+            this.column = column;
+            this.row = row;
+            this.size = size;
+            this.steppedFirst = steppedFirst;
+        }
+
+        boolean contains(Location location) {
+            return (long) Math.floor(location.coordinate.getX() / size) == column
+                    && (long) Math.floor(location.coordinate.getY() / size) == row
+                    && !steppedFirst.contains(location);
+        }
+    }
+
+    /**
+     * Steps a range of tiles, it halves the range till one tile is left
+     */
+    private final class TileTask extends RecursiveAction {
+        private final List<Tile> tiles;
+        private final int from;
+        private final int to;
+
+        TileTask(List<Tile> tiles, int from, int to) {
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                stepTile(tiles.get(from));
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(tiles, from, middle), new TileTask(tiles, middle, to));
+            }
+        }
+    }
+}
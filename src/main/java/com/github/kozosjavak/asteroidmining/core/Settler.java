@@ -1,11 +1,16 @@
 package com.github.kozosjavak.asteroidmining.core;
 
+import com.github.kozosjavak.asteroidmining.core.bills.BillOfMaterial;
 import com.github.kozosjavak.asteroidmining.core.bills.Bills;
+import com.github.kozosjavak.asteroidmining.core.materials.CompositeInventory;
 import com.github.kozosjavak.asteroidmining.core.materials.Inventory;
 import com.github.kozosjavak.asteroidmining.core.materials.InventoryIsFullException;
 import com.github.kozosjavak.asteroidmining.core.materials.Material;
 import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialException;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Settler class
  */
@@ -21,15 +26,27 @@ public class Settler extends Spaceship {
     private final Teleport[] teleportInventory = new Teleport[3];
 
 
+    /**
+     * Game, the settler tells it when the turn is over
+     */
+    private final Game game;
+
     private boolean isCommandCalled = false;
-    private boolean selected = false;
+    /**
+     * True while it is the settler's turn, set by the loop thread and cleared by the GUI thread
+     */
+    private volatile boolean selected = false;
 
     public boolean isSelected() {
         return selected;
     }
 
+    /**
+     * Ends the turn of the settler and wakes up the game loop
+     */
     public void setSelectedFalse() {
         selected = false;
+        game.getTurnCoordinator().turnFinished();
     }
 
     /**
@@ -39,7 +56,8 @@ public class Settler extends Spaceship {
      */
     public Settler(Asteroid asteroid) {
         super(asteroid);
-        getCurrentAsteroid().getLocation().game.getSettlers().add(this);
+        game = getCurrentAsteroid().getLocation().game;
+        game.getSettlers().add(this);
     }
 
     /**
@@ -119,7 +137,7 @@ public class Settler extends Spaceship {
             }
         }
 
-        Bills.TELEPORT.buy(inventory);
+        pay(Bills.TELEPORT);
 
         if (numberOfEmptyElement > 1) {
             Teleport t1 = new Teleport();
@@ -147,24 +165,47 @@ public class Settler extends Spaceship {
 
 
     /**
-     * Builds base
+     * Builds base, the materials are taken from the settler first and then from the asteroid
      *
      * @throws NotEnoughMaterialException not enough material on the asteroid, combined with the inventory of the settler
      * @throws InventoryIsFullException
      */
     public void buildBase() throws NotEnoughMaterialException, InventoryIsFullException {
-        Inventory inventoryFromAsteroidAndSettler = new Inventory(0);
-        for (int i = 0; i < getCurrentAsteroid().getAsteroidInventory().getSize(); i++) {
-            inventoryFromAsteroidAndSettler.add(getCurrentAsteroid().getAsteroidInventory().getList().get(i));
-        }
-        for (int i = 0; i < getInventory().getSize(); i++) {
-            inventoryFromAsteroidAndSettler.add(getInventory().getList().get(i));
-        }
-        Bills.BASE.buy(inventoryFromAsteroidAndSettler);
+        pay(Bills.BASE, inventory, getCurrentAsteroid().getAsteroidInventory());
+        getCurrentAsteroid().buildBase();
+        isCommandCalled = true;
+    }
+
+    /**
+     * Builds base with the pooled materials of the crew: this settler, the other settlers on the asteroid, then the
+     * asteroid
+     *
+     * @throws NotEnoughMaterialException not enough material in the crew and on the asteroid
+     */
+    public void buildBaseWithCrew() throws NotEnoughMaterialException {
+        pay(Bills.BASE, getCrewInventories().toArray(new Inventory[0]));
         getCurrentAsteroid().buildBase();
         isCommandCalled = true;
     }
 
+    /**
+     * Gives back the inventories of the crew in the order of the drawing: this settler, the other settlers on the
+     * asteroid in the order of their arrival, then the asteroid
+     *
+     * @return List<Inventory>
+     */
+    public List<Inventory> getCrewInventories() {
+        List<Inventory> inventories = new ArrayList<>();
+        inventories.add(inventory);
+        for (Spaceship spaceship : getCurrentAsteroid().getResidence()) {
+            if (spaceship != this && spaceship instanceof Settler) {
+                inventories.add(((Settler) spaceship).getInventory());
+            }
+        }
+        inventories.add(getCurrentAsteroid().getAsteroidInventory());
+        return inventories;
+    }
+
     /**
      * Build robot
      *
@@ -172,12 +213,26 @@ public class Settler extends Spaceship {
      * @throws NotEnoughMaterialException not enough material
      */
     public Robot buildRobot() throws NotEnoughMaterialException {
-        Bills.ROBOT.buy(inventory);
+        pay(Bills.ROBOT);
         isCommandCalled = true;
         return new Robot(getCurrentAsteroid());
     }
 
 
+    /**
+     * Buys the bill from the inventories together, the used up materials are removed from the ID list
+     *
+     * @param bill        BillOfMaterial
+     * @param inventories Inventory..., in the order of the drawing, the own inventory of the settler if none is given
+     * @throws NotEnoughMaterialException not enough material, nothing is removed then
+     */
+    private void pay(BillOfMaterial bill, Inventory... inventories) throws NotEnoughMaterialException {
+        if (inventories.length == 0) {
+            inventories = new Inventory[]{inventory};
+        }
+        bill.buy(inventories.length == 1 ? inventories[0] : new CompositeInventory(inventories), game::removeFromIdList);
+    }
+
     /**
      * Place first form teleportInventory on the location where the currently asteroid is
      */
@@ -201,13 +256,22 @@ public class Settler extends Spaceship {
     }
 
     /**
-     * Settlers dies
+     * Settlers dies, its materials and teleports are lost with it
      */
     @Override
     public void die() {
-        getCurrentAsteroid().getLocation().game.removeSettlerFromGame(this);
+        game.removeSettlerFromGame(this);
         getCurrentAsteroid().removeSpaceship(this);
         setCurrentAsteroid(null);
+        game.removeFromIdList(this);
+        for (Material material : inventory.getList()) {
+            game.removeFromIdList(material);
+        }
+        for (Teleport teleport : teleportInventory) {
+            if (teleport != null) {
+                game.removeFromIdList(teleport);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,156 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Buffered binary reader of the snapshots written by SnapshotOutput. The read bytes go in a CRC32C checksum, finish
+ * compares it with the checksum written after the data. The channel can be read beyond the end of the snapshot.
+ * The length of the snapshot can be given, then the counts of the tables are checked against the bytes left before
+ * anything is allocated for them, so a broken count can't allocate more than the size of the snapshot.
+ */
+final class SnapshotInput {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+    private final CRC32C checksum = new CRC32C();
+    /**
+     * The bytes of the buffer before it are in the checksum already
+     */
+    private int checked = 0;
+    /**
+     * The most bytes the snapshot can have, Long.MAX_VALUE if it isn't known
+     */
+    private final long length;
+    /**
+     * Number of the bytes read from the channel
+     */
+    private long fetched = 0;
+
+    /**
+     * Basic constructor
+     *
+     * @param channel ReadableByteChannel, it isn't closed
+     * @param length  long, the most bytes the snapshot can have, Long.MAX_VALUE if it isn't known
+     */
+    SnapshotInput(ReadableByteChannel channel, long length) {
+        this.channel = channel;
+        this.length = length;
+        buffer.limit(0);
+    }
+
+    /**
+     * Reads the count of a table, it is checked against the bytes left in the snapshot
+     *
+     * @param elementSize int, the fewest bytes an element of the table is written in
+     * @return int
+     * @throws IOException if the count is negative or the elements couldn't fit in the rest of the snapshot
+     */
+    int readCount(int elementSize) throws IOException {
+        int count = readInt();
+        if (count < 0) {
+            throw new IOException("Broken snapshot: negative count " + count);
+        }
+        long left = length - (fetched - buffer.remaining());
+        if ((long) count * elementSize > left) {
+            throw new IOException("Broken snapshot: " + count + " elements don't fit in the last " + left + " bytes");
+        }
+        return count;
+    }
+
+    byte readByte() throws IOException {
+        require(1);
+        return buffer.get();
+    }
+
+    boolean readBoolean() throws IOException {
+        byte value = readByte();
+        if (value != 0 && value != 1) {
+            throw new IOException("Broken snapshot: not a boolean " + value);
+        }
+        return value == 1;
+    }
+
+    int readInt() throws IOException {
+        int zigzag = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            zigzag |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Broken snapshot: too long varint");
+    }
+
+    int readFixedInt() throws IOException {
+        require(4);
+        return buffer.getInt();
+    }
+
+    long readLong() throws IOException {
+        require(8);
+        return buffer.getLong();
+    }
+
+    double readDouble() throws IOException {
+        require(8);
+        return buffer.getDouble();
+    }
+
+    String readString() throws IOException {
+        int length = readCount(1);
+        byte[] bytes = new byte[length];
+        for (int offset = 0; offset < length; ) {
+            require(1);
+            int count = Math.min(buffer.remaining(), length - offset);
+            buffer.get(bytes, offset, count);
+            offset += count;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the checksum after the data and compares it with the checksum of the read data
+     *
+     * @throws IOException if they are different
+     */
+    void finish() throws IOException {
+        updateChecksum();
+        int expected = (int) checksum.getValue();
+        int stored = readFixedInt();
+        if (stored != expected) {
+            throw new IOException("Broken snapshot: checksum mismatch");
+        }
+    }
+
+    private void require(int length) throws IOException {
+        if (buffer.remaining() >= length) {
+            return;
+        }
+        updateChecksum();
+        buffer.compact();
+        checked = 0;
+        while (buffer.position() < length) {
+            int read = channel.read(buffer);
+            if (read < 0) {
+                throw new EOFException("Broken snapshot: unexpected end");
+            }
+            fetched += read;
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Puts the read bytes of the buffer in the checksum
+     */
+    private void updateChecksum() {
+        ByteBuffer read = buffer.duplicate();
+        read.limit(buffer.position()).position(checked);
+        checksum.update(read);
+        checked = buffer.position();
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Buffered binary writer of the snapshots over a channel. The ints are written as zigzag varints, so the small
+ * numbers and -1 (none) take one byte, the longs and the doubles take eight bytes. Every written byte goes in a CRC32C
+ * checksum, finish writes it after the data.
+ */
+final class SnapshotOutput {
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+    private final CRC32C checksum = new CRC32C();
+    private long written = 0;
+
+    /**
+     * Basic constructor
+     *
+     * @param channel WritableByteChannel, it isn't closed
+     */
+    SnapshotOutput(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        writeByte(value ? 1 : 0);
+    }
+
+    void writeInt(int value) throws IOException {
+        ensure(5);
+        int zigzag = (value << 1) ^ (value >> 31);
+        while ((zigzag & ~0x7f) != 0) {
+            buffer.put((byte) (zigzag & 0x7f | 0x80));
+            zigzag >>>= 7;
+        }
+        buffer.put((byte) zigzag);
+    }
+
+    void writeFixedInt(int value) throws IOException {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    void writeDouble(double value) throws IOException {
+        ensure(8);
+        buffer.putDouble(value);
+    }
+
+    void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        for (int offset = 0; offset < bytes.length; ) {
+            ensure(1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Writes the buffered data and the checksum of the whole data to the channel
+     *
+     * @throws IOException if the write fails
+     */
+    void finish() throws IOException {
+        flush();
+        buffer.putInt((int) checksum.getValue());
+        buffer.flip();
+        write();
+    }
+
+    /**
+     * Gives back the number of the bytes written to the channel
+     *
+     * @return long
+     */
+    long getWritten() {
+        return written;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (buffer.remaining() < length) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        checksum.update(buffer);
+        buffer.flip();
+        write();
+    }
+
+    private void write() throws IOException {
+        written += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -39,11 +39,13 @@ public class Spaceship implements Explodeable {
 
 
     /**
-     * Spaceship dies and removed from current asteroid
+     * Spaceship dies and removed from current asteroid and from the ID list
      */
     public void die() {
+        Game game = currentAsteroid.getLocation().game;
         currentAsteroid.removeSpaceship(this);
         setCurrentAsteroid(null);
+        game.removeFromIdList(this);
     }
 
     /**
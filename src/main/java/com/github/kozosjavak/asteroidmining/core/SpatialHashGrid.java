@@ -0,0 +1,399 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid spatial hash of the locations, the cells are sized to the neighbor distance so a neighbor query only looks at the nearby cells.
+ * A cell keeps the indexes of its locations, the coordinates are read from the coordinate store of the game with squared
+ * distances (see CoordinateStore.filterWithin).
+ */
+public class SpatialHashGrid {
+    /**
+     * Indexes of the locations stored by the key of their cell
+     */
+    private Map<Long, Cell> cells = new HashMap<>();
+    /**
+     * The coordinates of the locations
+     */
+    private final CoordinateStore coordinates;
+    /**
+     * Side length of one cell
+     */
+    private double cellSize;
+    /**
+     * Number of the stored locations
+     */
+    private int size;
+    /**
+     * The cell of the last insert and its key, the locations which are inserted one after the other are mostly close
+     */
+    private Cell lastCell;
+    private long lastKey;
+
+    /**
+     * Basic constructor
+     *
+     * @param cellSize    double, side length of one cell, should be the neighbor distance
+     * @param coordinates CoordinateStore, the coordinates of the locations which will be stored
+     */
+    public SpatialHashGrid(double cellSize, CoordinateStore coordinates) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.coordinates = coordinates;
+    }
+
+    /**
+     * Gives back the side length of one cell
+     *
+     * @return double
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Gives back the number of the stored locations
+     *
+     * @return int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Changes the cell size and puts the given locations again in the grid
+     *
+     * @param cellSize  double, new side length of one cell
+     * @param locations the locations which have to be stored
+     */
+    public void rebuild(double cellSize, Collection<Location> locations) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        cells.clear();
+        lastCell = null;
+        size = 0;
+        for (Location location : locations) {
+            location.inGrid = false;
+            insert(location);
+        }
+    }
+
+    /**
+     * Puts the location in the cell of its current coordinate
+     *
+     * @param location Location
+     */
+    public void insert(Location location) {
+        if (location.inGrid) {
+            return;
+        }
+        long key = keyOf(location.getCoordinate().getX(), location.getCoordinate().getY());
+        if (lastCell == null || key != lastKey) {
+            lastCell = cells.computeIfAbsent(key, k -> new Cell());
+            lastKey = key;
+        }
+        lastCell.add(location.index);
+        location.gridCell = key;
+        location.inGrid = true;
+        size++;
+    }
+
+    /**
+     * Puts the locations in the grid, they are inserted cell by cell so the map is looked up once for a cell.
+     * The order of the indexes in a cell doesn't matter, the queries sort what they find
+     *
+     * @param locations List<Location>
+     */
+    public void insertAll(List<Location> locations) {
+        int count = locations.size();
+        long minX = Long.MAX_VALUE;
+        long minY = Long.MAX_VALUE;
+        long maxX = Long.MIN_VALUE;
+        long maxY = Long.MIN_VALUE;
+        int maxIndex = 0;
+        for (Location location : locations) {
+            maxIndex = Math.max(maxIndex, location.index);
+            long cx = cellOf(location.getCoordinate().getX());
+            long cy = cellOf(location.getCoordinate().getY());
+            minX = Math.min(minX, cx);
+            minY = Math.min(minY, cy);
+            maxX = Math.max(maxX, cx);
+            maxY = Math.max(maxY, cy);
+        }
+        //the index of the location goes in the low bits, the rank of its cell in the high bits
+        int indexBits = 64 - Long.numberOfLeadingZeros(Math.max(1, maxIndex));
+        long width = maxX - minX + 1;
+        long height = maxY - minY + 1;
+        long cellLimit = 1L << (63 - indexBits);
+        if (count == 0 || width >= cellLimit || height >= cellLimit || width > cellLimit / height) {
+            for (Location location : locations) {
+                insert(location);
+            }
+            return;
+        }
+        //the locations are visited in their order, the cells are filled in the order of the cells
+        long[] ranks = new long[count];
+        int[] indexes = new int[count];
+        int length = 0;
+        for (Location location : locations) {
+            if (location.inGrid) {
+                continue;
+            }
+            long cx = cellOf(location.getCoordinate().getX());
+            long cy = cellOf(location.getCoordinate().getY());
+            location.gridCell = key(cx, cy);
+            location.inGrid = true;
+            ranks[length] = (cx - minX) * height + cy - minY;
+            indexes[length++] = location.index;
+        }
+        long cellCount = width * height;
+        if (cellCount <= 4L * length) {
+            countingOrder(ranks, indexes, length, (int) cellCount);
+        } else {
+            long[] sorted = new long[length];
+            for (int i = 0; i < length; i++) {
+                sorted[i] = ranks[i] << indexBits | indexes[i];
+            }
+            Arrays.sort(sorted);
+            long mask = (1L << indexBits) - 1;
+            for (int i = 0; i < length; i++) {
+                ranks[i] = sorted[i] >>> indexBits;
+                indexes[i] = (int) (sorted[i] & mask);
+            }
+        }
+        //the new cells are collected in a map of the right size, an empty grid (e.g. a loaded game) takes it as it is
+        int newCells = 0;
+        for (int i = 0; i < length; i++) {
+            if (i == 0 || ranks[i] != ranks[i - 1]) {
+                newCells++;
+            }
+        }
+        Map<Long, Cell> added = new HashMap<>((int) Math.min(Integer.MAX_VALUE, (long) newCells * 4 / 3 + 1));
+        Cell cell = null;
+        for (int i = 0; i < length; i++) {
+            long rank = ranks[i];
+            if (i == 0 || rank != ranks[i - 1]) {
+                long key = key(rank / height + minX, rank % height + minY);
+                cell = cells.get(key);
+                if (cell == null) {
+                    cell = added.computeIfAbsent(key, k -> new Cell());
+                }
+            }
+            cell.add(indexes[i]);
+        }
+        if (cells.isEmpty()) {
+            cells = added;
+        } else {
+            cells.putAll(added);
+        }
+        size += length;
+    }
+
+    /**
+     * Orders the ranks and the indexes by the rank with a counting sort, the ranks have to be below the number of the cells
+     *
+     * @param ranks     long[], the rank of the cell of every location
+     * @param indexes   int[], the index of every location
+     * @param length    int, number of the used elements
+     * @param cellCount int, number of the possible ranks
+     */
+    private static void countingOrder(long[] ranks, int[] indexes, int length, int cellCount) {
+        int[] starts = new int[cellCount + 1];
+        for (int i = 0; i < length; i++) {
+            starts[(int) ranks[i] + 1]++;
+        }
+        for (int i = 0; i < cellCount; i++) {
+            starts[i + 1] += starts[i];
+        }
+        int[] ordered = new int[length];
+        for (int i = 0; i < length; i++) {
+            ordered[starts[(int) ranks[i]]++] = indexes[i];
+        }
+        //after the placement the start of a rank points at the end of the rank
+        int position = 0;
+        for (int rank = 0; rank < cellCount; rank++) {
+            while (position < starts[rank]) {
+                ranks[position++] = rank;
+            }
+        }
+        System.arraycopy(ordered, 0, indexes, 0, length);
+    }
+
+    /**
+     * Removes the location from the grid
+     *
+     * @param location Location
+     */
+    public void remove(Location location) {
+        if (!location.inGrid) {
+            return;
+        }
+        removeFromCell(location, location.gridCell);
+        location.inGrid = false;
+        size--;
+    }
+
+    /**
+     * Moves the location in the cell of its current coordinate, called when the coordinate of the location has changed
+     *
+     * @param location Location
+     */
+    void update(Location location) {
+        if (!location.inGrid) {
+            return;
+        }
+        long key = keyOf(location.getCoordinate().getX(), location.getCoordinate().getY());
+        if (key != location.gridCell) {
+            removeFromCell(location, location.gridCell);
+            cells.computeIfAbsent(key, k -> new Cell()).add(location.index);
+            location.gridCell = key;
+        }
+    }
+
+    /**
+     * Gives back the locations which are not farther than the given distance from the center, in the order of the location list
+     *
+     * @param center   AbstractCoordinate, center of the query
+     * @param distance double, radius of the query
+     * @param except   Location, it won't be in the result, can be null
+     * @return List<Location>
+     */
+    public List<Location> query(AbstractCoordinate center, double distance, Location except) {
+        double x = center.getX();
+        double y = center.getY();
+        double distanceSquared = distance * distance;
+        int exceptIndex = except == null ? -1 : except.index;
+        int[] found = new int[16];
+        int count = 0;
+        long minX = cellOf(x - distance);
+        long maxX = cellOf(x + distance);
+        long minY = cellOf(y - distance);
+        long maxY = cellOf(y + distance);
+        if ((maxX - minX + 1) * (maxY - minY + 1) > cells.size()) {
+            //the query covers more cells than we have, it is cheaper to visit the occupied ones
+            for (Cell cell : cells.values()) {
+                found = ensure(found, count + cell.size);
+                count = coordinates.filterWithin(cell.indexes, cell.size, x, y, distanceSquared, exceptIndex, found, count);
+            }
+        } else {
+            for (long cx = minX; cx <= maxX; cx++) {
+                for (long cy = minY; cy <= maxY; cy++) {
+                    Cell cell = cells.get(key(cx, cy));
+                    if (cell != null) {
+                        found = ensure(found, count + cell.size);
+                        count = coordinates.filterWithin(cell.indexes, cell.size, x, y, distanceSquared, exceptIndex, found, count);
+                    }
+                }
+            }
+        }
+        //the order of the location list is the order of the indexes
+        Arrays.sort(found, 0, count);
+        List<Location> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(coordinates.getLocation(found[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Tells if there is any location closer than the given distance to the center
+     *
+     * @param center   AbstractCoordinate, center of the query
+     * @param distance double, the locations have to be closer than this
+     * @param except   Location, it won't be checked, can be null
+     * @return boolean
+     */
+    public boolean anyCloserThan(AbstractCoordinate center, double distance, Location except) {
+        double x = center.getX();
+        double y = center.getY();
+        double distanceSquared = distance * distance;
+        int exceptIndex = except == null ? -1 : except.index;
+        long minX = cellOf(x - distance);
+        long maxX = cellOf(x + distance);
+        long minY = cellOf(y - distance);
+        long maxY = cellOf(y + distance);
+        if ((maxX - minX + 1) * (maxY - minY + 1) > cells.size()) {
+            for (Cell cell : cells.values()) {
+                if (coordinates.anyCloserThan(cell.indexes, cell.size, x, y, distanceSquared, exceptIndex)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (long cx = minX; cx <= maxX; cx++) {
+            for (long cy = minY; cy <= maxY; cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell != null && coordinates.anyCloserThan(cell.indexes, cell.size, x, y, distanceSquared, exceptIndex)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int[] ensure(int[] array, int length) {
+        return length <= array.length ? array : Arrays.copyOf(array, Math.max(length, 2 * array.length));
+    }
+
+    private void removeFromCell(Location location, long key) {
+        Cell cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(location.index);
+            if (cell.size == 0) {
+                cells.remove(key);
+                if (cell == lastCell) {
+                    lastCell = null;
+                }
+            }
+        }
+    }
+
+    private long cellOf(double value) {
+        return (long) Math.floor(value / cellSize);
+    }
+
+    private long keyOf(double x, double y) {
+        return key(cellOf(x), cellOf(y));
+    }
+
+    /**
+     * The key of the cell, cy is multiplied by an odd constant (a bijection on 32 bits) so the hash code of the key
+     * (the xor of its halves) isn't the same for the cells of a diagonal
+     */
+    private static long key(long cx, long cy) {
+        return (cx << 32) ^ ((cy * 0x9e3779b9L) & 0xffffffffL);
+    }
+
+    /**
+     * The indexes of the locations of one cell, in no particular order
+     */
+    private static final class Cell {
+        int[] indexes = new int[4];
+        int size = 0;
+
+        void add(int index) {
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, 2 * size);
+            }
+            indexes[size++] = index;
+        }
+
+        void remove(int index) {
+            for (int i = 0; i < size; i++) {
+                if (indexes[i] == index) {
+                    indexes[i] = indexes[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
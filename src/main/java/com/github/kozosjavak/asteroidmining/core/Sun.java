@@ -1,13 +1,13 @@
 package com.github.kozosjavak.asteroidmining.core;
 
-import java.util.Random;
-
 /**
  * Sun class
  */
 public class Sun extends Orb {
-
-    Random random;
+    /**
+     * Radius of the solar storm and the extreme heat
+     */
+    public static final double SOLAR_RADIUS = 160;
 
     Boolean isSolarStorm = false;
 
@@ -22,7 +22,17 @@ public class Sun extends Orb {
      */
     public Sun(Location location) {
         super(location);
-        random = new Random();
+        location.game.getSunProximity().add(this);
+    }
+
+    /**
+     * The sun moves and makes storms in every round
+     *
+     * @return boolean
+     */
+    @Override
+    boolean hasWork() {
+        return true;
     }
 
     /**
@@ -36,22 +46,22 @@ public class Sun extends Orb {
         //csunya javitasra szorul
         double x = getLocation().getCoordinate().getX();
         double y = getLocation().getCoordinate().getY();
-        if (x + newX < getLocation().game.getMaxX() && y + newY < getLocation().game.getMaxY() && getLocation().game.randomGenerator(50)) {
+        if (x + newX < getLocation().game.getMaxX() && y + newY < getLocation().game.getMaxY() && getLocation().randomGenerator(50)) {
             getLocation().getCoordinate().updateCoordinates(x + newX, y + newY);
             // System.out.println("Sun: Elso");
-        } else if (x - newX > 0 && y + newY < getLocation().game.getMaxY() && getLocation().game.randomGenerator(50)) {
+        } else if (x - newX > 0 && y + newY < getLocation().game.getMaxY() && getLocation().randomGenerator(50)) {
             getLocation().getCoordinate().updateCoordinates(x - newX, y + newY);
             //System.out.println("Sun: masodik");
-        } else if (x + newX < getLocation().game.getMaxX() && y - newY > 0 && getLocation().game.randomGenerator(50)) {
+        } else if (x + newX < getLocation().game.getMaxX() && y - newY > 0 && getLocation().randomGenerator(50)) {
             getLocation().getCoordinate().updateCoordinates(x + newX, y - newY);
             // System.out.println("Sun: harmadik");
-        } else if (x - newX > 0 && y - newY > 0 && getLocation().game.randomGenerator(50)) {
+        } else if (x - newX > 0 && y - newY > 0 && getLocation().randomGenerator(50)) {
             getLocation().getCoordinate().updateCoordinates(x - newX, y - newY);
             // System.out.println("Sun: negyedik");
         }
         if (getLocation().game.checkIfLocationCollide(getLocation()) && counter > 0) {
             getLocation().getCoordinate().updateCoordinates(x, y);
-            sunMoving(random.nextDouble() * getLocation().game.getMaxX() * 0.2, random.nextDouble() * getLocation().game.getMaxY() * 0.2, --counter);
+            sunMoving(getLocation().random.nextDouble() * getLocation().game.getMaxX() * 0.2, getLocation().random.nextDouble() * getLocation().game.getMaxY() * 0.2, --counter);
         } else if (getLocation().game.checkIfLocationCollide(getLocation()) && counter == 0) {
             throw new CantMoveToTheSpecificLocationException(new Coordinate(newX, newY));
         } else {
@@ -61,23 +71,23 @@ public class Sun extends Orb {
     }
 
     /**
-     * Calls experienceSolarStorm() on all it's neighbors
+     * Calls experienceSolarStorm() on all the locations in the heat zone, see SunProximityIndex
      */
     @Override
     public void experienceSolarStorm() {
-        //Solar storm radius!! refresh the sun neighbors list
-        getLocation().refreshNeighborsList(160);
-        for (Location location : getLocation().getNeighbors()) {
+        for (Location location : getLocation().game.getSunProximity().getHeatZone(this)) {
             location.experienceSolarStorm();
         }
     }
 
     @Override
     public void experienceExtremeHeat() throws Exception {
-        getLocation().refreshNeighborsList(160);
-        for (Location location : getLocation().getNeighbors()) {
-            location.experienceExtremeHeat();
-        }
+        //one cascade for the whole heat wave
+        getLocation().game.getExplosionEngine().heat(() -> {
+            for (Location location : getLocation().game.getSunProximity().getHeatZone(this)) {
+                location.experienceExtremeHeat();
+            }
+        });
     }
 
     /**
@@ -86,9 +96,9 @@ public class Sun extends Orb {
     @Override
     public void step() throws Exception {
 
-        if (getLocation().game.randomGenerator(20)) {
+        if (getLocation().randomGenerator(20)) {
             try {
-                sunMoving(random.nextDouble() * getLocation().game.getMaxX() * 0.2, random.nextDouble() * getLocation().game.getMaxY() * 0.2, 20);
+                sunMoving(getLocation().random.nextDouble() * getLocation().game.getMaxX() * 0.2, getLocation().random.nextDouble() * getLocation().game.getMaxY() * 0.2, 20);
             } catch (Exception e) {
                 if (e.getClass() == CantMoveToTheSpecificLocationException.class) {
                     System.out.println("Sun couldn't move!");
@@ -96,7 +106,7 @@ public class Sun extends Orb {
             }
 
         }
-        if (getLocation().game.randomGenerator(30)) {
+        if (getLocation().randomGenerator(30)) {
             isSolarStorm = true;
             experienceSolarStorm();
         } else {
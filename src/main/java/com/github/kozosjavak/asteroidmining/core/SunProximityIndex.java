@@ -0,0 +1,177 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the locations near the suns of the game.
+ * The heat zone of a sun (the locations in Sun.SOLAR_RADIUS, reached by the storms and the extreme heat) is a distance
+ * class of the neighbor graph, the sun's location is tracked with it, so it is patched with the graph when the sun or
+ * a location near it moves. The locations next to a sun (a drilled uranium gets extreme heat there) are its neighbors.
+ * For every sun the index keeps a hash set of both, they are built again only when the graph gives a new heat zone list,
+ * so the lookups cost a hash set query. The neighbor list of the sun's location is not touched.
+ * The zones are immutable and published through a volatile field. While the round executor steps the tiles the index
+ * is frozen: the zones are brought up to date once before, and the lookups of the tiles only read the published ones,
+ * without a lock and without touching the graph. Outside of that the lookups bring the zones up to date first.
+ */
+public class SunProximityIndex {
+    private final Game game;
+    /**
+     * The distance class of the heat zones
+     */
+    private final NeighborGraph.DistanceClass heatZone;
+    /**
+     * The suns in the order of their creation
+     */
+    private final List<Sun> suns = new ArrayList<>();
+    /**
+     * The zones of the suns, the map and the zones are never changed, an update publishes a new map
+     */
+    private volatile Map<Sun, Zone> zones = Collections.emptyMap();
+    /**
+     * True while the tiles are stepped, the published zones are used as they are
+     */
+    private volatile boolean frozen;
+
+    /**
+     * Basic constructor, registers the heat zone in the neighbor graph of the game
+     *
+     * @param game Game
+     */
+    public SunProximityIndex(Game game) {
+        this.game = game;
+        heatZone = game.getNeighborGraph().register(Sun.SOLAR_RADIUS);
+    }
+
+    /**
+     * Registers a new sun, called by the sun
+     *
+     * @param sun Sun
+     */
+    void add(Sun sun) {
+        if (!suns.contains(sun)) {
+            suns.add(sun);
+        }
+        game.getNeighborGraph().track(heatZone, sun.getLocation());
+    }
+
+    /**
+     * Brings the zones up to date and freezes them, called before the tiles of a round are stepped
+     */
+    void freeze() {
+        refresh();
+        frozen = true;
+    }
+
+    /**
+     * Lets the lookups bring the zones up to date again, called after the tiles of a round are stepped
+     */
+    void thaw() {
+        frozen = false;
+    }
+
+    /**
+     * Gives back the locations in the heat zone of the sun in the order of their indexes, the sun's location isn't in it
+     *
+     * @param sun Sun
+     * @return List<Location>, immutable
+     */
+    public List<Location> getHeatZone(Sun sun) {
+        if (!frozen && !suns.contains(sun)) {
+            add(sun);
+        }
+        Zone zone = current().get(sun);
+        return zone == null ? Collections.emptyList() : zone.heat;
+    }
+
+    /**
+     * Tells if the location is in the heat zone of any sun
+     *
+     * @param location Location
+     * @return boolean
+     */
+    public boolean isInHeatZone(Location location) {
+        for (Zone zone : current().values()) {
+            if (zone.heatSet.contains(location)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells if a sun is a neighbor of the location. With a managed neighbor graph it is a look up in the zones, before
+     * that the neighbor list of the location, set by hand, is checked
+     *
+     * @param location Location
+     * @return boolean
+     */
+    public boolean isNextToSun(Location location) {
+        if (!game.getNeighborGraph().isManaged() || !location.inGrid) {
+            for (Location neighbor : location.getNeighbors()) {
+                if (neighbor.getOrb() instanceof Sun) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (Zone zone : current().values()) {
+            if (zone.adjacent.contains(location)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gives back the published zones, they are brought up to date first if the index isn't frozen
+     */
+    private Map<Sun, Zone> current() {
+        if (!frozen) {
+            refresh();
+        }
+        return zones;
+    }
+
+    /**
+     * Builds the zone of every sun again whose heat zone has been patched by the graph since, and publishes the new
+     * zones. It touches the graph, so it is called only by the simulation thread outside of the tiles
+     */
+    private void refresh() {
+        Map<Sun, Zone> published = zones;
+        Map<Sun, Zone> refreshed = null;
+        for (Sun sun : suns) {
+            Zone zone = published.get(sun);
+            List<Location> heat = game.getNeighborGraph().getAdjacency(sun.getLocation(), heatZone);
+            if (zone == null || heat != zone.heat) {
+                if (refreshed == null) {
+                    refreshed = new LinkedHashMap<>(published);
+                }
+                refreshed.put(sun, new Zone(heat, sun.getLocation().getNeighbors()));
+            }
+        }
+        if (refreshed != null) {
+            zones = Collections.unmodifiableMap(refreshed);
+        }
+    }
+
+    /**
+     * The locations near one sun
+     */
+    private static final class Zone {
+        final List<Location> heat;
+        final Set<Location> heatSet;
+        final Set<Location> adjacent;
+
+        Zone(List<Location> heat, List<Location> adjacent) {
+            this.heat = heat;
+            this.heatSet = Collections.unmodifiableSet(new HashSet<>(heat));
+            this.adjacent = Collections.unmodifiableSet(new HashSet<>(adjacent));
+        }
+    }
+}
@@ -48,6 +48,19 @@ public class Teleport implements Steppable {
         pair = null;
     }
 
+    /**
+     * Tells if the teleport has been hit by a solar storm, it moves in every step then
+     *
+     * @return boolean
+     */
+    boolean isSolarized() {
+        return solarized;
+    }
+
+    void setSolarized(boolean solarized) {
+        this.solarized = solarized;
+    }
+
     /**
      * Gives back the location where the teleport is
      *
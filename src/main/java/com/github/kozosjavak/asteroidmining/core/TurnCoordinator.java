@@ -0,0 +1,250 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands the turn to the settlers one by one. The loop thread waits on a condition until the settler's action is done
+ * (Settler.setSelectedFalse signals it), so it is woken immediately instead of polling.
+ * If a turn timeout is set, the settler which doesn't act in time passes automatically.
+ * While the loop thread waits, it applies the commands of the command bus (e.g. the actions clicked on the GUI), a
+ * submit wakes it up.
+ * It measures the length of the turns and the time between the end of the action and the wake up of the loop.
+ */
+public class TurnCoordinator {
+    private final Lock lock = new ReentrantLock();
+    private final Condition turnDone = lock.newCondition();
+    private final Game game;
+    /**
+     * Timeout of a turn in nanoseconds, 0 means no timeout
+     */
+    private volatile long turnTimeoutNanos = 0;
+    /**
+     * True while the loop thread waits for the end of a turn, the submits wake it up only then
+     */
+    private volatile boolean waiting = false;
+    /**
+     * The moment when the current settler finished its turn
+     */
+    private long finishedAt;
+
+    private long turnCount = 0;
+    private long timeoutCount = 0;
+    private long totalTurnNanos = 0;
+    private long maxTurnNanos = 0;
+    private long lastTurnNanos = 0;
+    private long totalWakeUpNanos = 0;
+    private long maxWakeUpNanos = 0;
+
+    /**
+     * Basic constructor
+     *
+     * @param game Game
+     */
+    public TurnCoordinator(Game game) {
+        this.game = game;
+        game.getCommandBus().setWakeUp(this::commandSubmitted);
+    }
+
+    /**
+     * Set the timeout of a turn, after it the settler passes automatically
+     *
+     * @param timeout long, 0 means no timeout
+     * @param unit    TimeUnit
+     */
+    public void setTurnTimeout(long timeout, TimeUnit unit) {
+        turnTimeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * Gives the turn to the settler and waits until it acts, the turn times out or the game ends
+     *
+     * @param settler Settler
+     * @return boolean, false if the settler passed because of the timeout
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public boolean playTurn(Settler settler) throws InterruptedException {
+        long timeout = turnTimeoutNanos;
+        boolean timedOut = false;
+        lock.lock();
+        try {
+            long start = System.nanoTime();
+            finishedAt = 0;
+            settler.step();
+            long remaining = timeout;
+            waiting = true;
+            while (settler.isSelected() && game.isRunning()) {
+                //the queue is checked after waiting is set, so a submit either is drained here or wakes the await
+                if (game.getCommandBus().drain() > 0) {
+                    continue;
+                }
+                if (timeout == 0) {
+                    turnDone.await();
+                } else if (remaining > 0) {
+                    remaining = turnDone.awaitNanos(remaining);
+                } else {
+                    timedOut = true;
+                    settler.setSelectedFalse();
+                }
+            }
+            waiting = false;
+            long end = System.nanoTime();
+            record(end - start, finishedAt == 0 || timedOut ? 0 : end - finishedAt, timedOut);
+        } finally {
+            waiting = false;
+            lock.unlock();
+        }
+        return !timedOut;
+    }
+
+    /**
+     * Called after a command was submitted to the bus, wakes up the loop if it is waiting for a turn
+     */
+    private void commandSubmitted() {
+        if (waiting) {
+            lock.lock();
+            try {
+                turnDone.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Called when the settler finished its turn, wakes up the waiting loop
+     */
+    public void turnFinished() {
+        lock.lock();
+        try {
+            finishedAt = System.nanoTime();
+            turnDone.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wakes up the waiting loop because the game has ended
+     */
+    public void gameEnded() {
+        lock.lock();
+        try {
+            turnDone.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(long turnNanos, long wakeUpNanos, boolean timedOut) {
+        turnCount++;
+        if (timedOut) {
+            timeoutCount++;
+        }
+        totalTurnNanos += turnNanos;
+        maxTurnNanos = Math.max(maxTurnNanos, turnNanos);
+        lastTurnNanos = turnNanos;
+        totalWakeUpNanos += wakeUpNanos;
+        maxWakeUpNanos = Math.max(maxWakeUpNanos, wakeUpNanos);
+    }
+
+    /**
+     * Gives back the number of the played turns
+     *
+     * @return long
+     */
+    public long getTurnCount() {
+        lock.lock();
+        try {
+            return turnCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the number of the turns which were passed because of the timeout
+     *
+     * @return long
+     */
+    public long getTimeoutCount() {
+        lock.lock();
+        try {
+            return timeoutCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the length of the last turn
+     *
+     * @return long nanoseconds
+     */
+    public long getLastTurnNanos() {
+        lock.lock();
+        try {
+            return lastTurnNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the average length of the turns
+     *
+     * @return double nanoseconds
+     */
+    public double getAverageTurnNanos() {
+        lock.lock();
+        try {
+            return turnCount == 0 ? 0 : (double) totalTurnNanos / turnCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the length of the longest turn
+     *
+     * @return long nanoseconds
+     */
+    public long getMaxTurnNanos() {
+        lock.lock();
+        try {
+            return maxTurnNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the average time between the end of an action and the wake up of the loop
+     *
+     * @return double nanoseconds
+     */
+    public double getAverageWakeUpNanos() {
+        lock.lock();
+        try {
+            return turnCount == 0 ? 0 : (double) totalWakeUpNanos / turnCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back the longest time between the end of an action and the wake up of the loop
+     *
+     * @return long nanoseconds
+     */
+    public long getMaxWakeUpNanos() {
+        lock.lock();
+        try {
+            return maxWakeUpNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
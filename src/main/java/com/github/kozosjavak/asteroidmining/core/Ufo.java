@@ -6,7 +6,6 @@ import com.github.kozosjavak.asteroidmining.core.materials.Material;
 import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialException;
 
 import java.util.List;
-import java.util.Random;
 
 /**
  * Ufo class
@@ -34,9 +33,9 @@ public class Ufo extends Spaceship {
     public void step() throws AsteroidIsNotMineable, InventoryIsFullException, AsteroidAlreadyMinedException {
         if (getCurrentAsteroid().getSurfaceThickness() == 0 && getCurrentAsteroid().getSubstance() != null) {
             mine();
-        } else if (getCurrentAsteroid().getAsteroidInventory().getSize() > 0 && getCurrentAsteroid().getLocation().game.randomGenerator(90)) {
+        } else if (getCurrentAsteroid().getAsteroidInventory().getSize() > 0 && getCurrentAsteroid().getLocation().randomGenerator(90)) {
             steal();
-        } else if (getCurrentAsteroid().getLocation().game.randomGenerator(80)) {
+        } else if (getCurrentAsteroid().getLocation().randomGenerator(80)) {
             for (Location inventoryAsteroidLocation : getCurrentAsteroid().getLocation().getNeighbors()) {
                 if (inventoryAsteroidLocation.getCelestialBody().getClass() != Sun.class) {
                     Asteroid inventoryAsteroid = (Asteroid) inventoryAsteroidLocation.getCelestialBody();
@@ -60,7 +59,7 @@ public class Ufo extends Spaceship {
      * It steals random amount of material from the asteroid inventory
      */
     public void steal() {
-        Random rand = new Random();
+        RandomStream rand = getCurrentAsteroid().getLocation().random;
         List<Material> materials = getCurrentAsteroid().getMaterials();
         if (materials.size() != 0) {
             Material material = materials.get(rand.nextInt(1 + materials.size() - 1));
@@ -73,6 +72,18 @@ public class Ufo extends Spaceship {
         }
     }
 
+    /**
+     * Ufo dies, the stolen materials are lost with it
+     */
+    @Override
+    public void die() {
+        Game game = getCurrentAsteroid().getLocation().game;
+        super.die();
+        for (Material material : inventory.getList()) {
+            game.removeFromIdList(material);
+        }
+    }
+
     /**
      * Mine
      * Mine on the current asteroid
@@ -0,0 +1,10 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+/**
+ * Gives feedback if the requested number of asteroids can't fit in the world with the minimum distance between them
+ */
+public class WorldIsFullException extends Exception {
+    public WorldIsFullException(int requested, int capacity, double maxX, double maxY) {
+        super("Only " + capacity + " asteroids fit in the " + maxX + " x " + maxY + " world, " + requested + " were requested");
+    }
+}
@@ -13,9 +13,17 @@ import java.util.Map;
  */
 public class BillOfBase implements BillOfMaterial {
 
+    private static final Map<Class<? extends Material>, Integer> MATERIALS_NEEDED = Map.of(Iron.class, 3, Waterice.class, 3, Uranium.class, 3, Coal.class, 3);
+    private final CompiledBill compiled = new CompiledBill(MATERIALS_NEEDED);
+
     @Override
     public Map<Class<? extends Material>, Integer> getMaterialsNeeded() {
-        return Map.of(Iron.class, 3, Waterice.class, 3, Uranium.class, 3, Coal.class, 3);
+        return MATERIALS_NEEDED;
+    }
+
+    @Override
+    public CompiledBill getCompiled() {
+        return compiled;
     }
 
     @Override
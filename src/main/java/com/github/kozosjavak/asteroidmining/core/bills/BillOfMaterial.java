@@ -1,58 +1,76 @@
 package com.github.kozosjavak.asteroidmining.core.bills;
 
-import com.github.kozosjavak.asteroidmining.core.materials.Inventory;
 import com.github.kozosjavak.asteroidmining.core.materials.Material;
+import com.github.kozosjavak.asteroidmining.core.materials.MaterialStore;
+import com.github.kozosjavak.asteroidmining.core.materials.MaterialType;
 import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface BillOfMaterial {
     Map<Class<? extends Material>, Integer> getMaterialsNeeded();
 
+    /**
+     * Gives back the bill compiled to an int vector, the bills of the game compile themselves only once
+     *
+     * @return CompiledBill
+     */
+    default CompiledBill getCompiled() {
+        return new CompiledBill(getMaterialsNeeded());
+    }
+
     /**
      * Here return a new map which indicates how many resource we will need to build, if everything matching return empty map
      *
      * @param inventory resources you have
      * @return resources needed
      */
-    default Map<Class<? extends Material>, Integer> isNeeded(Inventory inventory) {
-        //creates a map from the needed materials, where you can remove materials what inventory have
-        HashMap<Class<? extends Material>, Integer> materialsLeft = new HashMap<>(getMaterialsNeeded());
-        //iterate the inventory map, creates walletEntry
-        for (Map.Entry<Class<? extends Material>, Integer> inventoryEntry : inventory.toMap().entrySet()) {
-
-            final Class<? extends Material> material = inventoryEntry.getKey();
-            //check if the the bill has the inventory materials
-            if (materialsLeft.containsKey(material)) {
-                //remove the number of material which the inventory have from the materialsLeft
-                int value = materialsLeft.get(material) - inventoryEntry.getValue();
-                //replace the new Integer number for materials, can't be under zero
-                materialsLeft.compute(material, (material1, amount) -> value <= 0 ? null : value);
+    default Map<Class<? extends Material>, Integer> isNeeded(MaterialStore inventory) {
+        HashMap<Class<? extends Material>, Integer> materialsLeft = new HashMap<>();
+        for (Class<? extends Material> materialClass : getMaterialsNeeded().keySet()) {
+            MaterialType type = MaterialType.of(materialClass);
+            int value = getCompiled().getAmount(type) - inventory.getCount(type);
+            if (value > 0) {
+                materialsLeft.put(materialClass, value);
             }
-
         }
         return materialsLeft;
     }
 
+    /**
+     * Tells if the inventory has every needed material, nothing is allocated
+     *
+     * @param inventory MaterialStore
+     * @return boolean
+     */
+    default boolean canAfford(MaterialStore inventory) {
+        return getCompiled().canAfford(inventory);
+    }
+
     /**
      * itt will remove the needed materials from the given inventory and if it succesfull it will return with True
      *
-     * @param inventory Inventory
+     * @param inventory MaterialStore
      * @return boolean
-     * @throws NotEnoughMaterialException if there is not enough material in the inventory
+     * @throws NotEnoughMaterialException if there is not enough material in the inventory, nothing is removed then
      */
-    default boolean buy(Inventory inventory) throws NotEnoughMaterialException {
-        Map<Class<? extends Material>, Integer> currentNeed = this.isNeeded(inventory);
-        //check if the returned (currentNeed) map is empty
-        if (currentNeed.values().stream().mapToInt(Integer::intValue).sum() == 0) {
-            //Remove materials from the settler inventory
-            for (Map.Entry<Class<? extends Material>, Integer> entry : this.getMaterialsNeeded().entrySet()) {
-                inventory.remove(entry.getKey(), entry.getValue());
-            }
-            return true;
-        } else {
-            throw new NotEnoughMaterialException(currentNeed.keySet().iterator().next());
-        }
+    default boolean buy(MaterialStore inventory) throws NotEnoughMaterialException {
+        getCompiled().buy(inventory);
+        return true;
+    }
+
+    /**
+     * Removes the needed materials from the given inventory like buy, the removed units are handed to the callback
+     *
+     * @param inventory MaterialStore
+     * @param removed   Consumer, gets every removed unit
+     * @return boolean
+     * @throws NotEnoughMaterialException if there is not enough material in the inventory, nothing is removed then
+     */
+    default boolean buy(MaterialStore inventory, Consumer<? super Material> removed) throws NotEnoughMaterialException {
+        getCompiled().buy(inventory, removed);
+        return true;
     }
 }
@@ -9,9 +9,17 @@ import java.util.Map;
 
 public class BillOfRobot implements BillOfMaterial {
 
+    private static final Map<Class<? extends Material>, Integer> MATERIALS_NEEDED = Map.of(Iron.class, 1, Coal.class, 1, Uranium.class, 1);
+    private final CompiledBill compiled = new CompiledBill(MATERIALS_NEEDED);
+
     @Override
     public Map<Class<? extends Material>, Integer> getMaterialsNeeded() {
-        return Map.of(Iron.class, 1, Coal.class, 1, Uranium.class, 1);
+        return MATERIALS_NEEDED;
+    }
+
+    @Override
+    public CompiledBill getCompiled() {
+        return compiled;
     }
 
     @Override
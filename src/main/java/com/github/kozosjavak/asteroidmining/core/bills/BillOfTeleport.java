@@ -9,9 +9,17 @@ import java.util.Map;
 
 public class BillOfTeleport implements BillOfMaterial {
 
+    private static final Map<Class<? extends Material>, Integer> MATERIALS_NEEDED = Map.of(Iron.class, 2, Waterice.class, 1, Uranium.class, 1);
+    private final CompiledBill compiled = new CompiledBill(MATERIALS_NEEDED);
+
     @Override
     public Map<Class<? extends Material>, Integer> getMaterialsNeeded() {
-        return Map.of(Iron.class, 2, Waterice.class, 1, Uranium.class, 1);
+        return MATERIALS_NEEDED;
+    }
+
+    @Override
+    public CompiledBill getCompiled() {
+        return compiled;
     }
 
     @Override
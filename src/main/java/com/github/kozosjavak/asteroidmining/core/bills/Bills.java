@@ -1,8 +1,38 @@
 package com.github.kozosjavak.asteroidmining.core.bills;
 
+import com.github.kozosjavak.asteroidmining.core.materials.MaterialStore;
+
+import java.util.List;
+
 public class Bills {
     public static final BillOfMaterial BASE = new BillOfBase();
     public static final BillOfMaterial TELEPORT = new BillOfTeleport();
     public static final BillOfMaterial ROBOT = new BillOfRobot();
 
+    /**
+     * The bills of the game, the index of a bill is its bit in the result of affordable
+     */
+    public static final List<BillOfMaterial> ALL = List.of(BASE, TELEPORT, ROBOT);
+    private static final CompiledBill[] COMPILED = {BASE.getCompiled(), TELEPORT.getCompiled(), ROBOT.getCompiled()};
+
+    /**
+     * Tells which bills of the game the inventory can afford, in one pass over the counters of the inventory
+     *
+     * @param inventory MaterialStore
+     * @return int, the bit of a bill (see bit) is set if the bill is affordable
+     */
+    public static int affordable(MaterialStore inventory) {
+        return CompiledBill.affordable(inventory, COMPILED);
+    }
+
+    /**
+     * Gives back the bit of the bill in the result of affordable
+     *
+     * @param bill BillOfMaterial
+     * @return int, 0 if the bill isn't a bill of the game
+     */
+    public static int bit(BillOfMaterial bill) {
+        int index = ALL.indexOf(bill);
+        return index < 0 ? 0 : 1 << index;
+    }
 }
@@ -0,0 +1,178 @@
+package com.github.kozosjavak.asteroidmining.core.bills;
+
+import com.github.kozosjavak.asteroidmining.core.materials.Material;
+import com.github.kozosjavak.asteroidmining.core.materials.MaterialStore;
+import com.github.kozosjavak.asteroidmining.core.materials.MaterialType;
+import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialException;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A bill compiled to an int vector over the ordinals of the material types.
+ * The checks read the counters of the inventory only for the types of the bill, they don't allocate anything.
+ */
+public final class CompiledBill {
+    /**
+     * Needed amount by the ordinal of the type, 0 if the bill doesn't need the type
+     */
+    private final int[] amounts;
+    /**
+     * The types which the bill needs, in the order of their ordinals
+     */
+    private final MaterialType[] types;
+    /**
+     * The needed types by their ordinal, null if the bill doesn't need the type
+     */
+    private final MaterialType[] typesByOrdinal;
+    private final int total;
+
+    /**
+     * Compiles the needed materials of a bill
+     *
+     * @param materialsNeeded Map, needed amount by material class
+     */
+    public CompiledBill(Map<Class<? extends Material>, Integer> materialsNeeded) {
+        int width = 0;
+        for (Class<? extends Material> materialClass : materialsNeeded.keySet()) {
+            width = Math.max(width, MaterialType.of(materialClass).ordinal() + 1);
+        }
+        amounts = new int[width];
+        int sum = 0;
+        for (Map.Entry<Class<? extends Material>, Integer> entry : materialsNeeded.entrySet()) {
+            amounts[MaterialType.of(entry.getKey()).ordinal()] += entry.getValue();
+            sum += entry.getValue();
+        }
+        int kinds = 0;
+        for (int amount : amounts) {
+            if (amount > 0) {
+                kinds++;
+            }
+        }
+        types = new MaterialType[kinds];
+        typesByOrdinal = new MaterialType[width];
+        for (Class<? extends Material> materialClass : materialsNeeded.keySet()) {
+            MaterialType type = MaterialType.of(materialClass);
+            typesByOrdinal[type.ordinal()] = type;
+        }
+        for (int i = 0, j = 0; i < width; i++) {
+            if (amounts[i] > 0) {
+                types[j++] = typesByOrdinal[i];
+            }
+        }
+        total = sum;
+    }
+
+    /**
+     * Gives back the needed amount of the type
+     *
+     * @param type MaterialType
+     * @return int
+     */
+    public int getAmount(MaterialType type) {
+        int ordinal = type.ordinal();
+        return ordinal < amounts.length ? amounts[ordinal] : 0;
+    }
+
+    /**
+     * Gives back the number of the units the bill needs
+     *
+     * @return int
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Tells if the inventory has every needed material
+     *
+     * @param inventory MaterialStore
+     * @return boolean
+     */
+    public boolean canAfford(MaterialStore inventory) {
+        for (MaterialType type : types) {
+            if (inventory.getCount(type) < amounts[type.ordinal()]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the missing amounts by the ordinal of the type into the given array, the other types are not touched
+     *
+     * @param inventory MaterialStore
+     * @param missing   int[], at least as long as the ordinal of the last needed type
+     * @return int, the number of the missing units, 0 if the inventory can afford the bill
+     */
+    public int shortfall(MaterialStore inventory, int[] missing) {
+        int sum = 0;
+        for (MaterialType type : types) {
+            int ordinal = type.ordinal();
+            int value = Math.max(0, amounts[ordinal] - inventory.getCount(type));
+            missing[ordinal] = value;
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Removes the needed materials from the inventory, either every one of them or none of them
+     *
+     * @param inventory MaterialStore
+     * @throws NotEnoughMaterialException if the inventory can't afford the bill, the inventory doesn't change then
+     */
+    public void buy(MaterialStore inventory) throws NotEnoughMaterialException {
+        buy(inventory, material -> {
+        });
+    }
+
+    /**
+     * Removes the needed materials from the inventory, either every one of them or none of them, the removed units are
+     * handed to the callback
+     *
+     * @param inventory MaterialStore
+     * @param removed   Consumer, gets every removed unit
+     * @throws NotEnoughMaterialException if the inventory can't afford the bill, the inventory doesn't change then
+     */
+    public void buy(MaterialStore inventory, Consumer<? super Material> removed) throws NotEnoughMaterialException {
+        for (MaterialType type : types) {
+            if (inventory.getCount(type) < amounts[type.ordinal()]) {
+                throw new NotEnoughMaterialException(type.getMaterialClass());
+            }
+        }
+        for (MaterialType type : types) {
+            inventory.remove(type, amounts[type.ordinal()], removed);
+        }
+    }
+
+    /**
+     * Tells which of the bills the inventory can afford, every type of the inventory is read only once
+     *
+     * @param inventory MaterialStore
+     * @param bills     CompiledBill[], at most 32
+     * @return int, the i-th bit is set if the i-th bill is affordable
+     */
+    public static int affordable(MaterialStore inventory, CompiledBill[] bills) {
+        int mask = bills.length == 32 ? -1 : (1 << bills.length) - 1;
+        int width = 0;
+        for (CompiledBill bill : bills) {
+            width = Math.max(width, bill.amounts.length);
+        }
+        for (int ordinal = 0; ordinal < width; ordinal++) {
+            int count = -1;
+            for (int i = 0; i < bills.length; i++) {
+                int[] amounts = bills[i].amounts;
+                if (ordinal < amounts.length && amounts[ordinal] > 0) {
+                    if (count < 0) {
+                        count = inventory.getCount(bills[i].typesByOrdinal[ordinal]);
+                    }
+                    if (count < amounts[ordinal]) {
+                        mask &= ~(1 << i);
+                    }
+                }
+            }
+        }
+        return mask;
+    }
+}
@@ -9,6 +9,10 @@ import com.github.kozosjavak.asteroidmining.core.Sun;
  * AddNeighbor <OrbID1> <OrbID2>
  */
 public class AddNeighborCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<AddNeighborCommand> CODEC = CommandCodec.of(AddNeighborCommand.class, command -> command.objId1, command -> command.objId2, AddNeighborCommand::new);
 
     /**
      * A aparancsnak átadott két Orb objektum ID-ja
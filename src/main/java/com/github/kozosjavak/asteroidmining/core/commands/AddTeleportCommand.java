@@ -5,6 +5,11 @@ import com.github.kozosjavak.asteroidmining.core.Game;
 import com.github.kozosjavak.asteroidmining.core.Teleport;
 
 public class AddTeleportCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<AddTeleportCommand> CODEC = CommandCodec.of(AddTeleportCommand.class, command -> command.teleportID, command -> command.asteroidID, AddTeleportCommand::new);
+
     private final int asteroidID;
     private final int teleportID;
 
@@ -5,6 +5,10 @@ import com.github.kozosjavak.asteroidmining.core.Game;
 import com.github.kozosjavak.asteroidmining.core.NoNeighborException;
 
 public class AsteroidExplodeCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<AsteroidExplodeCommand> CODEC = CommandCodec.of(AsteroidExplodeCommand.class, command -> command.asteroidId, AsteroidExplodeCommand::new);
 
     private final int asteroidId;
 
@@ -0,0 +1,275 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue of the commands between the input sources (console, GUI) and the simulation thread.
+ * Any thread can submit a command, only the simulation thread applies them (drain), in batches, so the world is changed
+ * by one thread without a global lock. The queue is a lock-free multi-producer single-consumer linked queue: a producer
+ * swaps the tail with one atomic operation and links the old tail to its node, the consumer walks the links from the
+ * head. A drain started while an other one is running gives back at once, so there is never more than one consumer.
+ * <p>
+ * It measures the depth of the queue, the size of the batches and the latency of the commands (from the submit to the
+ * end of the apply).
+ * <p>
+ * If a recorder is set, the applied commands which have a codec are written to it in the order of the apply, the other
+ * ones (e.g. the updates of the GUI) are only applied, they mustn't change the game.
+ */
+public class CommandBus {
+    private final Game game;
+    /**
+     * The last submitted node, the producers swap it
+     */
+    private final AtomicReference<Node> tail;
+    /**
+     * The node before the first not applied one, only the consumer moves it
+     */
+    private Node head;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    /**
+     * The thread which applies the commands, null if the commands are applied by the thread which submits them
+     */
+    private volatile Thread consumer;
+    /**
+     * Called after a submit, wakes up the simulation thread if it is waiting
+     */
+    private volatile Runnable wakeUp = () -> {
+    };
+    /**
+     * Writes the applied commands, null if they are not recorded
+     */
+    private volatile CommandRecorder recorder;
+
+    private final LongAdder submitted = new LongAdder();
+    private volatile long applied = 0;
+    private volatile long batches = 0;
+    private volatile int maxBatch = 0;
+    private volatile long totalLatencyNanos = 0;
+    private volatile long maxLatencyNanos = 0;
+
+    /**
+     * Basic constructor
+     *
+     * @param game Game, the commands are applied on it
+     */
+    public CommandBus(Game game) {
+        this.game = game;
+        head = new Node(null, 0);
+        tail = new AtomicReference<>(head);
+    }
+
+    /**
+     * Puts the command at the end of the queue, it can be called from any thread
+     *
+     * @param command Command
+     */
+    public void submit(Command command) {
+        Node node = new Node(command, System.nanoTime());
+        Node previous = tail.getAndSet(node);
+        previous.next = node;
+        submitted.increment();
+        wakeUp.run();
+    }
+
+    /**
+     * Submits the command, and applies the queue on the current thread if there is no simulation thread
+     *
+     * @param command Command
+     */
+    public void execute(Command command) {
+        submit(command);
+        if (consumer == null) {
+            drain();
+        }
+    }
+
+    /**
+     * Applies the queued commands in one batch, the commands submitted meanwhile are applied too
+     *
+     * @return int, the number of the applied commands, 0 if an other thread is draining
+     */
+    public int drain() {
+        int count = 0;
+        //a producer links its node after the swap of the tail, so the link can come after this thread has seen the end
+        //of the queue while the drain of the producer has failed; the queue is checked again after the flag is cleared
+        while (draining.compareAndSet(false, true)) {
+            int batch = 0;
+            try {
+                Node next;
+                while ((next = head.next) != null) {
+                    Command command = next.command;
+                    //the applied node becomes the head, it mustn't keep its command
+                    next.command = null;
+                    head = next;
+                    apply(command);
+                    long latency = System.nanoTime() - next.submittedAt;
+                    batch++;
+                    applied++;
+                    totalLatencyNanos += latency;
+                    if (latency > maxLatencyNanos) {
+                        maxLatencyNanos = latency;
+                    }
+                }
+            } finally {
+                if (batch > 0) {
+                    batches++;
+                    if (batch > maxBatch) {
+                        maxBatch = batch;
+                    }
+                }
+                draining.set(false);
+            }
+            count += batch;
+            if (head.next == null) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Applies the command on the game, it is written to the recorder first if it has a codec. It is called by the
+     * drain, or by a command applied by the drain (e.g. an action of the GUI applies the command of the settler)
+     *
+     * @param command Command
+     * @throws UncheckedIOException if the recorder can't write the command
+     */
+    public void apply(Command command) {
+        CommandRecorder current = recorder;
+        if (current == null || !CommandCodecs.isEncodable(command)) {
+            command.apply(game);
+            return;
+        }
+        try {
+            current.execute(command);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sets the recorder of the applied commands
+     *
+     * @param recorder CommandRecorder, null if the commands are not recorded
+     */
+    public void setRecorder(CommandRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Gives back the recorder of the applied commands
+     *
+     * @return CommandRecorder, null if the commands are not recorded
+     */
+    public CommandRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Sets the thread which applies the commands, null if the submitting thread has to apply them
+     *
+     * @param consumer Thread
+     */
+    public void setConsumer(Thread consumer) {
+        this.consumer = consumer;
+    }
+
+    /**
+     * Gives back the thread which applies the commands
+     *
+     * @return Thread, null if the submitting thread applies them
+     */
+    public Thread getConsumer() {
+        return consumer;
+    }
+
+    /**
+     * Sets the action which wakes up the simulation thread after a submit
+     *
+     * @param wakeUp Runnable
+     */
+    public void setWakeUp(Runnable wakeUp) {
+        this.wakeUp = wakeUp;
+    }
+
+    /**
+     * Gives back the number of the commands which are waiting in the queue
+     *
+     * @return long
+     */
+    public long getDepth() {
+        return Math.max(0, submitted.sum() - applied);
+    }
+
+    /**
+     * Gives back the number of the submitted commands
+     *
+     * @return long
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * Gives back the number of the applied commands
+     *
+     * @return long
+     */
+    public long getAppliedCount() {
+        return applied;
+    }
+
+    /**
+     * Gives back the number of the batches which applied at least one command
+     *
+     * @return long
+     */
+    public long getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * Gives back the size of the largest batch
+     *
+     * @return int
+     */
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+
+    /**
+     * Gives back the average time between the submit and the end of the apply
+     *
+     * @return double nanoseconds
+     */
+    public double getAverageLatencyNanos() {
+        long count = applied;
+        return count == 0 ? 0 : (double) totalLatencyNanos / count;
+    }
+
+    /**
+     * Gives back the longest time between a submit and the end of the apply
+     *
+     * @return long nanoseconds
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    private static final class Node {
+        Command command;
+        final long submittedAt;
+        volatile Node next;
+
+        Node(Command command, long submittedAt) {
+            this.command = command;
+            this.submittedAt = submittedAt;
+        }
+    }
+}
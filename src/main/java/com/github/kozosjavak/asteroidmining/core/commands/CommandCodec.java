@@ -0,0 +1,187 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Binary form of one command class in the journal. Every command class has its own codec (its CODEC constant), the
+ * codec writes only the arguments of the command, the class is given by the tag of the record (see CommandCodecs).
+ * The numbers are written as zigzag varints, so the small IDs take one byte and -1 (no material) takes one byte too.
+ *
+ * @param <T> the command class
+ */
+public abstract class CommandCodec<T extends Command> {
+    private final Class<T> type;
+
+    /**
+     * Basic constructor
+     *
+     * @param type Class, the command class of the codec
+     */
+    protected CommandCodec(Class<T> type) {
+        this.type = type;
+    }
+
+    /**
+     * Gives back the command class of the codec
+     *
+     * @return Class
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Writes the arguments of the command to the buffer
+     *
+     * @param command T
+     * @param buffer  ByteBuffer
+     */
+    public abstract void encode(T command, ByteBuffer buffer);
+
+    /**
+     * Reads a command from the buffer
+     *
+     * @param buffer ByteBuffer
+     * @return T
+     */
+    public abstract T decode(ByteBuffer buffer);
+
+    /**
+     * Codec of a command without arguments
+     *
+     * @param type    Class
+     * @param factory creates the command
+     * @param <T>     the command class
+     * @return CommandCodec
+     */
+    static <T extends Command> CommandCodec<T> of(Class<T> type, Supplier<T> factory) {
+        return new CommandCodec<T>(type) {
+            @Override
+            public void encode(T command, ByteBuffer buffer) {
+            }
+
+            @Override
+            public T decode(ByteBuffer buffer) {
+                return factory.get();
+            }
+        };
+    }
+
+    /**
+     * Codec of a command with one int argument
+     *
+     * @param type    Class
+     * @param first   gives back the argument of the command
+     * @param factory creates the command from the argument
+     * @param <T>     the command class
+     * @return CommandCodec
+     */
+    static <T extends Command> CommandCodec<T> of(Class<T> type, ToIntFunction<T> first, IntFunction<T> factory) {
+        return new CommandCodec<T>(type) {
+            @Override
+            public void encode(T command, ByteBuffer buffer) {
+                putVarInt(buffer, first.applyAsInt(command));
+            }
+
+            @Override
+            public T decode(ByteBuffer buffer) {
+                return factory.apply(getVarInt(buffer));
+            }
+        };
+    }
+
+    /**
+     * Codec of a command with two int arguments
+     *
+     * @param type    Class
+     * @param first   gives back the first argument of the constructor
+     * @param second  gives back the second argument of the constructor
+     * @param factory creates the command from the arguments
+     * @param <T>     the command class
+     * @return CommandCodec
+     */
+    static <T extends Command> CommandCodec<T> of(Class<T> type, ToIntFunction<T> first, ToIntFunction<T> second,
+                                                  IntPairFunction<T> factory) {
+        return new CommandCodec<T>(type) {
+            @Override
+            public void encode(T command, ByteBuffer buffer) {
+                putVarInt(buffer, first.applyAsInt(command));
+                putVarInt(buffer, second.applyAsInt(command));
+            }
+
+            @Override
+            public T decode(ByteBuffer buffer) {
+                int a = getVarInt(buffer);
+                return factory.apply(a, getVarInt(buffer));
+            }
+        };
+    }
+
+    /**
+     * Writes the number as a zigzag varint, 1-5 bytes
+     *
+     * @param buffer ByteBuffer
+     * @param value  int
+     */
+    public static void putVarInt(ByteBuffer buffer, int value) {
+        int zigzag = (value << 1) ^ (value >> 31);
+        while ((zigzag & ~0x7f) != 0) {
+            buffer.put((byte) ((zigzag & 0x7f) | 0x80));
+            zigzag >>>= 7;
+        }
+        buffer.put((byte) zigzag);
+    }
+
+    /**
+     * Reads a zigzag varint
+     *
+     * @param buffer ByteBuffer
+     * @return int
+     */
+    public static int getVarInt(ByteBuffer buffer) {
+        int zigzag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            zigzag |= (b & 0x7f) << shift;
+            shift += 7;
+        } while (b < 0 && shift < 35);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * Writes the string as UTF-8 after its length in bytes
+     *
+     * @param buffer ByteBuffer
+     * @param value  String
+     */
+    public static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarInt(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Reads a string written by putString
+     *
+     * @param buffer ByteBuffer
+     * @return String
+     */
+    public static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[getVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a command from two int arguments
+     */
+    interface IntPairFunction<T> {
+        T apply(int first, int second);
+    }
+}
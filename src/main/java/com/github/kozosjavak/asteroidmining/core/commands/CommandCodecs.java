@@ -0,0 +1,104 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The codecs of the command classes by their tag. The tag of a class is its position in the list, it is written before
+ * the arguments of every record of the journal, so new classes can only be added to the end of the list.
+ */
+public final class CommandCodecs {
+    private static final List<CommandCodec<?>> codecs = List.of(
+            AddNeighborCommand.CODEC,
+            AddTeleportCommand.CODEC,
+            AsteroidExplodeCommand.CODEC,
+            CreateAsteroidCommand.CODEC,
+            CreateMaterialCommand.CODEC,
+            CreateRobotCommand.CODEC,
+            CreateSettlerCommand.CODEC,
+            CreateSunCommand.CODEC,
+            CreateTeleportCommand.CODEC,
+            CreateUfoCommand.CODEC,
+            HelpCommand.CODEC,
+            InsertMaterialCommand.CODEC,
+            LinkTeleportsCommand.CODEC,
+            SettlerAddMaterialCommand.CODEC,
+            SettlerBuildBaseCommand.CODEC,
+            SettlerBuildRobotCommand.CODEC,
+            SettlerBuildTeleportCommand.CODEC,
+            SettlerDrillCommand.CODEC,
+            SettlerInsertMaterialCommand.CODEC,
+            SettlerMineCommand.CODEC,
+            SettlerRemoveMaterialCommand.CODEC,
+            SettlerUseTeleportCommand.CODEC,
+            ShowGameStateCommand.CODEC,
+            SpaceshipMoveCommand.CODEC,
+            StartCommand.CODEC,
+            StartSolarStormCommand.CODEC,
+            UfoStealCommand.CODEC,
+            EndRoundCommand.CODEC,
+            SettlerDeployTeleportCommand.CODEC);
+    private static final Map<Class<?>, Integer> tags = new HashMap<>();
+
+    static {
+        for (int tag = 0; tag < codecs.size(); tag++) {
+            tags.put(codecs.get(tag).getType(), tag);
+        }
+    }
+
+    private CommandCodecs() {
+    }
+
+    /**
+     * Gives back the codecs, the index of a codec is its tag
+     *
+     * @return List<CommandCodec < ?>>
+     */
+    public static List<CommandCodec<?>> getCodecs() {
+        return codecs;
+    }
+
+    /**
+     * Tells if the command can be written to the journal
+     *
+     * @param command Command
+     * @return boolean
+     */
+    public static boolean isEncodable(Command command) {
+        return tags.containsKey(command.getClass());
+    }
+
+    /**
+     * Writes the tag and the arguments of the command to the buffer
+     *
+     * @param command Command
+     * @param buffer  ByteBuffer
+     * @throws IllegalArgumentException if the command class has no codec
+     */
+    @SuppressWarnings("unchecked")
+    public static void encode(Command command, ByteBuffer buffer) {
+        Integer tag = tags.get(command.getClass());
+        if (tag == null) {
+            throw new IllegalArgumentException("No codec for " + command.getClass().getName());
+        }
+        buffer.put(tag.byteValue());
+        ((CommandCodec<Command>) codecs.get(tag)).encode(command, buffer);
+    }
+
+    /**
+     * Reads a command written by encode
+     *
+     * @param buffer ByteBuffer
+     * @return Command
+     * @throws IllegalStateException if the tag is unknown
+     */
+    public static Command decode(ByteBuffer buffer) {
+        int tag = buffer.get() & 0xff;
+        if (tag >= codecs.size()) {
+            throw new IllegalStateException("Unknown command tag: " + tag);
+        }
+        return codecs.get(tag).decode(buffer);
+    }
+}
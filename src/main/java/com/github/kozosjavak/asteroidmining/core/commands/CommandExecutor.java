@@ -2,7 +2,6 @@ package com.github.kozosjavak.asteroidmining.core.commands;
 
 import com.github.kozosjavak.asteroidmining.core.Game;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -16,9 +15,9 @@ public abstract class CommandExecutor {
      */
     private final Game game;
     /**
-     * Contains the command which have been successfully ran.
+     * The last submitted commands, null if they are not kept
      */
-    private final List<Command> executedCommands = new ArrayList<>();
+    private CommandHistory history;
 
     /**
      * Basic constructor
@@ -39,14 +38,26 @@ public abstract class CommandExecutor {
     }
 
     /**
-     * Calls the command apply()
+     * Submits the command to the command bus of the game, it is applied by the loop thread of the game if it runs,
+     * otherwise here. The commands are recorded by the recorder of the command bus (see CommandBus.setRecorder) in the
+     * order of the apply
      *
      * @param command Command
-     * @throws Exception
      */
     public void execute(Command command) {
-        command.apply(game);
-        executedCommands.add(command);
+        game.getCommandBus().execute(command);
+        if (history != null) {
+            history.add(command);
+        }
+    }
+
+    /**
+     * Keeps the last commands in a history
+     *
+     * @param capacity int, the number of the kept commands, 0 if they are not kept
+     */
+    public void setHistoryCapacity(int capacity) {
+        history = capacity == 0 ? null : new CommandHistory(capacity);
     }
 
     /**
@@ -62,12 +73,12 @@ public abstract class CommandExecutor {
     }
 
     /**
-     * Returns the list of the executed commands
+     * Returns the last executed commands, the oldest first, empty if the history is off
      *
-     * @return
+     * @return List<Command>
      */
     public List<Command> getExecutedCommands() {
-        return Collections.unmodifiableList(executedCommands);
+        return history == null ? Collections.emptyList() : Collections.unmodifiableList(history.toList());
     }
 
 }
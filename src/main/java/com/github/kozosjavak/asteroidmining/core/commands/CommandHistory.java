@@ -0,0 +1,69 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The last commands in a ring buffer of fixed capacity, a new command overwrites the oldest one when it is full
+ */
+public class CommandHistory {
+    private final Command[] ring;
+    /**
+     * Number of the commands added so far
+     */
+    private long added = 0;
+
+    /**
+     * Basic constructor
+     *
+     * @param capacity int, the number of the kept commands
+     */
+    public CommandHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        ring = new Command[capacity];
+    }
+
+    /**
+     * Adds the command, the oldest one is dropped if the history is full
+     *
+     * @param command Command
+     */
+    public synchronized void add(Command command) {
+        ring[(int) (added % ring.length)] = command;
+        added++;
+    }
+
+    /**
+     * Gives back the number of the kept commands
+     *
+     * @return int
+     */
+    public synchronized int size() {
+        return (int) Math.min(added, ring.length);
+    }
+
+    /**
+     * Gives back the number of the commands added so far, the dropped ones too
+     *
+     * @return long
+     */
+    public synchronized long getAddedCount() {
+        return added;
+    }
+
+    /**
+     * Gives back the kept commands, the oldest first
+     *
+     * @return List<Command>
+     */
+    public synchronized List<Command> toList() {
+        int size = (int) Math.min(added, ring.length);
+        List<Command> commands = new ArrayList<>(size);
+        for (long i = added - size; i < added; i++) {
+            commands.add(ring[(int) (i % ring.length)]);
+        }
+        return commands;
+    }
+}
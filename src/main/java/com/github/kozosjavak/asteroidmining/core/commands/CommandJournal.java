@@ -0,0 +1,184 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary journal of the commands. A record is the tag of the command class and the arguments written by
+ * its codec (see CommandCodecs), the file starts with a header (magic number, version).
+ * The records are collected in a buffer and written with one write when the group is full or commit is called
+ * (group commit), a durable journal forces the group to the disk too. A record is either in a committed group or lost
+ * entirely; a half written last record (crash during the write) is skipped by the replayer and cut off when the
+ * journal is opened again.
+ */
+public class CommandJournal implements Closeable {
+    /**
+     * "AMJL"
+     */
+    static final int MAGIC = 0x414d4a4c;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    private final FileChannel channel;
+    private final boolean durable;
+    private final int groupSize;
+    /**
+     * Length of the file when it was opened
+     */
+    private final long start;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    /**
+     * Number of the records in the buffer
+     */
+    private int pending = 0;
+    private long records = 0;
+    private long commits = 0;
+    private long bytes = 0;
+
+    /**
+     * Opens the journal, a new file gets the header, the records of an existing one are kept and the new records are
+     * appended
+     *
+     * @param path      Path
+     * @param groupSize int, the group is written after this many records
+     * @param durable   boolean, true if the committed groups have to be forced to the disk
+     * @throws IOException if the file can't be opened or it isn't a journal
+     */
+    public CommandJournal(Path path, int groupSize, boolean durable) throws IOException {
+        if (groupSize <= 0) {
+            throw new IllegalArgumentException("Group size must be positive: " + groupSize);
+        }
+        this.groupSize = groupSize;
+        this.durable = durable;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+            } else {
+                //a half written last record is cut off, the new records come after the entire ones; the file is
+                //truncated only if there is such a record, the mapping of the read can't always be undone before it
+                long length = JournalReplayer.validLength(channel);
+                if (length < channel.size()) {
+                    channel.truncate(length);
+                }
+            }
+            channel.position(channel.size());
+            start = channel.size();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Puts the command in the current group, the group is committed if it is full
+     *
+     * @param command Command
+     * @throws IOException              if the write fails
+     * @throws IllegalArgumentException if the command class has no codec
+     */
+    public void append(Command command) throws IOException {
+        int start = buffer.position();
+        while (true) {
+            try {
+                CommandCodecs.encode(command, buffer);
+                break;
+            } catch (BufferOverflowException e) {
+                buffer.position(start);
+                if (start > 0) {
+                    commit();
+                } else {
+                    //one record is larger than the buffer
+                    buffer = ByteBuffer.allocateDirect(2 * buffer.capacity());
+                }
+                start = buffer.position();
+            }
+        }
+        pending++;
+        records++;
+        if (pending >= groupSize) {
+            commit();
+        }
+    }
+
+    /**
+     * Writes the records of the current group to the file with one write
+     *
+     * @throws IOException if the write fails
+     */
+    public void commit() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        bytes += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        if (durable) {
+            channel.force(false);
+        }
+        pending = 0;
+        commits++;
+    }
+
+    /**
+     * Gives back the number of the appended records
+     *
+     * @return long
+     */
+    public long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Gives back the number of the written groups
+     *
+     * @return long
+     */
+    public long getCommitCount() {
+        return commits;
+    }
+
+    /**
+     * Gives back the number of the written record bytes, without the header
+     *
+     * @return long
+     */
+    public long getBytesWritten() {
+        return bytes;
+    }
+
+    /**
+     * Gives back the offset of the next record in the file, the records of the current group are counted too
+     *
+     * @return long
+     */
+    public long getPosition() {
+        return start + bytes + buffer.position();
+    }
+
+    /**
+     * Commits the last group and closes the file
+     *
+     * @throws IOException if the write fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import java.io.IOException;
+
+/**
+ * Records the commands applied on the game, e.g. for a replay. The command bus gives it the commands which have a
+ * codec, the game loop gives it the ends of the rounds
+ */
+public interface CommandRecorder {
+    /**
+     * Writes the command and applies it on the game
+     *
+     * @param command Command, it has a codec
+     * @throws IOException if the write fails
+     */
+    void execute(Command command) throws IOException;
+
+    /**
+     * Ends the round: the locations are stepped and the end of the round is written
+     *
+     * @param distanceOfNeighbors double
+     * @throws IOException if the write fails
+     */
+    void endRound(double distanceOfNeighbors) throws IOException;
+}
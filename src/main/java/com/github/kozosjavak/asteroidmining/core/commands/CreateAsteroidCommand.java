@@ -10,6 +10,11 @@ import com.github.kozosjavak.asteroidmining.core.materials.Material;
  * Aszteroida letrehozasa parancs implementacio
  */
 public class CreateAsteroidCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<CreateAsteroidCommand> CODEC = CommandCodec.of(CreateAsteroidCommand.class, command -> command.surfaceThickness, command -> command.materialID, CreateAsteroidCommand::new);
+
     private final int surfaceThickness;
     private final int materialID;
 
@@ -2,12 +2,32 @@ package com.github.kozosjavak.asteroidmining.core.commands;
 
 import com.github.kozosjavak.asteroidmining.core.Game;
 import com.github.kozosjavak.asteroidmining.core.materials.Material;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Iron;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Uranium;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Waterice;
+import com.github.kozosjavak.asteroidmining.core.materials.MaterialType;
+
+import java.nio.ByteBuffer;
 
 public class CreateMaterialCommand implements Command {
+    /**
+     * Binary form of the command in the journal, the words of the console line
+     */
+    static final CommandCodec<CreateMaterialCommand> CODEC = new CommandCodec<CreateMaterialCommand>(CreateMaterialCommand.class) {
+        @Override
+        public void encode(CreateMaterialCommand command, ByteBuffer buffer) {
+            putVarInt(buffer, command.data.length);
+            for (String word : command.data) {
+                putString(buffer, word);
+            }
+        }
+
+        @Override
+        public CreateMaterialCommand decode(ByteBuffer buffer) {
+            String[] data = new String[getVarInt(buffer)];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = getString(buffer);
+            }
+            return new CreateMaterialCommand(data);
+        }
+    };
 
     String[] data;
 
@@ -17,20 +37,13 @@ public class CreateMaterialCommand implements Command {
 
     @Override
     public void apply(Game game) {
-        Material mat;
-        if (data[1].equals("iron")) {
-            mat = new Iron();
-        } else if (data[1].equals("coal")) {
-            mat = new Coal();
-        } else if (data[1].equals("waterice")) {
-            mat = new Waterice();
-        } else if (data[1].equals("uran")) {
-            Uranium uran = new Uranium();
-            if (data.length == 3) uran.setExperienceExtremeHeatCounter(Integer.parseInt(data[2]));
-            mat = uran;
-        } else {
+        MaterialType type = MaterialType.byName(data[1]);
+        if (type == null || !type.isCreatable()) {
             return;
         }
+        //every unit created on the console gets its own ID, so it can't be the shared instance
+        Material mat = type.newUnit();
+        if (data.length == 3) mat.setState(Integer.parseInt(data[2]));
         game.putInIdList(mat);
     }
 }
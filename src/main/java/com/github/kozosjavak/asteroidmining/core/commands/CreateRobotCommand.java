@@ -5,6 +5,11 @@ import com.github.kozosjavak.asteroidmining.core.Game;
 import com.github.kozosjavak.asteroidmining.core.Robot;
 
 public class CreateRobotCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<CreateRobotCommand> CODEC = CommandCodec.of(CreateRobotCommand.class, command -> command.asteroidID, CreateRobotCommand::new);
+
     private final int asteroidID;
 
     public CreateRobotCommand(int asteroidID) {
@@ -5,6 +5,11 @@ import com.github.kozosjavak.asteroidmining.core.Game;
 import com.github.kozosjavak.asteroidmining.core.Settler;
 
 public class CreateSettlerCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<CreateSettlerCommand> CODEC = CommandCodec.of(CreateSettlerCommand.class, command -> command.asteroidID, CreateSettlerCommand::new);
+
     private final int asteroidID;
 
     public CreateSettlerCommand(int asteroidID) {
@@ -8,6 +8,10 @@ import com.github.kozosjavak.asteroidmining.core.Sun;
  * Nap letrehozasa parancs implementacio
  */
 public class CreateSunCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<CreateSunCommand> CODEC = CommandCodec.of(CreateSunCommand.class, CreateSunCommand::new);
 
     /**
      * Parancs ctor
@@ -4,6 +4,10 @@ import com.github.kozosjavak.asteroidmining.core.Game;
 import com.github.kozosjavak.asteroidmining.core.Teleport;
 
 public class CreateTeleportCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<CreateTeleportCommand> CODEC = CommandCodec.of(CreateTeleportCommand.class, CreateTeleportCommand::new);
 
     @Override
     public void apply(Game game) {
@@ -8,6 +8,11 @@ import com.github.kozosjavak.asteroidmining.core.Ufo;
  * Ufo letrehozasa parancs implementacio
  */
 public class CreateUfoCommand implements Command{
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<CreateUfoCommand> CODEC = CommandCodec.of(CreateUfoCommand.class, command -> command.asteroidID, CreateUfoCommand::new);
+
     private final int asteroidID;
 
     /**
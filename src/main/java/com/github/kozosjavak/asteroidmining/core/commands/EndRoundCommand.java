@@ -0,0 +1,50 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+
+import java.nio.ByteBuffer;
+
+/**
+ * End of a round: the locations are stepped. It marks the round boundaries in the journal of a replay
+ */
+public class EndRoundCommand implements Command {
+    /**
+     * Binary form of the command in the journal, the distance of the neighbors
+     */
+    static final CommandCodec<EndRoundCommand> CODEC = new CommandCodec<EndRoundCommand>(EndRoundCommand.class) {
+        @Override
+        public void encode(EndRoundCommand command, ByteBuffer buffer) {
+            buffer.putDouble(command.distanceOfNeighbors);
+        }
+
+        @Override
+        public EndRoundCommand decode(ByteBuffer buffer) {
+            return new EndRoundCommand(buffer.getDouble());
+        }
+    };
+
+    private final double distanceOfNeighbors;
+
+    /**
+     * Basic constructor
+     *
+     * @param distanceOfNeighbors double, the neighbors are refreshed with this distance
+     */
+    public EndRoundCommand(double distanceOfNeighbors) {
+        this.distanceOfNeighbors = distanceOfNeighbors;
+    }
+
+    /**
+     * Gives back the distance of the neighbors
+     *
+     * @return double
+     */
+    public double getDistanceOfNeighbors() {
+        return distanceOfNeighbors;
+    }
+
+    @Override
+    public void apply(Game game) {
+        game.stepLocations(distanceOfNeighbors);
+    }
+}
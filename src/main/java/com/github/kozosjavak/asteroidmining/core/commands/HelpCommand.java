@@ -3,6 +3,11 @@ package com.github.kozosjavak.asteroidmining.core.commands;
 import com.github.kozosjavak.asteroidmining.core.Game;
 
 public class HelpCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<HelpCommand> CODEC = CommandCodec.of(HelpCommand.class, HelpCommand::new);
+
     @Override
     public void apply(Game game) {
         System.out.println("     ___           _______.___________. _______ .______        ______    __   _______     .___  ___.  __  .__   __.  __  .__   __.   _______ \n" +
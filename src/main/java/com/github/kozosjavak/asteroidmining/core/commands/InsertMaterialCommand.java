@@ -5,6 +5,11 @@ import com.github.kozosjavak.asteroidmining.core.Game;
 import com.github.kozosjavak.asteroidmining.core.materials.Material;
 
 public class InsertMaterialCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<InsertMaterialCommand> CODEC = CommandCodec.of(InsertMaterialCommand.class, command -> command.materialId, command -> command.asteroidID, InsertMaterialCommand::new);
+
     private final int materialId;
     private final int asteroidID;
 
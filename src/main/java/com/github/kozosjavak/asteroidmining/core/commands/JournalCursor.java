@@ -0,0 +1,96 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reading position in a journal written by CommandJournal. The file is mapped to the memory when the cursor is
+ * created, the records written later aren't seen. The cursor can be moved to the offset of any record (see
+ * CommandJournal.getPosition), so a replay can start in the middle of the journal.
+ */
+public class JournalCursor {
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Opens the journal, the cursor is at the first record
+     *
+     * @param path Path
+     * @throws IOException if the file can't be read or it isn't a journal
+     */
+    public JournalCursor(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = map(channel);
+        }
+    }
+
+    /**
+     * Maps the journal of the open channel, the cursor is at the first record
+     *
+     * @param channel FileChannel, it can be closed after this
+     * @throws IOException if the file can't be read or it isn't a journal
+     */
+    JournalCursor(FileChannel channel) throws IOException {
+        buffer = map(channel);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel) throws IOException {
+        JournalReplayer.checkHeader(channel);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        mapped.position(CommandJournal.HEADER_SIZE);
+        return mapped;
+    }
+
+    /**
+     * Gives back the offset of the next record
+     *
+     * @return long
+     */
+    public long getPosition() {
+        return buffer.position();
+    }
+
+    /**
+     * Gives back the length of the mapped file
+     *
+     * @return long
+     */
+    public long getLength() {
+        return buffer.limit();
+    }
+
+    /**
+     * Moves the cursor to the record which starts at the offset
+     *
+     * @param position long, offset of a record, given by getPosition
+     * @throws IllegalArgumentException if the offset is out of the records
+     */
+    public void seek(long position) {
+        if (position < CommandJournal.HEADER_SIZE || position > buffer.limit()) {
+            throw new IllegalArgumentException("Position out of the journal: " + position);
+        }
+        buffer.position((int) position);
+    }
+
+    /**
+     * Decodes the next record and moves after it
+     *
+     * @return Command, null at the end of the journal or before a half written last record
+     */
+    public Command next() {
+        int start = buffer.position();
+        if (start == buffer.limit()) {
+            return null;
+        }
+        try {
+            return CommandCodecs.decode(buffer);
+        } catch (BufferUnderflowException e) {
+            //the last record was not written entirely
+            buffer.position(start);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the journal written by CommandJournal. The file is mapped to the memory and the records are decoded one after
+ * the other, a half written last record is skipped.
+ */
+public final class JournalReplayer {
+    private JournalReplayer() {
+    }
+
+    /**
+     * Applies the commands of the journal on the game in their order, on the calling thread
+     *
+     * @param path Path
+     * @param game Game, it should be a new game
+     * @return long, the number of the applied commands
+     * @throws IOException if the file can't be read or it isn't a journal
+     */
+    public static long replay(Path path, Game game) throws IOException {
+        return forEach(path, command -> command.apply(game));
+    }
+
+    /**
+     * Gives back the commands of the journal
+     *
+     * @param path Path
+     * @return List<Command>
+     * @throws IOException if the file can't be read or it isn't a journal
+     */
+    public static List<Command> read(Path path) throws IOException {
+        List<Command> commands = new ArrayList<>();
+        forEach(path, commands::add);
+        return commands;
+    }
+
+    /**
+     * Decodes the commands of the journal and gives them to the action
+     *
+     * @param path   Path
+     * @param action Consumer<Command>
+     * @return long, the number of the decoded commands
+     * @throws IOException if the file can't be read or it isn't a journal
+     */
+    public static long forEach(Path path, Consumer<Command> action) throws IOException {
+        JournalCursor cursor = new JournalCursor(path);
+        long count = 0;
+        Command command;
+        while ((command = cursor.next()) != null) {
+            action.accept(command);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Gives back the length of the entire records of the journal, with the header
+     *
+     * @param channel FileChannel, an open journal
+     * @return long
+     * @throws IOException if the file can't be read or it isn't a journal
+     */
+    static long validLength(FileChannel channel) throws IOException {
+        JournalCursor cursor = new JournalCursor(channel);
+        while (cursor.next() != null) {
+            //the cursor stops before the half written last record
+        }
+        return cursor.getPosition();
+    }
+
+    static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(CommandJournal.HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Not a command journal: too short");
+            }
+        }
+        header.flip();
+        if (header.getInt() != CommandJournal.MAGIC) {
+            throw new IOException("Not a command journal: wrong magic number");
+        }
+        int version = header.getInt();
+        if (version != CommandJournal.VERSION) {
+            throw new IOException("Unsupported journal version: " + version);
+        }
+    }
+}
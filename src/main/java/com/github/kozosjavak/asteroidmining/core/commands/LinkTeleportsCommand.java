@@ -7,6 +7,11 @@ import com.github.kozosjavak.asteroidmining.core.Teleport;
  * Teleport osszerendeles parancs implementacio
  */
 public class LinkTeleportsCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<LinkTeleportsCommand> CODEC = CommandCodec.of(LinkTeleportsCommand.class, command -> command.teleportAid, command -> command.teleportBid, LinkTeleportsCommand::new);
+
     private final int teleportAid;
     private final int teleportBid;
 
@@ -9,6 +9,11 @@ import com.github.kozosjavak.asteroidmining.core.materials.Material;
  * Telepeshez nyersanyag hozzaadasa parancs implementacio
  */
 public class SettlerAddMaterialCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<SettlerAddMaterialCommand> CODEC = CommandCodec.of(SettlerAddMaterialCommand.class, command -> command.settlerID, command -> command.materialID, SettlerAddMaterialCommand::new);
+
     private final int settlerID;
     private final int materialID;
 
@@ -6,6 +6,10 @@ import com.github.kozosjavak.asteroidmining.core.materials.InventoryIsFullExcept
 import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialException;
 
 public class SettlerBuildBaseCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<SettlerBuildBaseCommand> CODEC = CommandCodec.of(SettlerBuildBaseCommand.class, command -> command.settlerId, SettlerBuildBaseCommand::new);
 
     private final int settlerId;
 
@@ -6,6 +6,10 @@ import com.github.kozosjavak.asteroidmining.core.Settler;
 import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialException;
 
 public class SettlerBuildRobotCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<SettlerBuildRobotCommand> CODEC = CommandCodec.of(SettlerBuildRobotCommand.class, command -> command.settlerId, SettlerBuildRobotCommand::new);
 
     private final int settlerId;
 
@@ -5,6 +5,10 @@ import com.github.kozosjavak.asteroidmining.core.Settler;
 import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialException;
 
 public class SettlerBuildTeleportCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<SettlerBuildTeleportCommand> CODEC = CommandCodec.of(SettlerBuildTeleportCommand.class, command -> command.settlerId, SettlerBuildTeleportCommand::new);
 
     private final int settlerId;
 
@@ -0,0 +1,39 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.NoTeleportToDeployExecption;
+import com.github.kozosjavak.asteroidmining.core.Settler;
+import com.github.kozosjavak.asteroidmining.core.Teleport;
+
+/**
+ * The settler deploys the first teleport of its inventory on its asteroid. The deployed teleport gets an ID if it has
+ * none, so it can be used by a SettlerUseTeleportCommand
+ */
+public class SettlerDeployTeleportCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<SettlerDeployTeleportCommand> CODEC = CommandCodec.of(SettlerDeployTeleportCommand.class, command -> command.settlerId, SettlerDeployTeleportCommand::new);
+
+    private final int settlerId;
+
+    public SettlerDeployTeleportCommand(int settlerId) {
+        this.settlerId = settlerId;
+    }
+
+    @Override
+    public void apply(Game game) {
+        if (game.getObjectFromID(settlerId) instanceof Settler) {
+            Settler settler = (Settler) game.getObjectFromID(settlerId);
+            Teleport teleport = settler.getTeleportInventory()[0];
+            try {
+                settler.deployTeleport();
+                if (game.getId(teleport) < 0) {
+                    game.putInIdList(teleport);
+                }
+            } catch (NoTeleportToDeployExecption e) {
+                System.err.println("No teleport to deploy!");
+            }
+        } else System.out.printf("Invalid object ID");
+    }
+}
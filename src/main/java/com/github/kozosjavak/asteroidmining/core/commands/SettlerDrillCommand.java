@@ -7,6 +7,11 @@ import com.github.kozosjavak.asteroidmining.core.Settler;
  * Telepes fur parancs implementacio
  */
 public class SettlerDrillCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<SettlerDrillCommand> CODEC = CommandCodec.of(SettlerDrillCommand.class, command -> command.settlerID, SettlerDrillCommand::new);
+
     private final int settlerID;
 
     /**
@@ -8,6 +8,11 @@ import com.github.kozosjavak.asteroidmining.core.materials.Material;
 import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialException;
 
 public class SettlerInsertMaterialCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<SettlerInsertMaterialCommand> CODEC = CommandCodec.of(SettlerInsertMaterialCommand.class, command -> command.settlerID, SettlerInsertMaterialCommand::new);
+
     private final int settlerID;
 
     public SettlerInsertMaterialCommand(int settlerID) {
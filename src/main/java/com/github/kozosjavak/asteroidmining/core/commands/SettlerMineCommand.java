@@ -10,6 +10,11 @@ import com.github.kozosjavak.asteroidmining.core.materials.InventoryIsFullExcept
  * Telepes banyaszik parancs implementacio
  */
 public class SettlerMineCommand implements Command{
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<SettlerMineCommand> CODEC = CommandCodec.of(SettlerMineCommand.class, command -> command.settlerID, SettlerMineCommand::new);
+
     private final int settlerID;
 
     /**
@@ -7,6 +7,11 @@ import com.github.kozosjavak.asteroidmining.core.materials.InventoryIsFullExcept
 import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialException;
 
 public class SettlerRemoveMaterialCommand implements Command{
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<SettlerRemoveMaterialCommand> CODEC = CommandCodec.of(SettlerRemoveMaterialCommand.class, command -> command.settlerID, SettlerRemoveMaterialCommand::new);
+
     private final int settlerID;
     /**
      * Parancs ctor
@@ -5,6 +5,11 @@ import com.github.kozosjavak.asteroidmining.core.Settler;
 import com.github.kozosjavak.asteroidmining.core.Teleport;
 
 public class SettlerUseTeleportCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<SettlerUseTeleportCommand> CODEC = CommandCodec.of(SettlerUseTeleportCommand.class, command -> command.settlerID, command -> command.teleportID, SettlerUseTeleportCommand::new);
+
     private final int settlerID;
     private final int teleportID;
     private Settler settler;
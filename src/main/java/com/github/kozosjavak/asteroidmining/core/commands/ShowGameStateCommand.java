@@ -6,6 +6,10 @@ import com.github.kozosjavak.asteroidmining.core.Game;
  * Kiírja az összes létrehozott objektum állapotát
  */
 public class ShowGameStateCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<ShowGameStateCommand> CODEC = CommandCodec.of(ShowGameStateCommand.class, ShowGameStateCommand::new);
 
     @Override
     public void apply(Game game) {
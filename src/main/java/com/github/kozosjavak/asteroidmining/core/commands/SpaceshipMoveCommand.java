@@ -5,6 +5,11 @@ import com.github.kozosjavak.asteroidmining.core.Game;
 import com.github.kozosjavak.asteroidmining.core.Spaceship;
 
 public class SpaceshipMoveCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<SpaceshipMoveCommand> CODEC = CommandCodec.of(SpaceshipMoveCommand.class, command -> command.spaceshipId, command -> command.asteroidId, SpaceshipMoveCommand::new);
+
     private final int spaceshipId;
     private final int asteroidId;
 
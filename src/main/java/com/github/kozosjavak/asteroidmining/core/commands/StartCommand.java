@@ -3,6 +3,11 @@ package com.github.kozosjavak.asteroidmining.core.commands;
 import com.github.kozosjavak.asteroidmining.core.Game;
 
 public class StartCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<StartCommand> CODEC = CommandCodec.of(StartCommand.class, StartCommand::new);
+
     @Override
     public void apply(Game game) {
         try {
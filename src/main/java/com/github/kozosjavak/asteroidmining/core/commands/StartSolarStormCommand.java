@@ -3,6 +3,11 @@ package com.github.kozosjavak.asteroidmining.core.commands;
 import com.github.kozosjavak.asteroidmining.core.Game;
 
 public class StartSolarStormCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<StartSolarStormCommand> CODEC = CommandCodec.of(StartSolarStormCommand.class, StartSolarStormCommand::new);
+
     @Override
     public void apply(Game game) {
         if (game.getSun() != null) {
@@ -4,6 +4,10 @@ import com.github.kozosjavak.asteroidmining.core.Game;
 import com.github.kozosjavak.asteroidmining.core.Ufo;
 
 public class UfoStealCommand implements Command {
+    /**
+     * Binary form of the command in the journal
+     */
+    static final CommandCodec<UfoStealCommand> CODEC = CommandCodec.of(UfoStealCommand.class, command -> command.ufoId, UfoStealCommand::new);
 
     private final int ufoId;
 
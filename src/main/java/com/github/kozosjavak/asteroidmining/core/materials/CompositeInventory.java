@@ -0,0 +1,79 @@
+package com.github.kozosjavak.asteroidmining.core.materials;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * View over more inventories which counts them together, nothing is copied.
+ * Removing draws from the inventories in the given order, e.g. first from the settler and then from the asteroid.
+ * The amount is checked against the sum before anything is removed, so a removal either happens completely or not at all.
+ */
+public class CompositeInventory implements MaterialStore {
+    private final Inventory[] parts;
+
+    /**
+     * Basic constructor
+     *
+     * @param parts Inventory..., in the order of the drawing
+     */
+    public CompositeInventory(Inventory... parts) {
+        this.parts = parts.clone();
+    }
+
+    /**
+     * Basic constructor
+     *
+     * @param parts List<Inventory>, in the order of the drawing
+     */
+    public CompositeInventory(List<Inventory> parts) {
+        this.parts = parts.toArray(new Inventory[0]);
+    }
+
+    /**
+     * Gives back the inventories of the view
+     *
+     * @return List<Inventory>
+     */
+    public List<Inventory> getParts() {
+        return Collections.unmodifiableList(Arrays.asList(parts));
+    }
+
+    /**
+     * Returns the number of the units in all of the inventories
+     *
+     * @return int
+     */
+    public int getSize() {
+        int size = 0;
+        for (Inventory part : parts) {
+            size += part.getSize();
+        }
+        return size;
+    }
+
+    @Override
+    public int getCount(MaterialType type) {
+        int count = 0;
+        for (Inventory part : parts) {
+            count += part.getCount(type);
+        }
+        return count;
+    }
+
+    @Override
+    public void remove(MaterialType type, int amount, Consumer<? super Material> removed)
+            throws NotEnoughMaterialException {
+        if (getCount(type) < amount) {
+            throw new NotEnoughMaterialException(type.getMaterialClass());
+        }
+        for (Inventory part : parts) {
+            int taken = Math.min(amount, part.getCount(type));
+            if (taken > 0) {
+                part.remove(type, taken, removed);
+                amount -= taken;
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.kozosjavak.asteroidmining.core.materials;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Inventory which more threads can use at the same time without locks, e.g. more threads add and take the units and the
+ * GUI reads it. The units of a stateless type are all the shared instance, so only the counts are stored, the types
+ * with state (e.g. uranium) can't be stored here.
+ * The counts are in one array which is never changed: a change copies it and swaps the reference with CAS, and tries
+ * again if an other change has swapped it meanwhile. So the capacity is never exceeded, and a snapshot is the array read
+ * at one moment, it never waits for a running change.
+ */
+public class ConcurrentInventory implements MaterialStore {
+    private final int capacity;
+    /**
+     * Number of the units by the ordinal of the type, the size of the inventory is the last element
+     */
+    private final AtomicReference<int[]> counts;
+
+    /**
+     * Inventory cotr, if you give 0 for capacity, there will be no limit
+     *
+     * @param capacity int
+     */
+    public ConcurrentInventory(int capacity) {
+        this.capacity = capacity;
+        counts = new AtomicReference<>(new int[MaterialType.count() + 1]);
+    }
+
+    /**
+     * Returns the size of the inventory
+     *
+     * @return int
+     */
+    public int getSize() {
+        int[] current = counts.get();
+        return current[current.length - 1];
+    }
+
+    public boolean isFull() {
+        return capacity != 0 && getSize() >= capacity;
+    }
+
+    @Override
+    public int getCount(MaterialType type) {
+        int[] current = counts.get();
+        int ordinal = type.ordinal();
+        return ordinal < current.length - 1 ? current[ordinal] : 0;
+    }
+
+    /**
+     * Adds a unit of the given material
+     *
+     * @param material Material, its type has to be stateless
+     * @return ConcurrentInventory
+     * @throws InventoryIsFullException
+     */
+    public ConcurrentInventory add(Material material) throws InventoryIsFullException {
+        MaterialType type = material.getType();
+        int ordinal = type.ordinal();
+        if (!type.isStateless() || ordinal >= counts.get().length - 1) {
+            throw new IllegalArgumentException("Material can't be stored by count: " + type.getName());
+        }
+        int[] current;
+        int[] changed;
+        do {
+            current = counts.get();
+            int size = current[current.length - 1];
+            if (capacity != 0 && size >= capacity) {
+                throw new InventoryIsFullException();
+            }
+            changed = current.clone();
+            changed[ordinal]++;
+            changed[changed.length - 1] = size + 1;
+        } while (!counts.compareAndSet(current, changed));
+        return this;
+    }
+
+    /**
+     * Removes the given amount of the type, the units have no identity here, so the callback gets the shared instance of
+     * the type for every removed unit
+     *
+     * @param type    MaterialType
+     * @param amount  int
+     * @param removed Consumer, gets the shared instance once for every removed unit
+     * @throws NotEnoughMaterialException if there are less units than the amount, nothing is removed then
+     */
+    @Override
+    public void remove(MaterialType type, int amount, Consumer<? super Material> removed)
+            throws NotEnoughMaterialException {
+        remove(type, amount);
+        Material instance = type.getInstance();
+        for (int i = 0; i < amount; i++) {
+            removed.accept(instance);
+        }
+    }
+
+    @Override
+    public void remove(MaterialType type, int amount) throws NotEnoughMaterialException {
+        int ordinal = type.ordinal();
+        int[] current;
+        int[] changed;
+        do {
+            current = counts.get();
+            if (ordinal >= current.length - 1 || current[ordinal] < amount) {
+                throw new NotEnoughMaterialException(type.getMaterialClass());
+            }
+            changed = current.clone();
+            changed[ordinal] -= amount;
+            changed[changed.length - 1] -= amount;
+        } while (!counts.compareAndSet(current, changed));
+    }
+
+    /**
+     * Takes one unit of the type
+     *
+     * @param type MaterialType
+     * @return Material, the shared instance of the type
+     * @throws NotEnoughMaterialException if there is no unit of the type
+     */
+    public Material take(MaterialType type) throws NotEnoughMaterialException {
+        remove(type, 1);
+        return type.getInstance();
+    }
+
+    /**
+     * Gives back the counts of every type at one moment
+     *
+     * @return InventorySnapshot
+     */
+    public InventorySnapshot snapshot() {
+        int[] current = counts.get();
+        return new InventorySnapshot(Arrays.copyOf(current, current.length - 1));
+    }
+}
@@ -4,10 +4,61 @@ import com.github.kozosjavak.asteroidmining.core.Explodeable;
 import com.github.kozosjavak.asteroidmining.core.Game;
 
 import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Inventory of materials, it counts the units by the type of the material.
+ * The size, the full check and the count of a type are read from the counters, the units of a type are in a ring
+ * buffer, adding puts the unit at the end and removing takes the first arrived one, none of them allocates (except when
+ * a ring grows). The state of the units (e.g. the heat of an uranium) is kept in a byte array beside the ring while the
+ * unit is in the inventory, see Material.getState. Every unit gets an arrival number beside it, the list of the materials
+ * merges the rings by it, so the list is in the order of the arrival of the units.
+ * <p>
+ * The inventory is changed and read by the simulation thread only, an other thread (e.g. the GUI) gets its counts by a
+ * snapshot taken in a command on the simulation thread (see snapshot).
+ */
+public class Inventory implements MaterialStore {
+    /**
+     * The arrays are allocated at the first add, most asteroids never get a material
+     */
+    private static final int[] NO_INTS = new int[0];
+    private static final Material[][] NO_UNITS = new Material[0][];
+    private static final byte[][] NO_STATES = new byte[0][];
+    private static final int[][] NO_ARRIVALS = new int[0][];
 
-public class Inventory {
     private final int capacity;
-    private final List<Material> materials = new ArrayList<>();
+    private int size = 0;
+    /**
+     * Number of the units by the ordinal of their type
+     */
+    private int[] counts = NO_INTS;
+    /**
+     * Ring buffer of the units by the ordinal of their type
+     */
+    private Material[][] units = NO_UNITS;
+    /**
+     * Position of the first arrived unit in the ring by the ordinal of the type
+     */
+    private int[] heads = NO_INTS;
+    /**
+     * State of the units beside the units, null while every unit of the type has 0 state
+     */
+    private byte[][] states = NO_STATES;
+    /**
+     * Arrival number of the units beside the units, it grows within a ring
+     */
+    private int[][] arrivals = NO_ARRIVALS;
+    private int nextArrival = 0;
+    /**
+     * Position of the walk over the list by the ordinal of the type: the number of the units of the type before the
+     * walked unit, the walk goes on from there when a later unit of the list is read
+     */
+    private int[] cursors = NO_INTS;
+    /**
+     * Index of the walked unit in the list, -1 if the walk has to start again
+     */
+    private int walked = -1;
+    private List<Material> list;
 
     /**
      * Inventory cotr, if you give 0 for capacity, there will be no limit
@@ -33,16 +84,66 @@ public class Inventory {
      * @return int
      */
     public int getSize() {
-        return materials.size();
+        return size;
+    }
+
+    /**
+     * Returns the number of the units of the given material type
+     *
+     * @param materialType Class
+     * @return int
+     */
+    public int getCount(Class<? extends Material> materialType) {
+        return getCount(MaterialType.of(materialType));
+    }
+
+    /**
+     * Returns the number of the units of the given material type
+     *
+     * @param type MaterialType
+     * @return int
+     */
+    @Override
+    public int getCount(MaterialType type) {
+        int ordinal = type.ordinal();
+        return ordinal < counts.length ? counts[ordinal] : 0;
     }
 
     /**
-     * Returns the list of the materials which stored in the inventory
+     * Gives back the counts of every type, it has to be called on the simulation thread (e.g. in a command of the
+     * command bus), the snapshot can be handed to any thread then
+     *
+     * @return InventorySnapshot
+     */
+    public InventorySnapshot snapshot() {
+        return size == 0 ? InventorySnapshot.EMPTY : new InventorySnapshot(counts.clone());
+    }
+
+    /**
+     * Returns the list of the materials which stored in the inventory, it is a view which follows the inventory
      *
      * @return List<Material>
      */
     public List<Material> getList() {
-        return Collections.unmodifiableList(materials);
+        if (list == null) {
+            list = new MaterialList();
+        }
+        return list;
+    }
+
+    /**
+     * Gives back the state of the unit at the given position of the list, the material object can have an older state
+     * while it is in the inventory
+     *
+     * @param index int, position in getList()
+     * @return int
+     */
+    public int getUnitState(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int ordinal = walkTo(index);
+        return getState(ordinal, slot(ordinal, cursors[ordinal]));
     }
 
     /**
@@ -53,41 +154,117 @@ public class Inventory {
      * @throws InventoryIsFullException
      */
     public Inventory add(final Material material) throws InventoryIsFullException {
-        if (capacity == 0 || materials.size() < capacity) {
-            materials.add(material);
-        } else {
+        return add(material, material.getState());
+    }
+
+    /**
+     * Adds the given material to the inventory list with the given state of the unit
+     *
+     * @param material Material
+     * @param state    int, the state of the unit in the inventory (e.g. the heat counter of the uranium)
+     * @return Inventory
+     * @throws InventoryIsFullException
+     */
+    public Inventory add(final Material material, final int state) throws InventoryIsFullException {
+        if (capacity != 0 && size >= capacity) {
             throw new InventoryIsFullException();
         }
+        int ordinal = material.getType().ordinal();
+        ensureType(ordinal);
+        int count = counts[ordinal];
+        if (units[ordinal] == null) {
+            units[ordinal] = new Material[4];
+            arrivals[ordinal] = new int[4];
+        } else if (count == units[ordinal].length) {
+            grow(ordinal);
+        }
+        int slot = slot(ordinal, count);
+        units[ordinal][slot] = material;
+        arrivals[ordinal][slot] = nextArrival++;
+        setState(ordinal, slot, state);
+        counts[ordinal] = count + 1;
+        size++;
+        walked = -1;
         return this;
     }
 
     /**
-     * Removes the given amount of the specified materials from the list
+     * Removes the given amount of the specified materials from the list, the first arrived units are removed
      *
      * @param materialType Material
      * @param amount       int
      * @throws NotEnoughMaterialException
      */
     public void remove(final Class<? extends Material> materialType, final int amount) throws NotEnoughMaterialException {
-        List<Material> temp = new ArrayList<>();
-        int count = 0;
+        remove(MaterialType.of(materialType), amount);
+    }
 
-        for (final Material inventoryMaterial : materials) {
-            if (inventoryMaterial.getClass() == materialType && count != amount) {
-                temp.add(inventoryMaterial);
-                count++;
-            }
-            if (count == amount)
-                break;
+    /**
+     * Removes the given amount of the type from the list, the first arrived units are removed and handed to the callback
+     *
+     * @param type    MaterialType
+     * @param amount  int
+     * @param removed Consumer, gets every removed unit
+     * @throws NotEnoughMaterialException
+     */
+    @Override
+    public void remove(final MaterialType type, final int amount, final Consumer<? super Material> removed)
+            throws NotEnoughMaterialException {
+        int ordinal = type.ordinal();
+        if (ordinal >= counts.length || counts[ordinal] < amount) {
+            throw new NotEnoughMaterialException(type.getMaterialClass());
+        }
+        for (int i = 0; i < amount; i++) {
+            removed.accept(removeAt(ordinal, 0));
         }
+    }
 
-        if (count == amount) {
-            materials.removeAll(temp);
-        } else {
-            throw new NotEnoughMaterialException(materialType);
+    /**
+     * Removes the given unit from the inventory
+     *
+     * @param material Material
+     * @throws NotEnoughMaterialException if the unit is not in the inventory
+     */
+    public void remove(final Material material) throws NotEnoughMaterialException {
+        int ordinal = material.getType().ordinal();
+        for (int i = 0; ordinal < counts.length && i < counts[ordinal]; i++) {
+            if (units[ordinal][slot(ordinal, i)] == material) {
+                removeAt(ordinal, i);
+                return;
+            }
         }
+        throw new NotEnoughMaterialException(material.getClass());
     }
 
+    /**
+     * Removes the unit of the type at the given position of the arrival, its state goes with it
+     *
+     * @return Material, the removed unit
+     */
+    private Material removeAt(int ordinal, int position) {
+        Material[] ring = units[ordinal];
+        int[] ringArrivals = arrivals[ordinal];
+        byte[] ringStates = states[ordinal];
+        Material material = ring[slot(ordinal, position)];
+        material.setState(getState(ordinal, slot(ordinal, position)));
+        //the units before it move one place forward
+        for (int i = position; i > 0; i--) {
+            ring[slot(ordinal, i)] = ring[slot(ordinal, i - 1)];
+            ringArrivals[slot(ordinal, i)] = ringArrivals[slot(ordinal, i - 1)];
+            if (ringStates != null) {
+                ringStates[slot(ordinal, i)] = ringStates[slot(ordinal, i - 1)];
+            }
+        }
+        ring[heads[ordinal]] = null;
+        setState(ordinal, heads[ordinal], 0);
+        heads[ordinal] = (heads[ordinal] + 1) % ring.length;
+        size--;
+        walked = -1;
+        if (--counts[ordinal] == 0) {
+            heads[ordinal] = 0;
+        }
+        return material;
+    }
 
     /**
      * Get materials as a map
@@ -96,9 +273,10 @@ public class Inventory {
      */
     public Map<Class<? extends Material>, Integer> toMap() {
         HashMap<Class<? extends Material>, Integer> result = new HashMap<>();
-        for (Material material : materials) {
-            result.putIfAbsent(material.getClass(), 0);
-            result.put(material.getClass(), result.get(material.getClass()) + 1);
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                result.put(units[ordinal][heads[ordinal]].getClass(), counts[ordinal]);
+            }
         }
         return Collections.unmodifiableMap(result);
     }
@@ -110,8 +288,10 @@ public class Inventory {
      * @throws Exception
      */
     public void experienceExtremeHeat(Explodeable carrier) throws Exception {
-        for (Material material : materials) {
-            material.experienceExtremeHeat(carrier);
+        for (int i = 0; i < size; i++) {
+            int ordinal = walkTo(i);
+            int slot = slot(ordinal, cursors[ordinal]);
+            setState(ordinal, slot, units[ordinal][slot].experienceExtremeHeat(carrier, getState(ordinal, slot)));
         }
     }
 
@@ -127,13 +307,131 @@ public class Inventory {
         for (int i = 0; i < depth; i++) tab += "\t";
 
         String out = "";
-        for (Material material : materials) {
-            out += material.toString(depth, game);
+        for (int i = 0; i < size; i++) {
+            int ordinal = walkTo(i);
+            int slot = slot(ordinal, cursors[ordinal]);
+            out += units[ordinal][slot].toString(depth, game, getState(ordinal, slot));
         }
         return out;
     }
 
     public boolean isFull(){
-        return getSize() == capacity;
+        return size == capacity;
+    }
+
+    private void ensureType(int ordinal) {
+        if (ordinal >= counts.length) {
+            int length = Math.max(ordinal + 1, MaterialType.count());
+            counts = Arrays.copyOf(counts, length);
+            units = Arrays.copyOf(units, length);
+            heads = Arrays.copyOf(heads, length);
+            states = Arrays.copyOf(states, length);
+            arrivals = Arrays.copyOf(arrivals, length);
+            cursors = Arrays.copyOf(cursors, length);
+            walked = -1;
+        }
+    }
+
+    /**
+     * Walks the list to the unit at the given index: the next unit is always the one with the smallest arrival number
+     * among the first not walked units of the rings. The walk goes on from the last read unit, so reading the list in
+     * order costs the number of the types per unit.
+     *
+     * @param index int, position in getList()
+     * @return int, the ordinal of the type of the unit, the unit is at cursors[ordinal] in its ring
+     */
+    private int walkTo(int index) {
+        if (walked < 0 || index < walked) {
+            Arrays.fill(cursors, 0);
+            walked = 0;
+        }
+        int ordinal = nextOfWalk();
+        while (walked < index) {
+            cursors[ordinal]++;
+            walked++;
+            ordinal = nextOfWalk();
+        }
+        return ordinal;
+    }
+
+    /**
+     * Gives back the ordinal of the type whose first not walked unit arrived first
+     */
+    private int nextOfWalk() {
+        int next = -1;
+        int first = 0;
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (cursors[ordinal] < counts[ordinal]) {
+                int arrival = arrivals[ordinal][slot(ordinal, cursors[ordinal])];
+                //the difference keeps the order when the arrival numbers overflow
+                if (next < 0 || arrival - first < 0) {
+                    next = ordinal;
+                    first = arrival;
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Gives back the place in the ring of the unit at the given position of the arrival
+     */
+    private int slot(int ordinal, int position) {
+        int slot = heads[ordinal] + position;
+        return slot < units[ordinal].length ? slot : slot - units[ordinal].length;
+    }
+
+    /**
+     * Doubles the ring of the type, the first arrived unit goes to the start
+     */
+    private void grow(int ordinal) {
+        int count = counts[ordinal];
+        Material[] ring = new Material[2 * count];
+        int[] ringArrivals = new int[2 * count];
+        byte[] ringStates = states[ordinal] == null ? null : new byte[2 * count];
+        for (int i = 0; i < count; i++) {
+            ring[i] = units[ordinal][slot(ordinal, i)];
+            ringArrivals[i] = arrivals[ordinal][slot(ordinal, i)];
+            if (ringStates != null) {
+                ringStates[i] = states[ordinal][slot(ordinal, i)];
+            }
+        }
+        units[ordinal] = ring;
+        arrivals[ordinal] = ringArrivals;
+        states[ordinal] = ringStates;
+        heads[ordinal] = 0;
+    }
+
+    private int getState(int ordinal, int slot) {
+        return states[ordinal] == null ? 0 : states[ordinal][slot];
+    }
+
+    private void setState(int ordinal, int slot, int state) {
+        if (states[ordinal] == null) {
+            if (state == 0) {
+                return;
+            }
+            states[ordinal] = new byte[units[ordinal].length];
+        }
+        states[ordinal][slot] = (byte) state;
+    }
+
+    /**
+     * Read only view of the units in the order of their arrival
+     */
+    private final class MaterialList extends AbstractList<Material> implements RandomAccess {
+        @Override
+        public Material get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            int ordinal = walkTo(index);
+            return units[ordinal][slot(ordinal, cursors[ordinal])];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
     }
 }
@@ -0,0 +1,70 @@
+package com.github.kozosjavak.asteroidmining.core.materials;
+
+import java.util.Arrays;
+
+/**
+ * Immutable counts of an inventory at one moment, the GUI can read it while the simulation changes the inventory
+ */
+public final class InventorySnapshot {
+    public static final InventorySnapshot EMPTY = new InventorySnapshot(new int[0]);
+
+    private final int[] counts;
+    private final int size;
+
+    /**
+     * Basic constructor
+     *
+     * @param counts int[], number of the units by the ordinal of the type, it is not copied
+     */
+    InventorySnapshot(int[] counts) {
+        this.counts = counts;
+        int sum = 0;
+        for (int count : counts) {
+            sum += count;
+        }
+        size = sum;
+    }
+
+    /**
+     * Returns the number of the units of the given material type
+     *
+     * @param type MaterialType
+     * @return int
+     */
+    public int getCount(MaterialType type) {
+        int ordinal = type.ordinal();
+        return ordinal < counts.length ? counts[ordinal] : 0;
+    }
+
+    /**
+     * Returns the number of all the units
+     *
+     * @return int
+     */
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InventorySnapshot)) return false;
+        InventorySnapshot that = (InventorySnapshot) o;
+        int length = Math.max(counts.length, that.counts.length);
+        for (int i = 0; i < length; i++) {
+            if ((i < counts.length ? counts[i] : 0) != (i < that.counts.length ? that.counts[i] : 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int end = counts.length;
+        while (end > 0 && counts[end - 1] == 0) {
+            end--;
+        }
+        return Arrays.hashCode(Arrays.copyOf(counts, end));
+    }
+}
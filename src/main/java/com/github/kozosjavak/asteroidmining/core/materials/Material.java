@@ -7,4 +7,55 @@ public interface Material {
     void experienceExtremeHeat(Explodeable explodeableHolder) throws Exception;
 
     String toString(int depth, Game game);
+
+    /**
+     * Gives back the type of the material
+     *
+     * @return MaterialType
+     */
+    default MaterialType getType() {
+        return MaterialType.of(getClass());
+    }
+
+    /**
+     * Experience extreme heat in an inventory, the inventory keeps the state of the unit
+     *
+     * @param explodeableHolder Explodeable, holder of the material
+     * @param state             int, state of the unit kept by the inventory
+     * @return int, the new state of the unit
+     * @throws Exception
+     */
+    default int experienceExtremeHeat(Explodeable explodeableHolder, int state) throws Exception {
+        experienceExtremeHeat(explodeableHolder);
+        return state;
+    }
+
+    /**
+     * Gives back the state of the unit (e.g. heat), an inventory takes it over while the unit is in it
+     *
+     * @return int, 0 for the materials without state
+     */
+    default int getState() {
+        return 0;
+    }
+
+    /**
+     * Set the state of the unit, the inventory gives it back when the unit leaves
+     *
+     * @param state int
+     */
+    default void setState(int state) {
+    }
+
+    /**
+     * To string with the state kept by the inventory
+     *
+     * @param depth int, needed for the correct amount of /t before the data for correct write out
+     * @param game  Game
+     * @param state int, state of the unit
+     * @return String
+     */
+    default String toString(int depth, Game game, int state) {
+        return toString(depth, game);
+    }
 }
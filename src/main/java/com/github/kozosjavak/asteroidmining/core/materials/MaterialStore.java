@@ -0,0 +1,39 @@
+package com.github.kozosjavak.asteroidmining.core.materials;
+
+import java.util.function.Consumer;
+
+/**
+ * Something which counts materials by type and can give them away, an inventory or a view over more inventories
+ */
+public interface MaterialStore {
+    /**
+     * Returns the number of the units of the given material type
+     *
+     * @param type MaterialType
+     * @return int
+     */
+    int getCount(MaterialType type);
+
+    /**
+     * Removes the given amount of the type, the first arrived units are removed
+     *
+     * @param type   MaterialType
+     * @param amount int
+     * @throws NotEnoughMaterialException if there are less units than the amount, nothing is removed then
+     */
+    default void remove(MaterialType type, int amount) throws NotEnoughMaterialException {
+        remove(type, amount, material -> {
+        });
+    }
+
+    /**
+     * Removes the given amount of the type, the first arrived units are removed and handed to the callback one by one
+     * as they leave the store
+     *
+     * @param type    MaterialType
+     * @param amount  int
+     * @param removed Consumer, gets every removed unit
+     * @throws NotEnoughMaterialException if there are less units than the amount, nothing is removed then
+     */
+    void remove(MaterialType type, int amount, Consumer<? super Material> removed) throws NotEnoughMaterialException;
+}
@@ -0,0 +1,185 @@
+package com.github.kozosjavak.asteroidmining.core.materials;
+
+import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
+import com.github.kozosjavak.asteroidmining.core.materials.types.Iron;
+import com.github.kozosjavak.asteroidmining.core.materials.types.Uranium;
+import com.github.kozosjavak.asteroidmining.core.materials.types.Waterice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the material types, every type gets a dense ordinal in the order of the registration.
+ * The inventories count the units by the ordinal, the console finds the type by its name, the GUI lists the types.
+ * A stateless type (no state in its units) has one shared instance, the world uses it for every unit, so a unit costs
+ * only a reference. A new material type has to be registered only here, nothing else needs to know about it.
+ * A Material class which was not registered gets a type at its first use, but it can't be created by the registry.
+ */
+public final class MaterialType {
+    private static final List<MaterialType> TYPES = new ArrayList<>();
+    private static final Map<String, MaterialType> BY_NAME = new HashMap<>();
+    private static final Map<Class<? extends Material>, MaterialType> BY_CLASS = new HashMap<>();
+    private static final ClassValue<MaterialType> OF_CLASS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected MaterialType computeValue(Class<?> type) {
+            return typeOf((Class<? extends Material>) type);
+        }
+    };
+
+    public static final MaterialType COAL = register("coal", "Coal", Coal.class, Coal::new, true);
+    public static final MaterialType IRON = register("iron", "Iron", Iron.class, Iron::new, true);
+    public static final MaterialType URANIUM = register("uran", "Uranium", Uranium.class, Uranium::new, false);
+    public static final MaterialType WATERICE = register("waterice", "Waterice", Waterice.class, Waterice::new, true);
+
+    private final int ordinal;
+    private final String name;
+    private final String displayName;
+    private final Class<? extends Material> materialClass;
+    private final Supplier<? extends Material> factory;
+    /**
+     * The shared unit of a stateless type, null if the units have state
+     */
+    private final Material shared;
+
+    private MaterialType(int ordinal, String name, String displayName, Class<? extends Material> materialClass, Supplier<? extends Material> factory, boolean stateless) {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.displayName = displayName;
+        this.materialClass = materialClass;
+        this.factory = factory;
+        shared = stateless && factory != null ? factory.get() : null;
+    }
+
+    /**
+     * Registers a material type
+     *
+     * @param name          String, name used on the console
+     * @param displayName   String, name shown on the GUI
+     * @param materialClass Class of the units
+     * @param factory       Supplier, creates a new unit
+     * @param stateless     boolean, true if the units have no state, then they share one instance
+     * @return MaterialType
+     */
+    public static synchronized MaterialType register(String name, String displayName, Class<? extends Material> materialClass, Supplier<? extends Material> factory, boolean stateless) {
+        if (BY_CLASS.containsKey(materialClass) || BY_NAME.containsKey(name)) {
+            throw new IllegalArgumentException("Material type is already registered: " + name);
+        }
+        MaterialType type = new MaterialType(TYPES.size(), name, displayName, materialClass, factory, stateless);
+        TYPES.add(type);
+        BY_NAME.put(name, type);
+        BY_CLASS.put(materialClass, type);
+        return type;
+    }
+
+    private static synchronized MaterialType typeOf(Class<? extends Material> materialClass) {
+        MaterialType type = BY_CLASS.get(materialClass);
+        if (type == null) {
+            String name = materialClass.getName();
+            type = register(name, materialClass.getSimpleName(), materialClass, null, false);
+        }
+        return type;
+    }
+
+    /**
+     * Gives back the type of the material class
+     *
+     * @param materialClass Class
+     * @return MaterialType
+     */
+    public static MaterialType of(Class<? extends Material> materialClass) {
+        return OF_CLASS.get(materialClass);
+    }
+
+    /**
+     * Gives back the type by its console name
+     *
+     * @param name String
+     * @return MaterialType/null
+     */
+    public static synchronized MaterialType byName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * Gives back the registered types in the order of their ordinals
+     *
+     * @return List<MaterialType>
+     */
+    public static synchronized List<MaterialType> values() {
+        return Collections.unmodifiableList(new ArrayList<>(TYPES));
+    }
+
+    /**
+     * Gives back the number of the registered types
+     *
+     * @return int
+     */
+    public static synchronized int count() {
+        return TYPES.size();
+    }
+
+    public int ordinal() {
+        return ordinal;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public Class<? extends Material> getMaterialClass() {
+        return materialClass;
+    }
+
+    /**
+     * Tells if the registry can create units of the type
+     *
+     * @return boolean
+     */
+    public boolean isCreatable() {
+        return factory != null;
+    }
+
+    /**
+     * Tells if the units of the type have no state and share one instance
+     *
+     * @return boolean
+     */
+    public boolean isStateless() {
+        return shared != null;
+    }
+
+    /**
+     * Gives back a unit for the world, the shared one if the type is stateless
+     *
+     * @return Material
+     */
+    public Material getInstance() {
+        return shared != null ? shared : newUnit();
+    }
+
+    /**
+     * Creates a new separate unit, e.g. for the console which gives an ID to every unit
+     *
+     * @return Material
+     */
+    public Material newUnit() {
+        if (factory == null) {
+            throw new UnsupportedOperationException("Material type can't be created: " + name);
+        }
+        return factory.get();
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -1,13 +1,14 @@
 package com.github.kozosjavak.asteroidmining.core.materials;
 
-import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Iron;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Uranium;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Waterice;
-
+/**
+ * Classes of the built-in materials
+ *
+ * @deprecated use the MaterialType registry
+ */
+@Deprecated
 public class Materials {
-    public static final Class<? extends Material> COAL = Coal.class;
-    public static final Class<? extends Material> IRON = Iron.class;
-    public static final Class<? extends Material> WATERICE = Waterice.class;
-    public static final Class<? extends Material> URANIUM = Uranium.class;
+    public static final Class<? extends Material> COAL = MaterialType.COAL.getMaterialClass();
+    public static final Class<? extends Material> IRON = MaterialType.IRON.getMaterialClass();
+    public static final Class<? extends Material> WATERICE = MaterialType.WATERICE.getMaterialClass();
+    public static final Class<? extends Material> URANIUM = MaterialType.URANIUM.getMaterialClass();
 }
@@ -6,9 +6,12 @@ import com.github.kozosjavak.asteroidmining.core.materials.Material;
 import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialException;
 
 /**
- * Uranium class
+ * Uranium class, the heat counter is kept by the inventory while the uranium is in one
  */
 public class Uranium implements Material {
+    /**
+     * Heat counter while the uranium is not in an inventory (e.g. in the core of an asteroid)
+     */
     private int experienceExtremeHeatCounter = 0;
 
     /**
@@ -18,12 +21,34 @@ public class Uranium implements Material {
      * @throws NotEnoughMaterialException
      */
     public void experienceExtremeHeat(Explodeable explodeableHolder) throws Exception {
-        if (experienceExtremeHeatCounter < 3) {
-            experienceExtremeHeatCounter++;
-        }
-        if (experienceExtremeHeatCounter > 2) {
+        experienceExtremeHeatCounter = experienceExtremeHeat(explodeableHolder, experienceExtremeHeatCounter);
+    }
+
+    /**
+     * Increments the heat counter kept by the inventory, at 3 it calls the explode() of the holder
+     *
+     * @param explodeableHolder Explodeable, holder of the material
+     * @param state             int, heat counter
+     * @return int, the new heat counter
+     * @throws Exception
+     */
+    @Override
+    public int experienceExtremeHeat(Explodeable explodeableHolder, int state) throws Exception {
+        int counter = state < 3 ? state + 1 : state;
+        if (counter > 2) {
             explodeableHolder.explode();
         }
+        return counter;
+    }
+
+    @Override
+    public int getState() {
+        return experienceExtremeHeatCounter;
+    }
+
+    @Override
+    public void setState(int state) {
+        experienceExtremeHeatCounter = state;
     }
 
     /**
@@ -35,10 +60,23 @@ public class Uranium implements Material {
      */
     @Override
     public String toString(int depth, Game game) {
+        return toString(depth, game, experienceExtremeHeatCounter);
+    }
+
+    /**
+     * Return the uranium structure in string with the heat counter kept by the inventory
+     *
+     * @param depth needed for the correct amount of /t before the data for correct write out
+     * @param game  needed for give the ID of itself
+     * @param state heat counter
+     * @return String
+     */
+    @Override
+    public String toString(int depth, Game game, int state) {
         String tab = "";
         for (int i = 0; i < depth; i++) tab += "\t";
 
-        return tab + "Uran {ID = " + game.getId(this) + ", HeatCounter = " + experienceExtremeHeatCounter + "},\n";
+        return tab + "Uran {ID = " + game.getId(this) + ", HeatCounter = " + state + "},\n";
     }
 
     @Override
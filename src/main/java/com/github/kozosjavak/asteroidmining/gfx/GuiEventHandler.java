@@ -3,12 +3,24 @@ package com.github.kozosjavak.asteroidmining.gfx;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputProcessor;
-import com.github.kozosjavak.asteroidmining.core.NoNeighborException;
-import com.github.kozosjavak.asteroidmining.core.NoTeleportToDeployExecption;
+import com.github.kozosjavak.asteroidmining.core.Asteroid;
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.Location;
 import com.github.kozosjavak.asteroidmining.core.Settler;
 import com.github.kozosjavak.asteroidmining.core.Steppable;
-import com.github.kozosjavak.asteroidmining.core.materials.InventoryIsFullException;
-import com.github.kozosjavak.asteroidmining.core.materials.NotEnoughMaterialException;
+import com.github.kozosjavak.asteroidmining.core.Teleport;
+import com.github.kozosjavak.asteroidmining.core.commands.Command;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerBuildBaseCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerBuildRobotCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerBuildTeleportCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerDeployTeleportCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerDrillCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerInsertMaterialCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerMineCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerRemoveMaterialCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerUseTeleportCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SpaceshipMoveCommand;
+import com.github.kozosjavak.asteroidmining.core.materials.InventorySnapshot;
 import com.github.kozosjavak.asteroidmining.gfx.view.AsteroidListTable;
 import com.github.kozosjavak.asteroidmining.gfx.view.AsteroidMiningGame;
 import com.github.kozosjavak.asteroidmining.gfx.view.GameScreen;
@@ -65,205 +77,148 @@ public class GuiEventHandler implements InputProcessor {
         game.setSelectedLocation(asteroidListTable.getListLocation(screenX, screenY));
         //Drill
         if (screenX >= 2010 / game.getDivider() && screenX <= 2010 / game.getDivider() + 378 / game.getDivider() && screenY >= 15 / game.getDivider() && screenY <= 15 / game.getDivider() + 136 / game.getDivider()) {
-            for (Steppable settler : settlerList) {
-                Settler currentSettler = (Settler) settler;
-                if (currentSettler.isSelected()) {
-                    try {
-                        currentSettler.drill();
-                    } catch (Exception exception) {
-                        gameScreen.getInformationTable().setText(exception.getMessage());
-                    }
-                    currentSettler.setSelectedFalse();
-                    System.out.println(currentSettler.getCurrentAsteroid().getSurfaceThickness());
-                    gameScreen.getResourceTable().setInventory(currentSettler.getCurrentAsteroid().getAsteroidInventory(), currentSettler);
-                }
-
-            }
+            submitForSelected(settlerList, (coreGame, settler, id) -> new SettlerDrillCommand(id), null);
             game.setSelectedLocation(null);
         }
         //Mine
         if (screenX >= 2010 / game.getDivider() && screenX <= 2010 / game.getDivider() + 378 / game.getDivider() && screenY >= 175 / game.getDivider() && screenY <= 175 / game.getDivider() + 136 / game.getDivider()) {
-            for (Steppable settler : settlerList) {
-                Settler currentSettler = (Settler) settler;
-                if (currentSettler.isSelected()) {
-                    System.out.println(currentSettler.getCurrentAsteroid().getSubstance());
-                    try {
-                        currentSettler.mine();
-                    } catch (Exception exception) {
-                        gameScreen.getInformationTable().setText(exception.getMessage());
-                    }
-                    currentSettler.setSelectedFalse();
-                    System.out.println(currentSettler.getCurrentAsteroid().getSubstance());
-                    System.out.println(currentSettler.getInventory());
-                    gameScreen.getResourceTable().setInventory(currentSettler.getCurrentAsteroid().getAsteroidInventory(), currentSettler);
-                }
-            }
+            submitForSelected(settlerList, (coreGame, settler, id) -> new SettlerMineCommand(id), null);
             game.setSelectedLocation(null);
         }
         //InsertMaterial
         if (screenX >= 1610 / game.getDivider() && screenX <= 1610 / game.getDivider() + 378 / game.getDivider() && screenY >= 655 / game.getDivider() && screenY <= 655 / game.getDivider() + 136 / game.getDivider()) {
-            for (Steppable settler : settlerList) {
-                Settler currentSettler = (Settler) settler;
-                if (currentSettler.isSelected()) {
-                    try {
-                        currentSettler.insertMaterial();
-                    } catch (Exception exception) {
-                        gameScreen.getInformationTable().setText(exception.getMessage());
-                    }
-                    currentSettler.setSelectedFalse();
-
-                    System.out.println(currentSettler.getCurrentAsteroid().getSurfaceThickness());
-                    System.out.println(currentSettler.getInventory());
-                    System.out.println(currentSettler.getCurrentAsteroid().getAsteroidInventory());
-                    gameScreen.getResourceTable().setInventory(currentSettler.getCurrentAsteroid().getAsteroidInventory(), currentSettler);
-                }
-            }
+            submitForSelected(settlerList, (coreGame, settler, id) -> new SettlerInsertMaterialCommand(id), null);
             game.setSelectedLocation(null);
         }
         //Remove material
         if (screenX >= 2010 / game.getDivider() && screenX <= 2010 / game.getDivider() + 378 / game.getDivider() && screenY >= 655 / game.getDivider() && screenY <= 655 / game.getDivider() + 136 / game.getDivider()) {
-            for (Steppable settler : settlerList) {
-                Settler currentSettler = (Settler) settler;
-                if (currentSettler.isSelected()) {
-                    try {
-                        currentSettler.removeMaterial();
-                    } catch (Exception exception) {
-                        gameScreen.getInformationTable().setText(exception.getMessage());
-                    }
-                    currentSettler.setSelectedFalse();
-
-                    System.out.println(currentSettler.getCurrentAsteroid().getSurfaceThickness());
-                    System.out.println(currentSettler.getInventory());
-                    System.out.println(currentSettler.getCurrentAsteroid().getAsteroidInventory());
-                    gameScreen.getResourceTable().setInventory(currentSettler.getCurrentAsteroid().getAsteroidInventory(), currentSettler);
-                }
-            }
+            submitForSelected(settlerList, (coreGame, settler, id) -> new SettlerRemoveMaterialCommand(id), null);
             game.setSelectedLocation(null);
         }
         //Pass
         if (screenX >= 1612 / game.getDivider() && screenX <= 1612 / game.getDivider() + 776 / game.getDivider() && screenY >= 1297 / game.getDivider() && screenY <= 1297 / game.getDivider() + 138 / game.getDivider()) {
-            for (Steppable settler : settlerList) {
-                Settler currentSettler = (Settler) settler;
-                if (currentSettler.isSelected()) {
-                    currentSettler.setSelectedFalse();
-                    gameScreen.getInformationTable().setText("Lepes feladva!");
-                    gameScreen.getResourceTable().setInventory(currentSettler.getCurrentAsteroid().getAsteroidInventory(), currentSettler);
-                }
-            }
+            submitForSelected(settlerList, (coreGame, settler, id) -> null, "Lepes feladva!");
             game.setSelectedLocation(null);
         }
         //MOVE
         if (screenX >= 2010 / game.getDivider() && screenX <= 2010 / game.getDivider() + 378 / game.getDivider() && screenY >= 335 / game.getDivider() && screenY <= 335 / game.getDivider() + 136 / game.getDivider()) {
-            for (Steppable settler : settlerList) {
-                Settler currentSettler = (Settler) settler;
-                if (currentSettler.isSelected()) {
-                    if (game.getSelectedLocation() == null) {
-                        try {
-                            currentSettler.move(currentSettler.getCurrentAsteroid().getLocation().getRandomNeighbor());
-                        } catch (NoNeighborException e) {
-                            gameScreen.getInformationTable().setText(e.getMessage());
-                        }
-                    } else {
-                        currentSettler.move(game.getSelectedLocation());
-
-                    }
-
-                    currentSettler.setSelectedFalse();
-                    gameScreen.getResourceTable().setInventory(currentSettler.getCurrentAsteroid().getAsteroidInventory(), currentSettler);
-
+            //the target is taken at the click, the command runs later
+            Location target = game.getSelectedLocation();
+            submitForSelected(settlerList, (coreGame, settler, id) -> {
+                //the random neighbor is chosen here, the command refers to the asteroid, so it is replayed the same way
+                Location destination = target == null ? settler.getCurrentAsteroid().getLocation().getRandomNeighbor() : target;
+                int asteroidId = coreGame.getId(destination.getCelestialBody());
+                if (!(destination.getCelestialBody() instanceof Asteroid) || asteroidId < 0) {
+                    throw new IllegalArgumentException("There is no asteroid to land on");
                 }
-
-            }
+                return new SpaceshipMoveCommand(id, asteroidId);
+            }, null);
             game.setSelectedLocation(null);
         }
         //Deploy teleport
         if (screenX >= 1610 / game.getDivider() && screenX <= 1610 / game.getDivider() + 378 / game.getDivider() && screenY >= 495 / game.getDivider() && screenY <= 495 / game.getDivider() + 136 / game.getDivider()) {
-            for (Steppable settler : settlerList) {
-                Settler currentSettler = (Settler) settler;
-                if (currentSettler.isSelected()) {
-                    try {
-                        currentSettler.deployTeleport();
-                    } catch (NoTeleportToDeployExecption noTeleportToDeployExecption) {
-                        gameScreen.getInformationTable().setText(noTeleportToDeployExecption.getMessage());
-                    }
-                    //ezt itt teljesen ujragondolni
-                    currentSettler.setSelectedFalse();
-                    gameScreen.getResourceTable().setInventory(currentSettler.getCurrentAsteroid().getAsteroidInventory(), currentSettler);
-                    System.out.println("Teleport deployed");
-
-                }
-            }
+            submitForSelected(settlerList, (coreGame, settler, id) -> new SettlerDeployTeleportCommand(id), null);
             game.setSelectedLocation(null);
         }
         //Use teleport
         if (screenX >= 2010 / game.getDivider() && screenX <= 2010 / game.getDivider() + 378 / game.getDivider() && screenY >= 495 / game.getDivider() && screenY <= 495 / game.getDivider() + 136 / game.getDivider()) {
-            for (Steppable settler : settlerList) {
-                Settler currentSettler = (Settler) settler;
-                if (currentSettler.isSelected()) {
-                    currentSettler.teleport();
-                    currentSettler.setSelectedFalse();
-                    gameScreen.getResourceTable().setInventory(currentSettler.getCurrentAsteroid().getAsteroidInventory(), currentSettler);
-                    gameScreen.getInformationTable().setText("Upps where am i?");
-
+            submitForSelected(settlerList, (coreGame, settler, id) -> {
+                Teleport teleport = settler.getCurrentAsteroid().getLocation().getTeleport();
+                if (teleport == null || coreGame.getId(teleport) < 0) {
+                    throw new IllegalArgumentException("Teleport is not available");
                 }
-            }
+                return new SettlerUseTeleportCommand(id, coreGame.getId(teleport));
+            }, "Upps where am i?");
             game.setSelectedLocation(null);
         }
         //Build teleport pair
         if (screenX >= 2010 / game.getDivider() && screenX <= 2010 / game.getDivider() + 378 / game.getDivider() && screenY >= 815 / game.getDivider() && screenY <= 815 / game.getDivider() + 136 / game.getDivider()) {
-            for (Steppable settler : settlerList) {
-                Settler currentSettler = (Settler) settler;
-                if (currentSettler.isSelected()) {
-                    try {
-                        currentSettler.buildTeleportPair();
-                    } catch (NotEnoughMaterialException e) {
-                        gameScreen.getInformationTable().setText(e.getMessage());
-                    }
-                    currentSettler.setSelectedFalse();
-
-                    gameScreen.getResourceTable().setInventory(currentSettler.getCurrentAsteroid().getAsteroidInventory(), currentSettler);
-
-                }
-            }
+            submitForSelected(settlerList, (coreGame, settler, id) -> new SettlerBuildTeleportCommand(id), null);
             game.setSelectedLocation(null);
         }
         //Build robot
         if (screenX >= 2010 / game.getDivider() && screenX <= 2010 / game.getDivider() + 378 / game.getDivider() && screenY >= 977 / game.getDivider() && screenY <= 977 / game.getDivider() + 136 / game.getDivider()) {
-            for (Steppable settler : settlerList) {
-                Settler currentSettler = (Settler) settler;
-                if (currentSettler.isSelected()) {
-                    try {
-                        currentSettler.buildRobot();
-                    } catch (NotEnoughMaterialException e) {
-                        gameScreen.getInformationTable().setText(e.getMessage());
-                    }
-                    currentSettler.setSelectedFalse();
-                    gameScreen.getResourceTable().setInventory(currentSettler.getCurrentAsteroid().getAsteroidInventory(), currentSettler);
-
-                }
-            }
+            submitForSelected(settlerList, (coreGame, settler, id) -> new SettlerBuildRobotCommand(id), null);
             game.setSelectedLocation(null);
         }
         //Build base
         if (screenX >= 2010 / game.getDivider() && screenX <= 2010 / game.getDivider() + 378 / game.getDivider() && screenY >= 1137 / game.getDivider() && screenY <= 1137 / game.getDivider() + 136 / game.getDivider()) {
-            for (Steppable settler : settlerList) {
-                Settler currentSettler = (Settler) settler;
-                if (currentSettler.isSelected()) {
+            submitForSelected(settlerList, (coreGame, settler, id) -> new SettlerBuildBaseCommand(id), null);
+            game.setSelectedLocation(null);
+        }
+
+        System.out.println(screenX + " " + screenY);
+        return false;
+    }
+
+    /**
+     * Submits the action of the selected settler to the command bus of the game, the loop thread applies it. The action
+     * is a command of the settler, it is made on the loop thread and applied through the bus, so it is recorded like
+     * the commands of the console. The turn of the settler ends after the action, the tables are updated on the render
+     * thread.
+     *
+     * @param settlerList List<Steppable>, the settlers of the game
+     * @param action      SettlerAction, makes the command of the settler
+     * @param message     String, shown after the action, can be null
+     */
+    private void submitForSelected(List<Steppable> settlerList, SettlerAction action, String message) {
+        for (Steppable settler : settlerList) {
+            Settler currentSettler = (Settler) settler;
+            if (currentSettler.isSelected()) {
+                game.getGame().getCommandBus().execute(coreGame -> {
+                    //the turn could have ended since the click
+                    if (!currentSettler.isSelected()) {
+                        return;
+                    }
+                    String text = message;
                     try {
-                        currentSettler.buildBase();
-                    } catch (NotEnoughMaterialException | InventoryIsFullException e) {
-                        gameScreen.getInformationTable().setText(e.getMessage());
+                        Command command = action.commandOf(coreGame, currentSettler, coreGame.getId(currentSettler));
+                        if (command != null) {
+                            coreGame.getCommandBus().apply(command);
+                        }
+                    } catch (Exception exception) {
+                        text = exception.getMessage();
                     }
                     currentSettler.setSelectedFalse();
-                    gameScreen.getResourceTable().setInventory(currentSettler.getCurrentAsteroid().getAsteroidInventory(), currentSettler);
-
-                }
+                    String shownText = text;
+                    //the counts are read here on the loop thread, the GUI thread only gets the snapshots
+                    Asteroid asteroid = currentSettler.getCurrentAsteroid();
+                    InventorySnapshot settlerInventory = currentSettler.getInventory() == null
+                            ? InventorySnapshot.EMPTY : currentSettler.getInventory().snapshot();
+                    InventorySnapshot asteroidInventory = asteroid == null
+                            ? InventorySnapshot.EMPTY : asteroid.getAsteroidInventory().snapshot();
+                    int teleportCount = 0;
+                    for (Teleport teleport : currentSettler.getTeleportInventory()) {
+                        if (teleport != null) {
+                            teleportCount++;
+                        }
+                    }
+                    int shownTeleportCount = teleportCount;
+                    Gdx.app.postRunnable(() -> {
+                        if (shownText != null) {
+                            gameScreen.getInformationTable().setText(shownText);
+                        }
+                        gameScreen.getResourceTable().setInventory(settlerInventory, asteroidInventory, shownTeleportCount);
+                    });
+                });
             }
-            game.setSelectedLocation(null);
         }
+    }
 
-        System.out.println(screenX + " " + screenY);
-        return false;
+    /**
+     * An action of a settler which is clicked on the GUI, it gives the command of the settler
+     */
+    private interface SettlerAction {
+        /**
+         * Gives back the command of the action, it is called on the loop thread
+         *
+         * @param game    Game
+         * @param settler Settler, the selected settler
+         * @param id      int, the ID of the settler
+         * @return Command, null if the settler does nothing
+         * @throws Exception if the action can't be done, its message is shown
+         */
+        Command commandOf(Game game, Settler settler, int id) throws Exception;
     }
 
     @Override
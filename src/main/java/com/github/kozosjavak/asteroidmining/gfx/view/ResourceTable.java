@@ -3,19 +3,12 @@ package com.github.kozosjavak.asteroidmining.gfx.view;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.github.kozosjavak.asteroidmining.core.Settler;
-import com.github.kozosjavak.asteroidmining.core.materials.Inventory;
-import com.github.kozosjavak.asteroidmining.core.materials.Material;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Iron;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Uranium;
-import com.github.kozosjavak.asteroidmining.core.materials.types.Waterice;
+import com.github.kozosjavak.asteroidmining.core.materials.InventorySnapshot;
+import com.github.kozosjavak.asteroidmining.core.materials.MaterialType;
 
 public class ResourceTable {
     private final BitmapFont font;
     private final SpriteBatch batch;
-    private final int[] settlerMaterials;
-    private final int[] asteroidMaterials;
     String settlerText;
     String asteroidText;
     int teleportCount;
@@ -25,19 +18,9 @@ public class ResourceTable {
         font = new BitmapFont();
         font.setColor(Color.BLACK);
         this.batch = batch;
-        settlerMaterials = new int[4];
-        asteroidMaterials = new int[4];
-        settlerMaterials[0] = 0;
-        settlerMaterials[1] = 0;
-        settlerMaterials[2] = 0;
-        settlerMaterials[3] = 0;
-        asteroidMaterials[0] = 0;
-        asteroidMaterials[1] = 0;
-        asteroidMaterials[2] = 0;
-        asteroidMaterials[3] = 0;
         teleportCount = 0;
-        settlerText = "Coal: " + settlerMaterials[0] + "\n" + "Iron: " + settlerMaterials[1] + "\n" + "Uranium: " + settlerMaterials[2] + "\n" + "Waterice: " + settlerMaterials[3] + "\n" + "Teleports: " + teleportCount;
-        asteroidText = "Coal: " + asteroidMaterials[0] + "\n" + "Iron: " + asteroidMaterials[1] + "\n" + "Uranium: " + asteroidMaterials[2] + "\n" + "Waterice: " + asteroidMaterials[3];
+        settlerText = materialsText(InventorySnapshot.EMPTY) + "\n" + "Teleports: " + teleportCount;
+        asteroidText = materialsText(InventorySnapshot.EMPTY);
     }
 
     public void draw() {
@@ -47,47 +30,36 @@ public class ResourceTable {
 
     }
 
-    public void setInventory(Inventory asteroidInventory, Settler settler) {
+    /**
+     * Shows the counts of the settler and its asteroid, the snapshots are taken on the loop thread
+     *
+     * @param settlerInventory  InventorySnapshot
+     * @param asteroidInventory InventorySnapshot
+     * @param teleportCount     int, number of the teleports of the settler
+     */
+    public void setInventory(InventorySnapshot settlerInventory, InventorySnapshot asteroidInventory, int teleportCount) {
+        this.teleportCount = teleportCount;
+        settlerText = materialsText(settlerInventory) + "\n" + "Teleports: " + teleportCount;
+        asteroidText = materialsText(asteroidInventory);
+    }
 
-        if (settler.getInventory() != null) {
-            settlerMaterials[0] = 0;
-            settlerMaterials[1] = 0;
-            settlerMaterials[2] = 0;
-            settlerMaterials[3] = 0;
-            asteroidMaterials[0] = 0;
-            asteroidMaterials[1] = 0;
-            asteroidMaterials[2] = 0;
-            asteroidMaterials[3] = 0;
-            for (Material material : settler.getInventory().getList()) {
-                if (material.getClass() == Coal.class) {
-                    settlerMaterials[0]++;
-                } else if (material.getClass() == Iron.class) {
-                    settlerMaterials[1]++;
-                } else if (material.getClass() == Uranium.class) {
-                    settlerMaterials[2]++;
-                } else if (material.getClass() == Waterice.class) {
-                    settlerMaterials[3]++;
-                }
-            }
-            for (Material material : asteroidInventory.getList()) {
-                if (material.getClass() == Coal.class) {
-                    asteroidMaterials[0]++;
-                } else if (material.getClass() == Iron.class) {
-                    asteroidMaterials[1]++;
-                } else if (material.getClass() == Uranium.class) {
-                    asteroidMaterials[2]++;
-                } else if (material.getClass() == Waterice.class) {
-                    asteroidMaterials[3]++;
-                }
+    /**
+     * Lists the count of every material type in the inventory, one type per line
+     *
+     * @param inventory InventorySnapshot
+     * @return String
+     */
+    private static String materialsText(InventorySnapshot inventory) {
+        StringBuilder text = new StringBuilder();
+        for (MaterialType type : MaterialType.values()) {
+            if (!type.isCreatable()) {
+                continue;
             }
-        }
-        teleportCount = 0;
-        for (int i = 0; i < settler.getTeleportInventory().length; i++) {
-            if (settler.getTeleportInventory()[i] != null) {
-                teleportCount++;
+            if (text.length() > 0) {
+                text.append("\n");
             }
+            text.append(type.getDisplayName()).append(": ").append(inventory.getCount(type));
         }
-        settlerText = "Coal: " + settlerMaterials[0] + "\n" + "Iron: " + settlerMaterials[1] + "\n" + "Uranium: " + settlerMaterials[2] + "\n" + "Waterice: " + settlerMaterials[3] + "\n" + "Teleports: " + teleportCount;
-        asteroidText = "Coal: " + asteroidMaterials[0] + "\n" + "Iron: " + asteroidMaterials[1] + "\n" + "Uranium: " + asteroidMaterials[2] + "\n" + "Waterice: " + asteroidMaterials[3];
+        return text.toString();
     }
 }
@@ -0,0 +1,289 @@
+package com.github.kozosjavak.asteroidmining.replay;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.GameSnapshot;
+import com.github.kozosjavak.asteroidmining.core.commands.Command;
+import com.github.kozosjavak.asteroidmining.core.commands.EndRoundCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.JournalCursor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Plays back a game recorded by ReplayRecorder. The keyframes are indexed when the replay is opened, only their
+ * position is kept in the memory. A seek loads the last keyframe which isn't after the wanted round and applies the
+ * commands of the journal from its offset, so a seek replays at most one keyframe interval; a seek forward inside the
+ * same interval just goes on from the current round.
+ * The rounds can be stepped one by one or played with a given speed, the listener is notified after every round and
+ * after a seek (the GUI or the inspector draws the game then).
+ */
+public class ReplayEngine implements Closeable {
+    private final FileChannel keyframes;
+    private final JournalCursor cursor;
+    /**
+     * The rounds, journal offsets, file offsets and lengths of the keyframes, in the order of the rounds
+     */
+    private int[] rounds = new int[16];
+    private long[] journalOffsets = new long[16];
+    private long[] snapshotOffsets = new long[16];
+    private int[] snapshotLengths = new int[16];
+    private int keyframeCount = 0;
+    private final int lastRound;
+
+    private Game game;
+    private int round;
+    private double speed = 0;
+    private ReplayListener listener = engine -> {
+    };
+
+    /**
+     * Opens the replay, the game is in the state of the first keyframe
+     *
+     * @param journalPath  Path
+     * @param keyframePath Path
+     * @throws IOException if a file can't be read or it is broken
+     */
+    public ReplayEngine(Path journalPath, Path keyframePath) throws IOException {
+        cursor = new JournalCursor(journalPath);
+        keyframes = FileChannel.open(keyframePath, StandardOpenOption.READ);
+        try {
+            indexKeyframes();
+            //the rounds after the last keyframe are counted on the tail of the journal
+            int last = rounds[keyframeCount - 1];
+            cursor.seek(journalOffsets[keyframeCount - 1]);
+            Command command;
+            while ((command = cursor.next()) != null) {
+                if (command instanceof EndRoundCommand) {
+                    last++;
+                }
+            }
+            lastRound = last;
+            restore(0);
+        } catch (IOException | RuntimeException e) {
+            keyframes.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives back the replayed game, a seek to an earlier round can replace it
+     *
+     * @return Game
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Gives back the current round, the number of the ended rounds
+     *
+     * @return int
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Gives back the last recorded round
+     *
+     * @return int
+     */
+    public int getLastRound() {
+        return lastRound;
+    }
+
+    /**
+     * Gives back the number of the keyframes
+     *
+     * @return int
+     */
+    public int getKeyframeCount() {
+        return keyframeCount;
+    }
+
+    /**
+     * Sets the speed of play
+     *
+     * @param roundsPerSecond double, 0 or less means as fast as possible
+     */
+    public void setSpeed(double roundsPerSecond) {
+        speed = roundsPerSecond;
+    }
+
+    /**
+     * Gives back the speed of play
+     *
+     * @return double rounds per second, 0 or less means as fast as possible
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Sets the listener which is notified after every replayed round
+     *
+     * @param listener ReplayListener
+     */
+    public void setListener(ReplayListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Replays the next round
+     *
+     * @return boolean, false if there is no more recorded round
+     */
+    public boolean step() {
+        if (!advance()) {
+            return false;
+        }
+        listener.roundReplayed(this);
+        return true;
+    }
+
+    /**
+     * Plays the rounds with the set speed till the given number of rounds or the end of the recording
+     *
+     * @param count int, number of the rounds
+     * @return int, the number of the played rounds
+     * @throws InterruptedException if the thread is interrupted while it waits for the next round
+     */
+    public int play(int count) throws InterruptedException {
+        long start = System.nanoTime();
+        int played = 0;
+        while (played < count && step()) {
+            played++;
+            if (speed > 0) {
+                long due = start + (long) (played * 1e9 / speed);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                }
+            }
+        }
+        return played;
+    }
+
+    /**
+     * Brings the game to the end of the given round
+     *
+     * @param target int, 0 is the start of the game
+     * @throws IOException              if a keyframe can't be read
+     * @throws IllegalArgumentException if the round wasn't recorded
+     */
+    public void seek(int target) throws IOException {
+        if (target < 0 || target > lastRound) {
+            throw new IllegalArgumentException("Round out of the replay: " + target + ", last round: " + lastRound);
+        }
+        int keyframe = Arrays.binarySearch(rounds, 0, keyframeCount, target);
+        if (keyframe < 0) {
+            keyframe = -keyframe - 2;
+        }
+        if (round > target || round < rounds[keyframe]) {
+            restore(keyframe);
+        }
+        while (round < target) {
+            advance();
+        }
+        listener.roundReplayed(this);
+    }
+
+    /**
+     * Closes the keyframe file
+     *
+     * @throws IOException if it can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        keyframes.close();
+    }
+
+    /**
+     * Applies the commands of the next round, the listener isn't notified
+     */
+    private boolean advance() {
+        if (round >= lastRound) {
+            return false;
+        }
+        Command command;
+        while ((command = cursor.next()) != null) {
+            command.apply(game);
+            if (command instanceof EndRoundCommand) {
+                round++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void restore(int keyframe) throws IOException {
+        ByteBuffer snapshot = ByteBuffer.allocate(snapshotLengths[keyframe]);
+        readFully(snapshot, snapshotOffsets[keyframe]);
+        game = GameSnapshot.fromBytes(snapshot.array());
+        round = rounds[keyframe];
+        cursor.seek(journalOffsets[keyframe]);
+    }
+
+    /**
+     * Reads the entry headers of the keyframe file, a half written last entry is left out
+     */
+    private void indexKeyframes() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(ReplayRecorder.HEADER_SIZE);
+        if (!readFully(header, 0) || header.getInt() != ReplayRecorder.MAGIC) {
+            throw new IOException("Not a keyframe file");
+        }
+        int version = header.getInt();
+        if (version != ReplayRecorder.VERSION) {
+            throw new IOException("Unsupported keyframe file version: " + version);
+        }
+        long position = ReplayRecorder.HEADER_SIZE;
+        long size = keyframes.size();
+        ByteBuffer entry = ByteBuffer.allocate(ReplayRecorder.ENTRY_HEADER_SIZE);
+        while (readFully(entry.clear(), position)) {
+            int entryRound = entry.getInt();
+            long journalOffset = entry.getLong();
+            int length = entry.getInt();
+            long snapshotOffset = position + ReplayRecorder.ENTRY_HEADER_SIZE;
+            if (length < 0 || snapshotOffset + length > size || journalOffset > cursor.getLength()) {
+                break;
+            }
+            if (keyframeCount == rounds.length) {
+                rounds = Arrays.copyOf(rounds, 2 * keyframeCount);
+                journalOffsets = Arrays.copyOf(journalOffsets, 2 * keyframeCount);
+                snapshotOffsets = Arrays.copyOf(snapshotOffsets, 2 * keyframeCount);
+                snapshotLengths = Arrays.copyOf(snapshotLengths, 2 * keyframeCount);
+            }
+            rounds[keyframeCount] = entryRound;
+            journalOffsets[keyframeCount] = journalOffset;
+            snapshotOffsets[keyframeCount] = snapshotOffset;
+            snapshotLengths[keyframeCount] = length;
+            keyframeCount++;
+            position = snapshotOffset + length;
+        }
+        if (keyframeCount == 0) {
+            throw new IOException("The keyframe file has no keyframe");
+        }
+    }
+
+    /**
+     * Fills the buffer from the offset of the keyframe file and flips it
+     *
+     * @return boolean, false if the file ends before
+     */
+    private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = keyframes.read(buffer, position);
+            if (read < 0) {
+                return false;
+            }
+            position += read;
+        }
+        buffer.flip();
+        return true;
+    }
+}
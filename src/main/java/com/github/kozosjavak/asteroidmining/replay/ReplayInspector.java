@@ -0,0 +1,232 @@
+package com.github.kozosjavak.asteroidmining.replay;
+
+import com.github.kozosjavak.asteroidmining.core.Asteroid;
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.Location;
+import com.github.kozosjavak.asteroidmining.core.Settler;
+import com.github.kozosjavak.asteroidmining.core.Steppable;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerDrillCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerMineCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SpaceshipMoveCommand;
+import com.github.kozosjavak.asteroidmining.simulation.SimulationParameters;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Headless inspector of the replays. It can record a game first: the world is generated and the settlers drill, mine
+ * and move by a simple script, with commands, so everything is in the journal. Then it reads commands from the
+ * standard input: seek round, step [rounds], play rounds [rounds per second], show, stats, quit.
+ * The console output of the game is dropped while the rounds are replayed.
+ * Run it with: mvn compile exec:java -Dexec.mainClass=com.github.kozosjavak.asteroidmining.replay.ReplayInspector -Dexec.args="record=500 interval=50"
+ */
+public class ReplayInspector {
+    private final ReplayEngine engine;
+    private final PrintStream out;
+    private long lastSeekNanos = 0;
+
+    /**
+     * Basic constructor
+     *
+     * @param engine ReplayEngine
+     * @param out    PrintStream, the answers are written to it
+     */
+    public ReplayInspector(ReplayEngine engine, PrintStream out) {
+        this.engine = engine;
+        this.out = out;
+    }
+
+    /**
+     * Does one inspector command
+     *
+     * @param line String, the command with its arguments
+     * @return boolean, false if the inspector has to quit
+     * @throws Exception if the command fails
+     */
+    public boolean handle(String line) throws Exception {
+        String[] words = line.trim().split("\\s+");
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            switch (words[0]) {
+                case "seek":
+                    long start = System.nanoTime();
+                    engine.seek(Integer.parseInt(words[1]));
+                    lastSeekNanos = System.nanoTime() - start;
+                    break;
+                case "step":
+                    int count = words.length > 1 ? Integer.parseInt(words[1]) : 1;
+                    for (int i = 0; i < count; i++) {
+                        if (!engine.step()) {
+                            break;
+                        }
+                    }
+                    break;
+                case "play":
+                    if (words.length > 2) {
+                        engine.setSpeed(Double.parseDouble(words[2]));
+                    }
+                    engine.play(Integer.parseInt(words[1]));
+                    break;
+                case "show":
+                case "stats":
+                case "":
+                    break;
+                case "quit":
+                    return false;
+                default:
+                    out.println("Unknown command: " + words[0] + ", known ones: seek, step, play, show, stats, quit");
+                    return true;
+            }
+        } finally {
+            System.setOut(console);
+        }
+        if (words[0].equals("stats")) {
+            out.printf("rounds = %d, keyframes = %d, last seek = %.3f ms%n", engine.getLastRound(),
+                    engine.getKeyframeCount(), lastSeekNanos / 1e6);
+        } else {
+            out.println(describe(engine.getRound(), engine.getGame()));
+        }
+        return true;
+    }
+
+    /**
+     * Gives back a short summary of the game
+     *
+     * @param round int
+     * @param game  Game
+     * @return String
+     */
+    static String describe(int round, Game game) {
+        int asteroids = 0;
+        int crust = 0;
+        for (Location location : game.getLocationList()) {
+            if (location.getCelestialBody() instanceof Asteroid) {
+                asteroids++;
+                crust += ((Asteroid) location.getCelestialBody()).getSurfaceThickness();
+            }
+        }
+        int materials = 0;
+        for (Steppable steppable : game.getSettlers()) {
+            materials += ((Settler) steppable).getInventory().getSize();
+        }
+        return "round " + round + ": asteroids = " + asteroids + ", crust = " + crust + ", settlers = "
+                + game.getSettlers().size() + ", carried materials = " + materials
+                + (game.isWon() ? ", won" : game.isRunning() ? "" : ", lost");
+    }
+
+    /**
+     * Plays one round of the script: every settler drills till the core, mines it, then moves to a random neighbor
+     *
+     * @param game                Game
+     * @param recorder            ReplayRecorder
+     * @param random              Random
+     * @param distanceOfNeighbors double
+     * @throws IOException if the journal can't be written
+     */
+    static void playScriptedRound(Game game, ReplayRecorder recorder, Random random, double distanceOfNeighbors) throws IOException {
+        for (Steppable steppable : new ArrayList<>(game.getSettlers())) {
+            Settler settler = (Settler) steppable;
+            Asteroid asteroid = settler.getCurrentAsteroid();
+            int id = game.getId(settler);
+            if (asteroid == null || id < 0) {
+                continue;
+            }
+            if (asteroid.getSurfaceThickness() > 0) {
+                recorder.execute(new SettlerDrillCommand(id));
+            } else if (asteroid.getSubstance() != null && !settler.getInventory().isFull()) {
+                recorder.execute(new SettlerMineCommand(id));
+            } else {
+                List<Integer> targets = new ArrayList<>();
+                for (Location neighbor : asteroid.getLocation().getNeighbors()) {
+                    if (neighbor.getCelestialBody() instanceof Asteroid && game.getId(neighbor.getCelestialBody()) >= 0) {
+                        targets.add(game.getId(neighbor.getCelestialBody()));
+                    }
+                }
+                if (!targets.isEmpty()) {
+                    recorder.execute(new SpaceshipMoveCommand(id, targets.get(random.nextInt(targets.size()))));
+                }
+            }
+        }
+        recorder.endRound(distanceOfNeighbors);
+    }
+
+    /**
+     * Entry point of the inspector, the arguments are key=value pairs: journal, keyframes (the files of the replay),
+     * record (number of the rounds to record first, the files are overwritten), interval (rounds between the
+     * keyframes), seed, size, asteroids, crust, settlers, ufos, distance
+     *
+     * @param args the arguments
+     * @throws Exception if the replay can't be recorded or read
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] keyValue = arg.split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Arguments must be key=value pairs: " + arg);
+            }
+            options.put(keyValue[0], keyValue[1]);
+        }
+        Path journalPath = Paths.get(options.getOrDefault("journal", "replay.journal"));
+        Path keyframePath = Paths.get(options.getOrDefault("keyframes", "replay.keyframes"));
+        int rounds = Integer.parseInt(options.getOrDefault("record", "0"));
+        if (rounds > 0) {
+            SimulationParameters defaults = SimulationParameters.defaults();
+            double size = Double.parseDouble(options.getOrDefault("size", String.valueOf(defaults.getWorldSize())));
+            double distance = Double.parseDouble(options.getOrDefault("distance", String.valueOf(defaults.getDistanceOfNeighbors())));
+            long seed = Long.parseLong(options.getOrDefault("seed", "0"));
+            PrintStream console = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            long start = System.nanoTime();
+            try {
+                Game game = new Game(size, size, seed);
+                game.generateWorld(Integer.parseInt(options.getOrDefault("asteroids", String.valueOf(defaults.getNumberOfAsteroids()))),
+                        Integer.parseInt(options.getOrDefault("crust", String.valueOf(defaults.getMaxCrustThickness()))),
+                        Integer.parseInt(options.getOrDefault("settlers", String.valueOf(defaults.getNumberOfSettlers()))),
+                        Integer.parseInt(options.getOrDefault("ufos", String.valueOf(defaults.getNumberOfUfos()))), distance);
+                game.registerWorld();
+                Files.deleteIfExists(journalPath);
+                Files.deleteIfExists(keyframePath);
+                Random random = new Random(seed);
+                try (ReplayRecorder recorder = new ReplayRecorder(game, journalPath, keyframePath,
+                        Integer.parseInt(options.getOrDefault("interval", "50")))) {
+                    for (int i = 0; i < rounds; i++) {
+                        playScriptedRound(game, recorder, random, distance);
+                    }
+                    console.printf("Recorded %d rounds, %d keyframes (%d bytes) in %.1f ms%n", recorder.getRound(),
+                            recorder.getKeyframeCount(), recorder.getKeyframeBytes(), (System.nanoTime() - start) / 1e6);
+                }
+            } finally {
+                System.setOut(console);
+            }
+        }
+        try (ReplayEngine engine = new ReplayEngine(journalPath, keyframePath)) {
+            ReplayInspector inspector = new ReplayInspector(engine, System.out);
+            inspector.handle("stats");
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    if (!inspector.handle(line)) {
+                        break;
+                    }
+                } catch (Exception e) {
+                    System.out.println("Failed: " + e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.kozosjavak.asteroidmining.replay;
+
+/**
+ * Gets notified by the replay engine after every replayed round, e.g. the GUI draws the game then
+ */
+public interface ReplayListener {
+    /**
+     * Called after a round is replayed, on the thread which replays
+     *
+     * @param engine ReplayEngine, its game is at the end of the round
+     */
+    void roundReplayed(ReplayEngine engine);
+}
@@ -0,0 +1,161 @@
+package com.github.kozosjavak.asteroidmining.replay;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.GameSnapshot;
+import com.github.kozosjavak.asteroidmining.core.commands.Command;
+import com.github.kozosjavak.asteroidmining.core.commands.CommandJournal;
+import com.github.kozosjavak.asteroidmining.core.commands.CommandRecorder;
+import com.github.kozosjavak.asteroidmining.core.commands.EndRoundCommand;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records a game for the replay: the commands go to a command journal, the ends of the rounds are EndRoundCommand
+ * records in it, and a full snapshot of the game (keyframe) is written to an other file in every few rounds.
+ * A keyframe entry is the round, the offset of the next record in the journal and the snapshot (see GameSnapshot),
+ * the journal is committed before the keyframe, so a keyframe never points after the written records.
+ * The first keyframe is the starting state of the game, it is written when the recorder is created.
+ * A running game is recorded by setting the recorder on its command bus, the game loop ends the rounds with it.
+ * The methods are synchronized, so the recorder can be closed by an other thread (e.g. at the exit of the GUI).
+ */
+public class ReplayRecorder implements CommandRecorder, Closeable {
+    /**
+     * "AMKF"
+     */
+    static final int MAGIC = 0x414d4b46;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    /**
+     * Round, journal offset, length of the snapshot
+     */
+    static final int ENTRY_HEADER_SIZE = 16;
+
+    private final Game game;
+    private final CommandJournal journal;
+    private final FileChannel keyframes;
+    private final int keyframeInterval;
+    private int round = 0;
+    private int keyframeCount = 0;
+    private long keyframeBytes = 0;
+
+    /**
+     * Starts the recording, the files mustn't exist. The game is applied the recorded commands, it has to be between
+     * two rounds
+     *
+     * @param game             Game
+     * @param journalPath      Path, the commands are written in it
+     * @param keyframePath     Path, the keyframes are written in it
+     * @param keyframeInterval int, a keyframe is written after this many rounds
+     * @throws IOException if a file can't be created
+     */
+    public ReplayRecorder(Game game, Path journalPath, Path keyframePath, int keyframeInterval) throws IOException {
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Keyframe interval must be positive: " + keyframeInterval);
+        }
+        if (Files.exists(journalPath)) {
+            throw new FileAlreadyExistsException(journalPath.toString());
+        }
+        this.game = game;
+        this.keyframeInterval = keyframeInterval;
+        keyframes = FileChannel.open(keyframePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            journal = new CommandJournal(journalPath, 4096, false);
+            write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip());
+            writeKeyframe();
+        } catch (IOException | RuntimeException e) {
+            keyframes.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the command to the journal and applies it on the game
+     *
+     * @param command Command
+     * @throws IOException if the write fails
+     */
+    @Override
+    public synchronized void execute(Command command) throws IOException {
+        journal.append(command);
+        command.apply(game);
+    }
+
+    /**
+     * Ends the round: the locations are stepped, and a keyframe is written if it is due
+     *
+     * @param distanceOfNeighbors double
+     * @throws IOException if the write fails
+     */
+    @Override
+    public synchronized void endRound(double distanceOfNeighbors) throws IOException {
+        execute(new EndRoundCommand(distanceOfNeighbors));
+        round++;
+        if (round % keyframeInterval == 0) {
+            writeKeyframe();
+        }
+    }
+
+    /**
+     * Gives back the number of the ended rounds
+     *
+     * @return int
+     */
+    public synchronized int getRound() {
+        return round;
+    }
+
+    /**
+     * Gives back the number of the written keyframes
+     *
+     * @return int
+     */
+    public synchronized int getKeyframeCount() {
+        return keyframeCount;
+    }
+
+    /**
+     * Gives back the size of the written snapshots
+     *
+     * @return long
+     */
+    public synchronized long getKeyframeBytes() {
+        return keyframeBytes;
+    }
+
+    /**
+     * Commits the journal and closes the files
+     *
+     * @throws IOException if the write fails
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            journal.close();
+        } finally {
+            keyframes.close();
+        }
+    }
+
+    private void writeKeyframe() throws IOException {
+        journal.commit();
+        byte[] snapshot = GameSnapshot.toBytes(game);
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_SIZE + snapshot.length);
+        entry.putInt(round).putLong(journal.getPosition()).putInt(snapshot.length).put(snapshot).flip();
+        write(entry);
+        keyframeCount++;
+        keyframeBytes += snapshot.length;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            keyframes.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.kozosjavak.asteroidmining.simulation;
+
+import java.util.List;
+
+/**
+ * Summary of the games of a batch simulation
+ */
+public class BatchReport {
+    private final int games;
+    private final int wins;
+    private final int losses;
+    private final int undecided;
+    private final int failed;
+    private final double averageRounds;
+    private final long elapsedNanos;
+
+    /**
+     * Creates the report from the results
+     *
+     * @param results      List<GameResult>
+     * @param failed       int, number of the games which stopped with an exception
+     * @param elapsedNanos long, wall clock time of the batch
+     */
+    public BatchReport(List<GameResult> results, int failed, long elapsedNanos) {
+        int wins = 0;
+        int losses = 0;
+        int undecided = 0;
+        long rounds = 0;
+        for (GameResult result : results) {
+            switch (result.getOutcome()) {
+                case WIN:
+                    wins++;
+                    break;
+                case LOSS:
+                    losses++;
+                    break;
+                default:
+                    undecided++;
+            }
+            rounds += result.getRounds();
+        }
+        this.games = results.size() + failed;
+        this.wins = wins;
+        this.losses = losses;
+        this.undecided = undecided;
+        this.failed = failed;
+        this.averageRounds = results.isEmpty() ? 0 : (double) rounds / results.size();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public int getUndecided() {
+        return undecided;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    public double getLossRate() {
+        return games == 0 ? 0 : (double) losses / games;
+    }
+
+    public double getAverageRounds() {
+        return averageRounds;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games / (elapsedNanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("games = %d, wins = %d (%.1f%%), losses = %d (%.1f%%), undecided = %d, failed = %d%n"
+                        + "average rounds = %.1f, time = %.3f s, %.1f games / s",
+                games, wins, 100 * getWinRate(), losses, 100 * getLossRate(), undecided, failed,
+                averageRounds, elapsedNanos / 1e9, getGamesPerSecond());
+    }
+}
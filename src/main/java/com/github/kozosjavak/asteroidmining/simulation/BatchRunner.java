@@ -0,0 +1,186 @@
+package com.github.kozosjavak.asteroidmining.simulation;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.Settler;
+import com.github.kozosjavak.asteroidmining.core.Steppable;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * Headless Monte-Carlo runner, plays many independent games without GUI in parallel and counts the wins and losses.
+ * The settlers are played by a settler policy instead of the GUI, every game gets its own policy instance.
+ * Run it with: mvn compile exec:java -Dexec.mainClass=com.github.kozosjavak.asteroidmining.simulation.BatchRunner -Dexec.args="games=1000 policy=miner"
+ */
+public class BatchRunner {
+    /**
+     * The known policies by their name, they get the seed of the game
+     */
+    private static final Map<String, LongFunction<SettlerPolicy>> POLICIES = new HashMap<>();
+
+    static {
+        POLICIES.put("miner", seed -> new MinerPolicy(new Random(seed)));
+        POLICIES.put("random", seed -> new RandomPolicy(new Random(seed)));
+        POLICIES.put("pass", seed -> (settler, game) -> {
+        });
+    }
+
+    private final SimulationParameters parameters;
+    private final LongFunction<SettlerPolicy> policyFactory;
+    private final int threads;
+
+    /**
+     * Basic constructor
+     *
+     * @param parameters    SimulationParameters
+     * @param policyFactory gives a new policy for every game from the seed of the game
+     * @param threads       int, number of the games played at the same time
+     */
+    public BatchRunner(SimulationParameters parameters, LongFunction<SettlerPolicy> policyFactory, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed: " + threads);
+        }
+        this.parameters = parameters;
+        this.policyFactory = policyFactory;
+        this.threads = threads;
+    }
+
+    /**
+     * Constructor which uses all of the cores
+     *
+     * @param parameters    SimulationParameters
+     * @param policyFactory gives a new policy for every game from the seed of the game
+     */
+    public BatchRunner(SimulationParameters parameters, LongFunction<SettlerPolicy> policyFactory) {
+        this(parameters, policyFactory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Plays the given number of games, the console output of the games is dropped meanwhile
+     *
+     * @param games int, number of the games
+     * @param seed  long, the seeds of the games are seed, seed + 1...
+     * @return BatchReport
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public BatchReport run(int games, long seed) throws InterruptedException {
+        PrintStream out = System.out;
+        PrintStream err = System.err;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+            long start = System.nanoTime();
+            List<Future<GameResult>> futures = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                long gameSeed = seed + i;
+                futures.add(executor.submit(() -> playGame(gameSeed)));
+            }
+            List<GameResult> results = new ArrayList<>(games);
+            int failed = 0;
+            for (Future<GameResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    failed++;
+                }
+            }
+            return new BatchReport(results, failed, System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+            System.setOut(out);
+            System.setErr(err);
+        }
+    }
+
+    /**
+     * Plays one game till the base is built, every settler dies or the maximum number of rounds is reached
+     *
+     * @param seed long, seed of the game
+     * @return GameResult
+     * @throws Exception if the world can't be generated
+     */
+    public GameResult playGame(long seed) throws Exception {
+        Game game = new Game(parameters.getWorldSize(), parameters.getWorldSize(), seed);
+        game.generateWorld(parameters.getNumberOfAsteroids(), parameters.getMaxCrustThickness(), parameters.getNumberOfSettlers(),
+                parameters.getNumberOfUfos(), parameters.getDistanceOfNeighbors());
+        //the games are already run in parallel
+        game.getRoundExecutor().setParallelism(1);
+        SettlerPolicy policy = policyFactory.apply(seed);
+        int round = 0;
+        while (round < parameters.getMaxRounds()) {
+            round++;
+            for (Steppable steppable : new ArrayList<>(game.getSettlers())) {
+                Settler settler = (Settler) steppable;
+                if (settler.getCurrentAsteroid() == null) {
+                    continue;
+                }
+                try {
+                    policy.act(settler, game);
+                } catch (Exception exception) {
+                    //a failed action is a pass
+                }
+                if (game.isWon()) {
+                    return new GameResult(GameResult.Outcome.WIN, round);
+                }
+            }
+            if (!game.isRunning() || game.getSettlers().isEmpty()) {
+                return new GameResult(GameResult.Outcome.LOSS, round);
+            }
+            game.stepLocations(parameters.getDistanceOfNeighbors());
+            if (!game.isRunning() || game.getSettlers().isEmpty()) {
+                return new GameResult(GameResult.Outcome.LOSS, round);
+            }
+        }
+        return new GameResult(GameResult.Outcome.UNDECIDED, round);
+    }
+
+    /**
+     * Entry point of the headless simulation, the arguments are key=value pairs:
+     * games, threads, seed, policy (miner, random, pass), size, asteroids, crust, settlers, ufos, distance, rounds
+     *
+     * @param args the arguments
+     * @throws InterruptedException if the main thread is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] keyValue = arg.split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Arguments must be key=value pairs: " + arg);
+            }
+            options.put(keyValue[0], keyValue[1]);
+        }
+        SimulationParameters defaults = SimulationParameters.defaults();
+        SimulationParameters parameters = new SimulationParameters(
+                Double.parseDouble(options.getOrDefault("size", String.valueOf(defaults.getWorldSize()))),
+                Integer.parseInt(options.getOrDefault("asteroids", String.valueOf(defaults.getNumberOfAsteroids()))),
+                Integer.parseInt(options.getOrDefault("crust", String.valueOf(defaults.getMaxCrustThickness()))),
+                Integer.parseInt(options.getOrDefault("settlers", String.valueOf(defaults.getNumberOfSettlers()))),
+                Integer.parseInt(options.getOrDefault("ufos", String.valueOf(defaults.getNumberOfUfos()))),
+                Double.parseDouble(options.getOrDefault("distance", String.valueOf(defaults.getDistanceOfNeighbors()))),
+                Integer.parseInt(options.getOrDefault("rounds", String.valueOf(defaults.getMaxRounds()))));
+        String policyName = options.getOrDefault("policy", "miner");
+        LongFunction<SettlerPolicy> policy = POLICIES.get(policyName);
+        if (policy == null) {
+            throw new IllegalArgumentException("Unknown policy: " + policyName + ", known ones: " + POLICIES.keySet());
+        }
+        int games = Integer.parseInt(options.getOrDefault("games", "1000"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        long seed = Long.parseLong(options.getOrDefault("seed", "0"));
+
+        System.out.println(parameters + ", policy = " + policyName + ", threads = " + threads);
+        BatchReport report = new BatchRunner(parameters, policy, threads).run(games, seed);
+        System.out.println(report);
+    }
+}
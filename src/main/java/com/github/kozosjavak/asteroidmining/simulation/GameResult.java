@@ -0,0 +1,46 @@
+package com.github.kozosjavak.asteroidmining.simulation;
+
+/**
+ * Result of one simulated game
+ */
+public class GameResult {
+    /**
+     * How the game ended
+     */
+    public enum Outcome {
+        /**
+         * The base was built
+         */
+        WIN,
+        /**
+         * Every settler died
+         */
+        LOSS,
+        /**
+         * The game reached the maximum number of rounds
+         */
+        UNDECIDED
+    }
+
+    private final Outcome outcome;
+    private final int rounds;
+
+    /**
+     * Basic constructor
+     *
+     * @param outcome Outcome
+     * @param rounds  int, number of the played rounds
+     */
+    public GameResult(Outcome outcome, int rounds) {
+        this.outcome = outcome;
+        this.rounds = rounds;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.kozosjavak.asteroidmining.simulation;
+
+import com.github.kozosjavak.asteroidmining.core.Asteroid;
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.Location;
+import com.github.kozosjavak.asteroidmining.core.Settler;
+import com.github.kozosjavak.asteroidmining.core.bills.Bills;
+import com.github.kozosjavak.asteroidmining.core.materials.CompositeInventory;
+import com.github.kozosjavak.asteroidmining.core.materials.Material;
+import com.github.kozosjavak.asteroidmining.core.materials.MaterialType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Settler policy which collects the materials of the base.
+ * The first asteroid the settler mines out becomes its home, it drills and mines the materials still needed for the base,
+ * carries them home and builds the base there when the home and the inventory have everything.
+ */
+public class MinerPolicy implements SettlerPolicy {
+    private final Random random;
+    /**
+     * Home asteroid of the settlers
+     */
+    private final Map<Settler, Asteroid> homes = new HashMap<>();
+
+    /**
+     * Basic constructor
+     *
+     * @param random Random
+     */
+    public MinerPolicy(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public void act(Settler settler, Game game) throws Exception {
+        Asteroid asteroid = settler.getCurrentAsteroid();
+        Asteroid home = homes.get(settler);
+        if (home != null && home.getLocation().getCelestialBody() != home) {
+            //home has exploded
+            homes.remove(settler);
+            home = null;
+        }
+        if (home == asteroid && home != null) {
+            if (isEnoughForBase(settler, home)) {
+                settler.buildBase();
+                return;
+            }
+            if (settler.getInventory().getSize() > 0) {
+                settler.insertMaterial();
+                return;
+            }
+        }
+        Material substance = asteroid.getSubstance();
+        if (substance != null && isNeeded(substance.getClass(), settler, home)) {
+            if (asteroid.getSurfaceThickness() > 0) {
+                settler.drill();
+                return;
+            }
+            if (!settler.getInventory().isFull()) {
+                settler.mine();
+                if (home == null) {
+                    homes.put(settler, asteroid);
+                }
+                return;
+            }
+        }
+        if (home != null && (settler.getInventory().isFull() || isEnoughForBase(settler, home))) {
+            Location next = nextStepTowards(asteroid.getLocation(), home.getLocation());
+            if (next != null) {
+                settler.move(next);
+                return;
+            }
+        }
+        settler.move(chooseNeighbor(asteroid.getLocation(), settler, home));
+    }
+
+    /**
+     * Tells if the settler and its home have every material of the base
+     */
+    private boolean isEnoughForBase(Settler settler, Asteroid home) {
+        return Bills.BASE.canAfford(new CompositeInventory(settler.getInventory(), home.getAsteroidInventory()));
+    }
+
+    /**
+     * Tells if the base still needs the material
+     */
+    private boolean isNeeded(Class<? extends Material> type, Settler settler, Asteroid home) {
+        return count(type, settler, home) < Bills.BASE.getCompiled().getAmount(MaterialType.of(type));
+    }
+
+    private static int count(Class<? extends Material> type, Settler settler, Asteroid home) {
+        int count = settler.getInventory().getCount(type);
+        if (home != null) {
+            count += home.getAsteroidInventory().getCount(type);
+        }
+        return count;
+    }
+
+    /**
+     * Chooses a neighbor asteroid, the ones with a needed substance are preferred
+     */
+    private Location chooseNeighbor(Location from, Settler settler, Asteroid home) {
+        Location best = null;
+        int bestThickness = Integer.MAX_VALUE;
+        for (Location neighbor : from.getNeighbors()) {
+            if (neighbor.getCelestialBody() instanceof Asteroid) {
+                Asteroid asteroid = (Asteroid) neighbor.getCelestialBody();
+                if (asteroid.getSubstance() != null && isNeeded(asteroid.getSubstance().getClass(), settler, home)
+                        && asteroid.getSurfaceThickness() < bestThickness) {
+                    best = neighbor;
+                    bestThickness = asteroid.getSurfaceThickness();
+                }
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        List<Location> neighbors = from.getNeighbors();
+        return neighbors.isEmpty() ? from : neighbors.get(random.nextInt(neighbors.size()));
+    }
+
+    /**
+     * Gives back the first location of the shortest path between the two locations, breadth first search on the neighbors
+     *
+     * @return Location, null if there is no path
+     */
+    private static Location nextStepTowards(Location from, Location to) {
+        Map<Location, Location> firstSteps = new HashMap<>();
+        Deque<Location> queue = new ArrayDeque<>();
+        for (Location neighbor : from.getNeighbors()) {
+            if (neighbor.getCelestialBody() instanceof Asteroid && firstSteps.putIfAbsent(neighbor, neighbor) == null) {
+                queue.add(neighbor);
+            }
+        }
+        while (!queue.isEmpty()) {
+            Location location = queue.poll();
+            if (location == to) {
+                return firstSteps.get(location);
+            }
+            for (Location neighbor : location.getNeighbors()) {
+                if (neighbor != from && neighbor.getCelestialBody() instanceof Asteroid
+                        && firstSteps.putIfAbsent(neighbor, firstSteps.get(location)) == null) {
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return null;
+    }
+}
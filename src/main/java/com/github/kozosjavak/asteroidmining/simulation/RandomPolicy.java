@@ -0,0 +1,44 @@
+package com.github.kozosjavak.asteroidmining.simulation;
+
+import com.github.kozosjavak.asteroidmining.core.Asteroid;
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.Settler;
+
+import java.util.Random;
+
+/**
+ * Settler policy which chooses a random action in every turn
+ */
+public class RandomPolicy implements SettlerPolicy {
+    private final Random random;
+
+    /**
+     * Basic constructor
+     *
+     * @param random Random
+     */
+    public RandomPolicy(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public void act(Settler settler, Game game) throws Exception {
+        Asteroid asteroid = settler.getCurrentAsteroid();
+        switch (random.nextInt(5)) {
+            case 0:
+                settler.drill();
+                break;
+            case 1:
+                settler.mine();
+                break;
+            case 2:
+                settler.insertMaterial();
+                break;
+            case 3:
+                settler.buildBase();
+                break;
+            default:
+                settler.move(asteroid.getLocation().getRandomNeighbor());
+        }
+    }
+}
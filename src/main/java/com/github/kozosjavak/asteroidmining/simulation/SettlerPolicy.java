@@ -0,0 +1,19 @@
+package com.github.kozosjavak.asteroidmining.simulation;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.Settler;
+
+/**
+ * Automatic player of the settlers, it replaces the GUI in the headless simulations.
+ * Every game gets its own policy instance, so a policy can keep state about its settlers.
+ */
+public interface SettlerPolicy {
+    /**
+     * Does the action of the settler in its turn, doing nothing means passing
+     *
+     * @param settler Settler, who is on turn
+     * @param game    Game
+     * @throws Exception if the action failed, the turn is passed then
+     */
+    void act(Settler settler, Game game) throws Exception;
+}
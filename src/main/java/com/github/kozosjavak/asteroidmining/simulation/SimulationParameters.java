@@ -0,0 +1,82 @@
+package com.github.kozosjavak.asteroidmining.simulation;
+
+/**
+ * Parameters of the games of a headless simulation
+ */
+public class SimulationParameters {
+    private final double worldSize;
+    private final int numberOfAsteroids;
+    private final int maxCrustThickness;
+    private final int numberOfSettlers;
+    private final int numberOfUfos;
+    private final double distanceOfNeighbors;
+    private final int maxRounds;
+
+    /**
+     * Basic constructor
+     *
+     * @param worldSize           double, width and height of the world
+     * @param numberOfAsteroids   int
+     * @param maxCrustThickness   int, at least 2
+     * @param numberOfSettlers    int
+     * @param numberOfUfos        int
+     * @param distanceOfNeighbors double
+     * @param maxRounds           int, the game is undecided after it
+     */
+    public SimulationParameters(double worldSize, int numberOfAsteroids, int maxCrustThickness, int numberOfSettlers, int numberOfUfos, double distanceOfNeighbors, int maxRounds) {
+        if (maxCrustThickness < 2) {
+            throw new IllegalArgumentException("Maximum crust thickness must be at least 2: " + maxCrustThickness);
+        }
+        this.worldSize = worldSize;
+        this.numberOfAsteroids = numberOfAsteroids;
+        this.maxCrustThickness = maxCrustThickness;
+        this.numberOfSettlers = numberOfSettlers;
+        this.numberOfUfos = numberOfUfos;
+        this.distanceOfNeighbors = distanceOfNeighbors;
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Gives back the parameters of the GUI game
+     *
+     * @return SimulationParameters
+     */
+    public static SimulationParameters defaults() {
+        return new SimulationParameters(800, 120, 6, 5, 3, 120, 1000);
+    }
+
+    public double getWorldSize() {
+        return worldSize;
+    }
+
+    public int getNumberOfAsteroids() {
+        return numberOfAsteroids;
+    }
+
+    public int getMaxCrustThickness() {
+        return maxCrustThickness;
+    }
+
+    public int getNumberOfSettlers() {
+        return numberOfSettlers;
+    }
+
+    public int getNumberOfUfos() {
+        return numberOfUfos;
+    }
+
+    public double getDistanceOfNeighbors() {
+        return distanceOfNeighbors;
+    }
+
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    @Override
+    public String toString() {
+        return "world = " + worldSize + " x " + worldSize + ", asteroids = " + numberOfAsteroids + ", crust <= " + maxCrustThickness
+                + ", settlers = " + numberOfSettlers + ", ufos = " + numberOfUfos + ", neighbor distance = " + distanceOfNeighbors
+                + ", max rounds = " + maxRounds;
+    }
+}
@@ -0,0 +1,165 @@
+package com.github.kozosjavak.asteroidmining.benchmark;
+
+import com.github.kozosjavak.asteroidmining.console.CommandDispatcher;
+import com.github.kozosjavak.asteroidmining.console.ConsoleCommandExecutor;
+import com.github.kozosjavak.asteroidmining.core.commands.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Measures the parse throughput of the console: the dispatcher against the old loop, which offered every line to the
+ * 37 entries of the old adapter list (with the duplicates) one by one, each of them split the line again. Only parsing is measured, the commands are not run.
+ * Run it from the IDE or with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.kozosjavak.asteroidmining.benchmark.ConsoleParseBenchmark
+ */
+public class ConsoleParseBenchmark {
+    private static final int LINES = 200_000;
+    private static final int REPEATS = 5;
+    private static final String[] TEMPLATES = {
+            "CreateAsteroid %d %d", "CreateSettler %d", "AddNeighbor %d %d", "SettlerDrill %d", "SettlerMine %d",
+            "SpaceshipMove %d %d", "InsertMaterial %d %d", "CreateMaterial iron", "CreateMaterial uran %d",
+            "SettlerAddMaterial %d %d", "SettlerBuildBase %d", "UfoSteal %d", "ShowGameState", "StartSolarStorm",
+            "AsteroidExplode %d", "SettlerUseTeleport %d %d", "start"
+    };
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        List<String> lines = new ArrayList<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            lines.add(String.format(TEMPLATES[random.nextInt(TEMPLATES.length)], random.nextInt(1000), random.nextInt(1000)));
+        }
+        List<Function<String, Command>> oldList = oldAdapterList();
+        CommandDispatcher dispatcher = new CommandDispatcher(ConsoleCommandExecutor.getAdapters());
+
+        long bestOld = Long.MAX_VALUE;
+        long bestNew = Long.MAX_VALUE;
+        int check = 0;
+        for (int r = 0; r < REPEATS; r++) {
+            long start = System.nanoTime();
+            for (String line : lines) {
+                Command command = oldList.stream()
+                        .map(adapter -> adapter.apply(line))
+                        .filter(Objects::nonNull)
+                        .findFirst()
+                        .orElse(null);
+                check += command == null ? 0 : 1;
+            }
+            bestOld = Math.min(bestOld, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (String line : lines) {
+                check += dispatcher.parse(line) == null ? 0 : 1;
+            }
+            bestNew = Math.min(bestNew, System.nanoTime() - start);
+        }
+        System.out.printf("%12s %15s %15s%n", "parser", "ms / 200k lines", "lines / s");
+        System.out.printf("%12s %15.3f %15.0f%n", "linear", bestOld / 1e6, LINES / (bestOld / 1e9));
+        System.out.printf("%12s %15.3f %15.0f%n", "dispatch", bestNew / 1e6, LINES / (bestNew / 1e9));
+        System.out.printf("speedup = %.1fx (%d commands)%n", (double) bestOld / bestNew, check);
+    }
+
+    /**
+     * The adapter list of the console before the dispatcher, with its duplicates in its order. Every entry is a copy of
+     * the parse method of the old adapter: it splits the line with String.split(" ") and checks the first word.
+     */
+    private static List<Function<String, Command>> oldAdapterList() {
+        Map<String, Function<String, Command>> adapters = new HashMap<>();
+        adapters.put("start", whole("start", StartCommand::new));
+        adapters.put("CreateAsteroid", splitting("CreateAsteroid", splitted -> splitted.length == 3
+                ? new CreateAsteroidCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2]))
+                : new CreateAsteroidCommand(Integer.parseInt(splitted[1]), -1)));
+        adapters.put("CreateMaterial", str -> {
+            String[] splitted = str.split(" ");
+            if (splitted[0].equals("CreateMaterial") && splitted.length > 1) {
+                boolean validMaterial = splitted[1].equals("iron") ||
+                        splitted[1].equals("waterice") ||
+                        splitted[1].equals("uran") ||
+                        splitted[1].equals("coal");
+                if (validMaterial) {
+                    return new CreateMaterialCommand(splitted);
+                }
+            }
+            return null;
+        });
+        adapters.put("SpaceshipMove", splitting("SpaceshipMove", splitted -> splitted.length == 3
+                ? new SpaceshipMoveCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2])) : null));
+        adapters.put("CreateSettler", splitting("CreateSettler", splitted -> splitted.length == 2
+                ? new CreateSettlerCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("AddNeighbor", splitting("AddNeighbor",
+                splitted -> new AddNeighborCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2]))));
+        adapters.put("SettlerDrill", splitting("SettlerDrill", splitted -> splitted.length == 2
+                ? new SettlerDrillCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("InsertMaterial", splitting("InsertMaterial", splitted -> splitted.length == 3
+                ? new InsertMaterialCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2])) : null));
+        adapters.put("LinkTeleports", splitting("LinkTeleports", splitted -> splitted.length == 3
+                ? new LinkTeleportsCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2])) : null));
+        adapters.put("CreateSun", whole("CreateSun", CreateSunCommand::new));
+        adapters.put("SettlerAddMaterial", splitting("SettlerAddMaterial", splitted -> splitted.length == 3
+                ? new SettlerAddMaterialCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2])) : null));
+        adapters.put("SettlerBuildBase", splitting("SettlerBuildBase", splitted -> splitted.length == 2
+                ? new SettlerBuildBaseCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("StartSolarStorm", whole("StartSolarStorm", StartSolarStormCommand::new));
+        adapters.put("SettlerRemoveMaterial", splitting("SettlerRemoveMaterial", splitted -> splitted.length == 2
+                ? new SettlerRemoveMaterialCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("ShowGameState", splitting("ShowGameState", splitted -> new ShowGameStateCommand()));
+        adapters.put("UfoSteal", splitting("UfoSteal", splitted -> splitted.length == 2
+                ? new UfoStealCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("SettlerBuildRobot", splitting("SettlerBuildRobot", splitted -> splitted.length == 2
+                ? new SettlerBuildRobotCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("SettlerBuildTeleport", splitting("SettlerBuildTeleport", splitted -> splitted.length == 2
+                ? new SettlerBuildTeleportCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("CreateRobot", splitting("CreateRobot", splitted -> splitted.length == 2
+                ? new CreateRobotCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("CreateTeleport", whole("CreateTeleport", CreateTeleportCommand::new));
+        adapters.put("AsteroidExplode", splitting("AsteroidExplode", splitted -> splitted.length == 2
+                ? new AsteroidExplodeCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("AddTeleport", splitting("AddTeleport", splitted -> splitted.length == 3
+                ? new AddTeleportCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2])) : null));
+        adapters.put("SettlerUseTeleport", splitting("SettlerUseTeleport", splitted -> splitted.length == 3
+                ? new SettlerUseTeleportCommand(Integer.parseInt(splitted[1]), Integer.parseInt(splitted[2])) : null));
+        adapters.put("SettlerInsertMaterial", splitting("SettlerInsertMaterial", splitted -> splitted.length == 2
+                ? new SettlerInsertMaterialCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("CreateUfo", splitting("CreateUfo", splitted -> splitted.length == 2
+                ? new CreateUfoCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("SettlerMine", splitting("SettlerMine", splitted -> splitted.length == 2
+                ? new SettlerMineCommand(Integer.parseInt(splitted[1])) : null));
+        adapters.put("help", str -> str.equalsIgnoreCase("help") ? new HelpCommand() : null);
+        String[] keywords = {"start", "CreateAsteroid", "CreateMaterial", "SpaceshipMove", "CreateSettler", "AddNeighbor",
+                "CreateSettler", "SettlerDrill", "CreateSettler", "InsertMaterial", "CreateSettler", "LinkTeleports",
+                "CreateSettler", "CreateSun", "SettlerAddMaterial", "SettlerBuildBase", "SettlerAddMaterial",
+                "StartSolarStorm", "SettlerRemoveMaterial", "ShowGameState", "CreateSun", "SettlerAddMaterial", "UfoSteal",
+                "SettlerBuildRobot", "SettlerBuildTeleport", "SettlerBuildRobot", "UfoSteal", "CreateRobot",
+                "CreateTeleport", "AsteroidExplode", "CreateTeleport", "AddTeleport", "SettlerUseTeleport",
+                "SettlerInsertMaterial", "CreateUfo", "SettlerMine", "help"};
+        List<Function<String, Command>> result = new ArrayList<>();
+        for (String keyword : keywords) {
+            result.add(adapters.get(keyword));
+        }
+        return result;
+    }
+
+    /**
+     * Old adapter which splits the line and checks its first word
+     */
+    private static Function<String, Command> splitting(String keyword, Function<String[], Command> command) {
+        return str -> {
+            String[] splitted = str.split(" ");
+            if (splitted[0].equals(keyword)) {
+                return command.apply(splitted);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Old adapter of a command without arguments, it compares the whole line
+     */
+    private static Function<String, Command> whole(String keyword, Supplier<Command> command) {
+        return str -> str.equals(keyword) ? command.get() : null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.kozosjavak.asteroidmining.benchmark;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.commands.Command;
+import com.github.kozosjavak.asteroidmining.core.commands.CommandJournal;
+import com.github.kozosjavak.asteroidmining.core.commands.CreateTeleportCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.JournalReplayer;
+import com.github.kozosjavak.asteroidmining.core.commands.LinkTeleportsCommand;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures the command journal: the write of the records with group commit, the decode and the replay on a game.
+ * The replayed commands link two teleports again and again, so the replay measures the journal and not the world.
+ * Java serialization of the same commands is printed for comparison of the size.
+ * Run it from the IDE or with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.kozosjavak.asteroidmining.benchmark.JournalBenchmark
+ */
+public class JournalBenchmark {
+    private static final int COMMANDS = 2_000_000;
+    private static final int REPEATS = 3;
+
+    public static void main(String[] args) throws IOException {
+        Path path = Files.createTempFile("asteroidmining", ".journal");
+        Command[] commands = new Command[COMMANDS];
+        commands[0] = new CreateTeleportCommand();
+        commands[1] = new CreateTeleportCommand();
+        for (int i = 2; i < COMMANDS; i++) {
+            commands[i] = new LinkTeleportsCommand(i % 2, 1 - i % 2);
+        }
+        PrintStream out = System.out;
+        long bestWrite = Long.MAX_VALUE;
+        long bestDecode = Long.MAX_VALUE;
+        long bestReplay = Long.MAX_VALUE;
+        long check = 0;
+        try {
+            for (int r = 0; r < REPEATS; r++) {
+                Files.delete(path);
+                long start = System.nanoTime();
+                try (CommandJournal journal = new CommandJournal(path, 4096, false)) {
+                    for (Command command : commands) {
+                        journal.append(command);
+                    }
+                }
+                bestWrite = Math.min(bestWrite, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                check += JournalReplayer.forEach(path, command -> {
+                });
+                bestDecode = Math.min(bestDecode, System.nanoTime() - start);
+
+                //the teleports print their IDs at creation
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                start = System.nanoTime();
+                check += JournalReplayer.replay(path, new Game(1000, 1000));
+                bestReplay = Math.min(bestReplay, System.nanoTime() - start);
+                System.setOut(out);
+            }
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream stream = new ObjectOutputStream(serialized)) {
+                for (int i = 0; i < 100_000; i++) {
+                    stream.writeObject(commands[i]);
+                    stream.reset();
+                }
+            }
+            System.out.printf("%10s %15s %15s%n", "phase", "ms / 2M", "commands / s");
+            System.out.printf("%10s %15.3f %15.0f%n", "write", bestWrite / 1e6, COMMANDS / (bestWrite / 1e9));
+            System.out.printf("%10s %15.3f %15.0f%n", "decode", bestDecode / 1e6, COMMANDS / (bestDecode / 1e9));
+            System.out.printf("%10s %15.3f %15.0f%n", "replay", bestReplay / 1e6, COMMANDS / (bestReplay / 1e9));
+            System.out.printf("journal = %.2f bytes / command, serialization = %.2f bytes / command (%d)%n",
+                    (Files.size(path) - 8) / (double) COMMANDS, serialized.size() / 100_000.0, check);
+        } finally {
+            System.setOut(out);
+            Files.deleteIfExists(path);
+        }
+    }
+}
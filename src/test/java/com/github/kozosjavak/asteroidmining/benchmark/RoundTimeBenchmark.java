@@ -0,0 +1,60 @@
+package com.github.kozosjavak.asteroidmining.benchmark;
+
+import com.github.kozosjavak.asteroidmining.core.Asteroid;
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.Location;
+import com.github.kozosjavak.asteroidmining.core.Sun;
+import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+/**
+ * Measures the time of one round (stepping every location) against the number of asteroids.
+ * Run it from the IDE or with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.kozosjavak.asteroidmining.benchmark.RoundTimeBenchmark
+ */
+public class RoundTimeBenchmark {
+    private static final double NEIGHBOR_DISTANCE = 120;
+    /**
+     * Average area of one asteroid, the world grows with the number of asteroids so the density stays the same
+     */
+    private static final double AREA_PER_ASTEROID = 80 * 80;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int[] counts = {1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000};
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        out.printf("%10s %15s%n", "asteroids", "ms / round");
+        for (int count : counts) {
+            Game game = createWorld(count, new Random(42));
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                game.stepLocations(NEIGHBOR_DISTANCE);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                game.stepLocations(NEIGHBOR_DISTANCE);
+            }
+            double millis = (System.nanoTime() - start) / 1e6 / MEASURED_ROUNDS;
+            out.printf("%10d %15.3f%n", count, millis);
+        }
+        System.setOut(out);
+    }
+
+    private static Game createWorld(int numberOfAsteroids, Random random) {
+        double side = Math.sqrt(numberOfAsteroids * AREA_PER_ASTEROID);
+        Game game = new Game(side, side);
+        game.getSpatialGrid().rebuild(NEIGHBOR_DISTANCE, game.getLocationList());
+        Location sunLocation = new Location(game, side / 2, side / 2);
+        game.setSun(new Sun(sunLocation));
+        game.addLocation(sunLocation);
+        for (int i = 0; i < numberOfAsteroids; i++) {
+            Location location = new Location(game, random.nextDouble() * side, random.nextDouble() * side);
+            new Asteroid(location, 1 + random.nextInt(5), new Coal());
+            game.addLocation(location);
+        }
+        return game;
+    }
+}
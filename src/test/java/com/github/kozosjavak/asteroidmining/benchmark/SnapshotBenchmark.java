@@ -0,0 +1,54 @@
+package com.github.kozosjavak.asteroidmining.benchmark;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.GameSnapshot;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures the save and the load of the snapshot of a generated world against the number of asteroids.
+ * Run it from the IDE or with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.kozosjavak.asteroidmining.benchmark.SnapshotBenchmark
+ * The world of a million asteroids needs a few gigabytes of heap (e.g. MAVEN_OPTS=-Xmx3g).
+ */
+public class SnapshotBenchmark {
+    private static final double NEIGHBOR_DISTANCE = 120;
+    /**
+     * Average area of one asteroid, the world grows with the number of asteroids so the density stays the same
+     */
+    private static final double AREA_PER_ASTEROID = 80 * 80;
+    private static final int REPEATS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int[] counts = {10_000, 100_000, 1_000_000};
+        Path path = Files.createTempFile("asteroidmining", ".snapshot");
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            out.printf("%10s %15s %15s %15s%n", "asteroids", "ms / save", "ms / load", "bytes / asteroid");
+            for (int count : counts) {
+                double side = Math.sqrt(count * AREA_PER_ASTEROID);
+                Game game = new Game(side, side, count);
+                game.generateWorld(count, 6, 10, 10, NEIGHBOR_DISTANCE);
+                long bestSave = Long.MAX_VALUE;
+                long bestLoad = Long.MAX_VALUE;
+                int check = 0;
+                for (int i = 0; i < REPEATS; i++) {
+                    long start = System.nanoTime();
+                    GameSnapshot.save(game, path);
+                    bestSave = Math.min(bestSave, System.nanoTime() - start);
+                    start = System.nanoTime();
+                    check += GameSnapshot.load(path).getLocationList().size();
+                    bestLoad = Math.min(bestLoad, System.nanoTime() - start);
+                }
+                out.printf("%10d %15.3f %15.3f %15.1f (%d)%n", count, bestSave / 1e6, bestLoad / 1e6,
+                        Files.size(path) / (double) count, check);
+            }
+        } finally {
+            System.setOut(out);
+            Files.deleteIfExists(path);
+        }
+    }
+}
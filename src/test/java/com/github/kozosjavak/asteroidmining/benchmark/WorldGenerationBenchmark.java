@@ -0,0 +1,44 @@
+package com.github.kozosjavak.asteroidmining.benchmark;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.PoissonDiskSampler;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+/**
+ * Measures the time of the asteroid placement and of the whole world generation against the number of asteroids.
+ * Run it from the IDE or with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.github.kozosjavak.asteroidmining.benchmark.WorldGenerationBenchmark
+ */
+public class WorldGenerationBenchmark {
+    private static final double NEIGHBOR_DISTANCE = 120;
+    /**
+     * Average area of one asteroid, the world grows with the number of asteroids so the density stays the same
+     */
+    private static final double AREA_PER_ASTEROID = 80 * 80;
+    private static final int REPEATS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int[] counts = {1_000, 10_000, 100_000};
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        out.printf("%10s %15s %15s%n", "asteroids", "ms / placement", "ms / world");
+        for (int count : counts) {
+            double side = Math.sqrt(count * AREA_PER_ASTEROID);
+            long bestPlacement = Long.MAX_VALUE;
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < REPEATS; i++) {
+                long placementStart = System.nanoTime();
+                new PoissonDiskSampler(side, side, Game.COLLISION_DISTANCE, new Random(i)).sample(count, side / 2, side / 2);
+                bestPlacement = Math.min(bestPlacement, System.nanoTime() - placementStart);
+                Game game = new Game(side, side);
+                long start = System.nanoTime();
+                game.generateWorld(count, 6, 0, 0, NEIGHBOR_DISTANCE);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            out.printf("%10d %15.3f %15.3f%n", count, bestPlacement / 1e6, best / 1e6);
+        }
+        System.setOut(out);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.kozosjavak.asteroidmining.console;
+
+import com.github.kozosjavak.asteroidmining.console.adapter.CommandLine;
+import com.github.kozosjavak.asteroidmining.console.adapter.HelpAdapter;
+import com.github.kozosjavak.asteroidmining.console.adapter.StringCommandAdapter;
+import com.github.kozosjavak.asteroidmining.core.commands.Command;
+import com.github.kozosjavak.asteroidmining.core.commands.CreateAsteroidCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.HelpCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.ShowGameStateCommand;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CommandDispatcherTest {
+    private final CommandDispatcher dispatcher = new CommandDispatcher(ConsoleCommandExecutor.getAdapters());
+
+    @Test
+    public void it_should_split_the_line_as_split_does() {
+        String[] lines = {"CreateAsteroid 1 2", "a  b", "a b  ", " a", "", "   ", "ShowGameState"};
+        for (String line : lines) {
+            assertArrayEquals(line, line.split(" "), new CommandLine(line).toArray());
+        }
+        CommandLine line = new CommandLine("SpaceshipMove 12 -3");
+        assertEquals("SpaceshipMove", line.getKeyword());
+        assertEquals(12, line.getInt(1));
+        assertEquals(-3, line.getInt(2));
+    }
+
+    @Test
+    public void it_should_find_the_adapter_by_the_keyword() {
+        assertTrue(dispatcher.parse("CreateAsteroid 3 1") instanceof CreateAsteroidCommand);
+        assertTrue(dispatcher.parse("ShowGameState") instanceof ShowGameStateCommand);
+        assertTrue(dispatcher.parse("HELP") instanceof HelpCommand);
+        assertTrue(dispatcher.parse("hElp") instanceof HelpCommand);
+        assertNull(dispatcher.parse("createasteroid 3 1"));
+        assertNull(dispatcher.parse("CreateSun 3"));
+        assertNull(dispatcher.parse("Unknown 1 2"));
+        assertNull(dispatcher.parse(""));
+    }
+
+    @Test
+    public void it_should_not_offer_an_unknown_keyword_to_the_adapters() {
+        int[] parsed = new int[1];
+        StringCommandAdapter counting = new StringCommandAdapter() {
+            @Override
+            public String getKeyword() {
+                return "Count";
+            }
+
+            @Override
+            public Command parse(CommandLine line) {
+                parsed[0]++;
+                return new HelpCommand();
+            }
+        };
+        CommandDispatcher counted = new CommandDispatcher(List.of(counting, new HelpAdapter()));
+
+        assertNull(counted.parse("Unknown 1 2"));
+        assertNull(counted.parse("count"));
+        assertEquals(0, parsed[0]);
+        assertNotNull(counted.parse("Count"));
+        assertEquals(1, parsed[0]);
+        assertTrue(counted.parse("Help") instanceof HelpCommand);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void it_should_fail_on_a_wrong_number_as_before() {
+        dispatcher.parse("SettlerDrill x");
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.*;
+
+public class ActiveSetTest {
+    private final PrintStream out = System.out;
+    private Game game;
+    private Location first;
+    private Location second;
+    private Asteroid firstAsteroid;
+    private Asteroid secondAsteroid;
+
+    @Before
+    public void setUp() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        game = new Game(1000, 1000, 3);
+        first = new Location(game, 10.0, 10.0);
+        second = new Location(game, 60.0, 10.0);
+        firstAsteroid = new Asteroid(first, 0, null);
+        secondAsteroid = new Asteroid(second, 3, null);
+        game.addLocation(first);
+        game.addLocation(second);
+    }
+
+    @After
+    public void tearDown() {
+        System.setOut(out);
+    }
+
+    @Test
+    public void it_should_skip_the_empty_asteroids() {
+        assertFalse(game.getActiveSet().isActive(first));
+        assertEquals(-1, game.getActiveSet().nextActive(0));
+        new Settler(firstAsteroid);
+        assertEquals(0, game.getActiveSet().size());
+    }
+
+    @Test
+    public void it_should_follow_the_robots() {
+        Robot robot = new Robot(firstAsteroid);
+        assertTrue(game.getActiveSet().isActive(first));
+        assertEquals(first.getIndex(), game.getActiveSet().nextActive(0));
+        robot.move(second);
+        assertFalse(game.getActiveSet().isActive(first));
+        assertTrue(game.getActiveSet().isActive(second));
+        robot.die();
+        assertEquals(0, game.getActiveSet().size());
+    }
+
+    @Test
+    public void it_should_keep_the_sun_and_the_teleports() {
+        Location sunLocation = new Location(game, 500.0, 500.0);
+        new Sun(sunLocation);
+        game.addLocation(sunLocation);
+        Teleport teleport = new Teleport();
+        teleport.deployTeleport(first);
+        assertTrue(game.getActiveSet().isActive(sunLocation));
+        assertTrue(game.getActiveSet().isActive(first));
+        first.fullClearByExplosion();
+        assertFalse(game.getActiveSet().isActive(first));
+        assertEquals(1, game.getActiveSet().size());
+    }
+
+    @Test
+    public void it_should_step_the_robot_which_arrives_to_a_later_location() {
+        game.getNeighborGraph().rebuild(60);
+        Robot robot = new Robot(firstAsteroid);
+        //the robot flies to the only neighbor, which is in the same tile, and drills there in the same round
+        game.stepLocations(60);
+        assertSame(secondAsteroid, robot.getCurrentAsteroid());
+        assertEquals(2, secondAsteroid.getSurfaceThickness());
+    }
+}
@@ -2,7 +2,7 @@ package com.github.kozosjavak.asteroidmining.core;
 
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class CoordinateTest {
     @Test
@@ -40,4 +40,40 @@ public class CoordinateTest {
 
     }
 
+
+    @Test
+    public void it_should_write_the_coordinate_of_a_location_into_the_store() {
+        Game game = new Game(100, 100);
+        Location location = new Location(game, 3.0, 4.0);
+        CoordinateStore store = game.getCoordinateStore();
+        assertEquals(3.0, store.getX(location.getIndex()), 0.0);
+
+        location.getCoordinate().updateCoordinates(6.0, 8.0);
+
+        assertEquals(6.0, store.getX(location.getIndex()), 0.0);
+        assertEquals(8.0, store.getY(location.getIndex()), 0.0);
+        assertEquals(100.0, location.getCoordinate().getDistanceSquared(new Coordinate(0, 0)), 0.0);
+        assertEquals(10.0, location.getCoordinate().getDistance(new Coordinate(0, 0)), 0.0);
+    }
+
+    @Test
+    public void it_should_filter_the_indexes_in_the_radius() {
+        Game game = new Game(100, 100);
+        Location center = new Location(game, 0.0, 0.0);
+        Location inside = new Location(game, 3.0, 4.0);
+        Location outside = new Location(game, 5.0, 5.0);
+        CoordinateStore store = game.getCoordinateStore();
+        int[] indexes = {outside.getIndex(), inside.getIndex(), center.getIndex()};
+        int[] out = new int[4];
+        out[0] = 42;
+
+        int count = store.filterWithin(indexes, 3, 0, 0, 25, center.getIndex(), out, 1);
+
+        assertEquals(2, count);
+        assertEquals(42, out[0]);
+        assertEquals(inside.getIndex(), out[1]);
+        assertTrue(store.anyCloserThan(indexes, 3, 0, 0, 25.01, center.getIndex()));
+        assertFalse(store.anyCloserThan(indexes, 3, 0, 0, 25, center.getIndex()));
+        assertSame(inside, store.getLocation(inside.getIndex()));
+    }
 }
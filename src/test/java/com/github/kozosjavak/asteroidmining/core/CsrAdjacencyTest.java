@@ -0,0 +1,97 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CsrAdjacencyTest {
+    private Game game;
+    private CsrAdjacency csr;
+
+    @Before
+    public void setUp() {
+        game = new Game(1000, 1000);
+        csr = game.getNeighborGraph().getCsr();
+    }
+
+    private Location locationAt(double x, double y) {
+        Location location = new Location(game, x, y);
+        new Asteroid(location, 2, new Coal());
+        game.addLocation(location);
+        return location;
+    }
+
+    @Test
+    public void it_should_keep_the_rows_when_they_grow_and_are_packed() {
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            locations.add(locationAt(i, i));
+        }
+        Location first = locations.get(0);
+        Location second = locations.get(1);
+        for (int i = 2; i < 20; i++) {
+            first.addNeighbor(locations.get(i));
+            second.addNeighbor(locations.get(21 - i));
+        }
+        first.removeNeighbor(locations.get(5));
+        first.getNeighbors().add(0, second);
+
+        List<Location> expected = new ArrayList<>();
+        expected.add(second);
+        for (int i = 2; i < 20; i++) {
+            if (i != 5) {
+                expected.add(locations.get(i));
+            }
+        }
+        assertEquals(expected, first.getNeighbors());
+        assertEquals(18, second.getNeighbors().size());
+        assertEquals(locations.get(19), second.getNeighbors().get(0));
+
+        csr.compact();
+
+        assertEquals(expected, first.getNeighbors());
+        assertEquals(locations.get(2), second.getNeighbors().get(17));
+        assertEquals(csr.getEdgeCount(), expected.size() + 18);
+    }
+
+    @Test
+    public void it_should_pack_the_graph_after_a_rebuild() {
+        Random random = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            locationAt(random.nextDouble() * 1000, random.nextDouble() * 1000);
+        }
+        game.getNeighborGraph().rebuild(120);
+
+        int edges = 0;
+        for (Location location : game.getLocationList()) {
+            edges += location.getNeighbors().size();
+            for (int k = 0; k < location.getNeighbors().size(); k++) {
+                assertEquals(csr.neighbor(location.getIndex(), k), location.getNeighbors().get(k));
+            }
+        }
+        assertEquals(edges, csr.getEdgeCount());
+        assertEquals(Math.max(64, edges), csr.getCapacity());
+    }
+
+    @Test
+    public void it_should_give_back_a_random_neighbor_from_the_row() throws NoNeighborException {
+        Location location = locationAt(0, 0);
+        Location neighbor = locationAt(10, 10);
+        try {
+            location.getRandomNeighbor();
+            fail();
+        } catch (NoNeighborException expected) {
+        }
+        location.addNeighbor(neighbor);
+        assertSame(neighbor, location.getRandomNeighbor());
+        assertSame(neighbor, location.getRandomNeighborWithNoTeleport());
+        assertTrue(location.getNeighbors().contains(neighbor));
+        assertFalse(neighbor.getNeighbors().contains(location));
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import com.github.kozosjavak.asteroidmining.core.commands.CreateAsteroidCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.CreateSettlerCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.CreateSunCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.CreateUfoCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.StartSolarStormCommand;
+import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
+import com.github.kozosjavak.asteroidmining.core.materials.types.Iron;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EntityRegistryTest {
+    private EntityRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new EntityRegistry();
+    }
+
+    @Test
+    public void it_should_reuse_the_slot_of_a_released_object() {
+        Coal first = new Coal();
+        registry.register(first);
+        registry.release(first);
+        Coal second = new Coal();
+        registry.register(second);
+        assertEquals(1, registry.getSlotCount());
+        assertEquals(1, registry.getId(second));
+    }
+
+    @Test
+    public void stale_handle_should_not_resolve_to_the_new_object() {
+        Coal first = new Coal();
+        registry.register(first);
+        int staleHandle = registry.getHandle(first);
+        registry.release(first);
+        Coal second = new Coal();
+        registry.register(second);
+        assertNull(registry.resolve(staleHandle));
+        assertSame(second, registry.resolve(registry.getHandle(second)));
+        assertNotEquals(staleHandle, registry.getHandle(second));
+    }
+
+    @Test
+    public void it_should_count_the_live_objects_by_type() {
+        Coal coal = new Coal();
+        registry.register(coal);
+        registry.register(new Coal());
+        registry.register(new Iron());
+        registry.release(coal);
+        assertEquals(1, registry.getLiveCount(Coal.class));
+        assertEquals(1, registry.getLiveCount(Iron.class));
+        assertEquals(0, registry.getLiveCount(Settler.class));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void it_should_find_many_ids_after_releases() {
+        Object[] objects = new Object[10_000];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = new Object();
+            assertEquals(i, registry.register(objects[i]));
+        }
+        for (int i = 0; i < objects.length; i += 2) {
+            registry.release(objects[i]);
+        }
+        for (int i = 0; i < objects.length; i++) {
+            assertEquals(i % 2 == 0 ? null : objects[i], registry.get(i));
+        }
+        assertEquals(objects.length / 2, registry.size());
+    }
+
+    @Test
+    public void it_should_visit_the_live_objects_in_the_order_of_their_ids() {
+        Object[] objects = new Object[100];
+        for (int i = 0; i < 40; i++) {
+            objects[i] = new Object();
+            registry.register(objects[i]);
+        }
+        for (int i = 0; i < 40; i += 3) {
+            registry.release(objects[i]);
+        }
+        for (int i = 40; i < objects.length; i++) {
+            objects[i] = new Object();
+            registry.register(objects[i]);
+        }
+        List<Object> visited = new ArrayList<>();
+        registry.forEachLive(visited::add);
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < objects.length; i++) {
+            if (i >= 40 || i % 3 != 0) {
+                expected.add(objects[i]);
+            }
+        }
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    public void heap_should_stay_flat_over_a_million_create_destroy_cycles() {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            Game game = new Game(1000, 1000);
+            new CreateSunCommand().apply(game);
+            new CreateAsteroidCommand(1, -1).apply(game);
+            StartSolarStormCommand storm = new StartSolarStormCommand();
+
+            runCycles(game, storm, 50_000);
+            long usedBefore = usedHeap();
+            runCycles(game, storm, 1_000_000);
+            long usedAfter = usedHeap();
+
+            EntityRegistry ids = game.getIdRegistry();
+            assertEquals(2, ids.size());
+            assertTrue(ids.getSlotCount() <= 3);
+            assertEquals(0, ids.getLiveCount(Ufo.class));
+            assertEquals(0, ids.getLiveCount(Settler.class));
+            assertTrue("Heap grew by " + (usedAfter - usedBefore) + " bytes", usedAfter - usedBefore < 8 * 1024 * 1024);
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    private static void runCycles(Game game, StartSolarStormCommand storm, int cycles) {
+        for (int i = 0; i < cycles; i++) {
+            if (i % 2 == 0) {
+                new CreateUfoCommand(1).apply(game);
+            } else {
+                new CreateSettlerCommand(1).apply(game);
+            }
+            storm.apply(game);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
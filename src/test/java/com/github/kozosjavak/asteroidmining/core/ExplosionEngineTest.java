@@ -0,0 +1,96 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import com.github.kozosjavak.asteroidmining.core.materials.types.Uranium;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.*;
+
+public class ExplosionEngineTest {
+    private final PrintStream out = System.out;
+    private Game game;
+
+    @Before
+    public void setUp() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        game = new Game(1000, 1000, 5);
+    }
+
+    @After
+    public void tearDown() {
+        System.setOut(out);
+    }
+
+    /**
+     * Uranium which explodes at the next heat
+     */
+    private static Uranium hotUranium() {
+        Uranium uranium = new Uranium();
+        uranium.setState(2);
+        return uranium;
+    }
+
+    @Test
+    public void it_should_explode_the_asteroid_once_after_the_heat() throws Exception {
+        Location location = new Location(game, 10.0, 10.0);
+        Asteroid asteroid = new Asteroid(location, 0, null);
+        asteroid.insertMaterial(hotUranium());
+        Settler settler = new Settler(asteroid);
+        settler.getInventory().add(hotUranium());
+        Settler other = new Settler(asteroid);
+        other.getInventory().add(hotUranium());
+
+        asteroid.experienceExtremeHeat();
+
+        assertTrue(asteroid.isDestroyed());
+        assertNull(location.getCelestialBody());
+        assertNull(settler.getCurrentAsteroid());
+        assertNull(other.getCurrentAsteroid());
+        ExplosionReport report = game.getExplosionEngine().endRound();
+        assertEquals(1, report.getCascades());
+        assertEquals(1, report.getExplosions());
+        assertEquals(1, report.getLargestCascade());
+        assertEquals(ExplosionReport.NONE.getExplosions(), game.getExplosionEngine().endRound().getExplosions());
+    }
+
+    @Test
+    public void it_should_collect_the_explosions_of_a_heat_wave_in_one_cascade() throws Exception {
+        Location sunLocation = new Location(game, 500.0, 500.0);
+        Sun sun = new Sun(sunLocation);
+        game.addLocation(sunLocation);
+        for (int i = 0; i < 3; i++) {
+            Location location = new Location(game, 450.0 + 50 * i, 560.0);
+            Asteroid asteroid = new Asteroid(location, 0, null);
+            asteroid.insertMaterial(hotUranium());
+            game.addLocation(location);
+        }
+
+        sun.experienceExtremeHeat();
+
+        ExplosionReport report = game.getExplosionEngine().endRound();
+        assertEquals(1, report.getCascades());
+        assertEquals(3, report.getExplosions());
+        assertEquals(1, report.getDeepestCascade());
+    }
+
+    @Test
+    public void it_should_destroy_the_robot_which_has_nowhere_to_go() throws Exception {
+        Location location = new Location(game, 10.0, 10.0);
+        Asteroid asteroid = new Asteroid(location, 0, null);
+        Robot robot = new Robot(asteroid);
+        try {
+            asteroid.explode();
+            fail();
+        } catch (NoNeighborException e) {
+            assertNull(location.getCelestialBody());
+            assertNull(robot.getCurrentAsteroid());
+        }
+        //already exploded
+        asteroid.explode();
+        assertEquals(1, game.getExplosionEngine().endRound().getExplosions());
+    }
+}
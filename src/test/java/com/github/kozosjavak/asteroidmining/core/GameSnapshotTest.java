@@ -0,0 +1,161 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import com.github.kozosjavak.asteroidmining.core.materials.MaterialType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class GameSnapshotTest {
+    private final PrintStream out = System.out;
+
+    @Before
+    public void setUp() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @After
+    public void tearDown() {
+        System.setOut(out);
+    }
+
+    @Test
+    public void it_should_give_back_the_same_snapshot_after_loading() throws Exception {
+        Game game = playedGame();
+        byte[] snapshot = GameSnapshot.toBytes(game);
+        Game loaded = GameSnapshot.fromBytes(snapshot);
+        assertArrayEquals(snapshot, GameSnapshot.toBytes(loaded));
+        assertEquals(game.toString(0), loaded.toString(0));
+        assertEquals(game.getLocationList().size(), loaded.getLocationList().size());
+        assertEquals(game.getSettlers().size(), loaded.getSettlers().size());
+    }
+
+    @Test
+    public void it_should_go_on_like_the_saved_game() throws Exception {
+        Game game = playedGame();
+        Game loaded = GameSnapshot.fromBytes(GameSnapshot.toBytes(game));
+        for (int i = 0; i < 10; i++) {
+            game.stepLocations(120);
+            loaded.stepLocations(120);
+        }
+        assertArrayEquals(GameSnapshot.toBytes(game), GameSnapshot.toBytes(loaded));
+        assertEquals(game.toString(0), loaded.toString(0));
+    }
+
+    @Test
+    public void it_should_keep_the_teleport_pairs() throws Exception {
+        Game game = playedGame();
+        Game loaded = GameSnapshot.fromBytes(GameSnapshot.toBytes(game));
+        int teleports = 0;
+        for (Location location : loaded.getLocationList()) {
+            Teleport teleport = location.getTeleport();
+            if (teleport != null) {
+                teleports++;
+                assertSame(location, teleport.getLocation());
+                assertSame(teleport, teleport.getPair().getPair());
+            }
+        }
+        assertEquals(1, teleports);
+    }
+
+    @Test(expected = IOException.class)
+    public void it_should_not_load_a_broken_snapshot() throws Exception {
+        byte[] snapshot = GameSnapshot.toBytes(playedGame());
+        GameSnapshot.fromBytes(Arrays.copyOf(snapshot, snapshot.length / 2));
+    }
+
+    @Test
+    public void it_should_save_and_load_through_a_file() throws Exception {
+        Game game = playedGame();
+        Path path = Files.createTempFile("asteroidmining", ".snapshot");
+        try {
+            long written = GameSnapshot.save(game, path);
+            assertEquals(Files.size(path), written);
+            Game loaded = GameSnapshot.load(path);
+            assertArrayEquals(GameSnapshot.toBytes(game), GameSnapshot.toBytes(loaded));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void it_should_build_the_same_heat_zone() throws Exception {
+        Game game = playedGame();
+        Game loaded = GameSnapshot.fromBytes(GameSnapshot.toBytes(game));
+        Sun sun = loaded.getSun();
+        assertEquals(loaded.getSpatialGrid().query(sun.getLocation().getCoordinate(), Sun.SOLAR_RADIUS, sun.getLocation()),
+                loaded.getSunProximity().getHeatZone(sun));
+        assertEquals(game.getSunProximity().getHeatZone(game.getSun()).size(), loaded.getSunProximity().getHeatZone(sun).size());
+    }
+
+    @Test
+    public void it_should_check_a_count_against_the_rest_of_the_snapshot_before_allocating() throws Exception {
+        byte[] snapshot = GameSnapshot.toBytes(playedGame());
+        //the count of the material types comes after the header, the bounds, the seed, three streams, two flags and
+        //two doubles; it is replaced by 2^30 (zigzag varint)
+        int offset = 8 + 16 + 8 + 3 * 16 + 2 + 16;
+        byte[] huge = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x08};
+        byte[] broken = new byte[snapshot.length + huge.length - 1];
+        System.arraycopy(snapshot, 0, broken, 0, offset);
+        System.arraycopy(huge, 0, broken, offset, huge.length);
+        System.arraycopy(snapshot, offset + 1, broken, offset + huge.length, snapshot.length - offset - 1);
+        try {
+            GameSnapshot.fromBytes(broken);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("1073741824 elements don't fit"));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void it_should_not_load_a_snapshot_with_a_wrong_checksum() throws Exception {
+        byte[] snapshot = GameSnapshot.toBytes(playedGame());
+        snapshot[snapshot.length - 1] ^= 1;
+        GameSnapshot.fromBytes(snapshot);
+    }
+
+    @Test(expected = IOException.class)
+    public void it_should_not_load_an_other_version() throws Exception {
+        byte[] snapshot = GameSnapshot.toBytes(playedGame());
+        ByteBuffer.wrap(snapshot).putInt(4, GameSnapshot.VERSION + 1);
+        GameSnapshot.fromBytes(snapshot);
+    }
+
+    /**
+     * Generates a world, a settler builds a teleport pair and deploys one of it, then a few rounds are played
+     */
+    private static Game playedGame() throws Exception {
+        Game game = new Game(1500, 1500, 21);
+        game.generateWorld(300, 6, 4, 20, 120);
+        for (Location location : game.getLocationList()) {
+            Orb orb = location.getCelestialBody();
+            game.putInIdList(orb);
+            if (orb instanceof Asteroid) {
+                for (Spaceship spaceship : ((Asteroid) orb).getResidence()) {
+                    game.putInIdList(spaceship);
+                }
+            }
+        }
+        Settler settler = (Settler) game.getSettlers().get(0);
+        settler.addToInventory(MaterialType.IRON.newUnit());
+        settler.addToInventory(MaterialType.IRON.newUnit());
+        settler.addToInventory(MaterialType.WATERICE.newUnit());
+        settler.addToInventory(MaterialType.URANIUM.newUnit());
+        settler.addToInventory(MaterialType.URANIUM.newUnit());
+        settler.buildTeleportPair();
+        settler.deployTeleport();
+        for (int i = 0; i < 5; i++) {
+            game.stepLocations(120);
+        }
+        return game;
+    }
+}
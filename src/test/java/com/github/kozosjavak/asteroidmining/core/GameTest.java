@@ -0,0 +1,112 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.*;
+
+public class GameTest {
+    private final PrintStream out = System.out;
+    private Game game;
+
+    @Before
+    public void setUp() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        game = new Game(1000, 1000);
+    }
+
+    @After
+    public void tearDown() {
+        System.setOut(out);
+    }
+
+    @Test
+    public void it_should_number_the_objects_in_registration_order() {
+        Coal first = new Coal();
+        Coal second = new Coal();
+        game.putInIdList(first);
+        game.putInIdList(second);
+        assertEquals(0, game.getId(first));
+        assertEquals(1, game.getId(second));
+        assertSame(first, game.getObjectFromID(0));
+        assertSame(second, game.getObjectFromID(1));
+    }
+
+    @Test
+    public void it_should_not_find_unknown_objects() {
+        game.putInIdList(new Coal());
+        assertEquals(-1, game.getId(new Coal()));
+        assertEquals(-1, game.getId(null));
+        assertNull(game.getObjectFromID(1));
+        assertNull(game.getObjectFromID(-1));
+    }
+
+    @Test
+    public void registering_twice_should_keep_the_first_id() {
+        Coal coal = new Coal();
+        game.putInIdList(coal);
+        game.putInIdList(coal);
+        assertEquals(0, game.getId(coal));
+        assertSame(coal, game.getObjectFromID(0));
+        //the second registration uses up an ID like the old ID list did, the next object is numbered the same way
+        assertNull(game.getObjectFromID(1));
+        Coal next = new Coal();
+        game.putInIdList(next);
+        assertEquals(2, game.getId(next));
+    }
+
+    @Test
+    public void dead_objects_should_not_be_found_by_their_id() {
+        Coal dead = new Coal();
+        game.putInIdList(dead);
+        game.removeFromIdList(dead);
+        Coal next = new Coal();
+        game.putInIdList(next);
+        assertNull(game.getObjectFromID(0));
+        assertEquals(-1, game.getId(dead));
+        assertEquals(1, game.getId(next));
+        assertSame(next, game.getObjectFromID(1));
+    }
+
+    @Test
+    public void same_seed_should_give_the_same_game() throws Exception {
+        assertEquals(playRounds(12345, 30), playRounds(12345, 30));
+        assertNotEquals(playRounds(12345, 30), playRounds(54321, 30));
+    }
+
+    /**
+     * Generates a world, steps it and gives back the state of every location
+     */
+    private static String playRounds(long seed, int rounds) throws Exception {
+        Game game = new Game(800, 800, seed);
+        game.generateWorld(120, 6, 5, 3, 120);
+        for (int i = 0; i < rounds; i++) {
+            game.stepLocations(120);
+        }
+        StringBuilder state = new StringBuilder();
+        for (Location location : game.getLocationList()) {
+            state.append(location.getCoordinate().getX()).append(',').append(location.getCoordinate().getY());
+            Orb orb = location.getCelestialBody();
+            if (orb instanceof Asteroid) {
+                Asteroid asteroid = (Asteroid) orb;
+                state.append(" crust=").append(asteroid.getSurfaceThickness())
+                        .append(" texture=").append(asteroid.getTexture_index())
+                        .append(" substance=").append(asteroid.getSubstance())
+                        .append(" materials=").append(asteroid.getMaterials())
+                        .append(" residence=");
+                for (Spaceship spaceship : asteroid.getResidence()) {
+                    state.append(spaceship.getClass().getSimpleName()).append(' ');
+                }
+            } else {
+                state.append(' ').append(orb == null ? "empty" : "sun");
+            }
+            state.append('\n');
+        }
+        return state.toString();
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class NeighborGraphTest {
+    private Game game;
+    private NeighborGraph graph;
+
+    @Before
+    public void setUp() {
+        game = new Game(1000, 1000);
+        graph = game.getNeighborGraph();
+        Random random = new Random(3);
+        for (int i = 0; i < 300; i++) {
+            Location location = new Location(game, random.nextDouble() * 1000, random.nextDouble() * 1000);
+            new Asteroid(location, 2, new Coal());
+            game.addLocation(location);
+        }
+        graph.rebuild(120);
+    }
+
+    private void assertSameAsFullRefresh() {
+        for (Location location : game.getLocationList()) {
+            if (location.getCelestialBody() == null) {
+                continue;
+            }
+            List<Location> expected = new ArrayList<>();
+            for (Location other : game.getLocationList()) {
+                if (other != location && other.getCelestialBody() != null && other.getCoordinate().getDistance(location.getCoordinate()) <= 120) {
+                    expected.add(other);
+                }
+            }
+            assertEquals(expected, location.getNeighbors());
+        }
+    }
+
+    private void trackAll(NeighborGraph.DistanceClass distanceClass) {
+        for (Location location : game.getLocationList()) {
+            graph.track(distanceClass, location);
+        }
+    }
+
+    private void assertClassSameAsFullRefresh(NeighborGraph.DistanceClass distanceClass) {
+        for (Location location : game.getLocationList()) {
+            if (location.getCelestialBody() == null) {
+                continue;
+            }
+            List<Location> expected = new ArrayList<>();
+            for (Location other : game.getLocationList()) {
+                if (other != location && other.getCelestialBody() != null
+                        && other.getCoordinate().getDistance(location.getCoordinate()) <= distanceClass.getRadius()) {
+                    expected.add(other);
+                }
+            }
+            assertEquals(expected, graph.getAdjacency(location, distanceClass));
+        }
+    }
+
+    @Test
+    public void static_field_should_not_be_patched() throws Exception {
+        long patches = graph.getPatchCount();
+        for (Location location : game.getLocationList()) {
+            location.step(120);
+        }
+        assertEquals(patches, graph.getPatchCount());
+        assertSameAsFullRefresh();
+    }
+
+    @Test
+    public void moved_location_should_be_patched() {
+        Location moving = game.getLocation(5);
+        long patches = graph.getPatchCount();
+        moving.getCoordinate().updateCoordinates(10, 10);
+        moving.getCoordinate().updateCoordinates(500, 500);
+        graph.update(120);
+        assertEquals(patches + 1, graph.getPatchCount());
+        assertSameAsFullRefresh();
+    }
+
+    @Test
+    public void added_location_should_be_connected() {
+        Location location = new Location(game, 500.0, 500.0);
+        new Asteroid(location, 1, new Coal());
+        game.addLocation(location);
+        assertSameAsFullRefresh();
+    }
+
+    @Test
+    public void exploded_location_should_be_disconnected() throws Exception {
+        Location exploded = game.getLocation(0);
+        List<Location> oldNeighbors = new ArrayList<>(exploded.getNeighbors());
+        ((Asteroid) exploded.getCelestialBody()).explode();
+        assertTrue(exploded.getNeighbors().isEmpty());
+        for (Location neighbor : oldNeighbors) {
+            assertFalse(neighbor.getNeighbors().contains(exploded));
+        }
+        assertSameAsFullRefresh();
+    }
+
+    @Test
+    public void unmanaged_graph_should_keep_manual_neighbors() {
+        Game console = new Game(20, 20);
+        Location location1 = new Location(console, 0.0, 0.0);
+        Location location2 = new Location(console, 0.0, 0.0);
+        console.addLocation(location1);
+        console.addLocation(location2);
+        assertTrue(location1.getNeighbors().isEmpty());
+        location1.addNeighbor(location2);
+        location2.getCoordinate().updateCoordinates(15, 15);
+        assertEquals(1, location1.getNeighbors().size());
+    }
+
+    @Test
+    public void distance_classes_should_follow_the_moves_and_explosions() throws Exception {
+        NeighborGraph.DistanceClass wide = graph.register(200);
+        NeighborGraph.DistanceClass narrow = graph.register(50);
+        assertSame(wide, graph.register(200));
+        trackAll(wide);
+        trackAll(narrow);
+        assertClassSameAsFullRefresh(wide);
+
+        game.getLocation(5).getCoordinate().updateCoordinates(500, 500);
+        game.getLocation(9).getCoordinate().updateCoordinates(520, 480);
+        ((Asteroid) game.getLocation(0).getCelestialBody()).explode();
+        graph.update(120);
+
+        assertClassSameAsFullRefresh(wide);
+        assertClassSameAsFullRefresh(narrow);
+        assertSameAsFullRefresh();
+    }
+
+    @Test
+    public void tracked_adjacency_should_be_replaced_only_when_it_is_touched() {
+        NeighborGraph.DistanceClass wide = graph.register(200);
+        Location center = game.getLocation(5);
+        graph.track(wide, center);
+        List<Location> before = graph.getAdjacency(center, wide);
+        Location far = null;
+        for (Location location : game.getLocationList()) {
+            if (location.getCoordinate().getDistance(center.getCoordinate()) > 400) {
+                far = location;
+                break;
+            }
+        }
+        far.getCoordinate().updateCoordinates(far.getCoordinate().getX() + 1, far.getCoordinate().getY());
+        graph.update(120);
+        assertSame(before, graph.getAdjacency(center, wide));
+
+        Location near = before.get(0);
+        near.getCoordinate().updateCoordinates(near.getCoordinate().getX() + 1, near.getCoordinate().getY());
+        graph.update(120);
+        assertNotSame(before, graph.getAdjacency(center, wide));
+    }
+
+    @Test
+    public void adjacency_of_a_class_should_not_change_after_it_was_given_back() {
+        NeighborGraph.DistanceClass wide = graph.register(200);
+        Location moving = game.getLocation(5);
+        graph.track(wide, moving);
+        List<Location> before = graph.getAdjacency(moving, wide);
+        List<Location> copy = new ArrayList<>(before);
+
+        moving.getCoordinate().updateCoordinates(900, 900);
+
+        assertEquals(copy, before);
+        assertNotEquals(before, graph.getAdjacency(moving, wide));
+        try {
+            before.add(moving);
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+}
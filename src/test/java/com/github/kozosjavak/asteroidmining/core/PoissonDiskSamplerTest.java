@@ -0,0 +1,62 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PoissonDiskSamplerTest {
+
+    @Test
+    public void it_should_keep_the_minimum_distance() throws WorldIsFullException {
+        assertMinimumDistance(new PoissonDiskSampler(1000, 1000, 40, new Random(3)).sample(300, 500, 500), 1000, 300);
+    }
+
+    @Test
+    public void it_should_keep_the_minimum_distance_in_a_huge_area() throws WorldIsFullException {
+        //the area has about 10^13 cells, only the used ones are stored
+        assertMinimumDistance(new PoissonDiskSampler(1e8, 1e8, 40, new Random(3)).sample(2000, 5e7, 5e7), 1e8, 2000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void it_should_not_accept_an_area_with_too_many_cells_on_a_side() {
+        new PoissonDiskSampler(1e12, 100, 1, new Random(3));
+    }
+
+    private static void assertMinimumDistance(double[] points, double size, int count) {
+        assertEquals(2 * count, points.length);
+        double center = size / 2;
+        for (int i = 0; i < count; i++) {
+            assertTrue(points[2 * i] >= 0 && points[2 * i] < size);
+            assertTrue(points[2 * i + 1] >= 0 && points[2 * i + 1] < size);
+            assertTrue(Math.hypot(points[2 * i] - center, points[2 * i + 1] - center) >= 40);
+            for (int j = i + 1; j < count; j++) {
+                assertTrue(Math.hypot(points[2 * i] - points[2 * j], points[2 * i + 1] - points[2 * j + 1]) >= 40);
+            }
+        }
+    }
+
+    @Test(expected = WorldIsFullException.class)
+    public void it_should_throw_when_the_world_is_full() throws WorldIsFullException {
+        new PoissonDiskSampler(200, 200, 40, new Random(3)).sample(100, 100, 100);
+    }
+
+    @Test
+    public void generated_world_should_not_have_colliding_locations() throws Exception {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            Game game = new Game(800, 800);
+            game.generateWorld(120, 6, 5, 3, 120);
+            assertEquals(121, game.getLocationList().size());
+            for (Location location : game.getLocationList()) {
+                assertFalse(game.checkIfLocationCollide(location));
+            }
+        } finally {
+            System.setOut(out);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RandomStreamTest {
+
+    @Test
+    public void same_seed_should_give_the_same_values() {
+        RandomStream first = new RandomStream(42);
+        RandomStream second = new RandomStream(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+            assertEquals(first.nextInt(17), second.nextInt(17));
+            assertEquals(Double.doubleToLongBits(first.nextDouble()), Double.doubleToLongBits(second.nextDouble()));
+        }
+    }
+
+    @Test
+    public void split_streams_should_differ() {
+        RandomStream root = new RandomStream(42);
+        RandomStream first = root.split();
+        RandomStream second = root.split();
+        int same = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (first.nextLong() == second.nextLong()) {
+                same++;
+            }
+        }
+        assertEquals(0, same);
+    }
+
+    @Test
+    public void it_should_continue_from_a_restored_state() {
+        RandomStream stream = new RandomStream(7);
+        stream.nextLong();
+        RandomStream restored = new RandomStream(stream.getSeed(), stream.getGamma());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(stream.nextLong(), restored.nextLong());
+        }
+    }
+
+    @Test
+    public void values_should_be_in_range() {
+        RandomStream stream = new RandomStream(1);
+        for (int i = 0; i < 10_000; i++) {
+            double value = stream.nextDouble();
+            assertTrue(value >= 0 && value < 1);
+            int bounded = stream.nextInt(5);
+            assertTrue(bounded >= 0 && bounded < 5);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.*;
+
+public class RoundExecutorTest {
+    private final PrintStream out = System.out;
+    private final PrintStream err = System.err;
+
+    @Before
+    public void setUp() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @After
+    public void tearDown() {
+        System.setOut(out);
+        System.setErr(err);
+    }
+
+    @Test
+    public void parallel_rounds_should_match_the_sequential_ones() throws Exception {
+        String sequential = playRounds(99, 1, 40);
+        assertNotEquals(playRounds(99, 1, 0), sequential);
+        assertEquals(sequential, playRounds(99, 4, 40));
+        assertEquals(sequential, playRounds(99, 3, 40));
+    }
+
+    @Test
+    public void unmanaged_world_should_be_stepped_in_the_order_of_the_list() throws Exception {
+        Game game = new Game(1000, 1000, 5);
+        Location first = new Location(game, 0.0, 0.0);
+        Location second = new Location(game, 0.0, 0.0);
+        game.addLocation(first);
+        game.addLocation(second);
+        first.addNeighbor(second);
+        second.addNeighbor(first);
+        Asteroid from = new Asteroid(first, 2, null);
+        Asteroid to = new Asteroid(second, 0, null);
+        Robot robot = new Robot(from);
+        game.stepLocations(120);
+        assertEquals(1, from.getSurfaceThickness());
+        assertSame(from, robot.getCurrentAsteroid());
+    }
+
+    /**
+     * Generates a big world full of robots and ufos, steps it and gives back the state of every location
+     */
+    private static String playRounds(long seed, int parallelism, int rounds) throws Exception {
+        Game game = new Game(3000, 3000, seed);
+        game.generateWorld(1500, 6, 20, 300, 120);
+        game.getRoundExecutor().setParallelism(parallelism);
+        for (int i = 0; i < game.getLocationList().size(); i += 3) {
+            Orb orb = game.getLocationList().get(i).getCelestialBody();
+            if (orb instanceof Asteroid) {
+                new Robot((Asteroid) orb);
+            }
+        }
+        for (int i = 0; i < rounds; i++) {
+            game.stepLocations(120);
+        }
+        StringBuilder state = new StringBuilder();
+        for (Location location : game.getLocationList()) {
+            state.append(location.getCoordinate().getX()).append(',').append(location.getCoordinate().getY());
+            Orb orb = location.getCelestialBody();
+            if (orb instanceof Asteroid) {
+                Asteroid asteroid = (Asteroid) orb;
+                state.append(" crust=").append(asteroid.getSurfaceThickness())
+                        .append(" substance=").append(asteroid.getSubstance())
+                        .append(" materials=").append(asteroid.getMaterials())
+                        .append(" residence=");
+                for (Spaceship spaceship : asteroid.getResidence()) {
+                    state.append(spaceship.getClass().getSimpleName()).append(' ');
+                }
+            } else {
+                state.append(' ').append(orb == null ? "empty" : "sun");
+            }
+            state.append(" neighbors=").append(location.getNeighbors().size()).append('\n');
+        }
+        state.append("settlers=").append(game.getSettlers().size());
+        return state.toString();
+    }
+}
@@ -16,6 +16,7 @@ import java.io.PrintStream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
 public class SettlerTest {
 
@@ -151,6 +152,33 @@ public class SettlerTest {
         assertEquals("Base builded!", outContent.toString().trim());
     }
 
+    @Test
+    public void settler_build_base_with_the_crew() throws InventoryIsFullException, AsteroidNotMinedException, NotEnoughMaterialException {
+        Location location1 = new Location(game, 5.4, 3.2);
+        Asteroid asteroid1 = new Asteroid(location1, 0, null);
+        Settler settler = new Settler(asteroid1);
+        Settler mate = new Settler(asteroid1);
+        for (int i = 0; i < 3; i++) {
+            asteroid1.insertMaterial(new Iron());
+            settler.getInventory().add(new Waterice());
+            mate.getInventory().add(new Uranium());
+            mate.getInventory().add(new Coal());
+        }
+        mate.getInventory().add(new Iron());
+        try {
+            settler.buildBase();
+            fail("The settler alone hasn't got the materials of the base");
+        } catch (NotEnoughMaterialException e) {
+            assertEquals(3, asteroid1.getAsteroidInventory().getSize());
+        }
+        settler.buildBaseWithCrew();
+        assertEquals("Base builded!", outContent.toString().trim());
+        assertEquals(0, settler.getInventory().getSize());
+        //the iron of the mate is used before the iron of the asteroid
+        assertEquals(0, mate.getInventory().getSize());
+        assertEquals(1, asteroid1.getAsteroidInventory().getSize());
+    }
+
     @Ignore
     @Test
     public void settler_deploy_teleport() throws InventoryIsFullException, NotEnoughMaterialException {
@@ -0,0 +1,88 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SpatialHashGridTest {
+    private Game game;
+
+    @Before
+    public void setUp() {
+        game = new Game(1000, 1000);
+    }
+
+    @Test
+    public void query_should_match_the_linear_scan() {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            game.addLocation(new Location(game, random.nextDouble() * 1000, random.nextDouble() * 1000));
+        }
+        for (Location center : game.getLocationList()) {
+            List<Location> expected = new ArrayList<>();
+            for (Location other : game.getLocationList()) {
+                if (other != center && other.getCoordinate().getDistance(center.getCoordinate()) <= 120) {
+                    expected.add(other);
+                }
+            }
+            assertEquals(expected, game.getSpatialGrid().query(center.getCoordinate(), 120, center));
+        }
+    }
+
+    @Test
+    public void insert_all_should_give_the_same_queries_as_the_inserts() {
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            game.addLocation(new Location(game, random.nextDouble() * 1000 - 300, random.nextDouble() * 1000));
+        }
+        SpatialHashGrid grid = new SpatialHashGrid(120, game.getCoordinateStore());
+        List<Location> locations = game.getLocationList();
+        for (Location location : locations) {
+            location.inGrid = false;
+        }
+        grid.insertAll(locations);
+        assertEquals(locations.size(), grid.size());
+        for (Location center : locations) {
+            assertEquals(game.getSpatialGrid().query(center.getCoordinate(), 150, center), grid.query(center.getCoordinate(), 150, center));
+        }
+    }
+
+    @Test
+    public void it_should_follow_the_moving_location() {
+        Location staying = new Location(game, 10.0, 10.0);
+        Location moving = new Location(game, 20.0, 10.0);
+        game.addLocation(staying);
+        game.addLocation(moving);
+        assertTrue(game.checkIfLocationCollide(staying));
+
+        moving.getCoordinate().updateCoordinates(900, 900);
+        assertFalse(game.checkIfLocationCollide(staying));
+        assertTrue(game.getSpatialGrid().query(new Coordinate(900, 900), 1, null).contains(moving));
+    }
+
+    @Test
+    public void it_should_handle_negative_coordinates() {
+        Location location1 = new Location(game, -5.0, -5.0);
+        Location location2 = new Location(game, 5.0, 5.0);
+        game.addLocation(location1);
+        game.addLocation(location2);
+        location1.refreshNeighborsList(15);
+        assertTrue(location1.getNeighbors().contains(location2));
+    }
+
+    @Test
+    public void remove_should_drop_the_location() {
+        Location location1 = new Location(game, 0.0, 0.0);
+        Location location2 = new Location(game, 1.0, 1.0);
+        game.addLocation(location1);
+        game.addLocation(location2);
+        game.getSpatialGrid().remove(location2);
+        assertEquals(1, game.getSpatialGrid().size());
+        assertFalse(game.checkIfLocationCollide(location1));
+    }
+}
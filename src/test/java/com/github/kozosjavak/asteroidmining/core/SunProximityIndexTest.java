@@ -0,0 +1,96 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SunProximityIndexTest {
+    private Game game;
+    private SunProximityIndex index;
+    private Sun sun;
+    private Location near;
+    private Location middle;
+    private Location far;
+
+    private Location asteroidAt(double x, double y) {
+        Location location = new Location(game, x, y);
+        new Asteroid(location, 2, new Coal());
+        game.addLocation(location);
+        return location;
+    }
+
+    @Before
+    public void setUp() {
+        game = new Game(1000, 1000);
+        index = game.getSunProximity();
+        Location sunLocation = new Location(game, 100.0, 100.0);
+        sun = new Sun(sunLocation);
+        game.addLocation(sunLocation);
+        near = asteroidAt(150.0, 100.0);
+        middle = asteroidAt(100.0, 240.0);
+        far = asteroidAt(600.0, 600.0);
+        game.getNeighborGraph().rebuild(100);
+    }
+
+    @Test
+    public void it_should_give_back_the_heat_zone_without_touching_the_neighbors_of_the_sun() {
+        List<Location> neighbors = new ArrayList<>(sun.getLocation().getNeighbors());
+
+        sun.experienceSolarStorm();
+
+        List<Location> zone = index.getHeatZone(sun);
+        assertEquals(2, zone.size());
+        assertTrue(zone.contains(near));
+        assertTrue(zone.contains(middle));
+        assertFalse(index.isInHeatZone(far));
+        assertEquals(neighbors, sun.getLocation().getNeighbors());
+    }
+
+    @Test
+    public void it_should_tell_the_locations_next_to_the_sun() {
+        assertTrue(index.isNextToSun(near));
+        assertFalse(index.isNextToSun(middle));
+        assertFalse(index.isNextToSun(far));
+    }
+
+    @Test
+    public void it_should_follow_a_location_which_moves_next_to_the_sun() {
+        assertFalse(index.isNextToSun(middle));
+
+        middle.getCoordinate().updateCoordinates(100.0, 160.0);
+        game.getNeighborGraph().update(100);
+
+        assertTrue(index.isNextToSun(middle));
+        assertTrue(index.isInHeatZone(middle));
+    }
+
+    @Test
+    public void it_should_follow_the_sun_when_it_moves() {
+        assertTrue(index.isInHeatZone(middle));
+
+        sun.getLocation().getCoordinate().updateCoordinates(550.0, 600.0);
+
+        assertFalse(index.isInHeatZone(middle));
+        assertTrue(index.isInHeatZone(far));
+        game.getNeighborGraph().update(100);
+        assertTrue(index.isNextToSun(far));
+        assertFalse(index.isNextToSun(near));
+    }
+
+    @Test
+    public void it_should_answer_from_the_frozen_zones_until_it_is_thawed() {
+        index.freeze();
+        middle.getCoordinate().updateCoordinates(100.0, 160.0);
+        game.getNeighborGraph().update(100);
+
+        assertFalse(index.isNextToSun(middle));
+
+        index.thaw();
+        assertTrue(index.isNextToSun(middle));
+    }
+}
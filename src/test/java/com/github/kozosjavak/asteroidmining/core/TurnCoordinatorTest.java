@@ -0,0 +1,61 @@
+package com.github.kozosjavak.asteroidmining.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TurnCoordinatorTest {
+    private Game game;
+    private Settler settler;
+
+    @Before
+    public void setUp() {
+        game = new Game(1000, 1000);
+        Location location = new Location(game, 0.0, 0.0);
+        game.addLocation(location);
+        settler = new Settler(new Asteroid(location, 1, null));
+    }
+
+    @Test(timeout = 5000)
+    public void it_should_wake_up_when_the_settler_has_acted() throws InterruptedException {
+        Thread player = new Thread(() -> {
+            while (!settler.isSelected()) {
+                Thread.onSpinWait();
+            }
+            settler.setSelectedFalse();
+        });
+        player.start();
+        assertTrue(game.getTurnCoordinator().playTurn(settler));
+        player.join();
+        assertFalse(settler.isSelected());
+        assertEquals(1, game.getTurnCoordinator().getTurnCount());
+        assertEquals(0, game.getTurnCoordinator().getTimeoutCount());
+        assertTrue(game.getTurnCoordinator().getLastTurnNanos() > 0);
+    }
+
+    @Test(timeout = 5000)
+    public void it_should_pass_automatically_after_the_timeout() throws InterruptedException {
+        game.getTurnCoordinator().setTurnTimeout(20, TimeUnit.MILLISECONDS);
+        assertFalse(game.getTurnCoordinator().playTurn(settler));
+        assertFalse(settler.isSelected());
+        assertEquals(1, game.getTurnCoordinator().getTimeoutCount());
+        assertTrue(game.getTurnCoordinator().getLastTurnNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @Test(timeout = 5000)
+    public void it_should_stop_waiting_when_the_game_ends() throws InterruptedException {
+        Thread ender = new Thread(() -> {
+            while (!settler.isSelected()) {
+                Thread.onSpinWait();
+            }
+            game.endGame();
+        });
+        ender.start();
+        game.getTurnCoordinator().playTurn(settler);
+        ender.join();
+        assertFalse(game.isRunning());
+    }
+}
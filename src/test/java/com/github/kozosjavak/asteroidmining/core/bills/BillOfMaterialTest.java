@@ -1,6 +1,7 @@
 package com.github.kozosjavak.asteroidmining.core.bills;
 
 import com.github.kozosjavak.asteroidmining.core.materials.*;
+import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
 import com.github.kozosjavak.asteroidmining.core.materials.types.Iron;
 import com.github.kozosjavak.asteroidmining.core.materials.types.Uranium;
 import com.github.kozosjavak.asteroidmining.core.materials.types.Waterice;
@@ -8,7 +9,7 @@ import org.junit.Test;
 
 import java.util.Map;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 
 public class BillOfMaterialTest {
@@ -18,9 +19,9 @@ public class BillOfMaterialTest {
 
         Map<Class<? extends Material>, Integer> result = Bills.TELEPORT.isNeeded(Inventory.infiniteCapacity());
         assertEquals(3, result.size());
-        assertEquals(2, (int) result.get(Materials.IRON));
-        assertEquals(1, (int) result.get(Materials.WATERICE));
-        assertEquals(1, (int) result.get(Materials.URANIUM));
+        assertEquals(2, (int) result.get(Iron.class));
+        assertEquals(1, (int) result.get(Waterice.class));
+        assertEquals(1, (int) result.get(Uranium.class));
     }
 
     @Test
@@ -58,7 +59,7 @@ public class BillOfMaterialTest {
                 .add(new Uranium());
         Map<Class<? extends Material>, Integer> result = Bills.TELEPORT.isNeeded(inventory);
         assertEquals(1, result.size());
-        assertEquals(1, (int) result.get(Materials.IRON));
+        assertEquals(1, (int) result.get(Iron.class));
     }
 
     @Test
@@ -81,4 +82,46 @@ public class BillOfMaterialTest {
                 .add(new Uranium());
         Bills.TELEPORT.buy(inventory);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void it_should_not_touch_the_inventory_if_the_buy_fails() throws InventoryIsFullException {
+        Inventory inventory = Inventory.infiniteCapacity()
+                .add(new Iron())
+                .add(new Iron())
+                .add(new Waterice());
+        try {
+            Bills.TELEPORT.buy(inventory);
+        } catch (NotEnoughMaterialException e) {
+            assertEquals(3, inventory.getSize());
+            return;
+        }
+        fail();
+    }
+
+    @Test
+    public void it_should_report_the_shortfall() throws InventoryIsFullException {
+        Inventory inventory = Inventory.infiniteCapacity()
+                .add(new Iron())
+                .add(new Uranium());
+        int[] missing = new int[MaterialType.count()];
+        assertEquals(2, Bills.TELEPORT.getCompiled().shortfall(inventory, missing));
+        assertEquals(1, missing[MaterialType.IRON.ordinal()]);
+        assertEquals(1, missing[MaterialType.WATERICE.ordinal()]);
+        assertEquals(0, missing[MaterialType.URANIUM.ordinal()]);
+    }
+
+    @Test
+    public void it_should_tell_every_affordable_bill_at_once() throws InventoryIsFullException {
+        Inventory inventory = Inventory.infiniteCapacity()
+                .add(new Iron())
+                .add(new Iron())
+                .add(new Waterice())
+                .add(new Uranium());
+        assertEquals(Bills.bit(Bills.TELEPORT), Bills.affordable(inventory));
+        inventory.add(new Coal());
+        assertEquals(Bills.bit(Bills.TELEPORT) | Bills.bit(Bills.ROBOT), Bills.affordable(inventory));
+        assertEquals(0, Bills.affordable(Inventory.infiniteCapacity()));
+        assertTrue(Bills.ROBOT.canAfford(inventory));
+        assertFalse(Bills.BASE.canAfford(inventory));
+    }
+}
@@ -0,0 +1,160 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import com.github.kozosjavak.asteroidmining.core.Game;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+public class CommandBusTest {
+    private Game game;
+    private CommandBus bus;
+
+    @Before
+    public void setUp() {
+        game = new Game(1000, 1000);
+        bus = new CommandBus(game);
+    }
+
+    @Test
+    public void it_should_apply_the_command_at_once_without_a_consumer() {
+        List<Game> applied = new ArrayList<>();
+        bus.execute(applied::add);
+
+        assertEquals(1, applied.size());
+        assertSame(game, applied.get(0));
+        assertEquals(0, bus.getDepth());
+    }
+
+    @Test
+    public void it_should_apply_the_commands_of_every_producer_in_their_order() throws InterruptedException {
+        int producers = 4;
+        int commands = 10000;
+        List<int[]> applied = new ArrayList<>();
+        bus.setConsumer(Thread.currentThread());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < commands; i++) {
+                    int number = i;
+                    bus.execute(g -> applied.add(new int[]{producer, number}));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        while (applied.size() < producers * commands) {
+            bus.drain();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * commands, applied.size());
+        int[] next = new int[producers];
+        for (int[] command : applied) {
+            assertEquals(next[command[0]]++, command[1]);
+        }
+        assertEquals(producers * commands, bus.getAppliedCount());
+        assertEquals(0, bus.getDepth());
+    }
+
+    @Test
+    public void it_should_not_leave_a_command_in_the_queue_when_the_producers_drain_it() throws InterruptedException {
+        int producers = 4;
+        int commands = 20000;
+        int[] applied = new int[1];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < commands; i++) {
+                    bus.execute(g -> applied[0]++);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, bus.getDepth());
+        assertEquals(producers * commands, applied[0]);
+        assertEquals(producers * commands, bus.getAppliedCount());
+    }
+
+    @Test
+    public void it_should_measure_the_depth_and_the_batches() {
+        bus.setConsumer(Thread.currentThread());
+        int[] wakeUps = new int[1];
+        bus.setWakeUp(() -> wakeUps[0]++);
+        for (int i = 0; i < 3; i++) {
+            bus.execute(g -> {
+            });
+        }
+
+        assertEquals(3, bus.getDepth());
+        assertEquals(3, wakeUps[0]);
+        assertEquals(3, bus.drain());
+        assertEquals(0, bus.getDepth());
+        assertEquals(1, bus.getBatchCount());
+        assertEquals(3, bus.getMaxBatch());
+        assertTrue(bus.getMaxLatencyNanos() >= bus.getAverageLatencyNanos());
+        assertEquals(0, bus.drain());
+        assertEquals(1, bus.getBatchCount());
+    }
+
+    @Test
+    public void it_should_record_the_applied_commands_which_have_a_codec() {
+        //the game ends the rounds with the recorder of its own bus
+        CommandBus bus = game.getCommandBus();
+        List<Command> recorded = new ArrayList<>();
+        List<Double> rounds = new ArrayList<>();
+        bus.setRecorder(new CommandRecorder() {
+            @Override
+            public void execute(Command command) {
+                recorded.add(command);
+                command.apply(game);
+            }
+
+            @Override
+            public void endRound(double distanceOfNeighbors) {
+                rounds.add(distanceOfNeighbors);
+            }
+        });
+        int[] applied = new int[1];
+        Command create = new CreateTeleportCommand();
+        Command show = new ShowGameStateCommand();
+        bus.setConsumer(Thread.currentThread());
+        bus.execute(create);
+        bus.execute(g -> {
+            applied[0]++;
+            bus.apply(show);
+        });
+        bus.drain();
+        game.endRound(120);
+
+        assertEquals(List.of(create, show), recorded);
+        assertEquals(1, applied[0]);
+        assertEquals(List.of(120.0), rounds);
+    }
+}
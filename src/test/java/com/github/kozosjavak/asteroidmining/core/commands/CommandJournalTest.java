@@ -0,0 +1,103 @@
+package com.github.kozosjavak.asteroidmining.core.commands;
+
+import com.github.kozosjavak.asteroidmining.console.ConsoleCommandExecutor;
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.replay.ReplayRecorder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CommandJournalTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] encode(Command command) {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        CommandCodecs.encode(command, buffer);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    @Test
+    public void it_should_decode_every_command_class_to_the_same_command() {
+        List<Command> commands = List.of(new AddNeighborCommand(1, 2), new AddTeleportCommand(3, 4),
+                new AsteroidExplodeCommand(5), new CreateAsteroidCommand(3, -1), new CreateAsteroidCommand(2, 300),
+                new CreateMaterialCommand(new String[]{"CreateMaterial", "uran", "2"}), new CreateRobotCommand(6),
+                new CreateSettlerCommand(7), new CreateSunCommand(), new CreateTeleportCommand(), new CreateUfoCommand(8),
+                new HelpCommand(), new InsertMaterialCommand(9, 10), new LinkTeleportsCommand(11, 12),
+                new SettlerAddMaterialCommand(13, 14), new SettlerBuildBaseCommand(15), new SettlerBuildRobotCommand(16),
+                new SettlerBuildTeleportCommand(17), new SettlerDrillCommand(18), new SettlerInsertMaterialCommand(19),
+                new SettlerMineCommand(20), new SettlerRemoveMaterialCommand(21), new SettlerUseTeleportCommand(22, 23),
+                new ShowGameStateCommand(), new SpaceshipMoveCommand(24, 100000), new StartCommand(),
+                new StartSolarStormCommand(), new UfoStealCommand(25), new EndRoundCommand(120),
+                new SettlerDeployTeleportCommand(26));
+        assertEquals(CommandCodecs.getCodecs().size() + 1, commands.size());
+
+        for (Command command : commands) {
+            byte[] bytes = encode(command);
+            Command decoded = CommandCodecs.decode(ByteBuffer.wrap(bytes));
+            assertSame(command.getClass(), decoded.getClass());
+            assertArrayEquals(bytes, encode(decoded));
+        }
+        assertEquals(2, encode(new SettlerDrillCommand(18)).length);
+        assertEquals(3, encode(new CreateAsteroidCommand(3, -1)).length);
+    }
+
+    @Test
+    public void it_should_rebuild_the_game_from_the_journal() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("game.journal");
+        String input = String.join("\n", "CreateMaterial coal", "CreateAsteroid 3 0", "CreateAsteroid 1",
+                "CreateSun", "AddNeighbor 1 2", "AddNeighbor 1 3", "CreateSettler 1", "CreateMaterial iron",
+                "SettlerAddMaterial 4 5", "SettlerDrill 4", "CreateTeleport", "CreateTeleport", "LinkTeleports 6 7", "");
+        Game game = new Game(1000, 1000);
+        ConsoleCommandExecutor executor = new ConsoleCommandExecutor(game);
+        executor.setHistoryCapacity(4);
+        try (ReplayRecorder recorder = new ReplayRecorder(game, path, folder.getRoot().toPath().resolve("game.keyframes"), 1000)) {
+            game.getCommandBus().setRecorder(recorder);
+            executor.attachToConsole(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        Game replayed = new Game(1000, 1000);
+        assertEquals(13, JournalReplayer.replay(path, replayed));
+
+        assertEquals(game.toString(0), replayed.toString(0));
+        List<Command> history = executor.getExecutedCommands();
+        assertEquals(4, history.size());
+        assertSame(LinkTeleportsCommand.class, history.get(3).getClass());
+        assertSame(SettlerDrillCommand.class, history.get(0).getClass());
+    }
+
+    @Test
+    public void it_should_skip_the_half_written_last_record() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("torn.journal");
+        try (CommandJournal journal = new CommandJournal(path, 2, true)) {
+            journal.append(new SettlerDrillCommand(1));
+            journal.append(new SpaceshipMoveCommand(2, 3));
+            journal.append(new SettlerMineCommand(4));
+            assertEquals(1, journal.getCommitCount());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            //the tag of a two argument command without its arguments
+            channel.write(ByteBuffer.wrap(encode(new SpaceshipMoveCommand(1000, 1000)), 0, 2), channel.size());
+        }
+        assertEquals(3, JournalReplayer.read(path).size());
+
+        try (CommandJournal journal = new CommandJournal(path, 2, false)) {
+            journal.append(new UfoStealCommand(5));
+        }
+        List<Command> commands = JournalReplayer.read(path);
+        assertEquals(4, commands.size());
+        assertSame(UfoStealCommand.class, commands.get(3).getClass());
+    }
+}
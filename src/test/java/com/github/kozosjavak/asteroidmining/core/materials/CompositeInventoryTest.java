@@ -0,0 +1,59 @@
+package com.github.kozosjavak.asteroidmining.core.materials;
+
+import com.github.kozosjavak.asteroidmining.core.materials.types.Iron;
+import com.github.kozosjavak.asteroidmining.core.materials.types.Waterice;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CompositeInventoryTest {
+    @Test
+    public void it_should_count_the_inventories_together() throws InventoryIsFullException {
+        Inventory first = Inventory.infiniteCapacity().add(new Iron());
+        Inventory second = Inventory.infiniteCapacity().add(new Iron()).add(new Waterice());
+        CompositeInventory composite = new CompositeInventory(first, second);
+        assertEquals(2, composite.getCount(MaterialType.IRON));
+        assertEquals(1, composite.getCount(MaterialType.WATERICE));
+        assertEquals(3, composite.getSize());
+    }
+
+    @Test
+    public void it_should_draw_from_the_first_inventory_first() throws InventoryIsFullException, NotEnoughMaterialException {
+        Inventory first = Inventory.infiniteCapacity().add(new Iron()).add(new Iron());
+        Inventory second = Inventory.infiniteCapacity().add(new Iron()).add(new Iron());
+        new CompositeInventory(first, second).remove(MaterialType.IRON, 3);
+        assertEquals(0, first.getSize());
+        assertEquals(1, second.getSize());
+    }
+
+    @Test
+    public void it_should_not_remove_anything_if_there_is_not_enough() throws InventoryIsFullException {
+        Inventory first = Inventory.infiniteCapacity().add(new Iron());
+        Inventory second = Inventory.infiniteCapacity().add(new Iron());
+        try {
+            new CompositeInventory(first, second).remove(MaterialType.IRON, 3);
+            fail();
+        } catch (NotEnoughMaterialException e) {
+            assertEquals(1, first.getSize());
+            assertEquals(1, second.getSize());
+        }
+    }
+
+    @Test
+    public void it_should_hand_over_the_removed_units() throws InventoryIsFullException, NotEnoughMaterialException {
+        Iron oldest = new Iron();
+        Iron older = new Iron();
+        Iron kept = new Iron();
+        Inventory first = Inventory.infiniteCapacity().add(oldest);
+        Inventory second = Inventory.infiniteCapacity().add(older).add(kept);
+        List<Material> removed = new ArrayList<>();
+        new CompositeInventory(first, second).remove(MaterialType.IRON, 2, removed::add);
+        assertEquals(Arrays.asList(oldest, older), removed);
+        assertEquals(1, second.getSize());
+    }
+}
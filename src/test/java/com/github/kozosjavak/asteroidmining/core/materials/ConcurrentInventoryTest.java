@@ -0,0 +1,123 @@
+package com.github.kozosjavak.asteroidmining.core.materials;
+
+import com.github.kozosjavak.asteroidmining.core.materials.types.Uranium;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentInventoryTest {
+    private static final MaterialType[] TYPES = {MaterialType.COAL, MaterialType.IRON, MaterialType.WATERICE};
+
+    @Test
+    public void it_should_keep_the_capacity() throws Exception {
+        ConcurrentInventory inventory = new ConcurrentInventory(2);
+        inventory.add(MaterialType.COAL.getInstance()).add(MaterialType.IRON.getInstance());
+        assertTrue(inventory.isFull());
+        try {
+            inventory.add(MaterialType.IRON.getInstance());
+            fail();
+        } catch (InventoryIsFullException e) {
+            assertEquals(2, inventory.getSize());
+        }
+        assertSame(MaterialType.IRON.getInstance(), inventory.take(MaterialType.IRON));
+        assertEquals(0, inventory.getCount(MaterialType.IRON));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void it_should_not_store_the_materials_with_state() throws InventoryIsFullException {
+        new ConcurrentInventory(0).add(new Uranium());
+    }
+
+    @Test
+    public void it_should_stay_consistent_with_thieves_miners_and_renderers() throws Exception {
+        int capacity = 50;
+        int rounds = 20000;
+        ConcurrentInventory inventory = new ConcurrentInventory(capacity);
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger removed = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Throwable> errors = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 2; t++) {
+            int seed = t;
+            //miners
+            workers.add(new Thread(() -> {
+                await(start);
+                for (int i = 0; i < rounds; i++) {
+                    try {
+                        inventory.add(TYPES[(i + seed) % TYPES.length].getInstance());
+                        added.incrementAndGet();
+                    } catch (InventoryIsFullException e) {
+                        Thread.yield();
+                    }
+                }
+            }));
+            //thieves
+            workers.add(new Thread(() -> {
+                await(start);
+                for (int i = 0; i < rounds; i++) {
+                    try {
+                        inventory.take(TYPES[(i + seed) % TYPES.length]);
+                        removed.incrementAndGet();
+                    } catch (NotEnoughMaterialException e) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        Thread renderer = new Thread(() -> {
+            await(start);
+            while (running.get()) {
+                InventorySnapshot snapshot = inventory.snapshot();
+                int sum = 0;
+                for (MaterialType type : TYPES) {
+                    int count = snapshot.getCount(type);
+                    if (count < 0) {
+                        synchronized (errors) {
+                            errors.add(new AssertionError("negative count " + count));
+                        }
+                    }
+                    sum += count;
+                }
+                if (sum != snapshot.getSize() || sum > capacity) {
+                    synchronized (errors) {
+                        errors.add(new AssertionError("torn snapshot " + sum));
+                    }
+                }
+            }
+        });
+        renderer.start();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        running.set(false);
+        renderer.join();
+
+        assertTrue(errors.toString(), errors.isEmpty());
+        assertEquals(added.get() - removed.get(), inventory.getSize());
+        InventorySnapshot snapshot = inventory.snapshot();
+        assertEquals(inventory.getSize(), snapshot.getSize());
+        for (MaterialType type : TYPES) {
+            assertEquals(inventory.getCount(type), snapshot.getCount(type));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
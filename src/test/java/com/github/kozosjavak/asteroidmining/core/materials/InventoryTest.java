@@ -8,6 +8,7 @@ import com.github.kozosjavak.asteroidmining.core.materials.types.Uranium;
 import com.github.kozosjavak.asteroidmining.core.materials.types.Waterice;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -49,9 +50,9 @@ public class InventoryTest {
                 .add(iron1)
                 .add(waterIce)
                 .add(iron2);
-        inventory.remove(Materials.IRON, 2);
+        inventory.remove(MaterialType.IRON, 2);
         assertEquals(1, inventory.getSize());
-        assertEquals(Materials.WATERICE, inventory.getList().iterator().next().getClass());
+        assertEquals(Waterice.class, inventory.getList().iterator().next().getClass());
     }
 
     @Test(expected = NotEnoughMaterialException.class)
@@ -60,12 +61,12 @@ public class InventoryTest {
                 .add(iron1)
                 .add(waterIce)
                 .add(iron2);
-        inventory.remove(Materials.IRON, 3);
+        inventory.remove(MaterialType.IRON, 3);
     }
 
     @Test
     public void convertListToMap() throws InventoryIsFullException {
-        Map<Class<? extends Material>, Integer> expected = Map.of(Materials.IRON, 2, Materials.WATERICE, 1, Materials.URANIUM, 1);
+        Map<Class<? extends Material>, Integer> expected = Map.of(Iron.class, 2, Waterice.class, 1, Uranium.class, 1);
 
 
         Inventory inventory = Inventory.infiniteCapacity()
@@ -93,4 +94,97 @@ public class InventoryTest {
         assertNull(location.getCelestialBody());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void it_should_count_the_units_by_type() throws Exception {
+        Inventory inventory = new Inventory(4)
+                .add(iron1)
+                .add(uran)
+                .add(iron2);
+        assertEquals(2, inventory.getCount(MaterialType.IRON));
+        assertEquals(0, inventory.getCount(MaterialType.COAL));
+        assertFalse(inventory.isFull());
+        inventory.add(waterIce);
+        assertTrue(inventory.isFull());
+        inventory.remove(MaterialType.IRON, 1);
+        assertEquals(1, inventory.getCount(MaterialType.IRON));
+        assertSame(uran, inventory.getList().get(0));
+        assertSame(iron2, inventory.getList().get(1));
+    }
+
+    @Test
+    public void it_should_keep_the_order_of_arrival_when_the_ring_grows() throws Exception {
+        Inventory inventory = Inventory.infiniteCapacity();
+        Material[] irons = new Material[20];
+        for (int i = 0; i < irons.length; i++) {
+            irons[i] = new Iron();
+            inventory.add(irons[i]);
+            if (i % 3 == 2) {
+                inventory.remove(MaterialType.IRON, 1);
+            }
+        }
+        assertEquals(14, inventory.getSize());
+        for (int i = 0; i < 14; i++) {
+            assertSame(irons[i + 6], inventory.getList().get(i));
+        }
+    }
+
+    @Test
+    public void it_should_remove_the_given_unit() throws Exception {
+        Inventory inventory = Inventory.infiniteCapacity()
+                .add(iron1)
+                .add(iron2)
+                .add(waterIce);
+        inventory.remove(iron2);
+        assertEquals(2, inventory.getSize());
+        assertSame(iron1, inventory.getList().get(0));
+        assertSame(waterIce, inventory.getList().get(1));
+    }
+
+    @Test
+    public void it_should_list_the_units_in_the_order_of_their_arrival() throws Exception {
+        Inventory inventory = Inventory.infiniteCapacity()
+                .add(iron1)
+                .add(waterIce)
+                .add(uran, 2)
+                .add(iron2);
+        inventory.remove(MaterialType.IRON, 1);
+        inventory.add(iron1);
+        assertEquals(Arrays.asList(waterIce, uran, iron2, iron1), inventory.getList());
+        assertSame(iron2, inventory.getList().get(2));
+        assertSame(waterIce, inventory.getList().get(0));
+        assertEquals(2, inventory.getUnitState(1));
+        assertEquals(0, inventory.getUnitState(3));
+    }
+
+    @Test(expected = NotEnoughMaterialException.class)
+    public void it_should_throw_exception_when_the_unit_is_not_in_it() throws Exception {
+        Inventory.infiniteCapacity().add(iron1).remove(iron2);
+    }
+
+    @Test
+    public void it_should_keep_the_heat_of_the_uranium_when_it_is_moved() throws Exception {
+        Game game = new Game(100, 100);
+        Location location = new Location(game, 0.0, 0.0);
+        Asteroid asteroid = new Asteroid(location, 0, null);
+        Inventory inventory = Inventory.infiniteCapacity().add(uran);
+        inventory.experienceExtremeHeat(asteroid);
+        inventory.experienceExtremeHeat(asteroid);
+        inventory.remove(MaterialType.URANIUM, 1);
+        asteroid.insertMaterial(uran);
+        location.experienceExtremeHeat();
+        assertNull(location.getCelestialBody());
+    }
+
+    @Test
+    public void snapshot_should_not_follow_the_later_changes() throws Exception {
+        Inventory inventory = Inventory.infiniteCapacity().add(waterIce).add(iron1);
+        InventorySnapshot snapshot = inventory.snapshot();
+        inventory.add(iron2);
+        inventory.remove(MaterialType.WATERICE, 1);
+        assertEquals(1, snapshot.getCount(MaterialType.WATERICE));
+        assertEquals(1, snapshot.getCount(MaterialType.IRON));
+        assertEquals(2, snapshot.getSize());
+        assertEquals(2, inventory.snapshot().getCount(MaterialType.IRON));
+        assertEquals(InventorySnapshot.EMPTY, Inventory.infiniteCapacity().snapshot());
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.kozosjavak.asteroidmining.core.materials;
+
+import com.github.kozosjavak.asteroidmining.core.Explodeable;
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.materials.types.Coal;
+import com.github.kozosjavak.asteroidmining.core.materials.types.Uranium;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MaterialTypeTest {
+    @Test
+    public void it_should_give_dense_ordinals() {
+        List<MaterialType> types = MaterialType.values();
+        for (int i = 0; i < types.size(); i++) {
+            assertEquals(i, types.get(i).ordinal());
+        }
+        assertSame(MaterialType.COAL, MaterialType.of(Coal.class));
+        assertSame(MaterialType.URANIUM, MaterialType.byName("uran"));
+        assertNull(MaterialType.byName("gold"));
+    }
+
+    @Test
+    public void it_should_share_the_stateless_units() {
+        assertTrue(MaterialType.COAL.isStateless());
+        assertSame(MaterialType.COAL.getInstance(), MaterialType.COAL.getInstance());
+        assertNotSame(MaterialType.COAL.newUnit(), MaterialType.COAL.newUnit());
+        assertFalse(MaterialType.URANIUM.isStateless());
+        assertNotSame(MaterialType.URANIUM.getInstance(), MaterialType.URANIUM.getInstance());
+        assertEquals(Uranium.class, MaterialType.URANIUM.getInstance().getClass());
+    }
+
+    @Test
+    public void it_should_give_a_type_to_an_unregistered_material() throws Exception {
+        Material gold = new Gold();
+        MaterialType type = gold.getType();
+        assertEquals(MaterialType.count() - 1, type.ordinal());
+        assertFalse(type.isCreatable());
+        Inventory inventory = Inventory.infiniteCapacity().add(gold).add(MaterialType.IRON.getInstance());
+        assertEquals(1, inventory.getCount(type));
+        assertEquals(1, inventory.getCount(MaterialType.IRON));
+    }
+
+    private static class Gold implements Material {
+        @Override
+        public void experienceExtremeHeat(Explodeable explodeableHolder) {
+        }
+
+        @Override
+        public String toString(int depth, Game game) {
+            return "Gold";
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.kozosjavak.asteroidmining.replay;
+
+import com.github.kozosjavak.asteroidmining.core.Asteroid;
+import com.github.kozosjavak.asteroidmining.core.Game;
+import com.github.kozosjavak.asteroidmining.core.GameSnapshot;
+import com.github.kozosjavak.asteroidmining.core.Settler;
+import com.github.kozosjavak.asteroidmining.core.Steppable;
+import com.github.kozosjavak.asteroidmining.core.commands.CommandBus;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerDrillCommand;
+import com.github.kozosjavak.asteroidmining.core.commands.SettlerMineCommand;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ReplayEngineTest {
+    private static final int ROUNDS = 45;
+    private static final int INTERVAL = 10;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final PrintStream out = System.out;
+    private Path journalPath;
+    private Path keyframePath;
+    /**
+     * Snapshots of the recorded game after every round, the first one is the start
+     */
+    private final List<byte[]> live = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        journalPath = folder.getRoot().toPath().resolve("game.journal");
+        keyframePath = folder.getRoot().toPath().resolve("game.keyframes");
+        Game game = new Game(1500, 1500, 8);
+        game.generateWorld(300, 6, 4, 20, 120);
+        game.registerWorld();
+        Random random = new Random(8);
+        try (ReplayRecorder recorder = new ReplayRecorder(game, journalPath, keyframePath, INTERVAL)) {
+            live.add(GameSnapshot.toBytes(game));
+            for (int i = 0; i < ROUNDS; i++) {
+                ReplayInspector.playScriptedRound(game, recorder, random, 120);
+                live.add(GameSnapshot.toBytes(game));
+            }
+            assertEquals(5, recorder.getKeyframeCount());
+        }
+    }
+
+    @After
+    public void tearDown() {
+        System.setOut(out);
+    }
+
+    @Test
+    public void it_should_step_through_the_recorded_rounds() throws IOException {
+        try (ReplayEngine engine = new ReplayEngine(journalPath, keyframePath)) {
+            assertEquals(ROUNDS, engine.getLastRound());
+            assertArrayEquals(live.get(0), GameSnapshot.toBytes(engine.getGame()));
+            List<Integer> notified = new ArrayList<>();
+            engine.setListener(replay -> notified.add(replay.getRound()));
+            for (int round = 1; round <= ROUNDS; round++) {
+                assertTrue(engine.step());
+                assertArrayEquals(live.get(round), GameSnapshot.toBytes(engine.getGame()));
+            }
+            assertFalse(engine.step());
+            assertEquals(ROUNDS, notified.size());
+        }
+    }
+
+    @Test
+    public void it_should_seek_forward_and_back() throws IOException {
+        try (ReplayEngine engine = new ReplayEngine(journalPath, keyframePath)) {
+            for (int round : new int[]{37, 12, 13, 40, 0, 45, 20, 19}) {
+                engine.seek(round);
+                assertEquals(round, engine.getRound());
+                assertArrayEquals(live.get(round), GameSnapshot.toBytes(engine.getGame()));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void it_should_not_seek_after_the_last_round() throws IOException {
+        try (ReplayEngine engine = new ReplayEngine(journalPath, keyframePath)) {
+            engine.seek(ROUNDS + 1);
+        }
+    }
+
+    @Test
+    public void it_should_skip_a_half_written_keyframe() throws IOException {
+        try (FileChannel channel = FileChannel.open(keyframePath, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+        try (ReplayEngine engine = new ReplayEngine(journalPath, keyframePath)) {
+            assertEquals(4, engine.getKeyframeCount());
+            assertEquals(ROUNDS, engine.getLastRound());
+            engine.seek(44);
+            assertArrayEquals(live.get(44), GameSnapshot.toBytes(engine.getGame()));
+        }
+    }
+
+    @Test
+    public void it_should_replay_a_game_recorded_through_the_command_bus() throws Exception {
+        Path journal = folder.getRoot().toPath().resolve("bus.journal");
+        Path keyframes = folder.getRoot().toPath().resolve("bus.keyframes");
+        Game game = new Game(1500, 1500, 3);
+        game.generateWorld(200, 4, 3, 5, 120);
+        game.registerWorld();
+        CommandBus bus = game.getCommandBus();
+        List<byte[]> recorded = new ArrayList<>();
+        try (ReplayRecorder recorder = new ReplayRecorder(game, journal, keyframes, 2)) {
+            bus.setRecorder(recorder);
+            recorded.add(GameSnapshot.toBytes(game));
+            for (int round = 0; round < 5; round++) {
+                for (Steppable steppable : new ArrayList<>(game.getSettlers())) {
+                    Settler settler = (Settler) steppable;
+                    int id = game.getId(settler);
+                    //the console submits the command itself, the GUI submits an action which applies it
+                    if (round % 2 == 0) {
+                        bus.execute(new SettlerDrillCommand(id));
+                    } else {
+                        bus.execute(coreGame -> {
+                            Asteroid asteroid = settler.getCurrentAsteroid();
+                            coreGame.getCommandBus().apply(asteroid.getSurfaceThickness() > 0 ? new SettlerDrillCommand(id) : new SettlerMineCommand(id));
+                        });
+                    }
+                }
+                game.endRound(120);
+                recorded.add(GameSnapshot.toBytes(game));
+            }
+            assertEquals(5, recorder.getRound());
+            assertEquals(3, recorder.getKeyframeCount());
+        }
+        bus.setRecorder(null);
+
+        try (ReplayEngine engine = new ReplayEngine(journal, keyframes)) {
+            assertEquals(5, engine.getLastRound());
+            for (int round = 1; round <= 5; round++) {
+                assertTrue(engine.step());
+                assertArrayEquals(recorded.get(round), GameSnapshot.toBytes(engine.getGame()));
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.kozosjavak.asteroidmining.simulation;
+
+import com.github.kozosjavak.asteroidmining.core.Settler;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BatchRunnerTest {
+    private static final SimulationParameters SMALL = new SimulationParameters(600, 60, 4, 3, 2, 120, 50);
+
+    @Test
+    public void it_should_play_every_game() throws InterruptedException {
+        BatchReport report = new BatchRunner(SMALL, seed -> new MinerPolicy(new Random(seed)), 2).run(6, 1);
+        assertEquals(6, report.getGames());
+        assertEquals(0, report.getFailed());
+        assertEquals(6, report.getWins() + report.getLosses() + report.getUndecided());
+        assertTrue(report.getGamesPerSecond() > 0);
+    }
+
+    @Test
+    public void policy_should_act_for_every_living_settler() throws Exception {
+        AtomicInteger turns = new AtomicInteger();
+        Set<Settler> settlers = Collections.newSetFromMap(new IdentityHashMap<>());
+        SimulationParameters oneRound = new SimulationParameters(600, 60, 4, 3, 0, 120, 1);
+        GameResult result = new BatchRunner(oneRound, seed -> (settler, game) -> {
+            turns.incrementAndGet();
+            settlers.add(settler);
+        }).playGame(7);
+        assertEquals(1, result.getRounds());
+        assertEquals(3, turns.get());
+        assertEquals(3, settlers.size());
+    }
+}